@@ -0,0 +1,68 @@
+package com.management.library.benchmark;
+
+import com.management.library.BorrowingReservation.service.FeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Late fee calculation, run for every returned loan and for every open loan in each overdue sweep.
+ * Due dates cycle through on-time, a few days late and months late so no single branch is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FeeBenchmark {
+
+	private static final int LOANS = 1024;
+
+	private final FeeService feeService = new FeeService();
+	private final LocalDate returned = LocalDate.of(2025, 6, 30);
+	private LocalDate[] dueDates;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		dueDates = new LocalDate[LOANS];
+		for (int i = 0; i < LOANS; i++) {
+			dueDates[i] = returned.minusDays(i % 120 - 10);
+		}
+	}
+
+	@Benchmark
+	public int returnedLoan() {
+		return feeService.calculateLateFee(nextDueDate(), returned, FeeService.WEEKLY_LATE_FEE);
+	}
+
+	// Open loans are charged up to today, which adds the clock read
+	@Benchmark
+	public int openLoan() {
+		return feeService.calculateLateFee(nextDueDate(), null, FeeService.WEEKLY_LATE_FEE);
+	}
+
+	// The overdue sweep prices a whole batch of open loans against one run date
+	@Benchmark
+	public void sweepBatch(Blackhole blackhole) {
+		for (LocalDate dueDate : dueDates) {
+			blackhole.consume(feeService.calculateLateFee(dueDate, returned, FeeService.WEEKLY_LATE_FEE));
+		}
+	}
+
+	private LocalDate nextDueDate() {
+		return dueDates[next++ & (LOANS - 1)];
+	}
+}
@@ -0,0 +1,83 @@
+package com.management.library.benchmark;
+
+import com.management.library.BorrowingReservation.service.IdService;
+import com.management.library.Common.sequence.SequenceGenerator;
+import com.management.library.Common.sequence.SequenceStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Borrow numbers drawn by one thread and by eight at once from a shared {@link IdService}. The store
+ * is in memory with no round-trip, so this measures the block hand-out and the number formatting;
+ * {@code SequenceContentionBenchmarkTest} covers the cost of going to the counters collection.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class SharedIdService {
+
+		@Param({"1", "50"})
+		public int blockSize;
+
+		IdService idService;
+
+		@Setup
+		public void setUp() {
+			idService = new IdService(new SequenceGenerator(new LocalSequenceStore(), null, blockSize));
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public String borrowNumber(SharedIdService ids) {
+		return ids.idService.nextBorrowNumber();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String borrowNumberContended(SharedIdService ids) {
+		return ids.idService.nextBorrowNumber();
+	}
+
+	// The formatting on its own, to separate it from the sequence hand-out above
+	@Benchmark
+	@Threads(1)
+	public String formatOnly() {
+		return "BR2025" + String.format("%04d", 4711);
+	}
+
+	private static final class LocalSequenceStore implements SequenceStore {
+
+		private final Map<String, Long> counters = new HashMap<>();
+
+		@Override
+		public synchronized long allocate(String sequence, int blockSize) {
+			return counters.merge(sequence, (long) blockSize, Long::sum);
+		}
+
+		@Override
+		public synchronized void initialize(String sequence, LongSupplier floor) {
+			counters.putIfAbsent(sequence, 0L);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.management.library.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.management.library.BookManagement.dto.BookResponseDTO;
+import com.management.library.BookManagement.dto.BookSummary;
+import com.management.library.BookManagement.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Writing the catalog list endpoints' payloads with an ObjectMapper configured the way Spring MVC's is,
+ * full books against the {@code fields=summary} projection. Output is discarded so only encoding is timed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+	@Param({"100", "10000"})
+	public int books;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final OutputStream discard = OutputStream.nullOutputStream();
+	private ObjectWriter writer;
+	private List<BookResponseDTO> responses;
+	private List<BookSummary> summaries;
+
+	@Setup
+	public void setUp() {
+		BookService bookService = new BookService();
+		responses = IntStream.range(0, books)
+				.mapToObj(i -> bookService.convertToResponseDTO(BenchmarkData.book(i)))
+				.collect(Collectors.toList());
+		summaries = IntStream.range(0, books)
+				.mapToObj(i -> BookSummary.from(BenchmarkData.book(i)))
+				.collect(Collectors.toList());
+		// Left open so the same discarding stream can be written again
+		writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+	}
+
+	@Benchmark
+	public void fullBooks() throws IOException {
+		writer.writeValue(discard, responses);
+	}
+
+	@Benchmark
+	public void summaries() throws IOException {
+		writer.writeValue(discard, summaries);
+	}
+}
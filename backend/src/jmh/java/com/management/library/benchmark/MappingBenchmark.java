@@ -0,0 +1,57 @@
+package com.management.library.benchmark;
+
+import com.management.library.BookManagement.dto.BookResponseDTO;
+import com.management.library.BookManagement.dto.BookSummary;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.service.BookService;
+import com.management.library.MemberManagement.Dto.MemberResponse;
+import com.management.library.MemberManagement.Entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping, which runs once per row of every list endpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+	private final BookService bookService = new BookService();
+	private Book book;
+	private Member member;
+
+	@Setup
+	public void setUp() {
+		book = BenchmarkData.book(42);
+		member = BenchmarkData.member(42);
+	}
+
+	@Benchmark
+	public BookResponseDTO bookResponse() {
+		return bookService.convertToResponseDTO(book);
+	}
+
+	@Benchmark
+	public BookSummary bookSummary() {
+		return BookSummary.from(book);
+	}
+
+	@Benchmark
+	public MemberResponse memberResponse() {
+		return MemberResponse.fromEntity(member);
+	}
+}
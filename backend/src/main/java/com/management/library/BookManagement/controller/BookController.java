@@ -2,12 +2,19 @@ package com.management.library.BookManagement.controller;
 
 import com.management.library.BookManagement.dto.*;
 import com.management.library.BookManagement.service.BookService;
+import com.management.library.BookManagement.service.ReactiveBookService;
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.NdjsonStreamer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
@@ -18,6 +25,12 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private ReactiveBookService reactiveBookService;
+
     // Create a new book
     @PostMapping
     public ResponseEntity<BookResponseDTO> createBook(@Valid @RequestBody BookCreateDTO bookCreateDTO) {
@@ -29,17 +42,69 @@ public class BookController {
         }
     }
 
-    // Get all books
+    // Get all books; fields=summary returns only what grid and card views show
     @GetMapping
-    public ResponseEntity<List<BookResponseDTO>> getAllBooks() {
+    public ResponseEntity<List<?>> getAllBooks(@RequestParam(required = false) String fields) {
         try {
-            List<BookResponseDTO> books = bookService.getAllBooks();
+            List<?> books = isSummary(fields) ? bookService.getAllBookSummaries() : bookService.getAllBooks();
             return new ResponseEntity<>(books, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Get books one page at a time using the cursor from the previous page
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<?>> getBooksPage(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String fields) {
+        try {
+            CursorPage<?> page = isSummary(fields) ? bookService.getBookSummariesPage(cursor, limit)
+                    : bookService.getBooksPage(cursor, limit);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Stream all books as newline-delimited JSON
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllBooks(@RequestParam(required = false) String fields) {
+        try {
+            return isSummary(fields) ? ndjsonStreamer.stream(bookService::streamAllBookSummaries)
+                    : ndjsonStreamer.stream(bookService::streamAllBooks);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Streaming variants of the catalog filters: newline-delimited JSON written as the cursor is read,
+    // each book sent once the connection can take it
+
+    @GetMapping(value = "/stream/availability/{availability}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDTO> streamBooksByAvailability(@PathVariable Boolean availability) {
+        return reactiveBookService.getBooksByAvailability(availability);
+    }
+
+    @GetMapping(value = "/stream/language/{language}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDTO> streamBooksByLanguage(@PathVariable String language) {
+        return reactiveBookService.getBooksByLanguage(language);
+    }
+
+    @GetMapping(value = "/stream/year-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDTO> streamBooksByYearRange(@RequestParam Integer startYear, @RequestParam Integer endYear) {
+        return reactiveBookService.getBooksByYearRange(startYear, endYear);
+    }
+
+    @GetMapping(value = "/stream/available-copies", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookResponseDTO> streamBooksWithAvailableCopies() {
+        return reactiveBookService.getBooksWithAvailableCopies();
+    }
+
     // Get book by ID
     @GetMapping("/{id}")
     public ResponseEntity<BookResponseDTO> getBookById(@PathVariable String id) {
@@ -79,20 +144,36 @@ public class BookController {
 
     // Get books by availability
     @GetMapping("/availability/{availability}")
-    public ResponseEntity<List<BookResponseDTO>> getBooksByAvailability(@PathVariable Boolean availability) {
+    public ResponseEntity<List<?>> getBooksByAvailability(@PathVariable Boolean availability,
+                                                          @RequestParam(required = false) String fields) {
         try {
-            List<BookResponseDTO> books = bookService.getBooksByAvailability(availability);
+            List<?> books = isSummary(fields) ? bookService.getBookSummariesByAvailability(availability)
+                    : bookService.getBooksByAvailability(availability);
             return new ResponseEntity<>(books, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    // Suggest titles and authors as the user types
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BookSuggestionDTO>> suggestBooks(@RequestParam String query,
+                                                                @RequestParam(required = false) Integer limit) {
+        long start = System.nanoTime();
+        List<BookSuggestionDTO> suggestions = bookService.suggestBooks(query, limit);
+        return ResponseEntity.ok()
+                .header("Server-Timing", String.format(Locale.ROOT, "suggest;dur=%.3f", (System.nanoTime() - start) / 1_000_000.0))
+                .body(suggestions);
+    }
+
     // Search books by author
     @GetMapping("/search/author")
-    public ResponseEntity<List<BookResponseDTO>> searchBooksByAuthor(@RequestParam String author) {
+    public ResponseEntity<List<BookResponseDTO>> searchBooksByAuthor(@RequestParam String author,
+                                                                     @RequestParam(required = false) Integer limit) {
         try {
-            List<BookResponseDTO> books = bookService.searchBooksByAuthor(author);
+            List<BookResponseDTO> books = bookService.searchBooksByAuthor(author, limit);
             return new ResponseEntity<>(books, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -101,9 +182,10 @@ public class BookController {
 
     // Search books by title
     @GetMapping("/search/title")
-    public ResponseEntity<List<BookResponseDTO>> searchBooksByTitle(@RequestParam String title) {
+    public ResponseEntity<List<BookResponseDTO>> searchBooksByTitle(@RequestParam String title,
+                                                                    @RequestParam(required = false) Integer limit) {
         try {
-            List<BookResponseDTO> books = bookService.searchBooksByTitle(title);
+            List<BookResponseDTO> books = bookService.searchBooksByTitle(title, limit);
             return new ResponseEntity<>(books, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -112,9 +194,10 @@ public class BookController {
 
     // Search books by genre
     @GetMapping("/search/genre")
-    public ResponseEntity<List<BookResponseDTO>> searchBooksByGenre(@RequestParam String genre) {
+    public ResponseEntity<List<BookResponseDTO>> searchBooksByGenre(@RequestParam String genre,
+                                                                    @RequestParam(required = false) Integer limit) {
         try {
-            List<BookResponseDTO> books = bookService.searchBooksByGenre(genre);
+            List<BookResponseDTO> books = bookService.searchBooksByGenre(genre, limit);
             return new ResponseEntity<>(books, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -123,9 +206,10 @@ public class BookController {
 
     // Search books by multiple criteria
     @GetMapping("/search")
-    public ResponseEntity<List<BookResponseDTO>> searchBooks(@RequestParam String query) {
+    public ResponseEntity<List<BookResponseDTO>> searchBooks(@RequestParam String query,
+                                                             @RequestParam(required = false) Integer limit) {
         try {
-            List<BookResponseDTO> books = bookService.searchBooks(query);
+            List<BookResponseDTO> books = bookService.searchBooks(query, limit);
             return new ResponseEntity<>(books, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -134,10 +218,14 @@ public class BookController {
 
     // Get books by language
     @GetMapping("/language/{language}")
-    public ResponseEntity<List<BookResponseDTO>> getBooksByLanguage(@PathVariable String language) {
+    public ResponseEntity<List<?>> getBooksByLanguage(@PathVariable String language,
+                                                      @RequestParam(required = false) String fields) {
         try {
-            List<BookResponseDTO> books = bookService.getBooksByLanguage(language);
+            List<?> books = isSummary(fields) ? bookService.getBookSummariesByLanguage(language)
+                    : bookService.getBooksByLanguage(language);
             return new ResponseEntity<>(books, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -176,6 +264,30 @@ public class BookController {
         }
     }
 
+    // Get the latest statistics drift check
+    @GetMapping("/stats/reconciliation")
+    public ResponseEntity<BookStatsReconciliationDTO> getStatisticsReconciliation() {
+        BookStatsReconciliationDTO report = bookService.getStatisticsReconciliation();
+        if (report == null) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    // Check the statistics against the database now
+    @PostMapping("/stats/reconciliation")
+    public ResponseEntity<BookStatsReconciliationDTO> reconcileStatistics() {
+        try {
+            BookStatsReconciliationDTO report = bookService.reconcileStatistics();
+            if (report == null) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // Get books with available copies
     @GetMapping("/available-copies")
     public ResponseEntity<List<BookResponseDTO>> getBooksWithAvailableCopies() {
@@ -209,4 +321,15 @@ public class BookController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // fields=summary selects BookSummary, fields=full (or no fields) the whole book
+    private static boolean isSummary(String fields) {
+        if (fields == null || fields.isBlank() || fields.equalsIgnoreCase("full")) {
+            return false;
+        }
+        if (fields.equalsIgnoreCase("summary")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown fields selector: " + fields);
+    }
+}
@@ -0,0 +1,93 @@
+package com.management.library.BookManagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.library.BookManagement.dto.BookImportErrorDTO;
+import com.management.library.BookManagement.dto.BookImportReportDTO;
+import com.management.library.BookManagement.transfer.BookExporter;
+import com.management.library.BookManagement.transfer.BookImportListener;
+import com.management.library.BookManagement.transfer.BookImporter;
+import com.management.library.BookManagement.transfer.BookTransferFormat;
+import com.management.library.Common.pagination.NdjsonStreamer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/books")
+@CrossOrigin(origins = "*")
+public class BookTransferController {
+
+    private final BookImporter bookImporter;
+    private final BookExporter bookExporter;
+    private final ObjectMapper objectMapper;
+
+    public BookTransferController(BookImporter bookImporter, BookExporter bookExporter, ObjectMapper objectMapper) {
+        this.bookImporter = bookImporter;
+        this.bookExporter = bookExporter;
+        this.objectMapper = objectMapper;
+    }
+
+    // Import a CSV or NDJSON catalog from the request body. The response is newline-delimited JSON written
+    // while the file is read: {"rejected": ...} per bad row, {"progress": ...} per batch, then {"done": ...}
+    @PostMapping("/import")
+    public void importBooks(@RequestParam(required = false) String format, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        BookTransferFormat transferFormat;
+        try {
+            transferFormat = BookTransferFormat.resolve(format, request.getContentType());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        response.setContentType(NdjsonStreamer.APPLICATION_NDJSON.toString());
+        OutputStream out = response.getOutputStream();
+        BookImportReportDTO report = bookImporter.importBooks(request.getInputStream(), transferFormat,
+                new BookImportListener() {
+                    @Override
+                    public void onRowRejected(BookImportErrorDTO error) {
+                        writeLine(out, Map.of("rejected", error));
+                    }
+
+                    @Override
+                    public void onProgress(BookImportReportDTO progress) {
+                        writeLine(out, Map.of("progress", progress));
+                    }
+                });
+        writeLine(out, Map.of("done", report));
+    }
+
+    // Export the catalog as CSV or NDJSON in the import format
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "ndjson") String format) {
+        BookTransferFormat transferFormat;
+        try {
+            transferFormat = BookTransferFormat.resolve(format, null);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        StreamingResponseBody body = out -> bookExporter.export(transferFormat, out);
+        return ResponseEntity.ok()
+                .contentType(transferFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books." + transferFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
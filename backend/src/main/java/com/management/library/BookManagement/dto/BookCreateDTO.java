@@ -37,6 +37,10 @@ public class BookCreateDTO {
     @Min(value = 0, message = "Available copies must be non-negative")
     private Integer availableCopies;
 
+    // Defaults to availableCopies when omitted
+    @Min(value = 0, message = "Total copies must be non-negative")
+    private Integer totalCopies;
+
     @NotBlank(message = "Location is required")
     private String location;
 
@@ -150,6 +154,14 @@ public class BookCreateDTO {
         this.availableCopies = availableCopies;
     }
 
+    public Integer getTotalCopies() {
+        return totalCopies;
+    }
+
+    public void setTotalCopies(Integer totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+
     public String getLocation() {
         return location;
     }
@@ -0,0 +1,44 @@
+package com.management.library.BookManagement.dto;
+
+public class BookImportErrorDTO {
+
+    // 1-based position of the row in the file, header excluded
+    private long row;
+    private String bookNo;
+    private String message;
+
+    // Constructors
+    public BookImportErrorDTO() {
+    }
+
+    public BookImportErrorDTO(long row, String bookNo, String message) {
+        this.row = row;
+        this.bookNo = bookNo;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getBookNo() {
+        return bookNo;
+    }
+
+    public void setBookNo(String bookNo) {
+        this.bookNo = bookNo;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
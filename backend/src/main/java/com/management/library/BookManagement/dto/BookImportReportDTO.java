@@ -0,0 +1,87 @@
+package com.management.library.BookManagement.dto;
+
+import java.util.List;
+
+public class BookImportReportDTO {
+
+    private long rows;
+    private long inserted;
+    private long updated;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // The first rejections only; rejected counts all of them
+    private List<BookImportErrorDTO> errors;
+
+    // Constructors
+    public BookImportReportDTO() {
+    }
+
+    public BookImportReportDTO(long rows, long inserted, long updated, long rejected, long elapsedMillis,
+                               List<BookImportErrorDTO> errors) {
+        this.rows = rows;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = rows * 1000.0 / Math.max(1, elapsedMillis);
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<BookImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BookImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
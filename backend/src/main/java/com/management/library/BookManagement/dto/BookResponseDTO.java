@@ -16,6 +16,7 @@ public class BookResponseDTO {
     private String language;
     private Boolean availability;
     private Integer availableCopies;
+    private Integer totalCopies;
     private String location;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -142,6 +143,14 @@ public class BookResponseDTO {
         this.availableCopies = availableCopies;
     }
 
+    public Integer getTotalCopies() {
+        return totalCopies;
+    }
+
+    public void setTotalCopies(Integer totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+
     public String getLocation() {
         return location;
     }
@@ -61,4 +61,23 @@ public class BookStatsDTO {
     public void setAvailableCopies(int availableCopies) {
         this.availableCopies = availableCopies;
     }
-}
\ No newline at end of file
+
+    // Counter-wise comparison used by the drift check
+    public boolean sameCountsAs(BookStatsDTO other) {
+        return other != null
+                && totalBooks == other.totalBooks
+                && availableBooks == other.availableBooks
+                && unavailableBooks == other.unavailableBooks
+                && totalCopies == other.totalCopies
+                && availableCopies == other.availableCopies;
+    }
+
+    @Override
+    public String toString() {
+        return "BookStatsDTO{totalBooks=" + totalBooks
+                + ", availableBooks=" + availableBooks
+                + ", unavailableBooks=" + unavailableBooks
+                + ", totalCopies=" + totalCopies
+                + ", availableCopies=" + availableCopies + "}";
+    }
+}
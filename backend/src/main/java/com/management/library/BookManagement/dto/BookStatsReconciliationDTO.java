@@ -0,0 +1,66 @@
+package com.management.library.BookManagement.dto;
+
+import java.time.LocalDateTime;
+
+public class BookStatsReconciliationDTO {
+
+    private LocalDateTime checkedAt;
+    private boolean inSync;
+    private BookStatsDTO expected;
+    private BookStatsDTO observed;
+    private long totalDriftsDetected;
+
+    // Constructors
+    public BookStatsReconciliationDTO() {
+    }
+
+    public BookStatsReconciliationDTO(LocalDateTime checkedAt, boolean inSync, BookStatsDTO expected,
+                                      BookStatsDTO observed, long totalDriftsDetected) {
+        this.checkedAt = checkedAt;
+        this.inSync = inSync;
+        this.expected = expected;
+        this.observed = observed;
+        this.totalDriftsDetected = totalDriftsDetected;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(LocalDateTime checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    public boolean isInSync() {
+        return inSync;
+    }
+
+    public void setInSync(boolean inSync) {
+        this.inSync = inSync;
+    }
+
+    public BookStatsDTO getExpected() {
+        return expected;
+    }
+
+    public void setExpected(BookStatsDTO expected) {
+        this.expected = expected;
+    }
+
+    public BookStatsDTO getObserved() {
+        return observed;
+    }
+
+    public void setObserved(BookStatsDTO observed) {
+        this.observed = observed;
+    }
+
+    public long getTotalDriftsDetected() {
+        return totalDriftsDetected;
+    }
+
+    public void setTotalDriftsDetected(long totalDriftsDetected) {
+        this.totalDriftsDetected = totalDriftsDetected;
+    }
+}
@@ -0,0 +1,43 @@
+package com.management.library.BookManagement.dto;
+
+public class BookSuggestionDTO {
+
+    private String text;
+    private String type;
+    private int bookCount;
+
+    // Constructors
+    public BookSuggestionDTO() {
+    }
+
+    public BookSuggestionDTO(String text, String type, int bookCount) {
+        this.text = text;
+        this.type = type;
+        this.bookCount = bookCount;
+    }
+
+    // Getters and Setters
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public void setBookCount(int bookCount) {
+        this.bookCount = bookCount;
+    }
+}
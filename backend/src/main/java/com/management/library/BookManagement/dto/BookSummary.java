@@ -0,0 +1,138 @@
+package com.management.library.BookManagement.dto;
+
+import com.management.library.BookManagement.entity.Book;
+
+import java.util.List;
+
+/**
+ * What a grid or card view shows for a book. The description, edition, location and timestamps
+ * only matter on the details page, so list queries that return summaries leave them on the server.
+ */
+public class BookSummary {
+
+    // Book properties a summary is read from; BookRepository.SUMMARY_FIELDS projects the same set
+    public static final List<String> FIELDS = List.of(
+            "bookNo", "title", "image", "author", "genre", "year", "language",
+            "availability", "availableCopies", "totalCopies");
+
+    private String id;
+    private String bookNo;
+    private String title;
+    private String image;
+    private String author;
+    private String genre;
+    private Integer year;
+    private String language;
+    private Boolean availability;
+    private Integer availableCopies;
+    private Integer totalCopies;
+
+    // Constructors
+    public BookSummary() {
+    }
+
+    public static BookSummary from(Book book) {
+        BookSummary summary = new BookSummary();
+        summary.setId(book.getId());
+        summary.setBookNo(book.getBookNo());
+        summary.setTitle(book.getTitle());
+        summary.setImage(book.getImage());
+        summary.setAuthor(book.getAuthor());
+        summary.setGenre(book.getGenre());
+        summary.setYear(book.getYear());
+        summary.setLanguage(book.getLanguage());
+        summary.setAvailability(book.getAvailability());
+        summary.setAvailableCopies(book.getAvailableCopies());
+        summary.setTotalCopies(book.getTotalCopies() != null ? book.getTotalCopies() : book.getAvailableCopies());
+        return summary;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getBookNo() {
+        return bookNo;
+    }
+
+    public void setBookNo(String bookNo) {
+        this.bookNo = bookNo;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public void setImage(String image) {
+        this.image = image;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public Boolean getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(Boolean availability) {
+        this.availability = availability;
+    }
+
+    public Integer getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public void setAvailableCopies(Integer availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
+    public Integer getTotalCopies() {
+        return totalCopies;
+    }
+
+    public void setTotalCopies(Integer totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+}
@@ -18,6 +18,9 @@ public class BookUpdateDTO {
     @Min(value = 0, message = "Available copies must be non-negative")
     private Integer availableCopies;
 
+    @Min(value = 0, message = "Total copies must be non-negative")
+    private Integer totalCopies;
+
     private String location;
 
     // Constructors
@@ -130,6 +133,14 @@ public class BookUpdateDTO {
         this.availableCopies = availableCopies;
     }
 
+    public Integer getTotalCopies() {
+        return totalCopies;
+    }
+
+    public void setTotalCopies(Integer totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+
     public String getLocation() {
         return location;
     }
@@ -1,6 +1,7 @@
 package com.management.library.BookManagement.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import java.time.LocalDateTime;
@@ -11,6 +12,7 @@ public class Book {
     @Id
     private String id;
 
+    @Indexed
     @Field("bookno")
     private String bookNo;
 
@@ -26,6 +28,7 @@ public class Book {
     @Field("genre")
     private String genre;
 
+    @Indexed
     @Field("year")
     private Integer year;
 
@@ -35,15 +38,24 @@ public class Book {
     @Field("description")
     private String description;
 
+    @Indexed
     @Field("language")
     private String language;
 
+    @Indexed
     @Field("availability")
     private Boolean availability;
 
+    // Only books with copies on the shelf are looked up by copy count
+    @Indexed(partialFilter = "{ 'availablecopies': { $gt: 0 } }")
     @Field("availablecopies")
     private Integer availableCopies;
 
+    // Copies the library owns; availableCopies is the part of it on the shelf
+    @Field("totalcopies")
+    private Integer totalCopies;
+
+    @Indexed
     @Field("location")
     private String location;
 
@@ -76,6 +88,16 @@ public class Book {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Detached copy, e.g. of the state before an in-place modification
+    public Book(Book other) {
+        this(other.bookNo, other.title, other.image, other.author, other.genre, other.year, other.edition,
+                other.description, other.language, other.availability, other.availableCopies, other.location);
+        this.id = other.id;
+        this.totalCopies = other.totalCopies;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
@@ -173,6 +195,14 @@ public class Book {
         this.availableCopies = availableCopies;
     }
 
+    public Integer getTotalCopies() {
+        return totalCopies;
+    }
+
+    public void setTotalCopies(Integer totalCopies) {
+        this.totalCopies = totalCopies;
+    }
+
     public String getLocation() {
         return location;
     }
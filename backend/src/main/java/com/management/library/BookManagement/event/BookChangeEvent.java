@@ -0,0 +1,62 @@
+package com.management.library.BookManagement.event;
+
+import com.management.library.BookManagement.entity.Book;
+
+/**
+ * A single change to the books collection. {@code before} and {@code after} are null when the
+ * source could not provide them (e.g. a change-stream update without a pre-image).
+ */
+public class BookChangeEvent {
+
+    public enum Type {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final Type type;
+    private final String bookId;
+    private final Book before;
+    private final Book after;
+    private final boolean local;
+
+    // Constructors
+    public BookChangeEvent(Type type, String bookId, Book before, Book after, boolean local) {
+        this.type = type;
+        this.bookId = bookId;
+        this.before = before;
+        this.after = after;
+        this.local = local;
+    }
+
+    public static BookChangeEvent inserted(Book after) {
+        return new BookChangeEvent(Type.INSERT, after.getId(), null, after, true);
+    }
+
+    public static BookChangeEvent updated(Book before, Book after) {
+        return new BookChangeEvent(Type.UPDATE, after.getId(), before, after, true);
+    }
+
+    public static BookChangeEvent deleted(Book before) {
+        return new BookChangeEvent(Type.DELETE, before.getId(), before, null, true);
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public String getBookId() {
+        return bookId;
+    }
+
+    public Book getBefore() {
+        return before;
+    }
+
+    public Book getAfter() {
+        return after;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+}
@@ -0,0 +1,188 @@
+package com.management.library.BookManagement.event;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.Common.job.BackgroundJobs;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans book changes out to every {@link BookChangeListener}. Writes made through {@code BookService}
+ * are published straight away; writes from other instances or tools arrive via the change stream.
+ * Our own writes show up on both paths, so whichever copy arrives first is applied and the other dropped.
+ * The two copies are matched on the book and the {@code updatedat} the write set, which this instance
+ * stamps through {@link #nextUpdatedAt()} so that no two of its writes share one.
+ */
+@Component
+public class BookChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(BookChangeFeed.class);
+    private static final long DUPLICATE_WINDOW_MILLIS = 60_000;
+    private static final int PRUNE_THRESHOLD = 1_000;
+
+    private final List<BookChangeListener> listeners;
+    private final MongoTemplate mongoTemplate;
+    private final ChangeStreamSubscriber changeStreamSubscriber;
+    private final BackgroundJobs backgroundJobs;
+    private final Map<String, Long> recentChanges = new ConcurrentHashMap<>();
+    private final AtomicLong lastStampMillis = new AtomicLong();
+
+    public BookChangeFeed(List<BookChangeListener> listeners,
+                          MongoTemplate mongoTemplate,
+                          ChangeStreamSubscriber changeStreamSubscriber,
+                          BackgroundJobs backgroundJobs) {
+        this.listeners = listeners;
+        this.mongoTemplate = mongoTemplate;
+        this.changeStreamSubscriber = changeStreamSubscriber;
+        this.backgroundJobs = backgroundJobs;
+    }
+
+    // The updatedat for a write: millisecond precision, as stored, and strictly increasing on this instance
+    public LocalDateTime nextUpdatedAt() {
+        long millis = lastStampMillis.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    // Publish a write this instance just made
+    public void publishLocal(BookChangeEvent event) {
+        Book after = event.getAfter();
+        if (changeStreamSubscriber.isEnabled() && isDuplicate(keyOf(event, after != null ? after.getUpdatedAt() : null))) {
+            return;
+        }
+        dispatch(event);
+    }
+
+    // Tell listeners to reload after a bulk write that was not published book by book
+    public void publishChangesMissed() {
+        onChangesMissed();
+    }
+
+    // Start watching in the background so a slow or unreachable cluster never delays startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!changeStreamSubscriber.isEnabled()) {
+            return;
+        }
+        backgroundJobs.submit("book change feed", () -> {
+            enablePreImages();
+            changeStreamSubscriber.subscribe(collectionName(), true, this::onChange, this::onChangesMissed);
+        });
+    }
+
+    private void onChange(ChangeStreamDocument<Document> change) {
+        BookChangeEvent.Type type;
+        switch (change.getOperationType()) {
+            case INSERT:
+                type = BookChangeEvent.Type.INSERT;
+                break;
+            case UPDATE:
+            case REPLACE:
+                type = BookChangeEvent.Type.UPDATE;
+                break;
+            case DELETE:
+                type = BookChangeEvent.Type.DELETE;
+                break;
+            default:
+                // drop, rename, invalidate: anything held in memory no longer matches the collection
+                onChangesMissed();
+                return;
+        }
+
+        BookChangeEvent event = new BookChangeEvent(type, idOf(change.getDocumentKey().get("_id")),
+                toBook(change.getFullDocumentBeforeChange()), toBook(change.getFullDocument()), false);
+        if (!isDuplicate(keyOf(event, updatedAtOf(change, event.getAfter())))) {
+            dispatch(event);
+        }
+    }
+
+    private void onChangesMissed() {
+        for (BookChangeListener listener : listeners) {
+            try {
+                listener.onChangesMissed();
+            } catch (Exception e) {
+                log.warn("Book change listener {} failed to handle a gap: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void dispatch(BookChangeEvent event) {
+        for (BookChangeListener listener : listeners) {
+            try {
+                listener.onBookChange(event);
+            } catch (Exception e) {
+                log.warn("Book change listener {} failed on {} {}: {}",
+                        listener.getClass().getSimpleName(), event.getType(), event.getBookId(), e.getMessage());
+            }
+        }
+    }
+
+    // True when the other path already delivered this change; the first arrival claims the key
+    private boolean isDuplicate(String key) {
+        long now = System.currentTimeMillis();
+        if (recentChanges.size() > PRUNE_THRESHOLD) {
+            recentChanges.values().removeIf(expiresAt -> expiresAt < now);
+        }
+        if (recentChanges.putIfAbsent(key, now + DUPLICATE_WINDOW_MILLIS) != null) {
+            recentChanges.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    // Mongo stores dates with millisecond precision, so compare timestamps at that precision
+    private static String keyOf(BookChangeEvent event, LocalDateTime updatedAt) {
+        return event.getType() + ":" + event.getBookId() + ":"
+                + (updatedAt != null ? updatedAt.truncatedTo(ChronoUnit.MILLIS) : "");
+    }
+
+    // The updatedat this change wrote, from its own update description; the image only when it did not set one
+    private static LocalDateTime updatedAtOf(ChangeStreamDocument<Document> change, Book after) {
+        BsonDocument updatedFields = change.getUpdateDescription() != null
+                ? change.getUpdateDescription().getUpdatedFields() : null;
+        BsonValue updatedAt = updatedFields != null ? updatedFields.get("updatedat") : null;
+        if (updatedAt != null && updatedAt.isDateTime()) {
+            // The converter stores LocalDateTime in the system zone
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(updatedAt.asDateTime().getValue()), ZoneId.systemDefault());
+        }
+        return after != null ? after.getUpdatedAt() : null;
+    }
+
+    // Best effort: pre-images need MongoDB 6.0+ and collMod rights; without them updates fall back to a rebuild
+    private void enablePreImages() {
+        try {
+            mongoTemplate.executeCommand(new Document("collMod", collectionName())
+                    .append("changeStreamPreAndPostImages", new Document("enabled", true)));
+        } catch (Exception e) {
+            log.info("Could not enable change stream pre-images on books: {}", e.getMessage());
+        }
+    }
+
+    private Book toBook(Document document) {
+        return document != null ? mongoTemplate.getConverter().read(Book.class, document) : null;
+    }
+
+    private String idOf(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(Book.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.management.library.BookManagement.event;
+
+public interface BookChangeListener {
+
+    // Apply one change; called for this instance's own writes and for changes seen on the change stream
+    void onBookChange(BookChangeEvent event);
+
+    // Changes may have been missed (change stream failure); rebuild from the database
+    default void onChangesMissed() {
+    }
+}
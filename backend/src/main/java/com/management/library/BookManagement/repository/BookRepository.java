@@ -1,6 +1,8 @@
 package com.management.library.BookManagement.repository;
 
+import com.management.library.BookManagement.dto.BookStatsDTO;
 import com.management.library.BookManagement.entity.Book;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Aggregation;
@@ -11,6 +13,10 @@ import java.util.Optional;
 @Repository
 public interface BookRepository extends MongoRepository<Book, String> {
 
+    // Projection for grid and card views, the same properties as BookSummary.FIELDS
+    String SUMMARY_FIELDS = "{ 'bookNo': 1, 'title': 1, 'image': 1, 'author': 1, 'genre': 1, 'year': 1, " +
+            "'language': 1, 'availability': 1, 'availableCopies': 1, 'totalCopies': 1 }";
+
     // Find books by book number
     Optional<Book> findByBookNo(String bookNo);
 
@@ -20,18 +26,30 @@ public interface BookRepository extends MongoRepository<Book, String> {
     // Find books by availability status
     List<Book> findByAvailability(Boolean availability);
 
+    // Summary fields of every book
+    @Query(value = "{}", fields = SUMMARY_FIELDS)
+    List<Book> findAllSummaries();
+
+    // Summary fields of books by availability status
+    @Query(value = "{ 'availability': ?0 }", fields = SUMMARY_FIELDS)
+    List<Book> findSummariesByAvailability(Boolean availability);
+
     // Find books by author
-    List<Book> findByAuthorContainingIgnoreCase(String author);
+    List<Book> findByAuthorContainingIgnoreCase(String author, Pageable page);
 
     // Find books by title
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    List<Book> findByTitleContainingIgnoreCase(String title, Pageable page);
 
     // Find books by genre
-    List<Book> findByGenreContainingIgnoreCase(String genre);
+    List<Book> findByGenreContainingIgnoreCase(String genre, Pageable page);
 
     // Find books by language
     List<Book> findByLanguage(String language);
 
+    // Summary fields of books by language
+    @Query(value = "{ 'language': ?0 }", fields = SUMMARY_FIELDS)
+    List<Book> findSummariesByLanguage(String language);
+
     // Find books by year
     List<Book> findByYear(Integer year);
 
@@ -57,19 +75,30 @@ public interface BookRepository extends MongoRepository<Book, String> {
     })
     Optional<Integer> getTotalAvailableCopies();
 
-    // Custom query to get sum of all copies (assuming each book has a total copies field or using available copies as proxy)
+    // Custom query to get sum of all copies (books not yet backfilled count their shelf copies)
     @Aggregation(pipeline = {
-            "{ $group: { _id: null, totalCopies: { $sum: '$availableCopies' } } }"
+            "{ $group: { _id: null, totalCopies: { $sum: { $ifNull: [ '$totalcopies', '$availablecopies' ] } } } }"
     })
     Optional<Integer> getTotalCopies();
 
+    // Compute every catalog counter in one round-trip (stored field names are lower-case, see @Field on Book)
+    @Aggregation(pipeline = {
+            "{ $group: { _id: null, " +
+                    "totalBooks: { $sum: 1 }, " +
+                    "availableBooks: { $sum: { $cond: [ { $eq: [ '$availability', true ] }, 1, 0 ] } }, " +
+                    "unavailableBooks: { $sum: { $cond: [ { $eq: [ '$availability', false ] }, 1, 0 ] } }, " +
+                    "totalCopies: { $sum: { $ifNull: [ '$totalcopies', '$availablecopies' ] } }, " +
+                    "availableCopies: { $sum: '$availablecopies' } } }"
+    })
+    Optional<BookStatsDTO> computeBookStatistics();
+
     // Search books by multiple criteria
     @Query("{ $or: [ " +
             "{ 'title': { $regex: ?0, $options: 'i' } }, " +
             "{ 'author': { $regex: ?0, $options: 'i' } }, " +
             "{ 'genre': { $regex: ?0, $options: 'i' } } " +
             "] }")
-    List<Book> searchBooks(String searchTerm);
+    List<Book> searchBooks(String searchTerm, Pageable page);
 
     // Find books by year range
     List<Book> findByYearBetween(Integer startYear, Integer endYear);
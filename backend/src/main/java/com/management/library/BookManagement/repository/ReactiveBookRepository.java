@@ -0,0 +1,25 @@
+package com.management.library.BookManagement.repository;
+
+import com.management.library.BookManagement.entity.Book;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+// Non-blocking reads for the catalog streams; writes stay on BookRepository
+@Repository
+public interface ReactiveBookRepository extends ReactiveMongoRepository<Book, String> {
+
+    // Find books by availability status
+    Flux<Book> findByAvailability(Boolean availability);
+
+    // Find books by language
+    Flux<Book> findByLanguage(String language);
+
+    // Find books by year range
+    Flux<Book> findByYearBetween(Integer startYear, Integer endYear);
+
+    // Find books with available copies > 0
+    @Query("{ 'availableCopies': { $gt: 0 } }")
+    Flux<Book> findBooksWithAvailableCopies();
+}
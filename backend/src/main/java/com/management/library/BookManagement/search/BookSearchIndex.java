@@ -0,0 +1,303 @@
+package com.management.library.BookManagement.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book title, author and genre.
+ *
+ * <p>Text is lower-cased, stripped of accents and split on anything that is not a letter or digit.
+ * Each query token matches dictionary terms exactly, by prefix, or (when it has no exact match)
+ * within a small edit distance. A book must match every query token; its score is the sum of the
+ * best match per token, weighted by match kind and by the fields the term appears in.
+ *
+ * <p>Reads share a lock and run concurrently; writes (one book at a time) take it exclusively.
+ */
+public class BookSearchIndex {
+
+    public static final int TITLE = 1;
+    public static final int AUTHOR = 2;
+    public static final int GENRE = 4;
+    public static final int ALL_FIELDS = TITLE | AUTHOR | GENRE;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.6;
+    private static final double FUZZY = 0.4;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    // term -> (book id -> bitmask of the fields containing the term)
+    private final TreeMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    // book id -> (term -> field bitmask), kept so a book can be removed or re-indexed
+    private final Map<String, Map<String, Integer>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Index (or re-index) one book
+    public void put(String bookId, String title, String author, String genre) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, title, TITLE);
+        addTerms(terms, author, AUTHOR);
+        addTerms(terms, genre, GENRE);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+            documents.put(bookId, terms);
+            terms.forEach((term, fields) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(bookId, fields));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ranked book ids matching every token of the query in the given fields, best first
+    public List<String> search(String query, int fieldMask, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            // Most selective token first, so later tokens only probe the books still in the running
+            tokens.sort(Comparator.comparingLong(this::estimateMatches));
+            for (String token : tokens) {
+                scores = scoreToken(token, fieldMask, scores);
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top(scores, limit);
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Adds the best score for one query token to each candidate (every book when candidates is null)
+    private Map<String, Double> scoreToken(String token, int fieldMask, Map<String, Double> candidates) {
+        Map<String, Double> scores = new HashMap<>();
+        boolean exactHit = collect(scores, postings.get(token), EXACT, fieldMask, candidates);
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expanded = 0;
+            for (Map<String, Integer> books : prefixExpansions(token).values()) {
+                if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                collect(scores, books, PREFIX, fieldMask, candidates);
+            }
+        }
+
+        // Typos are only considered when the token is not itself a known term
+        int maxEdits = exactHit ? 0 : maxEdits(token);
+        if (maxEdits > 0) {
+            // Like most fuzzy matchers, assume the first character is right; this keeps the scan to one slice of the dictionary
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Map<String, Integer>> entry
+                    : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String term = entry.getKey();
+                if (Math.abs(term.length() - token.length()) <= maxEdits
+                        && !term.startsWith(token)
+                        && editDistance(token, term, maxEdits) <= maxEdits) {
+                    collect(scores, entry.getValue(), FUZZY, fieldMask, candidates);
+                }
+            }
+        }
+
+        if (candidates != null) {
+            scores.replaceAll((bookId, score) -> score + candidates.get(bookId));
+        }
+        return scores;
+    }
+
+    private boolean collect(Map<String, Double> scores, Map<String, Integer> books, double quality,
+                            int fieldMask, Map<String, Double> candidates) {
+        if (books == null) {
+            return false;
+        }
+        boolean hit = false;
+        if (candidates != null && candidates.size() < books.size()) {
+            // Probe the (smaller) candidate set instead of walking the whole posting list
+            for (String bookId : candidates.keySet()) {
+                Integer fields = books.get(bookId);
+                if (fields != null && (fields & fieldMask) != 0) {
+                    scores.merge(bookId, quality * weight(fields & fieldMask), Math::max);
+                    hit = true;
+                }
+            }
+            return hit;
+        }
+        for (Map.Entry<String, Integer> entry : books.entrySet()) {
+            int fields = entry.getValue() & fieldMask;
+            if (fields != 0 && (candidates == null || candidates.containsKey(entry.getKey()))) {
+                scores.merge(entry.getKey(), quality * weight(fields), Math::max);
+                hit = true;
+            }
+        }
+        return hit;
+    }
+
+    private NavigableMap<String, Map<String, Integer>> prefixExpansions(String token) {
+        return postings.subMap(token, false, token + Character.MAX_VALUE, false);
+    }
+
+    // Upper bound on the books a token can match through its exact and prefix terms
+    private long estimateMatches(String token) {
+        Map<String, Integer> exact = postings.get(token);
+        long estimate = exact != null ? exact.size() : 0;
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expanded = 0;
+            for (Map<String, Integer> books : prefixExpansions(token).values()) {
+                if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                estimate += books.size();
+            }
+        }
+        return estimate;
+    }
+
+    // Bounded heap keeps selection at O(n log k) instead of sorting every match
+    private static List<String> top(Map<String, Double> scores, int limit) {
+        Comparator<Map.Entry<String, Double>> worstFirst = Map.Entry.<String, Double>comparingByValue()
+                .thenComparing(Map.Entry.<String, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(limit + 1, worstFirst);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<String> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().getKey());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    // Title matches count most, then author, then genre
+    private static double weight(int fields) {
+        double weight = 0;
+        if ((fields & TITLE) != 0) {
+            weight += 3;
+        }
+        if ((fields & AUTHOR) != 0) {
+            weight += 2;
+        }
+        if ((fields & GENRE) != 0) {
+            weight += 1;
+        }
+        return weight;
+    }
+
+    private static int maxEdits(String token) {
+        if (token.length() < 4) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    // Levenshtein distance, giving up as soon as it must exceed the limit
+    static int editDistance(String a, String b, int limit) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int field) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, field, (a, b) -> a | b);
+        }
+    }
+
+    private void removeLocked(String bookId) {
+        Map<String, Integer> terms = documents.remove(bookId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<String, Integer> books = postings.get(term);
+            if (books != null) {
+                books.remove(bookId);
+                if (books.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
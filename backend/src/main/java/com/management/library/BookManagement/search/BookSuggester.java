@@ -0,0 +1,273 @@
+package com.management.library.BookManagement.search;
+
+import com.management.library.BookManagement.dto.BookSuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie over normalized titles and author names for search-as-you-type.
+ *
+ * <p>Each distinct title or author is one suggestion, counted by the number of books carrying it.
+ * It is inserted under the phrase starting at each of its first few words, so "gats" and
+ * "great gat" both reach "The Great Gatsby". Every node caches the best suggestions of its subtree;
+ * a write clears the caches along the paths it touches and the next lookup rebuilds them from the
+ * children's caches, so a lookup is a walk down the prefix plus (at most) a small merge.
+ */
+public class BookSuggester {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int MAX_START_WORDS = 6;
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    // More books first, then shorter (closer to the typed prefix), then alphabetical
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt((Entry entry) -> -entry.bookCount)
+            .thenComparingInt(entry -> entry.text.length())
+            .thenComparing(entry -> entry.text);
+
+    private enum Type {
+        TITLE, AUTHOR
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final String text;
+        private final Type type;
+        private final List<String> keys;
+        private int bookCount;
+
+        private Entry(String id, String text, Type type, List<String> keys) {
+            this.id = id;
+            this.text = text;
+            this.type = type;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Node {
+        // Children kept as parallel arrays sorted by label, which is far smaller than a map per node
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private List<Entry> entries;
+        private volatile Entry[] top;
+
+        private Node child(char label) {
+            int slot = Arrays.binarySearch(labels, label);
+            return slot >= 0 ? children[slot] : null;
+        }
+
+        private Node addChild(char label) {
+            int slot = Arrays.binarySearch(labels, label);
+            if (slot >= 0) {
+                return children[slot];
+            }
+            int insertAt = -slot - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        private void removeChild(char label) {
+            int slot = Arrays.binarySearch(labels, label);
+            if (slot < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            System.arraycopy(labels, slot + 1, newLabels, slot, labels.length - slot - 1);
+            System.arraycopy(children, slot + 1, newChildren, slot, children.length - slot - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return labels.length == 0 && (entries == null || entries.isEmpty());
+        }
+    }
+
+    private final Node root = new Node();
+    // "TYPE:normalized text" -> suggestion
+    private final Map<String, Entry> entries = new HashMap<>();
+    // book id -> the suggestions it contributes to, so updates and deletes need no before-image
+    private final Map<String, Entry[]> books = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Add (or replace) one book's title and author
+    public void put(String bookId, String title, String author) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+            Entry[] contributed = {acquire(Type.TITLE, title), acquire(Type.AUTHOR, author)};
+            books.put(bookId, contributed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDTO> suggest(String prefix, int limit) {
+        String key = String.join(" ", BookSearchIndex.tokenize(prefix));
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            Entry[] best = top(node);
+            List<BookSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, best.length));
+            for (int i = 0; i < best.length && i < limit; i++) {
+                suggestions.add(new BookSuggestionDTO(best[i].text, best[i].type.name(), best[i].bookCount));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best suggestions of a subtree, rebuilt from the children's caches when a write cleared it
+    private Entry[] top(Node node) {
+        Entry[] cached = node.top;
+        if (cached != null) {
+            return cached;
+        }
+        List<Entry> candidates = new ArrayList<>();
+        if (node.entries != null) {
+            candidates.addAll(node.entries);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(top(child)));
+        }
+        // A suggestion can sit under one prefix twice ("new new york" and "new york")
+        Entry[] best = candidates.stream()
+                .distinct()
+                .sorted(RANKING)
+                .limit(MAX_SUGGESTIONS)
+                .toArray(Entry[]::new);
+        node.top = best;
+        return best;
+    }
+
+    private Entry acquire(Type type, String text) {
+        List<String> tokens = BookSearchIndex.tokenize(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        String id = type + ":" + String.join(" ", tokens);
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            List<String> keys = new ArrayList<>();
+            for (int start = 0; start < tokens.size() && start < MAX_START_WORDS; start++) {
+                keys.add(String.join(" ", tokens.subList(start, tokens.size())));
+            }
+            entry = new Entry(id, text.trim(), type, keys);
+            entries.put(id, entry);
+            for (String key : keys) {
+                Node node = root;
+                node.top = null;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.addChild(key.charAt(i));
+                    node.top = null;
+                }
+                if (node.entries == null) {
+                    node.entries = new ArrayList<>(1);
+                }
+                node.entries.add(entry);
+            }
+        } else {
+            invalidate(entry);
+        }
+        entry.bookCount++;
+        return entry;
+    }
+
+    private void release(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entry.bookCount--;
+        invalidate(entry);
+        if (entry.bookCount > 0) {
+            return;
+        }
+        entries.remove(entry.id);
+        for (String key : entry.keys) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+            Node end = path[key.length()];
+            end.entries.remove(entry);
+            // Drop nodes that no longer lead anywhere
+            for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    // Clear the cached rankings along every path leading to the suggestion
+    private void invalidate(Entry entry) {
+        for (String key : entry.keys) {
+            Node node = root;
+            node.top = null;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+                if (node != null) {
+                    node.top = null;
+                }
+            }
+        }
+    }
+
+    private void removeLocked(String bookId) {
+        Entry[] contributed = books.remove(bookId);
+        if (contributed != null) {
+            for (Entry entry : contributed) {
+                release(entry);
+            }
+        }
+    }
+}
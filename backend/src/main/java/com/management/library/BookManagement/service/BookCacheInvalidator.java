@@ -0,0 +1,35 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.event.BookChangeListener;
+import com.management.library.Common.cache.CacheNames;
+import com.management.library.Common.cache.EntityCacheEvictor;
+import org.springframework.stereotype.Component;
+
+// Evicts cached book lookups for local writes and for changes made by other instances
+@Component
+public class BookCacheInvalidator implements BookChangeListener {
+
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    public BookCacheInvalidator(EntityCacheEvictor entityCacheEvictor) {
+        this.entityCacheEvictor = entityCacheEvictor;
+    }
+
+    @Override
+    public void onBookChange(BookChangeEvent event) {
+        String before = event.getBefore() != null ? event.getBefore().getBookNo() : null;
+        String after = event.getAfter() != null ? event.getAfter().getBookNo() : null;
+        entityCacheEvictor.evictBook(event.getBookId(), before, after);
+
+        // Without the old state the previous book number is unknown
+        if (event.getType() != BookChangeEvent.Type.INSERT && event.getBefore() == null) {
+            entityCacheEvictor.clear(CacheNames.BOOKS_BY_NO);
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        entityCacheEvictor.clear(CacheNames.BOOKS, CacheNames.BOOKS_BY_NO);
+    }
+}
@@ -0,0 +1,172 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.event.BookChangeFeed;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.Common.transaction.TransactionRunner;
+import com.management.library.UserManagement.Exception.NoCopiesAvailableException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copy-level inventory: {@code totalcopies} per title and the {@code availablecopies} on the shelf.
+ *
+ * <p>Every change is a single conditional update evaluated by the server, so concurrent checkouts of
+ * the last copy cannot both succeed and the shelf count never leaves {@code [0, totalcopies]}; no
+ * application lock is involved. The updates are pipelines so that {@code availability} is derived
+ * from the new count in the same write. Called inside a {@link TransactionRunner} transaction, they
+ * commit or abort together with the borrowing they belong to, and the book change is only published
+ * once that transaction commits.
+ */
+@Service
+public class BookInventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookInventoryService.class);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final BookChangeFeed bookChangeFeed;
+    private final BackgroundJobs backgroundJobs;
+
+    public BookInventoryService(MongoTemplate mongoTemplate, BookChangeFeed bookChangeFeed, BackgroundJobs backgroundJobs) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookChangeFeed = bookChangeFeed;
+        this.backgroundJobs = backgroundJobs;
+    }
+
+    // Take one copy off the shelf, or fail when none is left
+    public Book checkOut(String bookId) {
+        LocalDateTime now = now();
+        Book before = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(bookId).and("availableCopies").gt(0)),
+                pipeline(new Document("availablecopies", new Document("$subtract", List.of("$availablecopies", 1)))
+                        .append("availability", new Document("$gt", List.of("$availablecopies", 1)))
+                        .append("updatedat", toDate(now))),
+                Book.class);
+        if (before == null) {
+            throw new NoCopiesAvailableException(mongoTemplate.exists(byId(bookId), Book.class)
+                    ? "No copies of book " + bookId + " are available"
+                    : "Book not found with ID: " + bookId);
+        }
+        Book after = new Book(before);
+        after.setAvailableCopies(before.getAvailableCopies() - 1);
+        after.setAvailability(after.getAvailableCopies() > 0);
+        after.setUpdatedAt(now);
+        publish(before, after);
+        return after;
+    }
+
+    // Put one copy back; false when the book is gone or every copy is already on the shelf
+    public boolean checkIn(String bookId) {
+        LocalDateTime now = now();
+        Book before = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(bookId)
+                        .and("$expr").is(new Document("$lt", List.of("$availablecopies", "$totalcopies")))),
+                pipeline(new Document("availablecopies", new Document("$add", List.of("$availablecopies", 1)))
+                        .append("availability", true)
+                        .append("updatedat", toDate(now))),
+                Book.class);
+        if (before == null) {
+            log.warn("Return of book {} not counted: book missing or no copies out", bookId);
+            return false;
+        }
+        Book after = new Book(before);
+        after.setAvailableCopies(before.getAvailableCopies() + 1);
+        after.setAvailability(true);
+        after.setUpdatedAt(now);
+        publish(before, after);
+        return true;
+    }
+
+    // Backfill in the background once the cluster is reachable
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        backgroundJobs.runUntilDone("copy backfill", this::backfillTotalCopies, RETRY_DELAY);
+    }
+
+    /**
+     * Gives books written before copy tracking a {@code totalcopies}. Their hand-maintained shelf count
+     * becomes the total, and the shelf count drops by the loans that are currently open. Only books
+     * still missing the field are touched, so this is safe to repeat and to run on several instances.
+     */
+    public int backfillTotalCopies() {
+        // Raw documents, so stored field names
+        Query missing = new Query(Criteria.where("totalcopies").exists(false));
+        missing.fields().include("_id");
+        List<String> bookIds = mongoTemplate.find(missing, Document.class, mongoTemplate.getCollectionName(Book.class))
+                .stream().map(book -> book.get("_id").toString()).toList();
+        if (bookIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> openLoans = new HashMap<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Borrowing.class)).aggregate(List.of(
+                        new Document("$match", new Document("status", "ACTIVE").append("bookId", new Document("$in", bookIds))),
+                        new Document("$group", new Document("_id", "$bookId").append("count", new Document("$sum", 1)))))
+                .forEach(group -> openLoans.put(group.getString("_id"), group.getInteger("count")));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Book.class);
+        for (String bookId : bookIds) {
+            int loans = openLoans.getOrDefault(bookId, 0);
+            Document shelf = new Document("$ifNull", List.of("$availablecopies", 0));
+            Document remaining = new Document("$max", List.of(0, new Document("$subtract", List.of(shelf, loans))));
+            bulk.updateOne(new Query(Criteria.where("_id").is(bookId).and("totalCopies").exists(false)),
+                    AggregationUpdate.from(List.of(
+                            stage(new Document("totalcopies", shelf).append("availablecopies", remaining)),
+                            stage(new Document("availability", new Document("$gt", List.of("$availablecopies", 0)))))));
+        }
+        int updated = bulk.execute().getModifiedCount();
+        log.info("Backfilled total copies for {} books ({} with open loans)", updated, openLoans.size());
+        // Written in bulk rather than book by book; have in-memory views reload
+        bookChangeFeed.publishChangesMissed();
+        return updated;
+    }
+
+    private void publish(Book before, Book after) {
+        BookChangeEvent event = BookChangeEvent.updated(before, after);
+        TransactionRunner.afterCommit(() -> bookChangeFeed.publishLocal(event));
+    }
+
+    private static AggregationUpdate pipeline(Document set) {
+        return AggregationUpdate.from(List.of(stage(set)));
+    }
+
+    private static AggregationOperation stage(Document set) {
+        return context -> new Document("$set", set);
+    }
+
+    private static Query byId(String bookId) {
+        return new Query(Criteria.where("_id").is(bookId));
+    }
+
+    // As stored, so the local event and the change-stream copy carry the same timestamp
+    private LocalDateTime now() {
+        return bookChangeFeed.nextUpdatedAt();
+    }
+
+    // The converter stores LocalDateTime in the system zone; raw pipeline values must match
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
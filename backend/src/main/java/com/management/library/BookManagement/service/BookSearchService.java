@@ -0,0 +1,162 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.dto.BookSuggestionDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.event.BookChangeListener;
+import com.management.library.BookManagement.search.BookSearchIndex;
+import com.management.library.BookManagement.search.BookSuggester;
+import com.management.library.Common.job.BackgroundJobs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Owns the in-memory {@link BookSearchIndex} and {@link BookSuggester}. Both are built in the background
+ * after startup from one projected cursor over the books collection and then kept current from book
+ * change events. Until the first build completes {@link #search} returns null and callers use the
+ * database instead, while {@link #suggest} returns nothing.
+ */
+@Service
+public class BookSearchService implements BookChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchService.class);
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 500;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final Duration GAP_REBUILD_DELAY = Duration.ofSeconds(5);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final BackgroundJobs backgroundJobs;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile BookSearchIndex index;
+    private volatile BookSuggester suggester;
+
+    // Changes seen while a rebuild is streaming the collection, replayed onto the new index; guarded by this
+    private final List<BookChangeEvent> pendingChanges = new ArrayList<>();
+    private boolean rebuilding;
+
+    public BookSearchService(MongoTemplate mongoTemplate, BackgroundJobs backgroundJobs) {
+        this.mongoTemplate = mongoTemplate;
+        this.backgroundJobs = backgroundJobs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        scheduleRebuild(Duration.ZERO);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    // Ranked book ids, or null while the index is not built yet
+    public List<String> search(String query, int fields, Integer limit) {
+        BookSearchIndex current = index;
+        if (current == null) {
+            return null;
+        }
+        return current.search(query, fields, resultLimit(limit));
+    }
+
+    // How many results a search returns, whether it is served from the index or the database
+    public static int resultLimit(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+    }
+
+    // Autocomplete never goes to the database; an empty list until the first build completes
+    public List<BookSuggestionDTO> suggest(String prefix, Integer limit) {
+        BookSuggester current = suggester;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        int size = limit == null || limit <= 0 ? BookSuggester.MAX_SUGGESTIONS : Math.min(limit, BookSuggester.MAX_SUGGESTIONS);
+        return current.suggest(prefix, size);
+    }
+
+    @Override
+    public synchronized void onBookChange(BookChangeEvent event) {
+        if (event.getType() != BookChangeEvent.Type.DELETE && event.getAfter() == null) {
+            // The book changed again or vanished before the change stream could look it up
+            scheduleRebuild(GAP_REBUILD_DELAY);
+            return;
+        }
+        if (index != null) {
+            apply(index, suggester, event);
+        }
+        if (rebuilding) {
+            pendingChanges.add(event);
+        }
+    }
+
+    @Override
+    public void onChangesMissed() {
+        scheduleRebuild(GAP_REBUILD_DELAY);
+    }
+
+    // Coalesces bursts of gap notifications into a single rebuild
+    public void scheduleRebuild(Duration delay) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            backgroundJobs.schedule("book search index build", this::rebuild, delay);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        synchronized (this) {
+            rebuilding = true;
+            pendingChanges.clear();
+        }
+        try {
+            long start = System.nanoTime();
+            BookSearchIndex fresh = new BookSearchIndex();
+            BookSuggester freshSuggester = new BookSuggester();
+            Query query = new Query().cursorBatchSize(BUILD_BATCH_SIZE);
+            query.fields().include("title", "author", "genre");
+            try (Stream<Book> books = mongoTemplate.stream(query, Book.class)) {
+                books.forEach(book -> {
+                    fresh.put(book.getId(), book.getTitle(), book.getAuthor(), book.getGenre());
+                    freshSuggester.put(book.getId(), book.getTitle(), book.getAuthor());
+                });
+            }
+            synchronized (this) {
+                pendingChanges.forEach(event -> apply(fresh, freshSuggester, event));
+                suggester = freshSuggester;
+                index = fresh;
+            }
+            log.info("Book search index built: {} books, {} terms, {} suggestions in {} ms",
+                    fresh.size(), fresh.termCount(), freshSuggester.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Book search index build failed, retrying in {}s: {}", RETRY_DELAY.toSeconds(), e.getMessage());
+            scheduleRebuild(RETRY_DELAY);
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                pendingChanges.clear();
+            }
+        }
+    }
+
+    private void apply(BookSearchIndex targetIndex, BookSuggester targetSuggester, BookChangeEvent event) {
+        if (event.getType() == BookChangeEvent.Type.DELETE) {
+            targetIndex.remove(event.getBookId());
+            targetSuggester.remove(event.getBookId());
+        } else {
+            Book book = event.getAfter();
+            targetIndex.put(event.getBookId(), book.getTitle(), book.getAuthor(), book.getGenre());
+            targetSuggester.put(event.getBookId(), book.getTitle(), book.getAuthor());
+        }
+    }
+}
@@ -3,15 +3,39 @@ package com.management.library.BookManagement.service;
 import com.management.library.BookManagement.dto.BookCreateDTO;
 import com.management.library.BookManagement.dto.BookResponseDTO;
 import com.management.library.BookManagement.dto.BookStatsDTO;
+import com.management.library.BookManagement.dto.BookStatsReconciliationDTO;
+import com.management.library.BookManagement.dto.BookSuggestionDTO;
+import com.management.library.BookManagement.dto.BookSummary;
 import com.management.library.BookManagement.dto.BookUpdateDTO;
 import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.event.BookChangeFeed;
 import com.management.library.BookManagement.repository.BookRepository;
+import com.management.library.BookManagement.search.BookSearchIndex;
+import com.management.library.Common.cache.CacheNames;
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.KeysetPaginator;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookService {
@@ -19,6 +43,21 @@ public class BookService {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private BookStatsService bookStatsService;
+
+    @Autowired
+    private BookChangeFeed bookChangeFeed;
+
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     // Create a new book
     public BookResponseDTO createBook(BookCreateDTO bookCreateDTO) {
         Book book = new Book();
@@ -31,13 +70,21 @@ public class BookService {
         book.setEdition(bookCreateDTO.getEdition());
         book.setDescription(bookCreateDTO.getDescription());
         book.setLanguage(bookCreateDTO.getLanguage());
-        book.setAvailability(bookCreateDTO.getAvailability());
-        book.setAvailableCopies(bookCreateDTO.getAvailableCopies());
+        // Availability follows the shelf count rather than being set by hand
+        int availableCopies = bookCreateDTO.getAvailableCopies();
+        int totalCopies = bookCreateDTO.getTotalCopies() != null ? bookCreateDTO.getTotalCopies() : availableCopies;
+        if (availableCopies > totalCopies) {
+            throw new IllegalArgumentException("Available copies cannot exceed total copies");
+        }
+        book.setTotalCopies(totalCopies);
+        book.setAvailableCopies(availableCopies);
+        book.setAvailability(availableCopies > 0);
         book.setLocation(bookCreateDTO.getLocation());
         book.setCreatedAt(LocalDateTime.now());
         book.setUpdatedAt(LocalDateTime.now());
 
         Book savedBook = bookRepository.save(book);
+        bookChangeFeed.publishLocal(BookChangeEvent.inserted(savedBook));
         return convertToResponseDTO(savedBook);
     }
 
@@ -49,13 +96,42 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
+    // Get the summary fields of all books, for grid and card views
+    public List<BookSummary> getAllBookSummaries() {
+        return bookRepository.findAllSummaries().stream()
+                .map(BookSummary::from)
+                .collect(Collectors.toList());
+    }
+
+    // Get one page of books after the given cursor
+    public CursorPage<BookResponseDTO> getBooksPage(String cursor, Integer limit) {
+        return keysetPaginator.page(Book.class, null, cursor, limit, Book::getId, this::convertToResponseDTO);
+    }
+
+    // Get one page of book summaries after the given cursor
+    public CursorPage<BookSummary> getBookSummariesPage(String cursor, Integer limit) {
+        return keysetPaginator.page(Book.class, null, BookSummary.FIELDS, cursor, limit, Book::getId, BookSummary::from);
+    }
+
+    // Stream all books from a Mongo cursor; the caller must close the stream
+    public Stream<BookResponseDTO> streamAllBooks() {
+        return keysetPaginator.stream(Book.class, null).map(this::convertToResponseDTO);
+    }
+
+    // Stream the summary fields of all books; the caller must close the stream
+    public Stream<BookSummary> streamAllBookSummaries() {
+        return keysetPaginator.stream(Book.class, null, BookSummary.FIELDS).map(BookSummary::from);
+    }
+
     // Get book by ID
+    @Cacheable(cacheNames = CacheNames.BOOKS, key = "#id", unless = "#result == null")
     public Optional<BookResponseDTO> getBookById(String id) {
         Optional<Book> book = bookRepository.findById(id);
         return book.map(this::convertToResponseDTO);
     }
 
     // Get book by book number
+    @Cacheable(cacheNames = CacheNames.BOOKS_BY_NO, key = "#bookNo", unless = "#result == null")
     public Optional<BookResponseDTO> getBookByBookNo(String bookNo) {
         Optional<Book> book = bookRepository.findByBookNo(bookNo);
         return book.map(this::convertToResponseDTO);
@@ -63,62 +139,64 @@ public class BookService {
 
     // Update book
     public Optional<BookResponseDTO> updateBook(String id, BookUpdateDTO bookUpdateDTO) {
-        Optional<Book> existingBookOpt = bookRepository.findById(id);
+        // One server-side update: descriptive fields are set, copy counts are adjusted relative to the
+        // stored values, so checkouts and returns running at the same time are never overwritten
+        Document set = new Document();
+        putIfPresent(set, "bookno", bookUpdateDTO.getBookNo());
+        putIfPresent(set, "title", bookUpdateDTO.getTitle());
+        putIfPresent(set, "image", bookUpdateDTO.getImage());
+        putIfPresent(set, "author", bookUpdateDTO.getAuthor());
+        putIfPresent(set, "genre", bookUpdateDTO.getGenre());
+        putIfPresent(set, "year", bookUpdateDTO.getYear());
+        putIfPresent(set, "edition", bookUpdateDTO.getEdition());
+        putIfPresent(set, "description", bookUpdateDTO.getDescription());
+        putIfPresent(set, "language", bookUpdateDTO.getLanguage());
+        putIfPresent(set, "location", bookUpdateDTO.getLocation());
 
-        if (existingBookOpt.isPresent()) {
-            Book existingBook = existingBookOpt.get();
+        Criteria criteria = Criteria.where("_id").is(id);
+        Document total = new Document("$ifNull", List.of("$totalcopies", "$availablecopies"));
+        Document shelf = new Document("$ifNull", List.of("$availablecopies", 0));
+        Integer newTotal = bookUpdateDTO.getTotalCopies();
+        Integer newShelf = bookUpdateDTO.getAvailableCopies();
+        if (newTotal != null) {
+            // Copies out on loan stay out: the shelf absorbs the change and may not go negative
+            Document out = new Document("$subtract", List.of(total, shelf));
+            criteria = criteria.and("$expr").is(new Document("$gte", List.of(newTotal, out)));
+            Document shelfAfter = new Document("$subtract", List.of(newTotal, out));
+            set.append("totalcopies", newTotal)
+                    .append("availablecopies", shelfAfter)
+                    .append("availability", new Document("$gt", List.of(shelfAfter, 0)));
+        } else if (newShelf != null) {
+            // Editing the shelf count adds or removes physical copies
+            Document delta = new Document("$subtract", List.of(newShelf, shelf));
+            set.append("totalcopies", new Document("$add", List.of(total, delta)))
+                    .append("availablecopies", newShelf)
+                    .append("availability", newShelf > 0);
+        }
+        // availability is derived from the shelf count and no longer set directly
+        LocalDateTime now = bookChangeFeed.nextUpdatedAt();
+        set.append("updatedat", Date.from(now.atZone(ZoneId.systemDefault()).toInstant()));
 
-            // Update only non-null fields
-            if (bookUpdateDTO.getBookNo() != null) {
-                existingBook.setBookNo(bookUpdateDTO.getBookNo());
-            }
-            if (bookUpdateDTO.getTitle() != null) {
-                existingBook.setTitle(bookUpdateDTO.getTitle());
-            }
-            if (bookUpdateDTO.getImage() != null) {
-                existingBook.setImage(bookUpdateDTO.getImage());
-            }
-            if (bookUpdateDTO.getAuthor() != null) {
-                existingBook.setAuthor(bookUpdateDTO.getAuthor());
-            }
-            if (bookUpdateDTO.getGenre() != null) {
-                existingBook.setGenre(bookUpdateDTO.getGenre());
-            }
-            if (bookUpdateDTO.getYear() != null) {
-                existingBook.setYear(bookUpdateDTO.getYear());
-            }
-            if (bookUpdateDTO.getEdition() != null) {
-                existingBook.setEdition(bookUpdateDTO.getEdition());
+        AggregationOperation stage = context -> new Document("$set", set);
+        Book previousBook = mongoTemplate.findAndModify(new Query(criteria), AggregationUpdate.from(List.of(stage)), Book.class);
+        if (previousBook == null) {
+            if (newTotal != null && bookRepository.existsById(id)) {
+                throw new IllegalArgumentException("Total copies cannot be lower than the copies currently on loan");
             }
-            if (bookUpdateDTO.getDescription() != null) {
-                existingBook.setDescription(bookUpdateDTO.getDescription());
-            }
-            if (bookUpdateDTO.getLanguage() != null) {
-                existingBook.setLanguage(bookUpdateDTO.getLanguage());
-            }
-            if (bookUpdateDTO.getAvailability() != null) {
-                existingBook.setAvailability(bookUpdateDTO.getAvailability());
-            }
-            if (bookUpdateDTO.getAvailableCopies() != null) {
-                existingBook.setAvailableCopies(bookUpdateDTO.getAvailableCopies());
-            }
-            if (bookUpdateDTO.getLocation() != null) {
-                existingBook.setLocation(bookUpdateDTO.getLocation());
-            }
-
-            existingBook.setUpdatedAt(LocalDateTime.now());
-
-            Book updatedBook = bookRepository.save(existingBook);
-            return Optional.of(convertToResponseDTO(updatedBook));
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        Book updatedBook = applyUpdate(previousBook, bookUpdateDTO, now);
+        bookChangeFeed.publishLocal(BookChangeEvent.updated(previousBook, updatedBook));
+        return Optional.of(convertToResponseDTO(updatedBook));
     }
 
     // Delete book
     public boolean deleteBook(String id) {
-        if (bookRepository.existsById(id)) {
-            bookRepository.deleteById(id);
+        Optional<Book> book = bookRepository.findById(id);
+        if (book.isPresent()) {
+            bookRepository.delete(book.get());
+            bookChangeFeed.publishLocal(BookChangeEvent.deleted(book.get()));
             return true;
         }
         return false;
@@ -132,38 +210,71 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
+    // Get the summary fields of books by availability
+    public List<BookSummary> getBookSummariesByAvailability(Boolean availability) {
+        return bookRepository.findSummariesByAvailability(availability).stream()
+                .map(BookSummary::from)
+                .collect(Collectors.toList());
+    }
+
     // Search books by author
-    public List<BookResponseDTO> searchBooksByAuthor(String author) {
-        List<Book> books = bookRepository.findByAuthorContainingIgnoreCase(author);
+    public List<BookResponseDTO> searchBooksByAuthor(String author, Integer limit) {
+        List<String> ids = bookSearchService.search(author, BookSearchIndex.AUTHOR, limit);
+        if (ids != null) {
+            return findInOrder(ids);
+        }
+        List<Book> books = bookRepository.findByAuthorContainingIgnoreCase(author, firstResults(limit));
         return books.stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     // Search books by title
-    public List<BookResponseDTO> searchBooksByTitle(String title) {
-        List<Book> books = bookRepository.findByTitleContainingIgnoreCase(title);
+    public List<BookResponseDTO> searchBooksByTitle(String title, Integer limit) {
+        List<String> ids = bookSearchService.search(title, BookSearchIndex.TITLE, limit);
+        if (ids != null) {
+            return findInOrder(ids);
+        }
+        List<Book> books = bookRepository.findByTitleContainingIgnoreCase(title, firstResults(limit));
         return books.stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     // Search books by genre
-    public List<BookResponseDTO> searchBooksByGenre(String genre) {
-        List<Book> books = bookRepository.findByGenreContainingIgnoreCase(genre);
+    public List<BookResponseDTO> searchBooksByGenre(String genre, Integer limit) {
+        List<String> ids = bookSearchService.search(genre, BookSearchIndex.GENRE, limit);
+        if (ids != null) {
+            return findInOrder(ids);
+        }
+        List<Book> books = bookRepository.findByGenreContainingIgnoreCase(genre, firstResults(limit));
         return books.stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
-    // Search books by multiple criteria
-    public List<BookResponseDTO> searchBooks(String searchTerm) {
-        List<Book> books = bookRepository.searchBooks(searchTerm);
+    // Search books by multiple criteria, ranked by the in-memory index (regex scan until it is built)
+    public List<BookResponseDTO> searchBooks(String searchTerm, Integer limit) {
+        List<String> ids = bookSearchService.search(searchTerm, BookSearchIndex.ALL_FIELDS, limit);
+        if (ids != null) {
+            return findInOrder(ids);
+        }
+        List<Book> books = bookRepository.searchBooks(searchTerm, firstResults(limit));
         return books.stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    // The regex fallback returns as many books as the index would, so results do not change once it is built
+    private static Pageable firstResults(Integer limit) {
+        return PageRequest.of(0, BookSearchService.resultLimit(limit));
+    }
+
+    // Suggest titles and authors for a partially typed query
+    public List<BookSuggestionDTO> suggestBooks(String prefix, Integer limit) {
+        return bookSearchService.suggest(prefix, limit);
+    }
+
     // Get books by language
     public List<BookResponseDTO> getBooksByLanguage(String language) {
         List<Book> books = bookRepository.findByLanguage(language);
@@ -172,6 +283,13 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
+    // Get the summary fields of books by language
+    public List<BookSummary> getBookSummariesByLanguage(String language) {
+        return bookRepository.findSummariesByLanguage(language).stream()
+                .map(BookSummary::from)
+                .collect(Collectors.toList());
+    }
+
     // Get books by year
     public List<BookResponseDTO> getBooksByYear(Integer year) {
         List<Book> books = bookRepository.findByYear(year);
@@ -188,20 +306,19 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
-    // Get book statistics
+    // Get book statistics from the incrementally maintained counters
     public BookStatsDTO getBookStatistics() {
-        long totalBooks = bookRepository.count();
-        long availableBooks = bookRepository.countByAvailabilityTrue();
-        long unavailableBooks = bookRepository.countByAvailabilityFalse();
-
-        Optional<Integer> totalCopiesOpt = bookRepository.getTotalCopies();
-        Optional<Integer> availableCopiesOpt = bookRepository.getTotalAvailableCopies();
+        return bookStatsService.getStatistics();
+    }
 
-        int totalCopies = totalCopiesOpt.orElse(0);
-        int availableCopies = availableCopiesOpt.orElse(0);
+    // Get the result of the latest statistics drift check
+    public BookStatsReconciliationDTO getStatisticsReconciliation() {
+        return bookStatsService.getLastReconciliation();
+    }
 
-        return new BookStatsDTO(totalBooks, availableBooks, unavailableBooks,
-                totalCopies, availableCopies);
+    // Check the in-memory statistics against the database now
+    public BookStatsReconciliationDTO reconcileStatistics() {
+        return bookStatsService.reconcile();
     }
 
     // Get books with available copies
@@ -228,9 +345,9 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
-    // Helper method to convert Book entity to BookResponseDTO
-    private BookResponseDTO convertToResponseDTO(Book book) {
-        return new BookResponseDTO(
+    // Convert Book entity to BookResponseDTO (also used by the reactive read path)
+    public BookResponseDTO convertToResponseDTO(Book book) {
+        BookResponseDTO dto = new BookResponseDTO(
                 book.getId(),
                 book.getBookNo(),
                 book.getTitle(),
@@ -247,5 +364,76 @@ public class BookService {
                 book.getCreatedAt(),
                 book.getUpdatedAt()
         );
+        dto.setTotalCopies(book.getTotalCopies() != null ? book.getTotalCopies() : book.getAvailableCopies());
+        return dto;
+    }
+
+    // Load books by id, keeping the order of the given (ranked) id list
+    private List<BookResponseDTO> findInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Book> booksById = new HashMap<>();
+        bookRepository.findAllById(ids).forEach(book -> booksById.put(book.getId(), book));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    // The state updateBook's pipeline produced, derived from the state it replaced
+    private Book applyUpdate(Book previous, BookUpdateDTO update, LocalDateTime updatedAt) {
+        Book book = new Book(previous);
+        if (update.getBookNo() != null) {
+            book.setBookNo(update.getBookNo());
+        }
+        if (update.getTitle() != null) {
+            book.setTitle(update.getTitle());
+        }
+        if (update.getImage() != null) {
+            book.setImage(update.getImage());
+        }
+        if (update.getAuthor() != null) {
+            book.setAuthor(update.getAuthor());
+        }
+        if (update.getGenre() != null) {
+            book.setGenre(update.getGenre());
+        }
+        if (update.getYear() != null) {
+            book.setYear(update.getYear());
+        }
+        if (update.getEdition() != null) {
+            book.setEdition(update.getEdition());
+        }
+        if (update.getDescription() != null) {
+            book.setDescription(update.getDescription());
+        }
+        if (update.getLanguage() != null) {
+            book.setLanguage(update.getLanguage());
+        }
+        if (update.getLocation() != null) {
+            book.setLocation(update.getLocation());
+        }
+        int shelf = previous.getAvailableCopies() != null ? previous.getAvailableCopies() : 0;
+        int total = previous.getTotalCopies() != null ? previous.getTotalCopies() : shelf;
+        if (update.getTotalCopies() != null) {
+            book.setTotalCopies(update.getTotalCopies());
+            book.setAvailableCopies(update.getTotalCopies() - (total - shelf));
+            book.setAvailability(book.getAvailableCopies() > 0);
+        } else if (update.getAvailableCopies() != null) {
+            book.setTotalCopies(total + update.getAvailableCopies() - shelf);
+            book.setAvailableCopies(update.getAvailableCopies());
+            book.setAvailability(update.getAvailableCopies() > 0);
+        }
+        book.setUpdatedAt(updatedAt);
+        return book;
+    }
+
+    // Values go in as $literal so text such as "$5 Classics" is not read as a field path
+    private static void putIfPresent(Document set, String field, Object value) {
+        if (value != null) {
+            set.append(field, new Document("$literal", value));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.dto.BookStatsDTO;
+import com.management.library.BookManagement.dto.BookStatsReconciliationDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.event.BookChangeListener;
+import com.management.library.BookManagement.repository.BookRepository;
+import com.management.library.Common.job.BackgroundJobs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the catalog counters in memory. They are seeded with one aggregation, then moved by the
+ * delta of every book change. A change whose old or new state is unknown marks the counters dirty,
+ * and the next reseed check recomputes them; a slower reconciliation job compares against the
+ * database and reports any drift the deltas missed.
+ */
+@Service
+public class BookStatsService implements BookChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BookStatsService.class);
+
+    private final BookRepository bookRepository;
+    private final BackgroundJobs backgroundJobs;
+    private final Duration reseedCheckInterval;
+    private final Duration reconcileInterval;
+    private final AtomicReference<BookStatsDTO> stats = new AtomicReference<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private final AtomicLong changesApplied = new AtomicLong();
+    private final AtomicLong driftsDetected = new AtomicLong();
+    private volatile BookStatsReconciliationDTO lastReconciliation;
+    // One aggregation at a time
+    private final ReentrantLock aggregationLock = new ReentrantLock();
+
+    public BookStatsService(BookRepository bookRepository,
+                            BackgroundJobs backgroundJobs,
+                            @Value("${app.book-stats.reseed-check-ms:5000}") long reseedCheckMs,
+                            @Value("${app.book-stats.reconcile-interval-ms:300000}") long reconcileIntervalMs) {
+        this.bookRepository = bookRepository;
+        this.backgroundJobs = backgroundJobs;
+        this.reseedCheckInterval = Duration.ofMillis(reseedCheckMs);
+        this.reconcileInterval = Duration.ofMillis(reconcileIntervalMs);
+    }
+
+    // The reseed check also performs the initial seed, off the request path
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        backgroundJobs.scheduleWithFixedDelay("book statistics reseed", this::reseedIfDirty, Duration.ZERO, reseedCheckInterval);
+        backgroundJobs.scheduleWithFixedDelay("book statistics reconciliation", this::reconcileSnapshot,
+                reconcileInterval, reconcileInterval);
+    }
+
+    // Memory read once seeded; the first caller before the background seed pays for the aggregation
+    public BookStatsDTO getStatistics() {
+        BookStatsDTO current = stats.get();
+        return current != null ? current : reseed();
+    }
+
+    public BookStatsReconciliationDTO getLastReconciliation() {
+        return lastReconciliation;
+    }
+
+    @Override
+    public void onBookChange(BookChangeEvent event) {
+        Book before = event.getBefore();
+        Book after = event.getAfter();
+        boolean known = switch (event.getType()) {
+            case INSERT -> after != null;
+            case UPDATE -> before != null && after != null;
+            case DELETE -> before != null;
+        };
+        if (!known) {
+            dirty.set(true);
+            return;
+        }
+        stats.updateAndGet(current -> current == null ? null : apply(apply(current, before, -1), after, 1));
+        changesApplied.incrementAndGet();
+    }
+
+    @Override
+    public void onChangesMissed() {
+        dirty.set(true);
+    }
+
+    public void reseedIfDirty() {
+        if (!dirty.get()) {
+            return;
+        }
+        try {
+            reseed();
+        } catch (Exception e) {
+            log.warn("Book statistics reseed failed: {}", e.getMessage());
+        }
+    }
+
+    public void reconcileSnapshot() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Book statistics reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    // Compare the in-memory counters with a fresh aggregation and replace them if they drifted
+    public BookStatsReconciliationDTO reconcile() {
+        aggregationLock.lock();
+        try {
+            return reconcileLocked();
+        } finally {
+            aggregationLock.unlock();
+        }
+    }
+
+    private BookStatsReconciliationDTO reconcileLocked() {
+        BookStatsDTO observed = stats.get();
+        long marker = changesApplied.get();
+        BookStatsDTO expected = compute();
+
+        // A change landing mid-aggregation makes the comparison meaningless; try again next round
+        if (observed == null || changesApplied.get() != marker || stats.get() != observed) {
+            return lastReconciliation;
+        }
+
+        boolean inSync = observed.sameCountsAs(expected);
+        if (!inSync) {
+            driftsDetected.incrementAndGet();
+            log.warn("Book statistics drifted: in memory {} but database has {}", observed, expected);
+            stats.set(expected);
+        }
+        lastReconciliation = new BookStatsReconciliationDTO(LocalDateTime.now(), inSync, expected, observed,
+                driftsDetected.get());
+        return lastReconciliation;
+    }
+
+    private BookStatsDTO reseed() {
+        aggregationLock.lock();
+        try {
+            long marker = changesApplied.get();
+            dirty.set(false);
+            BookStatsDTO fresh = compute();
+            stats.set(fresh);
+            // Deltas applied while the aggregation ran may or may not be in its result
+            if (changesApplied.get() != marker) {
+                dirty.set(true);
+            }
+            log.debug("Book statistics seeded: {}", fresh);
+            return fresh;
+        } finally {
+            aggregationLock.unlock();
+        }
+    }
+
+    private BookStatsDTO compute() {
+        return bookRepository.computeBookStatistics().orElseGet(BookStatsDTO::new);
+    }
+
+    // Counters are replaced, never mutated, so readers can hold on to the returned DTO
+    private static BookStatsDTO apply(BookStatsDTO stats, Book book, int sign) {
+        if (book == null) {
+            return stats;
+        }
+        int copies = book.getAvailableCopies() != null ? book.getAvailableCopies() : 0;
+        // Books not yet backfilled count their shelf copies as the total, as the aggregation does
+        int totalCopies = book.getTotalCopies() != null ? book.getTotalCopies() : copies;
+        return new BookStatsDTO(
+                stats.getTotalBooks() + sign,
+                stats.getAvailableBooks() + (Boolean.TRUE.equals(book.getAvailability()) ? sign : 0),
+                stats.getUnavailableBooks() + (Boolean.FALSE.equals(book.getAvailability()) ? sign : 0),
+                stats.getTotalCopies() + sign * totalCopies,
+                stats.getAvailableCopies() + sign * copies);
+    }
+}
@@ -0,0 +1,39 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.dto.BookResponseDTO;
+import com.management.library.BookManagement.repository.ReactiveBookRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Catalog reads as {@link Flux}es. Books are mapped one at a time as the driver yields them, and the
+ * subscriber's demand decides how fast the cursor is read, so a request holds at most a cursor batch
+ * in memory however many books match, and the first one goes out as soon as the first batch arrives.
+ */
+@Service
+public class ReactiveBookService {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+    private final BookService bookService;
+
+    public ReactiveBookService(ReactiveBookRepository reactiveBookRepository, BookService bookService) {
+        this.reactiveBookRepository = reactiveBookRepository;
+        this.bookService = bookService;
+    }
+
+    public Flux<BookResponseDTO> getBooksByAvailability(Boolean availability) {
+        return reactiveBookRepository.findByAvailability(availability).map(bookService::convertToResponseDTO);
+    }
+
+    public Flux<BookResponseDTO> getBooksByLanguage(String language) {
+        return reactiveBookRepository.findByLanguage(language).map(bookService::convertToResponseDTO);
+    }
+
+    public Flux<BookResponseDTO> getBooksByYearRange(Integer startYear, Integer endYear) {
+        return reactiveBookRepository.findByYearBetween(startYear, endYear).map(bookService::convertToResponseDTO);
+    }
+
+    public Flux<BookResponseDTO> getBooksWithAvailableCopies() {
+        return reactiveBookRepository.findBooksWithAvailableCopies().map(bookService::convertToResponseDTO);
+    }
+}
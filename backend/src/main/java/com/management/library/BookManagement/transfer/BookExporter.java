@@ -0,0 +1,72 @@
+package com.management.library.BookManagement.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.management.library.BookManagement.dto.BookCreateDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.Common.pagination.KeysetPaginator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog in the import format, in {@code _id} order straight off a Mongo cursor.
+ * Only the exported fields are read, and a file written here imports back unchanged.
+ */
+@Component
+public class BookExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookExporter.class);
+
+    private final KeysetPaginator keysetPaginator;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public BookExporter(KeysetPaginator keysetPaginator, ObjectMapper objectMapper) {
+        this.keysetPaginator = keysetPaginator;
+        this.ndjsonWriter = objectMapper.writerFor(BookCreateDTO.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.csvWriter = new CsvMapper().writerFor(BookCreateDTO.class)
+                .with(BookTransferFormat.csvSchema())
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Returns the number of books written; the output stream is flushed but left open
+    public long export(BookTransferFormat format, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        long written = 0;
+        try (Stream<Book> books = keysetPaginator.stream(Book.class, null, BookTransferFormat.COLUMNS);
+             SequenceWriter writer = (format == BookTransferFormat.CSV ? csvWriter : ndjsonWriter).writeValues(out)) {
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                writer.write(toRow(iterator.next()));
+                written++;
+            }
+        }
+        if (format == BookTransferFormat.NDJSON && written > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Book export: {} books as {} in {} ms ({} books/s)",
+                written, format, elapsedMillis, written * 1000 / elapsedMillis);
+        return written;
+    }
+
+    static BookCreateDTO toRow(Book book) {
+        BookCreateDTO row = new BookCreateDTO(book.getBookNo(), book.getTitle(), book.getImage(), book.getAuthor(),
+                book.getGenre(), book.getYear(), book.getEdition(), book.getDescription(), book.getLanguage(),
+                book.getAvailability(), book.getAvailableCopies(), book.getLocation());
+        row.setTotalCopies(book.getTotalCopies() != null ? book.getTotalCopies() : book.getAvailableCopies());
+        return row;
+    }
+}
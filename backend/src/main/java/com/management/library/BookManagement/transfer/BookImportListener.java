@@ -0,0 +1,19 @@
+package com.management.library.BookManagement.transfer;
+
+import com.management.library.BookManagement.dto.BookImportErrorDTO;
+import com.management.library.BookManagement.dto.BookImportReportDTO;
+
+// Called on the importing thread while the file is read
+public interface BookImportListener {
+
+    BookImportListener NONE = new BookImportListener() {
+    };
+
+    // Every rejected row, including those beyond the report's error list
+    default void onRowRejected(BookImportErrorDTO error) {
+    }
+
+    // After each batch is written; the report carries no error list
+    default void onProgress(BookImportReportDTO progress) {
+    }
+}
@@ -0,0 +1,281 @@
+package com.management.library.BookManagement.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.management.library.BookManagement.dto.BookCreateDTO;
+import com.management.library.BookManagement.dto.BookImportErrorDTO;
+import com.management.library.BookManagement.dto.BookImportReportDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeFeed;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a catalog file into the books collection, reading it one row at a time so a file of any size
+ * runs in the memory of a single batch.
+ *
+ * <p>Each row is checked against the {@link BookCreateDTO} constraints and upserted on {@code bookNo};
+ * valid rows go out in ordered bulk writes, so a title that appears twice in a file ends up as its
+ * last row says. A new title gets the copies in the row. For a title that already exists the row
+ * sets the copies the library owns, and copies out on loan stay out, as when a book is edited.
+ * Rejected rows are reported with their position and do not stop the import.
+ */
+@Component
+public class BookImporter {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(BookImporter.class);
+    private static final BulkWriteOptions ORDERED = new BulkWriteOptions().ordered(true);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final Validator validator;
+    private final BookChangeFeed bookChangeFeed;
+    private final int batchSize;
+
+    public BookImporter(MongoTemplate mongoTemplate, ObjectMapper objectMapper, Validator validator,
+                        BookChangeFeed bookChangeFeed, @Value("${app.books.import.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.ndjsonReader = objectMapper.readerFor(BookCreateDTO.class);
+        this.csvReader = new CsvMapper().enable(CsvParser.Feature.TRIM_SPACES)
+                .readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.validator = validator;
+        this.bookChangeFeed = bookChangeFeed;
+        this.batchSize = batchSize;
+    }
+
+    public BookImportReportDTO importBooks(InputStream in, BookTransferFormat format, BookImportListener listener)
+            throws IOException {
+        Run run = new Run(listener);
+        try {
+            if (format == BookTransferFormat.CSV) {
+                readCsv(in, run);
+            } else {
+                readNdjson(in, run);
+            }
+            run.flush();
+        } finally {
+            if (run.inserted + run.updated > 0) {
+                // Stats, search and caches reload once instead of hearing about every row
+                bookChangeFeed.publishChangesMissed();
+            }
+        }
+        BookImportReportDTO report = run.report(run.errors);
+        log.info("Book import: {} rows, {} inserted, {} updated, {} rejected in {} ms ({} rows/s)",
+                report.getRows(), report.getInserted(), report.getUpdated(), report.getRejected(),
+                report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    private void readNdjson(InputStream in, Run run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = ++run.rows;
+            BookCreateDTO book;
+            try {
+                book = ndjsonReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                run.reject(row, null, "Malformed row: " + e.getOriginalMessage());
+                continue;
+            }
+            run.accept(row, book);
+        }
+    }
+
+    // A CSV file that cannot be tokenised past some point (an unclosed quote) fails the import there
+    private void readCsv(InputStream in, Run run) throws IOException {
+        try (MappingIterator<Map<String, String>> rows = csvReader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                Map<String, String> values = rows.nextValue();
+                long row = ++run.rows;
+                // An empty cell is a missing value, not an empty title or an unparseable number
+                values.values().removeIf(String::isEmpty);
+                BookCreateDTO book;
+                try {
+                    book = objectMapper.convertValue(values, BookCreateDTO.class);
+                } catch (IllegalArgumentException e) {
+                    String message = e.getCause() instanceof JsonMappingException mapping
+                            ? mapping.getOriginalMessage() : e.getMessage();
+                    run.reject(row, values.get("bookNo"), "Malformed row: " + message);
+                    continue;
+                }
+                run.accept(row, book);
+            }
+        }
+    }
+
+    private static UpdateOneModel<Document> upsert(BookCreateDTO book, Date now) {
+        int shelf = book.getAvailableCopies();
+        int total = book.getTotalCopies() != null ? book.getTotalCopies() : shelf;
+
+        Document set = new Document();
+        putIfPresent(set, "title", book.getTitle());
+        putIfPresent(set, "image", book.getImage());
+        putIfPresent(set, "author", book.getAuthor());
+        putIfPresent(set, "genre", book.getGenre());
+        putIfPresent(set, "year", book.getYear());
+        putIfPresent(set, "edition", book.getEdition());
+        putIfPresent(set, "description", book.getDescription());
+        putIfPresent(set, "language", book.getLanguage());
+        putIfPresent(set, "location", book.getLocation());
+
+        // An upserted document starts out holding only the bookno it was matched on
+        Document isNew = new Document("$eq", List.of(new Document("$type", "$availablecopies"), "missing"));
+        Document onLoan = new Document("$subtract", List.of(
+                new Document("$ifNull", List.of("$totalcopies", "$availablecopies")), "$availablecopies"));
+        set.append("totalcopies", new Document("$cond", List.of(isNew, total,
+                        new Document("$max", List.of(total, onLoan)))))
+                .append("availablecopies", new Document("$cond", List.of(isNew, shelf,
+                        new Document("$max", List.of(new Document("$subtract", List.of(total, onLoan)), 0)))))
+                .append("createdat", new Document("$ifNull", List.of("$createdat", now)))
+                .append("updatedat", now);
+
+        List<Document> pipeline = List.of(
+                new Document("$set", set),
+                new Document("$set", new Document("availability", new Document("$gt", List.of("$availablecopies", 0)))));
+        return new UpdateOneModel<>(new Document("bookno", book.getBookNo()), pipeline, UPSERT);
+    }
+
+    // Values go in as $literal so text such as "$5 Classics" is not read as a field path
+    private static void putIfPresent(Document set, String field, Object value) {
+        if (value != null) {
+            set.append(field, new Document("$literal", value));
+        }
+    }
+
+    private static final class Pending {
+
+        private final long row;
+        private final String bookNo;
+        private final WriteModel<Document> model;
+
+        private Pending(long row, String bookNo, WriteModel<Document> model) {
+            this.row = row;
+            this.bookNo = bookNo;
+            this.model = model;
+        }
+    }
+
+    // State of one import while the file is read
+    private final class Run {
+
+        private final BookImportListener listener;
+        private final long startedAt = System.nanoTime();
+        private final List<Pending> batch = new ArrayList<>();
+        private final List<BookImportErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long rejected;
+
+        private Run(BookImportListener listener) {
+            this.listener = listener;
+        }
+
+        private void accept(long row, BookCreateDTO book) {
+            List<String> problems = validator.validate(book).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (problems.isEmpty() && book.getTotalCopies() != null && book.getAvailableCopies() > book.getTotalCopies()) {
+                problems.add("Available copies cannot exceed total copies");
+            }
+            if (!problems.isEmpty()) {
+                reject(row, book.getBookNo(), String.join("; ", problems));
+                return;
+            }
+            batch.add(new Pending(row, book.getBookNo(), upsert(book, new Date())));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void reject(long row, String bookNo, String message) {
+            BookImportErrorDTO error = new BookImportErrorDTO(row, bookNo, message);
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+            listener.onRowRejected(error);
+        }
+
+        // An ordered bulk write stops at the first failing row; that row is rejected and the rest resent
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            MongoCollection<Document> books = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Book.class));
+            int from = 0;
+            while (from < batch.size()) {
+                List<Pending> pending = batch.subList(from, batch.size());
+                try {
+                    count(books.bulkWrite(pending.stream().map(p -> p.model).collect(Collectors.toList()), ORDERED));
+                    from = batch.size();
+                } catch (MongoBulkWriteException e) {
+                    if (e.getWriteErrors().isEmpty()) {
+                        throw e;
+                    }
+                    count(e.getWriteResult());
+                    BulkWriteError error = e.getWriteErrors().get(0);
+                    Pending failed = pending.get(error.getIndex());
+                    reject(failed.row, failed.bookNo, error.getMessage());
+                    from += error.getIndex() + 1;
+                }
+            }
+            batch.clear();
+            listener.onProgress(report(null));
+        }
+
+        private void count(BulkWriteResult result) {
+            inserted += result.getUpserts().size();
+            updated += result.getMatchedCount();
+        }
+
+        private BookImportReportDTO report(List<BookImportErrorDTO> errorList) {
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            return new BookImportReportDTO(rows, inserted, updated, rejected, elapsedMillis,
+                    errorList != null ? List.copyOf(errorList) : null);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.management.library.BookManagement.transfer;
+
+import com.management.library.BookManagement.dto.BookImportErrorDTO;
+import com.management.library.BookManagement.dto.BookImportReportDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command-line import and export, run instead of serving requests:
+ * <pre>
+ * java -jar library.jar --spring.main.web-application-type=none --books.import=catalog.csv
+ * java -jar library.jar --spring.main.web-application-type=none --books.export=catalog.ndjson
+ * </pre>
+ * The format comes from the file extension unless {@code --books.format=csv|ndjson} is given. The
+ * process exits once the file is done, with status 1 if any row was rejected.
+ */
+@Component
+public class BookTransferCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BookTransferCommand.class);
+
+    private final BookImporter bookImporter;
+    private final BookExporter bookExporter;
+    private final ApplicationContext applicationContext;
+
+    public BookTransferCommand(BookImporter bookImporter, BookExporter bookExporter,
+                               ApplicationContext applicationContext) {
+        this.bookImporter = bookImporter;
+        this.bookExporter = bookExporter;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        String importFile = option(args, "books.import");
+        String exportFile = option(args, "books.export");
+        if (importFile == null && exportFile == null) {
+            return;
+        }
+        String format = option(args, "books.format");
+        int status = 0;
+        if (importFile != null) {
+            Path path = Path.of(importFile);
+            try (InputStream in = Files.newInputStream(path)) {
+                BookImportReportDTO report = bookImporter.importBooks(in,
+                        BookTransferFormat.resolve(format, path.getFileName().toString()), new LoggingListener());
+                status = report.getRejected() > 0 ? 1 : 0;
+            }
+        }
+        if (exportFile != null) {
+            Path path = Path.of(exportFile);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+                bookExporter.export(BookTransferFormat.resolve(format, path.getFileName().toString()), out);
+            }
+        }
+        int exitCode = status;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static final class LoggingListener implements BookImportListener {
+
+        @Override
+        public void onRowRejected(BookImportErrorDTO error) {
+            log.warn("Row {} ({}) rejected: {}", error.getRow(), error.getBookNo(), error.getMessage());
+        }
+
+        @Override
+        public void onProgress(BookImportReportDTO progress) {
+            log.info("{} rows read, {} inserted, {} updated, {} rejected ({} rows/s)", progress.getRows(),
+                    progress.getInserted(), progress.getUpdated(), progress.getRejected(),
+                    Math.round(progress.getRowsPerSecond()));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.management.library.BookManagement.transfer;
+
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Locale;
+
+// File formats for bulk import and export; both carry the fields of BookCreateDTO
+public enum BookTransferFormat {
+
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+    // Book properties exported, in CSV column order; imported files may order (or omit optional) columns freely
+    public static final List<String> COLUMNS = List.of(
+            "bookNo", "title", "image", "author", "genre", "year", "edition", "description",
+            "language", "availability", "availableCopies", "totalCopies", "location");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    BookTransferFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    static CsvSchema csvSchema() {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        COLUMNS.forEach(schema::addColumn);
+        return schema.build();
+    }
+
+    // An explicit name (csv, ndjson, json) wins over the content type or file name it is paired with
+    public static BookTransferFormat resolve(String name, String contentTypeOrFileName) {
+        if (name != null && !name.isBlank()) {
+            return byName(name.trim().toLowerCase(Locale.ROOT));
+        }
+        if (contentTypeOrFileName != null) {
+            String value = contentTypeOrFileName.toLowerCase(Locale.ROOT);
+            if (value.contains("csv")) {
+                return CSV;
+            }
+            if (value.contains("ndjson") || value.contains("json") || value.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Cannot tell the format; pass format=csv or format=ndjson");
+    }
+
+    private static BookTransferFormat byName(String name) {
+        return switch (name) {
+            case "csv" -> CSV;
+            case "ndjson", "jsonl", "json" -> NDJSON;
+            default -> throw new IllegalArgumentException("Unknown format: " + name);
+        };
+    }
+}
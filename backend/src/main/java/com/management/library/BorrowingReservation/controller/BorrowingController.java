@@ -2,26 +2,34 @@ package com.management.library.BorrowingReservation.controller;
 
 import com.management.library.BorrowingReservation.entity.Borrowing;
 import com.management.library.BorrowingReservation.repository.BorrowingRepository;
-import com.management.library.BorrowingReservation.service.FeeService;
-import com.management.library.BorrowingReservation.service.IdService;
+import com.management.library.BorrowingReservation.service.BorrowingService;
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.pagination.NdjsonStreamer;
 
 import jakarta.validation.Valid;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/borrowings")
 public class BorrowingController {
     private final BorrowingRepository repository;
-    private final IdService idService;
-    private final FeeService feeService;
+    private final BorrowingService borrowingService;
+    private final KeysetPaginator keysetPaginator;
+    private final NdjsonStreamer ndjsonStreamer;
 
-    public BorrowingController(BorrowingRepository repository, IdService idService, FeeService feeService) {
+    public BorrowingController(BorrowingRepository repository, BorrowingService borrowingService,
+                               KeysetPaginator keysetPaginator, NdjsonStreamer ndjsonStreamer) {
         this.repository = repository;
-        this.idService = idService;
-        this.feeService = feeService;
+        this.borrowingService = borrowingService;
+        this.keysetPaginator = keysetPaginator;
+        this.ndjsonStreamer = ndjsonStreamer;
     }
 
     @GetMapping
@@ -32,50 +40,50 @@ public class BorrowingController {
         return repository.findAll();
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Borrowing>> page(@RequestParam(value = "memberId", required = false) String memberId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(keysetPaginator.page(Borrowing.class, memberFilter(memberId), cursor, limit,
+                    Borrowing::getId, Function.identity()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = "memberId", required = false) String memberId) {
+        return ndjsonStreamer.stream(() -> keysetPaginator.stream(Borrowing.class, memberFilter(memberId)));
+    }
+
+    // Borrowing and returning take and put back copies of the book in the same transaction
     @PostMapping
     public Borrowing create(@Valid @RequestBody Borrowing body) {
-        body.setId(null);
-        body.setBorrowingNumber(idService.nextBorrowNumber());
-        body.setStatus(body.getReturnDate() == null ? "ACTIVE" : "RETURNED");
-        body.setLateFee(feeService.calculateLateFee(body.getDueDate(), body.getReturnDate(), 100));
-        return repository.save(body);
+        return borrowingService.create(body);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Borrowing> update(@PathVariable("id") String id, @Valid @RequestBody Borrowing body) {
-        return repository.findById(id)
-                .map(existing -> {
-                    existing.setMemberId(body.getMemberId());
-                    existing.setBookId(body.getBookId());
-                    existing.setBorrowDate(body.getBorrowDate());
-                    existing.setDueDate(body.getDueDate());
-                    existing.setReturnDate(body.getReturnDate());
-                    existing.setStatus(body.getReturnDate() == null ? "ACTIVE" : "RETURNED");
-                    existing.setLateFee(feeService.calculateLateFee(existing.getDueDate(), existing.getReturnDate(), 100));
-                    return ResponseEntity.ok(repository.save(existing));
-                })
+        return borrowingService.update(id, body)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/{id}/return")
     public ResponseEntity<Borrowing> markReturned(@PathVariable("id") String id) {
-        return repository.findById(id)
-                .map(existing -> {
-                    existing.setStatus("RETURNED");
-                    existing.setReturnDate(java.time.LocalDate.now());
-                    existing.setLateFee(feeService.calculateLateFee(existing.getDueDate(), existing.getReturnDate(), 100));
-                    return ResponseEntity.ok(repository.save(existing));
-                })
+        return borrowingService.markReturned(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable("id") String id) {
-        if (!repository.existsById(id)) return ResponseEntity.notFound().build();
-        repository.deleteById(id);
+        if (!borrowingService.delete(id)) return ResponseEntity.notFound().build();
         return ResponseEntity.noContent().build();
     }
-}
-
-
 
+    private Criteria memberFilter(String memberId) {
+        return memberId != null && !memberId.isBlank() ? Criteria.where("memberId").is(memberId) : null;
+    }
+}
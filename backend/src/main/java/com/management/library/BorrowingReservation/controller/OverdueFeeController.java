@@ -0,0 +1,39 @@
+package com.management.library.BorrowingReservation.controller;
+
+import com.management.library.BorrowingReservation.service.OverdueFeeEngine;
+import com.management.library.Common.job.JobCheckpoint;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/overdue-fees")
+@CrossOrigin(origins = "*")
+public class OverdueFeeController {
+
+    private final OverdueFeeEngine overdueFeeEngine;
+
+    public OverdueFeeController(OverdueFeeEngine overdueFeeEngine) {
+        this.overdueFeeEngine = overdueFeeEngine;
+    }
+
+    // Progress and throughput of the current or last run
+    @GetMapping("/status")
+    public ResponseEntity<JobCheckpoint> getStatus() {
+        return overdueFeeEngine.getLastRun()
+                .map(checkpoint -> new ResponseEntity<>(checkpoint, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // Recompute fees now; 409 while another instance is running the job
+    @PostMapping("/run")
+    public ResponseEntity<JobCheckpoint> run() {
+        try {
+            return overdueFeeEngine.runNow()
+                    .map(checkpoint -> new ResponseEntity<>(checkpoint, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.CONFLICT));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
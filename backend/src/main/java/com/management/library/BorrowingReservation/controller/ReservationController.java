@@ -1,29 +1,46 @@
 package com.management.library.BorrowingReservation.controller;
 
-import com.management.library.BorrowingReservation.entity.Borrowing;
 import com.management.library.BorrowingReservation.entity.Reservation;
-import com.management.library.BorrowingReservation.repository.BorrowingRepository;
 import com.management.library.BorrowingReservation.repository.ReservationRepository;
 import com.management.library.BorrowingReservation.service.IdService;
+import com.management.library.BorrowingReservation.service.ReservationFulfillmentService;
+import com.management.library.BorrowingReservation.service.ReservationQueueService;
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.pagination.NdjsonStreamer;
 
 import jakarta.validation.Valid;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/reservations")
 public class ReservationController {
     private final ReservationRepository repository;
     private final IdService idService;
-    private final BorrowingRepository borrowingRepository;
-
-    public ReservationController(ReservationRepository repository, IdService idService, BorrowingRepository borrowingRepository) {
+    private final KeysetPaginator keysetPaginator;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final ReservationFulfillmentService fulfillmentService;
+    private final ReservationQueueService queueService;
+
+    public ReservationController(ReservationRepository repository, IdService idService,
+                                 KeysetPaginator keysetPaginator, NdjsonStreamer ndjsonStreamer,
+                                 ReservationFulfillmentService fulfillmentService,
+                                 ReservationQueueService queueService) {
         this.repository = repository;
         this.idService = idService;
-        this.borrowingRepository = borrowingRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.ndjsonStreamer = ndjsonStreamer;
+        this.fulfillmentService = fulfillmentService;
+        this.queueService = queueService;
     }
 
     @GetMapping
@@ -34,82 +51,80 @@ public class ReservationController {
         return repository.findAll();
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Reservation>> page(@RequestParam(value = "memberId", required = false) String memberId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(keysetPaginator.page(Reservation.class, memberFilter(memberId), cursor, limit,
+                    Reservation::getId, Function.identity()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = "memberId", required = false) String memberId) {
+        return ndjsonStreamer.stream(() -> keysetPaginator.stream(Reservation.class, memberFilter(memberId)));
+    }
+
     @PostMapping
     public Reservation create(@Valid @RequestBody Reservation body) {
         body.setId(null);
         body.setReservationNumber(idService.nextReserveNumber());
-        if (body.getStatus() == null) body.setStatus("PENDING");
+        if (body.getStatus() == null || "PENDING".equals(body.getStatus())) {
+            // Joins the book's wait list, and is READY straight away when a copy is on the shelf
+            return queueService.enqueue(body);
+        }
         return repository.save(body);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Reservation> update(@PathVariable("id") String id, @Valid @RequestBody Reservation body) {
+        return queueService.update(id, body)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Place in the book's wait list; position is null once the reservation has stopped waiting
+    @GetMapping("/{id}/position")
+    public ResponseEntity<Map<String, Object>> position(@PathVariable("id") String id) {
         return repository.findById(id)
-                .map(existing -> {
-                    existing.setMemberId(body.getMemberId());
-                    existing.setBookId(body.getBookId());
-                    existing.setReservationDate(body.getReservationDate());
-                    existing.setStatus(body.getStatus());
-                    return ResponseEntity.ok(repository.save(existing));
+                .map(reservation -> {
+                    OptionalInt position = queueService.position(id);
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("reservationId", id);
+                    body.put("bookId", reservation.getBookId());
+                    body.put("status", reservation.getStatus());
+                    body.put("position", position.isPresent() ? position.getAsInt() : null);
+                    body.put("queueLength", queueService.queueLength(reservation.getBookId()));
+                    return ResponseEntity.ok(body);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/{id}/receive")
-    public ResponseEntity<?> markReceived(@PathVariable("id") String id) {
-        return (ResponseEntity<Reservation>) repository.findById(id)
-                .map(existing -> {
-                    // Allow only if currently PENDING
-                    if (existing.getStatus() != null && !existing.getStatus().equals("PENDING")) {
-                        return ResponseEntity.badRequest().body(null);
-                    }
-
-                    // Prevent duplicate ACTIVE borrowing for same member-book
-                    if (borrowingRepository.existsByMemberIdAndBookIdAndStatus(existing.getMemberId(), existing.getBookId(), "ACTIVE")) {
-                        // Still mark reservation as RECEIVED to close it, but do not create another borrowing
-                        existing.setStatus("RECEIVED");
-                        Reservation updated = repository.save(existing);
-                        return ResponseEntity.ok(updated);
-                    }
-
-                    existing.setStatus("RECEIVED");
-                    Reservation saved = repository.save(existing);
-
-                    // When a reservation is received, create a borrowing entry automatically
-                    Borrowing borrowing = new Borrowing();
-                    borrowing.setId(null);
-                    borrowing.setBorrowingNumber(idService.nextBorrowNumber());
-                    borrowing.setMemberId(saved.getMemberId());
-                    borrowing.setBookId(saved.getBookId());
-                    LocalDate borrowDate = LocalDate.now();
-                    borrowing.setBorrowDate(borrowDate);
-                    borrowing.setDueDate(borrowDate.plusDays(14));
-                    borrowing.setReturnDate(null);
-                    borrowing.setStatus("ACTIVE");
-                    borrowing.setLateFee(0);
-                    borrowingRepository.save(borrowing);
-
-                    // Auto-cancel other PENDING reservations for the same member and book
-                    var others = repository.findByMemberIdAndBookIdAndStatus(saved.getMemberId(), saved.getBookId(), "PENDING");
-                    for (Reservation r : others) {
-                        if (!r.getId().equals(saved.getId())) {
-                            r.setStatus("CANCELLED");
-                            repository.save(r);
-                        }
-                    }
-
-                    return ResponseEntity.ok(saved);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Reservation> markReceived(@PathVariable("id") String id) {
+        try {
+            // Receives the reservation, opens the loan (unless one is already ACTIVE) and cancels the
+            // member's other pending reservations for the book, atomically
+            return fulfillmentService.receive(id)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            // Allow only if currently PENDING or READY
+            return ResponseEntity.badRequest().body(null);
+        }
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable("id") String id) {
-        if (!repository.existsById(id)) return ResponseEntity.notFound().build();
-        repository.deleteById(id);
+        // A READY reservation's held copy goes to the next in line
+        if (!queueService.delete(id)) return ResponseEntity.notFound().build();
         return ResponseEntity.noContent().build();
     }
-}
-
-
 
+    private Criteria memberFilter(String memberId) {
+        return memberId != null && !memberId.isBlank() ? Criteria.where("memberId").is(memberId) : null;
+    }
+}
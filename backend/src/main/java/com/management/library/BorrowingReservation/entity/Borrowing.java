@@ -2,15 +2,29 @@ package com.management.library.BorrowingReservation.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 
 @Data
 @Document("borrowings")
+// findByMemberId uses the prefix; existsByMemberIdAndBookIdAndStatus is fully covered
+@CompoundIndex(name = "member_book_status", def = "{ 'memberId': 1, 'bookId': 1, 'status': 1 }")
+// Open loans by due date (overdue checks); returned loans are left out of the index
+@CompoundIndex(name = "open_by_due_date", def = "{ 'status': 1, 'dueDate': 1 }",
+        partialFilter = "{ 'status': 'ACTIVE' }")
+// Overdue fee batches walk open loans in _id order without an in-memory sort
+@CompoundIndex(name = "open_by_id", def = "{ 'status': 1, '_id': 1 }",
+        partialFilter = "{ 'status': 'ACTIVE' }")
+// At most one open loan per member and book, whichever path creates it
+@CompoundIndex(name = "one_active_loan", def = "{ 'memberId': 1, 'bookId': 1 }", unique = true,
+        partialFilter = "{ 'status': 'ACTIVE' }")
 public class Borrowing {
     @Id
     private String id;
+    @Indexed
     private String borrowingNumber; // BRYYYY####
     private String memberId;
     private String bookId;
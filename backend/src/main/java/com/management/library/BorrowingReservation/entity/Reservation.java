@@ -2,12 +2,20 @@ package com.management.library.BorrowingReservation.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @Document("reservations")
+// findByMemberId uses the prefix; findByMemberIdAndBookIdAndStatus is fully covered
+@CompoundIndex(name = "member_book_status", def = "{ 'memberId': 1, 'bookId': 1, 'status': 1 }")
+// Each book's wait list in ticket order, read back into memory at startup
+@CompoundIndex(name = "queue_by_book", def = "{ 'bookId': 1, 'queueTicket': 1 }",
+        partialFilter = "{ 'status': 'PENDING' }")
 public class Reservation {
     @Id
     private String id;
@@ -15,7 +23,13 @@ public class Reservation {
     private String memberId;
     private String bookId;
     private LocalDate reservationDate;
-    private String status; // PENDING, RECEIVED, CANCELLED
+    private String status; // PENDING, READY, RECEIVED, CANCELLED, EXPIRED
+    private Long queueTicket; // Place in the book's wait list; smaller joined earlier
+    private LocalDateTime readyAt; // When a returned copy was set aside for this reservation
+    // Expires at this time unless received first; only waiting and ready reservations have one, so the
+    // index holds just the outstanding deadlines read back at startup
+    @Indexed(name = "hold_deadline", partialFilter = "{ 'holdUntil': { $exists: true } }")
+    private LocalDateTime holdUntil;
 }
 
 
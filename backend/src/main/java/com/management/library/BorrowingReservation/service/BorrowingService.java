@@ -0,0 +1,131 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BookManagement.service.BookInventoryService;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.repository.BorrowingRepository;
+import com.management.library.Common.transaction.TransactionRunner;
+import com.management.library.MemberManagement.Service.MemberLoanService;
+import com.management.library.UserManagement.Exception.DuplicateResourceException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Borrowing writes that move copies on or off the shelf. Each runs in one transaction with the matching
+ * {@link BookInventoryService} and {@link MemberLoanService} updates, so a loan never exists without its
+ * copy having been taken and a slot of the member's borrowing limit used, and a return never gives
+ * either back twice. A copy that comes back goes to the book's wait list first
+ * ({@link ReservationQueueService#passOnCopy}) and only onto the shelf when nobody is waiting.
+ */
+@Service
+public class BorrowingService {
+
+    private final BorrowingRepository repository;
+    private final IdService idService;
+    private final FeeService feeService;
+    private final BookInventoryService inventoryService;
+    private final MemberLoanService memberLoanService;
+    private final ReservationQueueService queueService;
+    private final TransactionRunner transactionRunner;
+
+    public BorrowingService(BorrowingRepository repository, IdService idService, FeeService feeService,
+                            BookInventoryService inventoryService, MemberLoanService memberLoanService,
+                            ReservationQueueService queueService, TransactionRunner transactionRunner) {
+        this.repository = repository;
+        this.idService = idService;
+        this.feeService = feeService;
+        this.inventoryService = inventoryService;
+        this.memberLoanService = memberLoanService;
+        this.queueService = queueService;
+        this.transactionRunner = transactionRunner;
+    }
+
+    public Borrowing create(Borrowing body) {
+        body.setId(null);
+        // Drawn outside the transaction so an aborted attempt cannot roll back a reserved ID block
+        body.setBorrowingNumber(idService.nextBorrowNumber());
+        body.setStatus(body.getReturnDate() == null ? "ACTIVE" : "RETURNED");
+        body.setLateFee(feeService.calculateLateFee(body.getDueDate(), body.getReturnDate(), FeeService.WEEKLY_LATE_FEE));
+        return saveLoan(() -> transactionRunner.execute(() -> {
+            if (isActive(body)) {
+                memberLoanService.checkOut(body.getMemberId());
+                inventoryService.checkOut(body.getBookId());
+            }
+            return repository.save(body);
+        }));
+    }
+
+    public Optional<Borrowing> update(String id, Borrowing body) {
+        return saveLoan(() -> transactionRunner.execute(() -> repository.findById(id).map(existing -> {
+            boolean wasActive = isActive(existing);
+            String previousMemberId = existing.getMemberId();
+            String previousBookId = existing.getBookId();
+            existing.setMemberId(body.getMemberId());
+            existing.setBookId(body.getBookId());
+            existing.setBorrowDate(body.getBorrowDate());
+            existing.setDueDate(body.getDueDate());
+            existing.setReturnDate(body.getReturnDate());
+            existing.setStatus(body.getReturnDate() == null ? "ACTIVE" : "RETURNED");
+            existing.setLateFee(feeService.calculateLateFee(existing.getDueDate(), existing.getReturnDate(), FeeService.WEEKLY_LATE_FEE));
+
+            boolean sameMember = Objects.equals(previousMemberId, existing.getMemberId());
+            if (wasActive && (!isActive(existing) || !sameMember)) {
+                memberLoanService.checkIn(previousMemberId);
+            }
+            if (isActive(existing) && (!wasActive || !sameMember)) {
+                memberLoanService.checkOut(existing.getMemberId());
+            }
+            boolean sameBook = Objects.equals(previousBookId, existing.getBookId());
+            if (wasActive && (!isActive(existing) || !sameBook)) {
+                queueService.passOnCopy(previousBookId);
+            }
+            if (isActive(existing) && (!wasActive || !sameBook)) {
+                inventoryService.checkOut(existing.getBookId());
+            }
+            return repository.save(existing);
+        })));
+    }
+
+    // Returning an already returned loan changes nothing
+    public Optional<Borrowing> markReturned(String id) {
+        return transactionRunner.execute(() -> repository.findById(id).map(existing -> {
+            if (!isActive(existing)) {
+                return existing;
+            }
+            existing.setStatus("RETURNED");
+            existing.setReturnDate(LocalDate.now());
+            existing.setLateFee(feeService.calculateLateFee(existing.getDueDate(), existing.getReturnDate(), FeeService.WEEKLY_LATE_FEE));
+            memberLoanService.checkIn(existing.getMemberId());
+            queueService.passOnCopy(existing.getBookId());
+            return repository.save(existing);
+        }));
+    }
+
+    public boolean delete(String id) {
+        return transactionRunner.execute(() -> repository.findById(id).map(existing -> {
+            if (isActive(existing)) {
+                memberLoanService.checkIn(existing.getMemberId());
+                queueService.passOnCopy(existing.getBookId());
+            }
+            repository.delete(existing);
+            return true;
+        }).orElse(false));
+    }
+
+    private static boolean isActive(Borrowing borrowing) {
+        return "ACTIVE".equals(borrowing.getStatus());
+    }
+
+    // The unique index on open loans rejects a second ACTIVE loan of the same book for a member
+    private static <T> T saveLoan(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Member already has an active loan of this book");
+        }
+    }
+}
@@ -7,6 +7,10 @@ import java.time.temporal.ChronoUnit;
 
 @Service
 public class FeeService {
+
+    // Charged for every started week past the due date
+    public static final int WEEKLY_LATE_FEE = 100;
+
     public int calculateLateFee(LocalDate dueDate, LocalDate returnDateOrNull, int weeklyFee) {
         if (dueDate == null) return 0;
         LocalDate end = returnDateOrNull != null ? returnDateOrNull : LocalDate.now();
@@ -0,0 +1,74 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BorrowingReservation.entity.Reservation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * This instance's outstanding hold deadlines, in a {@link TimingWheel} whose tick is
+ * {@code app.reservations.expiry.tick-ms}. Writers report deadlines as they set or clear them;
+ * {@link HoldExpiryService} advances the wheel and expires what falls due.
+ */
+@Component
+public class HoldDeadlines {
+
+    private final long tickMillis;
+    private final TimingWheel wheel;
+
+    public HoldDeadlines(@Value("${app.reservations.expiry.tick-ms:1000}") long tickMillis, MeterRegistry meterRegistry) {
+        this.tickMillis = tickMillis;
+        this.wheel = new TimingWheel(System.currentTimeMillis() / tickMillis);
+        Gauge.builder("library.reservations.holds.tracked", this, HoldDeadlines::size)
+                .description("Hold deadlines waiting in this instance's timing wheel")
+                .register(meterRegistry);
+    }
+
+    // Follows the reservation's current state: tracked while it is pending or ready with a deadline
+    public void track(Reservation reservation) {
+        boolean holding = "PENDING".equals(reservation.getStatus()) || "READY".equals(reservation.getStatus());
+        if (holding && reservation.getHoldUntil() != null) {
+            track(reservation.getId(), toInstant(reservation.getHoldUntil()));
+        } else {
+            untrack(reservation.getId());
+        }
+    }
+
+    // False when the deadline has already passed, in which case nothing is tracked
+    public boolean track(String reservationId, Instant deadline) {
+        // Rounded up, so a hold never falls due before its deadline
+        long tick = Math.floorDiv(deadline.toEpochMilli() + tickMillis - 1, tickMillis);
+        synchronized (wheel) {
+            return wheel.schedule(reservationId, tick);
+        }
+    }
+
+    public void untrack(String reservationId) {
+        synchronized (wheel) {
+            wheel.cancel(reservationId);
+        }
+    }
+
+    // The reservations whose deadline has passed since the last call
+    List<String> advance() {
+        synchronized (wheel) {
+            return wheel.advanceTo(System.currentTimeMillis() / tickMillis);
+        }
+    }
+
+    public int size() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,263 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.Common.transaction.TransactionRunner;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Expires reservations whose hold deadline ({@code holdUntil}) has passed: a PENDING reservation that
+ * waited too long leaves its wait list, and a READY one that was not picked up passes its copy to the
+ * next in line. Both end EXPIRED.
+ *
+ * <p>Deadlines live in {@link HoldDeadlines}' timing wheel driven by one fixed-rate tick, so a million
+ * outstanding holds cost a map entry and a list node each rather than a scheduled task. The wheel is
+ * filled at startup from the {@code hold_deadline} index, is told about this instance's writes as they
+ * commit, and follows other instances' through the reservations change stream. Holds falling due
+ * together are expired in batches of conditional writes, which makes a deadline that fires late, twice,
+ * or on several instances at once harmless. A periodic sweep of the same index expires whatever the
+ * wheel did not see (change streams off, or an event lost to a gap).
+ */
+@Service
+public class HoldExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldExpiryService.class);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+    static final String EXPIRED_METRIC = "library.reservations.expired";
+
+    private final MongoTemplate mongoTemplate;
+    private final ReservationQueueService queueService;
+    private final TransactionRunner transactionRunner;
+    private final ChangeStreamSubscriber changeStreamSubscriber;
+    private final BackgroundJobs backgroundJobs;
+    private final HoldDeadlines deadlines;
+    private final int batchSize;
+    private final Counter expiredPending;
+    private final Counter expiredReady;
+
+    public HoldExpiryService(MongoTemplate mongoTemplate, ReservationQueueService queueService,
+                             TransactionRunner transactionRunner, ChangeStreamSubscriber changeStreamSubscriber,
+                             BackgroundJobs backgroundJobs, HoldDeadlines deadlines, MeterRegistry meterRegistry,
+                             @Value("${app.reservations.expiry.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.queueService = queueService;
+        this.transactionRunner = transactionRunner;
+        this.changeStreamSubscriber = changeStreamSubscriber;
+        this.backgroundJobs = backgroundJobs;
+        this.deadlines = deadlines;
+        this.batchSize = batchSize;
+        this.expiredPending = expiredCounter(meterRegistry, "PENDING");
+        this.expiredReady = expiredCounter(meterRegistry, "READY");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (changeStreamSubscriber.isEnabled()) {
+            changeStreamSubscriber.subscribe(mongoTemplate.getCollectionName(Reservation.class), false,
+                    this::onChange, this::runRecover);
+        }
+        runRecover();
+    }
+
+    // One tick of the wheel; a late tick catches up on every tick it missed
+    @Scheduled(fixedRateString = "${app.reservations.expiry.tick-ms:1000}")
+    public void tick() {
+        expire(deadlines.advance());
+    }
+
+    // Catches deadlines the wheel never heard of; uses the same index as the startup recovery
+    @Scheduled(fixedDelayString = "${app.reservations.expiry.sweep-interval-ms:300000}",
+            initialDelayString = "${app.reservations.expiry.sweep-interval-ms:300000}")
+    public void sweep() {
+        Query overdue = new Query(Criteria.where("holdUntil").lte(LocalDateTime.now())).limit(batchSize);
+        overdue.fields().include("_id");
+        int expired = 0;
+        List<String> ids;
+        do {
+            ids = mongoTemplate.find(overdue, Document.class, collection()).stream()
+                    .map(row -> idString(row.get("_id")))
+                    .toList();
+            expired += expire(ids);
+            // expire() takes every row it was given out of the index, so the next round sees new ones
+        } while (ids.size() == batchSize);
+        if (expired > 0) {
+            log.info("Hold sweep expired {} reservations the timing wheel had not scheduled", expired);
+        }
+    }
+
+    /**
+     * Gives reservations from before hold deadlines one, then loads every outstanding deadline into the
+     * wheel and expires the ones that have already passed. Returns the number of deadlines loaded.
+     */
+    public int recover() {
+        assignMissingDeadlines();
+        Query outstanding = new Query(Criteria.where("holdUntil").exists(true));
+        outstanding.fields().include("_id", "holdUntil");
+        List<String> overdue = new ArrayList<>();
+        int loaded = 0;
+        try (var rows = mongoTemplate.stream(outstanding, Document.class, collection())) {
+            for (Document row : (Iterable<Document>) rows::iterator) {
+                if (!(row.get("holdUntil") instanceof Date holdUntil)) {
+                    continue;
+                }
+                if (deadlines.track(idString(row.get("_id")), holdUntil.toInstant())) {
+                    loaded++;
+                } else {
+                    overdue.add(idString(row.get("_id")));
+                    if (overdue.size() == batchSize) {
+                        expire(overdue);
+                        overdue.clear();
+                    }
+                }
+            }
+        }
+        expire(overdue);
+        log.info("Loaded {} hold deadlines into the timing wheel", loaded);
+        return loaded;
+    }
+
+    /**
+     * Expires the given reservations, in batches, where their deadline has really passed. Pending ones
+     * are expired with one update per batch; each ready one in its own transaction together with
+     * passing its copy on. Returns how many were expired.
+     */
+    int expire(List<String> ids) {
+        int expired = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<String> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            expired += expirePending(batch) + expireReady(batch);
+            // Settled by a write that left its deadline behind; drop it from the index
+            mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(batch).and("status").nin("PENDING", "READY").and("holdUntil").exists(true)),
+                    new Update().unset("holdUntil"),
+                    Reservation.class);
+        }
+        return expired;
+    }
+
+    private int expirePending(List<String> batch) {
+        Query query = new Query(Criteria.where("_id").in(batch).and("status").is("PENDING")
+                .and("holdUntil").lte(LocalDateTime.now()));
+        query.fields().include("_id");
+        List<String> due = mongoTemplate.find(query, Document.class, collection()).stream()
+                .map(row -> idString(row.get("_id")))
+                .toList();
+        if (due.isEmpty()) {
+            return 0;
+        }
+        long expired = mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(due).and("status").is("PENDING").and("holdUntil").lte(LocalDateTime.now())),
+                new Update().set("status", "EXPIRED").unset("holdUntil"),
+                Reservation.class).getModifiedCount();
+        queueService.leave(due);
+        due.forEach(deadlines::untrack);
+        expiredPending.increment(expired);
+        return (int) expired;
+    }
+
+    // Ready holds are bounded by the copies on the hold shelf, so one transaction each is affordable
+    private int expireReady(List<String> batch) {
+        Query query = new Query(Criteria.where("_id").in(batch).and("status").is("READY")
+                .and("holdUntil").lte(LocalDateTime.now()));
+        int expired = 0;
+        for (Reservation hold : mongoTemplate.find(query, Reservation.class)) {
+            boolean passedOn = transactionRunner.execute(() -> {
+                long modified = mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(hold.getId()).and("status").is("READY")
+                                .and("holdUntil").lte(LocalDateTime.now())),
+                        new Update().set("status", "EXPIRED").unset("holdUntil"),
+                        Reservation.class).getModifiedCount();
+                if (modified > 0) {
+                    queueService.passOnCopy(hold.getBookId());
+                }
+                return modified > 0;
+            });
+            if (passedOn) {
+                deadlines.untrack(hold.getId());
+                expired++;
+                expiredReady.increment();
+            }
+        }
+        return expired;
+    }
+
+    private void assignMissingDeadlines() {
+        var reservations = mongoTemplate.getCollection(collection());
+        long ready = reservations.updateMany(
+                new Document("status", "READY").append("holdUntil", new Document("$exists", false)),
+                List.of(new Document("$set", new Document("holdUntil", new Document("$add", List.of(
+                        new Document("$ifNull", List.of("$readyAt", "$$NOW")), queueService.getHoldShelfTime().toMillis())))))
+        ).getModifiedCount();
+        long pending = reservations.updateMany(
+                new Document("status", "PENDING").append("holdUntil", new Document("$exists", false)),
+                List.of(new Document("$set", new Document("holdUntil", new Document("$add", List.of(
+                        new Document("$ifNull", List.of("$reservationDate", "$$NOW")), queueService.getPendingTime().toMillis())))))
+        ).getModifiedCount();
+        if (ready + pending > 0) {
+            log.info("Gave {} ready and {} pending reservations from before hold deadlines a deadline", ready, pending);
+        }
+    }
+
+    private void runRecover() {
+        backgroundJobs.runUntilDone("hold deadline recovery", this::recover, RETRY_DELAY);
+    }
+
+    private void onChange(ChangeStreamDocument<Document> change) {
+        Document reservation = change.getFullDocument();
+        if (change.getOperationType() != OperationType.DELETE && reservation != null) {
+            String id = idString(reservation.get("_id"));
+            String status = reservation.getString("status");
+            if (("PENDING".equals(status) || "READY".equals(status)) && reservation.get("holdUntil") instanceof Date holdUntil) {
+                if (!deadlines.track(id, holdUntil.toInstant())) {
+                    expire(List.of(id));
+                }
+            } else {
+                deadlines.untrack(id);
+            }
+            return;
+        }
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        if (id != null) {
+            deadlines.untrack(id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+        }
+    }
+
+    private String collection() {
+        return mongoTemplate.getCollectionName(Reservation.class);
+    }
+
+    private static Counter expiredCounter(MeterRegistry meterRegistry, String status) {
+        return Counter.builder(EXPIRED_METRIC)
+                .description("Reservations expired at their hold deadline, by the status they expired from")
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+
+    private static String idString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+}
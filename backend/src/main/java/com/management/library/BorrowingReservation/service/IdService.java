@@ -1,25 +1,33 @@
 package com.management.library.BorrowingReservation.service;
 
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.sequence.SequenceGenerator;
 import org.springframework.stereotype.Service;
 
 import java.time.Year;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class IdService {
-    private final AtomicInteger borrowSeq = new AtomicInteger(0);
-    private final AtomicInteger reserveSeq = new AtomicInteger(0);
+    private final SequenceGenerator sequenceGenerator;
+
+    public IdService(SequenceGenerator sequenceGenerator) {
+        this.sequenceGenerator = sequenceGenerator;
+    }
 
     public String nextBorrowNumber() {
-        int seq = borrowSeq.incrementAndGet();
-        return "BR" + Year.now().getValue() + String.format("%04d", seq);
+        return next("BR", Borrowing.class, "borrowingNumber");
     }
 
     public String nextReserveNumber() {
-        int seq = reserveSeq.incrementAndGet();
-        return "RS" + Year.now().getValue() + String.format("%04d", seq);
+        return next("RS", Reservation.class, "reservationNumber");
     }
-}
-
-
 
+    // One sequence per prefix and year; the first use of each continues after numbers already issued
+    private String next(String type, Class<?> entityClass, String field) {
+        String prefix = type + Year.now().getValue();
+        long seq = sequenceGenerator.next(prefix,
+                () -> sequenceGenerator.highestIssued(entityClass, field, prefix));
+        return prefix + String.format("%04d", seq);
+    }
+}
@@ -0,0 +1,243 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.Common.cache.CacheNames;
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.Common.job.JobCheckpoint;
+import com.management.library.Common.job.JobCheckpointStore;
+import com.management.library.MemberManagement.Entity.Member;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Nightly recomputation of late fees on open loans, which otherwise keep the fee worked out when the
+ * loan was last written.
+ *
+ * <p>Overdue ACTIVE borrowings are read in {@code _id} order one batch at a time (only {@code _id},
+ * {@code dueDate} and {@code lateFee}), so memory stays bounded by the batch size however many loans
+ * are open. Changed fees go back in one unordered bulk write per batch, and the position reached is
+ * checkpointed after every batch; a run cut short by a crash resumes from there. Once all batches are
+ * done a single aggregation sums the open fees per member and merges them into {@code fineAmount}.
+ */
+@Service
+public class OverdueFeeEngine {
+
+    public static final String JOB_NAME = "overdue-fees";
+
+    static final String PHASE_FEES = "FEES";
+    static final String PHASE_ROLLUP = "ROLLUP";
+    static final String PHASE_DONE = "DONE";
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueFeeEngine.class);
+    // Renewed with every checkpoint, so it only has to outlast a single batch
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final FeeService feeService;
+    private final JobCheckpointStore checkpointStore;
+    private final EntityCacheEvictor cacheEvictor;
+    private final BackgroundJobs backgroundJobs;
+    private final int batchSize;
+    private final boolean resumeOnStartup;
+
+    public OverdueFeeEngine(MongoTemplate mongoTemplate, FeeService feeService, JobCheckpointStore checkpointStore,
+                            EntityCacheEvictor cacheEvictor, BackgroundJobs backgroundJobs,
+                            @Value("${app.overdue-fees.batch-size:1000}") int batchSize,
+                            @Value("${app.overdue-fees.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.feeService = feeService;
+        this.checkpointStore = checkpointStore;
+        this.cacheEvictor = cacheEvictor;
+        this.backgroundJobs = backgroundJobs;
+        this.batchSize = batchSize;
+        this.resumeOnStartup = resumeOnStartup;
+    }
+
+    // Finish an interrupted run, or catch up on a missed one, without holding up startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        runInBackground();
+    }
+
+    @Scheduled(cron = "${app.overdue-fees.cron:0 30 1 * * *}")
+    public void runNightly() {
+        runInBackground();
+    }
+
+    // Start a fresh run even if today's has already finished
+    public Optional<JobCheckpoint> runNow() {
+        return run(Integer.MAX_VALUE, true);
+    }
+
+    public Optional<JobCheckpoint> getLastRun() {
+        return checkpointStore.find(JOB_NAME);
+    }
+
+    /**
+     * Runs at most {@code maxBatches} fee batches before returning, leaving the checkpoint where it
+     * stopped. Empty when another instance holds the job.
+     */
+    Optional<JobCheckpoint> run(int maxBatches, boolean restartIfDone) {
+        Optional<JobCheckpoint> acquired = checkpointStore.acquire(JOB_NAME, LEASE);
+        if (acquired.isEmpty()) {
+            log.info("Overdue fee run skipped: another instance holds the job");
+            return Optional.empty();
+        }
+        JobCheckpoint checkpoint = acquired.get();
+        try {
+            LocalDate today = LocalDate.now();
+            boolean doneToday = PHASE_DONE.equals(checkpoint.getPhase()) && today.equals(checkpoint.getRunDate());
+            if (checkpoint.getPhase() == null || !today.equals(checkpoint.getRunDate()) || (doneToday && restartIfDone)) {
+                // A run left over from an earlier day would charge by that day's date; start again, fees are idempotent
+                start(checkpoint, today);
+            } else if (doneToday) {
+                return Optional.of(checkpoint);
+            } else {
+                log.info("Resuming overdue fee run of {} after {} loans", checkpoint.getRunDate(), checkpoint.getProcessed());
+            }
+
+            long segmentStart = System.nanoTime();
+            int batches = 0;
+            while (PHASE_FEES.equals(checkpoint.getPhase()) && batches < maxBatches) {
+                processBatch(checkpoint);
+                batches++;
+                segmentStart = addElapsed(checkpoint, segmentStart);
+                if (!checkpointStore.save(checkpoint, LEASE)) {
+                    log.warn("Overdue fee run lost its lease after {} loans; leaving it to the new holder", checkpoint.getProcessed());
+                    return Optional.of(checkpoint);
+                }
+            }
+
+            if (PHASE_ROLLUP.equals(checkpoint.getPhase())) {
+                rollUpMemberFines(checkpoint.getRunDate());
+                addElapsed(checkpoint, segmentStart);
+                finish(checkpoint);
+                checkpointStore.save(checkpoint, LEASE);
+                log.info("Overdue fee run of {}: {} loans in {} batches, {} fees changed, {} ms ({} loans/s)",
+                        checkpoint.getRunDate(), checkpoint.getProcessed(), checkpoint.getBatches(), checkpoint.getUpdated(),
+                        checkpoint.getElapsedMillis(), Math.round(checkpoint.getItemsPerSecond()));
+            }
+            return Optional.of(checkpoint);
+        } finally {
+            checkpointStore.release(checkpoint);
+        }
+    }
+
+    private void processBatch(JobCheckpoint checkpoint) {
+        Criteria overdue = Criteria.where("status").is("ACTIVE").and("dueDate").lt(checkpoint.getRunDate());
+        if (checkpoint.getLastId() != null) {
+            overdue.and("_id").gt(checkpoint.getLastId());
+        }
+        Query batchQuery = new Query(overdue).with(Sort.by("_id")).limit(batchSize);
+        batchQuery.fields().include("dueDate", "lateFee");
+        List<Borrowing> loans = mongoTemplate.find(batchQuery, Borrowing.class);
+        if (loans.isEmpty()) {
+            checkpoint.setPhase(PHASE_ROLLUP);
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Borrowing.class);
+        int changed = 0;
+        for (Borrowing loan : loans) {
+            int fee = feeService.calculateLateFee(loan.getDueDate(), checkpoint.getRunDate(), FeeService.WEEKLY_LATE_FEE);
+            if (fee != loan.getLateFee()) {
+                // Skipped if the loan was returned or its due date changed since it was read
+                bulk.updateOne(new Query(Criteria.where("_id").is(loan.getId())
+                                .and("status").is("ACTIVE").and("dueDate").is(loan.getDueDate())),
+                        new Update().set("lateFee", fee));
+                changed++;
+            }
+        }
+        long updated = changed > 0 ? bulk.execute().getModifiedCount() : 0;
+
+        checkpoint.setLastId(loans.get(loans.size() - 1).getId());
+        checkpoint.setProcessed(checkpoint.getProcessed() + loans.size());
+        checkpoint.setUpdated(checkpoint.getUpdated() + updated);
+        checkpoint.setBatches(checkpoint.getBatches() + 1);
+        if (loans.size() < batchSize) {
+            checkpoint.setPhase(PHASE_ROLLUP);
+        }
+    }
+
+    // One pass over members: the open fees of each, merged back only where the total moved
+    private void rollUpMemberFines(LocalDate runDate) {
+        String members = mongoTemplate.getCollectionName(Member.class);
+        Document openFees = new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(Borrowing.class))
+                .append("localField", "memberId")
+                .append("foreignField", "memberId")
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("status", "ACTIVE").append("lateFee", new Document("$gt", 0))),
+                        new Document("$group", new Document("_id", null).append("total", new Document("$sum", "$lateFee")))))
+                .append("as", "fees"));
+        Document total = new Document("$toDouble", new Document("$ifNull",
+                List.of(new Document("$arrayElemAt", List.of("$fees.total", 0)), 0)));
+        mongoTemplate.getCollection(members).aggregate(List.of(
+                openFees,
+                new Document("$project", new Document("fineAmount", total).append("previous", "$fineAmount")),
+                new Document("$match", new Document("$expr", new Document("$ne",
+                        List.of("$fineAmount", new Document("$ifNull", List.of("$previous", 0.0)))))),
+                new Document("$project", new Document("fineAmount", 1)),
+                new Document("$merge", new Document("into", members)
+                        .append("on", "_id")
+                        .append("whenMatched", "merge")
+                        .append("whenNotMatched", "discard"))))
+                .toCollection();
+        // The merge does not say which members changed
+        cacheEvictor.clear(CacheNames.MEMBERS_BY_MEMBER_ID, CacheNames.MEMBERS_BY_USER_ID);
+        log.debug("Member fines rolled up for {}", runDate);
+    }
+
+    private void start(JobCheckpoint checkpoint, LocalDate today) {
+        checkpoint.setRunDate(today);
+        checkpoint.setPhase(PHASE_FEES);
+        checkpoint.setLastId(null);
+        checkpoint.setProcessed(0);
+        checkpoint.setUpdated(0);
+        checkpoint.setBatches(0);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setFinishedAt(null);
+        checkpoint.setElapsedMillis(0);
+        checkpoint.setItemsPerSecond(0);
+    }
+
+    private void finish(JobCheckpoint checkpoint) {
+        checkpoint.setPhase(PHASE_DONE);
+        checkpoint.setFinishedAt(LocalDateTime.now());
+        long millis = Math.max(1, checkpoint.getElapsedMillis());
+        checkpoint.setItemsPerSecond(checkpoint.getProcessed() * 1000.0 / millis);
+    }
+
+    // Working time only, so the throughput of a resumed run ignores the time it spent crashed
+    private long addElapsed(JobCheckpoint checkpoint, long since) {
+        long now = System.nanoTime();
+        checkpoint.setElapsedMillis(checkpoint.getElapsedMillis() + Duration.ofNanos(now - since).toMillis());
+        return now;
+    }
+
+    private void runInBackground() {
+        backgroundJobs.runUntilDone("overdue fee run", () -> run(Integer.MAX_VALUE, false), RETRY_DELAY);
+    }
+}
@@ -0,0 +1,142 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BookManagement.service.BookInventoryService;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.transaction.TransactionRunner;
+import com.management.library.MemberManagement.Service.MemberLoanService;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Turns a PENDING or READY reservation into a loan in one multi-document transaction of conditional writes:
+ * <ol>
+ *   <li>flip the reservation to RECEIVED only if it is still pending or ready (findAndModify, which also
+ *   returns its previous status),</li>
+ *   <li>upsert the ACTIVE borrowing for the member and book, inserting only when none exists, and take
+ *   a slot of the member's borrowing limit when it was inserted, plus a copy off the shelf unless one was
+ *   already held for the reservation (no copy or slot left aborts the whole receive),</li>
+ *   <li>cancel the member's other pending and ready reservations for the book, passing each copy held
+ *   for a ready one on to the next in the book's wait list.</li>
+ * </ol>
+ * Two receives racing on the same reservation, or on sibling reservations, write the same documents, so
+ * the server aborts one of them with a transient write conflict; it is retried and then sees the winner's
+ * result. The unique partial index on ACTIVE borrowings covers loans created outside this path. A held
+ * copy that the member turns out not to need, because they already had the book on loan, is passed on
+ * the same way.
+ */
+@Service
+public class ReservationFulfillmentService {
+
+    private static final int LOAN_DAYS = 14;
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionRunner transactionRunner;
+    private final IdService idService;
+    private final BookInventoryService inventoryService;
+    private final MemberLoanService memberLoanService;
+    private final ReservationQueueService queueService;
+
+    public ReservationFulfillmentService(MongoTemplate mongoTemplate, TransactionRunner transactionRunner,
+                                         IdService idService, BookInventoryService inventoryService,
+                                         MemberLoanService memberLoanService, ReservationQueueService queueService) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionRunner = transactionRunner;
+        this.idService = idService;
+        this.inventoryService = inventoryService;
+        this.memberLoanService = memberLoanService;
+        this.queueService = queueService;
+    }
+
+    /**
+     * Receives the reservation. Empty when it does not exist; {@link IllegalStateException} when it is
+     * neither pending nor ready.
+     */
+    public Optional<Reservation> receive(String reservationId) {
+        // Drawn outside the transaction: a block reserved in an aborted transaction would be handed out twice.
+        // The number is simply skipped when the member already has the book on loan
+        String borrowingNumber = idService.nextBorrowNumber();
+        return transactionRunner.execute(() -> receiveInTransaction(reservationId, borrowingNumber));
+    }
+
+    private Optional<Reservation> receiveInTransaction(String reservationId, String borrowingNumber) {
+        // Legacy rows may have no status at all; those count as pending. The previous version tells
+        // whether a copy was already set aside for this reservation
+        Reservation received = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(reservationId).and("status").in(Arrays.asList("PENDING", "READY", null))),
+                new Update().set("status", "RECEIVED").unset("holdUntil"),
+                FindAndModifyOptions.options().returnNew(false),
+                Reservation.class);
+        if (received == null) {
+            // Off the hot path: tell a missing reservation from one that was already handled
+            if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(reservationId)), Reservation.class)) {
+                return Optional.empty();
+            }
+            throw new IllegalStateException("Reservation " + reservationId + " is not pending");
+        }
+        boolean held = "READY".equals(received.getStatus());
+        received.setStatus("RECEIVED");
+        received.setHoldUntil(null);
+
+        LocalDate borrowDate = LocalDate.now();
+        UpdateResult loan = mongoTemplate.upsert(
+                new Query(Criteria.where("memberId").is(received.getMemberId())
+                        .and("bookId").is(received.getBookId())
+                        .and("status").is("ACTIVE")),
+                new Update()
+                        .setOnInsert("borrowingNumber", borrowingNumber)
+                        .setOnInsert("borrowDate", borrowDate)
+                        .setOnInsert("dueDate", borrowDate.plusDays(LOAN_DAYS))
+                        .setOnInsert("returnDate", null)
+                        .setOnInsert("lateFee", 0),
+                Borrowing.class);
+        int copiesToPassOn = 0;
+        if (loan.getUpsertedId() != null) {
+            // A new loan counts against the member's limit and takes a copy off the shelf, or the one held
+            // for it; when either is used up the whole receive is rolled back
+            memberLoanService.checkOut(received.getMemberId());
+            if (!held) {
+                inventoryService.checkOut(received.getBookId());
+            }
+        } else if (held) {
+            copiesToPassOn++;
+        }
+
+        Criteria siblings = Criteria.where("memberId").is(received.getMemberId())
+                .and("bookId").is(received.getBookId())
+                .and("_id").ne(received.getId());
+        mongoTemplate.updateMulti(
+                new Query(new Criteria().andOperator(siblings, Criteria.where("status").is("PENDING"))),
+                new Update().set("status", "CANCELLED").unset("holdUntil"),
+                Reservation.class);
+        Query ready = new Query(new Criteria().andOperator(siblings, Criteria.where("status").is("READY")));
+        ready.fields().include("_id");
+        List<String> released = mongoTemplate.find(ready, Reservation.class).stream().map(Reservation::getId).toList();
+        if (!released.isEmpty()) {
+            copiesToPassOn += (int) mongoTemplate.updateMulti(
+                    new Query(Criteria.where("_id").in(released).and("status").is("READY")),
+                    new Update().set("status", "CANCELLED").unset("holdUntil"),
+                    Reservation.class).getModifiedCount();
+        }
+        // After the cancels, so none of the member's own reservations is promoted to take a copy
+        for (int i = 0; i < copiesToPassOn; i++) {
+            queueService.passOnCopy(received.getBookId());
+        }
+
+        List<String> settled = new ArrayList<>(released);
+        settled.add(received.getId());
+        TransactionRunner.afterCommit(() -> queueService.forgetMember(received.getBookId(), received.getMemberId(), settled));
+        return Optional.of(received);
+    }
+}
@@ -0,0 +1,434 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.service.BookInventoryService;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.Common.sequence.SequenceStore;
+import com.management.library.Common.transaction.TransactionRunner;
+import com.management.library.UserManagement.Exception.NoCopiesAvailableException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * First-come, first-served wait lists for books. A reservation joins its book's queue with a ticket drawn
+ * from a per-book counter, so the order is the same on every instance. When a loan ends, the copy goes
+ * to the head of the queue: that reservation turns READY and the copy stays off the shelf until it is
+ * received. Only when nobody is waiting does the copy go back on the shelf.
+ *
+ * <p>Mongo is the source of truth; every change is a conditional update on the reservation's status.
+ * Each instance keeps the queues in memory as {@link WaitList}s, for cheap positions and heads. They are
+ * read back at startup and follow other instances' writes through the reservations change stream. A
+ * queue entry that turns out to be no longer pending is dropped when promotion reaches it.
+ *
+ * <p>Every waiting or ready reservation carries a hold deadline ({@code holdUntil}): a while after it
+ * joins the queue, and a shorter while to pick the copy up once it is READY. Deadlines are reported to
+ * {@link HoldDeadlines} as they commit; {@link HoldExpiryService} expires the holds that run out.
+ */
+@Service
+public class ReservationQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationQueueService.class);
+    private static final String TICKETS = "waitlist.";
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final SequenceStore sequenceStore;
+    private final BookInventoryService inventoryService;
+    private final TransactionRunner transactionRunner;
+    private final ChangeStreamSubscriber changeStreamSubscriber;
+    private final BackgroundJobs backgroundJobs;
+    private final HoldDeadlines deadlines;
+    private final Duration pendingTime;
+    private final Duration holdShelfTime;
+
+    private volatile Map<String, WaitList> queues = new ConcurrentHashMap<>();
+    // Reservation ID to book, for changes that name only the reservation
+    private volatile Map<String, String> bookOf = new ConcurrentHashMap<>();
+    // Changes seen while a rebuild reads Mongo, replayed over its result; null outside a rebuild
+    private volatile ConcurrentLinkedQueue<QueueChange> duringRebuild;
+
+    public ReservationQueueService(MongoTemplate mongoTemplate, SequenceStore sequenceStore,
+                                   BookInventoryService inventoryService, TransactionRunner transactionRunner,
+                                   ChangeStreamSubscriber changeStreamSubscriber, BackgroundJobs backgroundJobs,
+                                   HoldDeadlines deadlines,
+                                   @Value("${app.reservations.pending-days:60}") long pendingDays,
+                                   @Value("${app.reservations.hold-shelf-days:7}") long holdShelfDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.sequenceStore = sequenceStore;
+        this.inventoryService = inventoryService;
+        this.transactionRunner = transactionRunner;
+        this.changeStreamSubscriber = changeStreamSubscriber;
+        this.backgroundJobs = backgroundJobs;
+        this.deadlines = deadlines;
+        this.pendingTime = Duration.ofDays(pendingDays);
+        this.holdShelfTime = Duration.ofDays(holdShelfDays);
+    }
+
+    /**
+     * Adds a pending reservation to the end of its book's queue. When a copy is on the shelf and nobody
+     * is ahead, the copy is set aside straight away and the reservation comes back READY.
+     */
+    public Reservation enqueue(Reservation reservation) {
+        reservation.setStatus("PENDING");
+        reservation.setReadyAt(null);
+        reservation.setHoldUntil(LocalDateTime.now().plus(pendingTime));
+        reservation.setQueueTicket(nextTicket(reservation.getBookId()));
+        Reservation saved = mongoTemplate.insert(reservation);
+        apply(QueueChange.of(saved));
+        deadlines.track(saved);
+        String held = holdFromShelf(saved.getBookId());
+        return saved.getId().equals(held) ? mongoTemplate.findById(held, Reservation.class) : saved;
+    }
+
+    /**
+     * A copy came back, from a return or a hold given up: hand it to the longest-waiting reservation, or
+     * put it on the shelf when nobody is waiting. Joins the caller's transaction.
+     */
+    public void passOnCopy(String bookId) {
+        if (promoteHead(bookId) == null) {
+            inventoryService.checkIn(bookId);
+        }
+    }
+
+    // Changes a reservation; a READY one that is given up passes its copy on
+    public Optional<Reservation> update(String id, Reservation body) {
+        Reservation current = mongoTemplate.findById(id, Reservation.class);
+        if (current == null) {
+            return Optional.empty();
+        }
+        // Drawn outside the transaction, like every other ID; unused when the reservation was already queued
+        Long ticket = "PENDING".equals(body.getStatus()) && !("PENDING".equals(current.getStatus()) && sameBook(current, body))
+                ? nextTicket(body.getBookId()) : current.getQueueTicket();
+        return transactionRunner.execute(() -> {
+            Reservation existing = mongoTemplate.findById(id, Reservation.class);
+            if (existing == null) {
+                return Optional.<Reservation>empty();
+            }
+            if ("READY".equals(existing.getStatus()) && !("READY".equals(body.getStatus()) && sameBook(existing, body))) {
+                passOnCopy(existing.getBookId());
+            }
+            boolean stillWaiting = "PENDING".equals(existing.getStatus()) && "PENDING".equals(body.getStatus()) && sameBook(existing, body);
+            boolean stillHeld = "READY".equals(existing.getStatus()) && "READY".equals(body.getStatus()) && sameBook(existing, body);
+            if (!stillWaiting) {
+                existing.setQueueTicket(ticket);
+            }
+            if (!stillHeld) {
+                existing.setReadyAt(null);
+            }
+            if (!stillWaiting && !stillHeld) {
+                // A fresh wait starts a fresh deadline; a settled reservation has none
+                existing.setHoldUntil("PENDING".equals(body.getStatus()) ? LocalDateTime.now().plus(pendingTime) : null);
+            }
+            existing.setMemberId(body.getMemberId());
+            existing.setBookId(body.getBookId());
+            existing.setReservationDate(body.getReservationDate());
+            existing.setStatus(body.getStatus());
+            Reservation saved = mongoTemplate.save(existing);
+            TransactionRunner.afterCommit(() -> {
+                apply(QueueChange.of(saved));
+                deadlines.track(saved);
+            });
+            return Optional.of(saved);
+        });
+    }
+
+    public boolean delete(String id) {
+        return transactionRunner.execute(() -> {
+            Reservation existing = mongoTemplate.findById(id, Reservation.class);
+            if (existing == null) {
+                return false;
+            }
+            if ("READY".equals(existing.getStatus())) {
+                passOnCopy(existing.getBookId());
+            }
+            mongoTemplate.remove(existing);
+            TransactionRunner.afterCommit(() -> {
+                apply(QueueChange.removed(id));
+                deadlines.untrack(id);
+            });
+            return true;
+        });
+    }
+
+    // Place in the book's queue, 1 being next in line; empty when the reservation is not waiting
+    public OptionalInt position(String reservationId) {
+        String bookId = bookOf.get(reservationId);
+        WaitList queue = bookId != null ? queues.get(bookId) : null;
+        if (queue == null) {
+            return OptionalInt.empty();
+        }
+        synchronized (queue) {
+            int position = queue.position(reservationId);
+            return position > 0 ? OptionalInt.of(position) : OptionalInt.empty();
+        }
+    }
+
+    public int queueLength(String bookId) {
+        WaitList queue = queues.get(bookId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    // A reservation was received and the member's others for the book cancelled; settledIds are those no longer waiting or held
+    void forgetMember(String bookId, String memberId, Collection<String> settledIds) {
+        settledIds.forEach(deadlines::untrack);
+        WaitList queue = queues.get(bookId);
+        if (queue == null) {
+            return;
+        }
+        List<String> removed;
+        synchronized (queue) {
+            removed = queue.removeMember(memberId);
+        }
+        removed.forEach(bookOf::remove);
+        removed.forEach(deadlines::untrack);
+    }
+
+    // Expired or otherwise settled outside this service
+    void leave(Collection<String> reservationIds) {
+        reservationIds.forEach(id -> apply(QueueChange.removed(id)));
+    }
+
+    Duration getPendingTime() {
+        return pendingTime;
+    }
+
+    Duration getHoldShelfTime() {
+        return holdShelfTime;
+    }
+
+    /**
+     * Turns the head of the queue READY with one conditional update, skipping (and dropping) entries that
+     * are no longer pending. Returns the promoted reservation's ID, or null when nobody is waiting.
+     * Joins the caller's transaction; the queue itself only changes once that commits.
+     */
+    String promoteHead(String bookId) {
+        WaitList queue = queues.get(bookId);
+        if (queue == null) {
+            return null;
+        }
+        while (true) {
+            String head;
+            synchronized (queue) {
+                head = queue.head();
+            }
+            if (head == null) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime holdUntil = now.plus(holdShelfTime);
+            long promoted = mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(head).and("status").is("PENDING")),
+                    new Update().set("status", "READY").set("readyAt", now).set("holdUntil", holdUntil),
+                    Reservation.class).getModifiedCount();
+            if (promoted > 0) {
+                TransactionRunner.afterCommit(() -> {
+                    apply(QueueChange.removed(head));
+                    deadlines.track(head, HoldDeadlines.toInstant(holdUntil));
+                });
+                return head;
+            }
+            // Settled elsewhere and not yet seen here
+            apply(QueueChange.removed(head));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (changeStreamSubscriber.isEnabled()) {
+            changeStreamSubscriber.subscribe(mongoTemplate.getCollectionName(Reservation.class), false,
+                    this::onChange, this::runRebuild);
+        }
+        runRebuild();
+    }
+
+    /**
+     * Reads every queue back from the pending reservations, after giving pending reservations from
+     * before wait lists a ticket in reservation-date order. Changes arriving meanwhile are replayed over
+     * the result, so nothing seen during the read is lost.
+     */
+    public synchronized int rebuild() {
+        assignMissingTickets();
+        duringRebuild = new ConcurrentLinkedQueue<>();
+        Map<String, WaitList> rebuilt = new ConcurrentHashMap<>();
+        Map<String, String> rebuiltBookOf = new ConcurrentHashMap<>();
+        Query pending = new Query(Criteria.where("status").is("PENDING").and("queueTicket").ne(null))
+                .with(Sort.by("bookId", "queueTicket"));
+        pending.fields().include("_id", "bookId", "memberId", "queueTicket");
+        int count = 0;
+        try (var rows = mongoTemplate.stream(pending, Document.class, mongoTemplate.getCollectionName(Reservation.class))) {
+            for (Document row : (Iterable<Document>) rows::iterator) {
+                String id = idString(row.get("_id"));
+                String bookId = row.getString("bookId");
+                if (bookId == null || row.getString("memberId") == null) {
+                    continue;
+                }
+                rebuilt.computeIfAbsent(bookId, key -> new WaitList())
+                        .add(id, row.getString("memberId"), ((Number) row.get("queueTicket")).longValue());
+                rebuiltBookOf.put(id, bookId);
+                count++;
+            }
+        }
+        queues = rebuilt;
+        bookOf = rebuiltBookOf;
+        ConcurrentLinkedQueue<QueueChange> missed = duringRebuild;
+        duringRebuild = null;
+        missed.forEach(this::applyNow);
+        log.info("Rebuilt wait lists: {} reservations waiting for {} books", count, rebuilt.size());
+        return count;
+    }
+
+    private void runRebuild() {
+        backgroundJobs.runUntilDone("wait list rebuild", this::rebuild, RETRY_DELAY);
+    }
+
+    private void assignMissingTickets() {
+        Query missing = new Query(Criteria.where("status").in("PENDING", null).and("queueTicket").exists(false))
+                .with(Sort.by("reservationDate", "_id"));
+        missing.fields().include("_id", "bookId");
+        int assigned = 0;
+        for (Document row : mongoTemplate.find(missing, Document.class, mongoTemplate.getCollectionName(Reservation.class))) {
+            if (row.getString("bookId") == null) {
+                continue;
+            }
+            // Conditional, so an instance assigning at the same time does not overwrite the ticket; its draw is skipped
+            assigned += mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(row.get("_id")).and("queueTicket").exists(false)),
+                    new Update().set("queueTicket", nextTicket(row.getString("bookId"))).set("status", "PENDING"),
+                    Reservation.class).getModifiedCount();
+        }
+        if (assigned > 0) {
+            log.info("Gave {} pending reservations from before wait lists a place in their book's queue", assigned);
+        }
+    }
+
+    // Takes a copy off the shelf for the head of the queue when one is there; the promoted ID, or null
+    private String holdFromShelf(String bookId) {
+        if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(bookId).and("availableCopies").gt(0)), Book.class)) {
+            return null;
+        }
+        try {
+            return transactionRunner.execute(() -> {
+                String head = promoteHead(bookId);
+                if (head != null) {
+                    // None left after all: the promotion is rolled back with the transaction
+                    inventoryService.checkOut(bookId);
+                }
+                return head;
+            });
+        } catch (NoCopiesAvailableException e) {
+            return null;
+        }
+    }
+
+    private void onChange(ChangeStreamDocument<Document> change) {
+        Document reservation = change.getFullDocument();
+        if (change.getOperationType() != OperationType.DELETE && reservation != null) {
+            apply(QueueChange.of(idString(reservation.get("_id")), reservation.getString("bookId"),
+                    reservation.getString("memberId"), reservation.getString("status"), reservation.get("queueTicket")));
+            return;
+        }
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        if (id != null) {
+            apply(QueueChange.removed(id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue()));
+        }
+    }
+
+    private void apply(QueueChange change) {
+        ConcurrentLinkedQueue<QueueChange> buffer = duringRebuild;
+        if (buffer != null) {
+            buffer.add(change);
+        }
+        applyNow(change);
+    }
+
+    private void applyNow(QueueChange change) {
+        String previousBook = change.ticket != null ? bookOf.put(change.id, change.bookId) : bookOf.remove(change.id);
+        if (previousBook != null && !previousBook.equals(change.bookId)) {
+            WaitList previous = queues.get(previousBook);
+            if (previous != null) {
+                synchronized (previous) {
+                    previous.remove(change.id);
+                }
+            }
+        }
+        if (change.ticket == null) {
+            return;
+        }
+        WaitList queue = queues.computeIfAbsent(change.bookId, key -> new WaitList());
+        synchronized (queue) {
+            queue.add(change.id, change.memberId, change.ticket);
+        }
+    }
+
+    private long nextTicket(String bookId) {
+        return sequenceStore.allocate(TICKETS + bookId, 1);
+    }
+
+    private static boolean sameBook(Reservation a, Reservation b) {
+        return a.getBookId() != null && a.getBookId().equals(b.getBookId());
+    }
+
+    private static String idString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+
+    // A reservation's queue state after a write; a null ticket takes it out of every queue
+    private static final class QueueChange {
+        private final String id;
+        private final String bookId;
+        private final String memberId;
+        private final Long ticket;
+
+        private QueueChange(String id, String bookId, String memberId, Long ticket) {
+            this.id = id;
+            this.bookId = bookId;
+            this.memberId = memberId;
+            this.ticket = ticket;
+        }
+
+        static QueueChange of(Reservation reservation) {
+            return of(reservation.getId(), reservation.getBookId(), reservation.getMemberId(),
+                    reservation.getStatus(), reservation.getQueueTicket());
+        }
+
+        static QueueChange of(String id, String bookId, String memberId, String status, Object ticket) {
+            boolean waiting = "PENDING".equals(status) && ticket instanceof Number && bookId != null && memberId != null;
+            return waiting ? new QueueChange(id, bookId, memberId, ((Number) ticket).longValue()) : removed(id);
+        }
+
+        static QueueChange removed(String id) {
+            return new QueueChange(id, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.management.library.BorrowingReservation.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deadlines keyed by reservation ID in a hierarchical timing wheel: {@value #LEVELS} levels of
+ * {@value #SLOTS} slots, each level's slot spanning a whole turn of the level below. A deadline goes
+ * into the lowest level whose turn still contains it; as time reaches a higher slot its entries cascade
+ * down, and a level-0 slot falls due on its tick. Scheduling and cancelling are O(1) (a map lookup
+ * and a linked-list splice), and advancing one tick touches only the slot that falls due plus, once
+ * per turn, the slot that cascades, however many deadlines are outstanding.
+ *
+ * <p>Deadlines further out than the top level reaches wait in an overflow list that is rescheduled
+ * once per top-level turn. Not thread-safe; {@link HoldExpiryService} locks the wheel.
+ */
+final class TimingWheel {
+
+    static final int LEVELS = 4;
+    static final int SLOTS = 64;
+    private static final int SLOT_BITS = 6;
+    private static final long SLOT_MASK = SLOTS - 1;
+
+    private final Node[][] wheel = new Node[LEVELS][SLOTS];
+    private final Node overflow = Node.sentinel();
+    private final Map<String, Node> nodes = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (Node[] level : wheel) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = Node.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Sets the reservation's deadline, replacing any earlier one. Returns false when the deadline has
+     * already passed; nothing is scheduled then and the caller expires the hold itself.
+     */
+    boolean schedule(String id, long deadlineTick) {
+        cancel(id);
+        if (deadlineTick <= currentTick) {
+            return false;
+        }
+        Node node = new Node(id, deadlineTick);
+        nodes.put(id, node);
+        place(node);
+        return true;
+    }
+
+    boolean cancel(String id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * Moves time forward to the given tick and returns the IDs whose deadline it passed. The caller
+     * bounds how far one call goes by calling it once per tick it observes.
+     */
+    List<String> advanceTo(long tick) {
+        List<String> due = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            cascade();
+            drain(wheel[0][(int) (currentTick & SLOT_MASK)], due);
+        }
+        return due;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    // The lowest level whose current turn contains the deadline
+    private void place(Node node) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if (node.deadline >>> shift == currentTick >>> shift) {
+                wheel[level][(int) ((node.deadline >>> (SLOT_BITS * level)) & SLOT_MASK)].append(node);
+                return;
+            }
+        }
+        overflow.append(node);
+    }
+
+    // At the start of each level's turn, its entries for that turn move down a level
+    private void cascade() {
+        for (int level = 1; level <= LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Node slot = level < LEVELS ? wheel[level][(int) ((currentTick >>> shift) & SLOT_MASK)] : overflow;
+            for (Node node = slot.detachAll(); node != null; ) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                if (node.deadline <= currentTick) {
+                    // Lands on this very tick: the level-0 slot about to be drained
+                    wheel[0][(int) (currentTick & SLOT_MASK)].append(node);
+                } else {
+                    place(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private void drain(Node slot, List<String> due) {
+        for (Node node = slot.detachAll(); node != null; node = node.next) {
+            nodes.remove(node.id);
+            due.add(node.id);
+        }
+    }
+
+    // Doubly linked so that a cancelled node leaves its slot without a search; a slot is a sentinel ring
+    private static final class Node {
+        private final String id;
+        private final long deadline;
+        private Node prev;
+        private Node next;
+
+        private Node(String id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+
+        static Node sentinel() {
+            Node sentinel = new Node(null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        void append(Node node) {
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+
+        // Empties the ring and returns its nodes as a null-terminated chain
+        Node detachAll() {
+            if (next == this) {
+                return null;
+            }
+            Node first = next;
+            prev.next = null;
+            prev = this;
+            next = this;
+            for (Node node = first; node != null; node = node.next) {
+                node.prev = null;
+            }
+            return first;
+        }
+    }
+}
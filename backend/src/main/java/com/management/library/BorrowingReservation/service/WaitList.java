@@ -0,0 +1,136 @@
+package com.management.library.BorrowingReservation.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pending reservations of one book, in ticket order. Tickets are drawn from a per-book counter, so
+ * a smaller ticket always joined the queue earlier. A Fenwick tree over the tickets counts the
+ * reservations still waiting, which makes a position lookup and finding the head O(log n) however long
+ * the queue gets; adding and removing are O(log n) as well. Not thread-safe; {@link ReservationQueueService}
+ * locks each list.
+ */
+final class WaitList {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Reservation ID to ticket and member, for removal and position lookups
+    private final Map<String, Entry> entries = new HashMap<>();
+    // Ticket to reservation ID, for the head
+    private final Map<Long, String> byTicket = new HashMap<>();
+    // tree[i] covers tickets base + (i - lowbit(i), i]; slot 0 is unused
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private long base;
+
+    // False when the reservation is already queued
+    boolean add(String reservationId, String memberId, long ticket) {
+        if (entries.containsKey(reservationId) || byTicket.containsKey(ticket)) {
+            return false;
+        }
+        if (entries.isEmpty()) {
+            base = ticket - 1;
+        } else if (ticket <= base || ticket - base > tree.length - 1) {
+            rebase(ticket);
+        }
+        entries.put(reservationId, new Entry(ticket, memberId));
+        byTicket.put(ticket, reservationId);
+        update(slot(ticket), 1);
+        return true;
+    }
+
+    boolean remove(String reservationId) {
+        Entry entry = entries.remove(reservationId);
+        if (entry == null) {
+            return false;
+        }
+        byTicket.remove(entry.ticket);
+        update(slot(entry.ticket), -1);
+        return true;
+    }
+
+    // Every reservation the member has in this queue
+    List<String> removeMember(String memberId) {
+        List<String> removed = new ArrayList<>();
+        entries.forEach((id, entry) -> {
+            if (entry.memberId.equals(memberId)) {
+                removed.add(id);
+            }
+        });
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    // 1 for the head of the queue, 0 when the reservation is not queued
+    int position(String reservationId) {
+        Entry entry = entries.get(reservationId);
+        return entry == null ? 0 : prefix(slot(entry.ticket));
+    }
+
+    // The longest-waiting reservation, or null
+    String head() {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        // Binary lifting: the smallest slot whose prefix count reaches 1
+        int slot = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            if (slot + step < tree.length && tree[slot + step] == 0) {
+                slot += step;
+            }
+        }
+        return byTicket.get(base + slot + 1);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private int slot(long ticket) {
+        return (int) (ticket - base);
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefix(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    // Tickets only grow, so the window slides: restart it at the smallest ticket held, with room to double
+    private void rebase(long incoming) {
+        long lowest = incoming;
+        long highest = incoming;
+        for (Entry entry : entries.values()) {
+            lowest = Math.min(lowest, entry.ticket);
+            highest = Math.max(highest, entry.ticket);
+        }
+        long span = highest - lowest + 1;
+        if (span > Integer.MAX_VALUE / 2) {
+            throw new IllegalStateException("Wait list spans " + span + " tickets");
+        }
+        base = lowest - 1;
+        tree = new int[Math.max(INITIAL_CAPACITY, Integer.highestOneBit((int) span) << 1) + 1];
+        for (Entry entry : entries.values()) {
+            update(slot(entry.ticket), 1);
+        }
+    }
+
+    private static final class Entry {
+        private final long ticket;
+        private final String memberId;
+
+        private Entry(long ticket, String memberId) {
+            this.ticket = ticket;
+            this.memberId = memberId;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.management.library.Common.cache;
+
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.UserManagement.Entity.User;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Keeps the member and user caches coherent across backend instances by evicting on every change
+ * seen on those collections, including this instance's own writes (a second eviction is harmless).
+ * Book caches follow the book change feed instead.
+ */
+@Component
+public class CacheInvalidationSubscriber {
+
+    private final ChangeStreamSubscriber changeStreamSubscriber;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final MongoTemplate mongoTemplate;
+    private final TaskScheduler taskScheduler;
+
+    public CacheInvalidationSubscriber(ChangeStreamSubscriber changeStreamSubscriber,
+                                       EntityCacheEvictor entityCacheEvictor,
+                                       MongoTemplate mongoTemplate,
+                                       TaskScheduler taskScheduler) {
+        this.changeStreamSubscriber = changeStreamSubscriber;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.mongoTemplate = mongoTemplate;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!changeStreamSubscriber.isEnabled()) {
+            return;
+        }
+        taskScheduler.schedule(() -> {
+            changeStreamSubscriber.subscribe(mongoTemplate.getCollectionName(Member.class), false,
+                    this::onMemberChange, () -> entityCacheEvictor.clear(CacheNames.MEMBERS_BY_MEMBER_ID, CacheNames.MEMBERS_BY_USER_ID));
+            changeStreamSubscriber.subscribe(mongoTemplate.getCollectionName(User.class), false,
+                    this::onUserChange, () -> entityCacheEvictor.clear(CacheNames.USERS));
+        }, Instant.now());
+    }
+
+    // Member IDs and user IDs never change, so the current document names every affected key
+    private void onMemberChange(ChangeStreamDocument<Document> change) {
+        Document member = change.getFullDocument();
+        if (member == null) {
+            // Deletes (and updates whose document is already gone) carry only the _id
+            entityCacheEvictor.clear(CacheNames.MEMBERS_BY_MEMBER_ID, CacheNames.MEMBERS_BY_USER_ID);
+            return;
+        }
+        entityCacheEvictor.evictMember(member.getString("memberId"), member.getString("userId"));
+    }
+
+    private void onUserChange(ChangeStreamDocument<Document> change) {
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        if (id == null) {
+            entityCacheEvictor.clear(CacheNames.USERS);
+            return;
+        }
+        entityCacheEvictor.evictUser(id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+    }
+}
@@ -0,0 +1,17 @@
+package com.management.library.Common.cache;
+
+import java.util.List;
+
+public final class CacheNames {
+
+    public static final String BOOKS = "books";
+    public static final String BOOKS_BY_NO = "booksByNo";
+    public static final String MEMBERS_BY_MEMBER_ID = "membersByMemberId";
+    public static final String MEMBERS_BY_USER_ID = "membersByUserId";
+    public static final String USERS = "users";
+
+    public static final List<String> ALL = List.of(BOOKS, BOOKS_BY_NO, MEMBERS_BY_MEMBER_ID, MEMBERS_BY_USER_ID, USERS);
+
+    private CacheNames() {
+    }
+}
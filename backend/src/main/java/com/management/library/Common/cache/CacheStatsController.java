@@ -0,0 +1,43 @@
+package com.management.library.Common.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    public CacheStatsController(CacheManager cacheManager, EntityCacheEvictor entityCacheEvictor) {
+        this.cacheManager = cacheManager;
+        this.entityCacheEvictor = entityCacheEvictor;
+    }
+
+    // Hit, miss and eviction counts per cache; evictions are size/TTL, invalidations are writes
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+                stats.add(new CacheStatsDTO(name, nativeCache.estimatedSize(), cacheStats.hitCount(),
+                        cacheStats.missCount(), cacheStats.hitRate(), cacheStats.evictionCount(),
+                        entityCacheEvictor.getInvalidationCount(name)));
+            }
+        }
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,67 @@
+package com.management.library.Common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Targeted eviction for the lookup caches. Keys depend on entity state (book number, member ID),
+ * so writers evict explicitly with the entity in hand instead of through {@code @CacheEvict}.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final Map<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    public EntityCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictBook(String id, String... bookNos) {
+        evict(CacheNames.BOOKS, id);
+        for (String bookNo : bookNos) {
+            evict(CacheNames.BOOKS_BY_NO, bookNo);
+        }
+    }
+
+    public void evictMember(String memberId, String userId) {
+        evict(CacheNames.MEMBERS_BY_MEMBER_ID, memberId);
+        evict(CacheNames.MEMBERS_BY_USER_ID, userId);
+    }
+
+    public void evictUser(String id) {
+        evict(CacheNames.USERS, id);
+    }
+
+    // Used when the keys of a changed entity are unknown
+    public void clear(String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+                counter(cacheName).incrementAndGet();
+            }
+        }
+    }
+
+    public long getInvalidationCount(String cacheName) {
+        return counter(cacheName).get();
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            counter(cacheName).incrementAndGet();
+        }
+    }
+
+    private AtomicLong counter(String cacheName) {
+        return invalidations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+}
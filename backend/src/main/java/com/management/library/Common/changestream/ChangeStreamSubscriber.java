@@ -0,0 +1,132 @@
+package com.management.library.Common.changestream;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Keeps change-stream subscriptions alive. The listener container ends a cursor task on its first error,
+ * so every failure is followed by a resubscription from the last seen resume token, with exponential backoff.
+ * The {@code onGap} callback runs whenever events may have been missed, so callers can fall back to a full reload.
+ */
+@Component
+public class ChangeStreamSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamSubscriber.class);
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(2);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final MessageListenerContainer container;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+
+    public ChangeStreamSubscriber(MessageListenerContainer container,
+                                  TaskScheduler taskScheduler,
+                                  @Value("${app.change-streams.enabled:true}") boolean enabled) {
+        this.container = container;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Watch a collection. With {@code withImages} (MongoDB 6.0+, images enabled on the collection) events
+     * carry the pre- and post-images recorded with the change; otherwise updates carry the current document,
+     * looked up when the event is read, which may already include later writes.
+     */
+    public void subscribe(String collection, boolean withImages,
+                          Consumer<ChangeStreamDocument<Document>> handler, Runnable onGap) {
+        if (!enabled) {
+            log.info("Change streams disabled; not watching '{}'", collection);
+            return;
+        }
+        new Watch(collection, withImages, handler, onGap).register();
+    }
+
+    private final class Watch {
+
+        private final String collection;
+        private final Consumer<ChangeStreamDocument<Document>> handler;
+        private final Runnable onGap;
+        private volatile boolean withImages;
+        private volatile BsonValue resumeToken;
+        private volatile Subscription subscription;
+        private volatile boolean delivered;
+        private volatile Duration backoff = INITIAL_BACKOFF;
+
+        private Watch(String collection, boolean withImages,
+                      Consumer<ChangeStreamDocument<Document>> handler, Runnable onGap) {
+            this.collection = collection;
+            this.withImages = withImages;
+            this.handler = handler;
+            this.onGap = onGap;
+        }
+
+        private void register() {
+            ChangeStreamRequest.ChangeStreamRequestBuilder<Document> builder =
+                    ChangeStreamRequest.<Document>builder(this::onMessage)
+                            .collection(collection);
+            if (withImages) {
+                builder.fullDocumentLookup(FullDocument.WHEN_AVAILABLE)
+                        .fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE);
+            } else {
+                builder.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+            }
+            if (resumeToken != null) {
+                builder.resumeAfter(resumeToken);
+            }
+            delivered = false;
+            subscription = container.register(builder.build(), Document.class, this::onError);
+        }
+
+        private void onMessage(Message<ChangeStreamDocument<Document>, Document> message) {
+            ChangeStreamDocument<Document> change = message.getRaw();
+            handler.accept(change);
+            resumeToken = change.getResumeToken();
+            delivered = true;
+            backoff = INITIAL_BACKOFF;
+        }
+
+        private void onError(Throwable error) {
+            log.warn("Change stream on '{}' failed, retrying in {}s: {}",
+                    collection, backoff.toSeconds(), error.getMessage());
+            container.remove(subscription);
+            onGap.run();
+
+            // A token that fails again straight away has likely fallen off the oplog; start from now instead
+            if (!delivered) {
+                resumeToken = null;
+            }
+            // Servers older than 6.0 reject the image options outright
+            if (withImages && error.getMessage() != null && error.getMessage().contains("fullDocument")) {
+                withImages = false;
+            }
+
+            Duration delay = backoff;
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            taskScheduler.schedule(() -> {
+                if (container.isRunning()) {
+                    register();
+                }
+            }, Instant.now().plus(delay));
+        }
+    }
+}
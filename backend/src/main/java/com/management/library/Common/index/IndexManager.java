@@ -0,0 +1,191 @@
+package com.management.library.Common.index;
+
+import com.management.library.Common.job.BackgroundJobs;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creates the indexes declared on the entities ({@code @Indexed}, {@code @CompoundIndex}) and then
+ * explains the filter of every repository query method against the live collections, logging each
+ * one whose winning plan is a collection scan. Both run in the background once the application is
+ * ready and wait for the cluster if it is not reachable yet.
+ */
+@Component
+public class IndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexManager.class);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationContext applicationContext;
+    private final BackgroundJobs backgroundJobs;
+    private final boolean autoCreate;
+    private final boolean checkQueryPlans;
+    private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+    private final QueryShapeResolver queryShapeResolver;
+    private volatile List<QueryPlanEntry> lastReport = Collections.emptyList();
+
+    public IndexManager(MongoTemplate mongoTemplate,
+                        ApplicationContext applicationContext,
+                        BackgroundJobs backgroundJobs,
+                        @Value("${app.indexes.auto-create:true}") boolean autoCreate,
+                        @Value("${app.indexes.check-query-plans:true}") boolean checkQueryPlans) {
+        this.mongoTemplate = mongoTemplate;
+        this.applicationContext = applicationContext;
+        this.backgroundJobs = backgroundJobs;
+        this.autoCreate = autoCreate;
+        this.checkQueryPlans = checkQueryPlans;
+        this.mappingContext = mongoTemplate.getConverter().getMappingContext();
+        this.queryShapeResolver = new QueryShapeResolver(new QueryMapper(mongoTemplate.getConverter()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (autoCreate || checkQueryPlans) {
+            backgroundJobs.runUntilDone("index management", this::run, RETRY_DELAY);
+        }
+    }
+
+    public List<QueryPlanEntry> getLastReport() {
+        return lastReport;
+    }
+
+    // Create every declared index that does not exist yet; existing ones are left untouched
+    public List<String> ensureIndexes() {
+        List<String> created = new ArrayList<>();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                try {
+                    created.add(entity.getCollection() + "." + mongoTemplate.indexOps(entity.getCollection()).createIndex(definition));
+                } catch (Exception e) {
+                    // Typically an index with the same keys but different options already exists
+                    log.warn("Could not create index {} on {}: {}", definition.getIndexKeys(), entity.getCollection(), e.getMessage());
+                }
+            }
+        }
+        log.info("Ensured {} declared indexes", created.size());
+        return created;
+    }
+
+    // Explain each repository query method and record whether its winning plan is a collection scan
+    public List<QueryPlanEntry> checkQueryPlans() {
+        List<QueryPlanEntry> report = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            Optional<RepositoryInformation> information = repositories.getRepositoryInformationFor(domainType);
+            MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
+            if (information.isEmpty() || entity == null) {
+                continue;
+            }
+            String repository = information.get().getRepositoryInterface().getSimpleName();
+            for (Method method : information.get().getQueryMethods()) {
+                explain(repository, method, entity).ifPresent(report::add);
+            }
+        }
+
+        long scans = report.stream().filter(QueryPlanEntry::isCollectionScan).count();
+        for (QueryPlanEntry entry : report) {
+            if (entry.isCollectionScan()) {
+                log.warn("COLLSCAN: {}.{} on {} with filter {}", entry.getRepository(), entry.getMethod(),
+                        entry.getCollection(), entry.getFilter());
+            }
+        }
+        log.info("Query plan check: {} repository methods explained, {} collection scans", report.size(), scans);
+        lastReport = report;
+        return report;
+    }
+
+    // Retried only while the cluster is unreachable; a failure past the ping is logged and left
+    private void run() {
+        mongoTemplate.executeCommand(new Document("ping", 1));
+        try {
+            if (autoCreate) {
+                ensureIndexes();
+            }
+            if (checkQueryPlans) {
+                checkQueryPlans();
+            }
+        } catch (Exception e) {
+            log.warn("Index management failed: {}", e.getMessage());
+        }
+    }
+
+    private Optional<QueryPlanEntry> explain(String repository, Method method, MongoPersistentEntity<?> entity) {
+        Optional<Document> filter;
+        try {
+            filter = queryShapeResolver.resolve(method, entity);
+        } catch (Exception e) {
+            log.debug("Skipping {}.{}: {}", repository, method.getName(), e.getMessage());
+            return Optional.empty();
+        }
+        if (filter.isEmpty()) {
+            return Optional.empty();
+        }
+
+        QueryPlanEntry entry = new QueryPlanEntry(repository, method.getName(), entity.getCollection(), filter.get().toJson());
+        try {
+            Document result = mongoTemplate.executeCommand(new Document("explain",
+                    new Document("find", entity.getCollection()).append("filter", filter.get()))
+                    .append("verbosity", "queryPlanner"));
+            Document winningPlan = result.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            // Plans run by the slot-based engine nest the classic plan tree under queryPlan
+            if (winningPlan.containsKey("queryPlan")) {
+                winningPlan = winningPlan.get("queryPlan", Document.class);
+            }
+            List<String> stages = new ArrayList<>();
+            List<String> indexNames = new ArrayList<>();
+            collectStages(winningPlan, stages, indexNames);
+            entry.setPlan(String.join(" <- ", stages));
+            entry.setIndexName(indexNames.isEmpty() ? null : String.join(",", indexNames));
+            entry.setCollectionScan(stages.contains("COLLSCAN"));
+        } catch (Exception e) {
+            entry.setError(e.getMessage());
+        }
+        return Optional.of(entry);
+    }
+
+    private void collectStages(Document stage, List<String> stages, List<String> indexNames) {
+        stages.add(stage.getString("stage"));
+        if (stage.getString("indexName") != null) {
+            indexNames.add(stage.getString("indexName"));
+        }
+        Document input = stage.get("inputStage", Document.class);
+        if (input != null) {
+            collectStages(input, stages, indexNames);
+        }
+        List<?> inputs = stage.get("inputStages", List.class);
+        if (inputs != null) {
+            for (Object child : inputs) {
+                if (child instanceof Document childStage) {
+                    collectStages(childStage, stages, indexNames);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.management.library.Common.index;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/indexes")
+@CrossOrigin(origins = "*")
+public class IndexReportController {
+
+    private final IndexManager indexManager;
+
+    public IndexReportController(IndexManager indexManager) {
+        this.indexManager = indexManager;
+    }
+
+    // Query plans recorded by the last check (run at startup)
+    @GetMapping("/report")
+    public ResponseEntity<List<QueryPlanEntry>> getReport() {
+        return new ResponseEntity<>(indexManager.getLastReport(), HttpStatus.OK);
+    }
+
+    // Create missing indexes and re-check every repository query plan now
+    @PostMapping("/check")
+    public ResponseEntity<List<QueryPlanEntry>> check() {
+        try {
+            indexManager.ensureIndexes();
+            return new ResponseEntity<>(indexManager.checkQueryPlans(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
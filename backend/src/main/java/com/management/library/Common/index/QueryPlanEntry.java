@@ -0,0 +1,89 @@
+package com.management.library.Common.index;
+
+public class QueryPlanEntry {
+
+    private String repository;
+    private String method;
+    private String collection;
+    private String filter;
+    private String plan;
+    private String indexName;
+    private boolean collectionScan;
+    private String error;
+
+    // Constructors
+    public QueryPlanEntry() {
+    }
+
+    public QueryPlanEntry(String repository, String method, String collection, String filter) {
+        this.repository = repository;
+        this.method = method;
+        this.collection = collection;
+        this.filter = filter;
+    }
+
+    // Getters and Setters
+    public String getRepository() {
+        return repository;
+    }
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public boolean isCollectionScan() {
+        return collectionScan;
+    }
+
+    public void setCollectionScan(boolean collectionScan) {
+        this.collectionScan = collectionScan;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
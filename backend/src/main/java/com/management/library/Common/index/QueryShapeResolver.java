@@ -0,0 +1,170 @@
+package com.management.library.Common.index;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a repository method into the filter document it would send, with representative values in
+ * place of the arguments. Derived queries are rebuilt from their method name, {@code @Query} methods
+ * from their JSON; both are then mapped to stored field names. Aggregations are not resolved.
+ */
+class QueryShapeResolver {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?(\\d+)");
+    private static final String SAMPLE_TEXT = "sample";
+    private static final LocalDateTime SAMPLE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final QueryMapper queryMapper;
+
+    QueryShapeResolver(QueryMapper queryMapper) {
+        this.queryMapper = queryMapper;
+    }
+
+    // Empty when the method has no filter worth explaining (aggregations, parameterless finders)
+    Optional<Document> resolve(Method method, MongoPersistentEntity<?> entity) {
+        if (method.isAnnotationPresent(Aggregation.class)) {
+            return Optional.empty();
+        }
+        Query query = method.getAnnotation(Query.class);
+        if (query != null && !query.value().isEmpty()) {
+            return Optional.of(queryMapper.getMappedObject(fromJson(query.value(), method), entity));
+        }
+
+        PartTree tree = new PartTree(method.getName(), entity.getType());
+        List<Criteria> alternatives = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<Criteria> conditions = new ArrayList<>();
+            for (Part part : orPart) {
+                conditions.add(toCriteria(part));
+            }
+            alternatives.add(conditions.size() == 1
+                    ? conditions.get(0)
+                    : new Criteria().andOperator(conditions.toArray(new Criteria[0])));
+        }
+        if (alternatives.isEmpty()) {
+            return Optional.empty();
+        }
+        Criteria criteria = alternatives.size() == 1
+                ? alternatives.get(0)
+                : new Criteria().orOperator(alternatives.toArray(new Criteria[0]));
+        return Optional.of(queryMapper.getMappedObject(criteria.getCriteriaObject(), entity));
+    }
+
+    private Document fromJson(String json, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Matcher matcher = PLACEHOLDER.matcher(json);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            int index = Integer.parseInt(matcher.group(1));
+            Class<?> type = index < parameterTypes.length ? parameterTypes[index] : String.class;
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(jsonSample(type)));
+        }
+        matcher.appendTail(resolved);
+        return Document.parse(resolved.toString());
+    }
+
+    private Criteria toCriteria(Part part) {
+        Criteria criteria = Criteria.where(part.getProperty().toDotPath());
+        Object value = sample(part.getProperty().getLeafType());
+        boolean ignoreCase = part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+        String options = ignoreCase ? "i" : null;
+        switch (part.getType()) {
+            case TRUE:
+                return criteria.is(true);
+            case FALSE:
+                return criteria.is(false);
+            case NEGATING_SIMPLE_PROPERTY:
+                return criteria.ne(value);
+            case GREATER_THAN:
+            case AFTER:
+                return criteria.gt(value);
+            case GREATER_THAN_EQUAL:
+                return criteria.gte(value);
+            case LESS_THAN:
+            case BEFORE:
+                return criteria.lt(value);
+            case LESS_THAN_EQUAL:
+                return criteria.lte(value);
+            case BETWEEN:
+                return criteria.gte(value).lte(value);
+            case STARTING_WITH:
+                return criteria.regex("^" + SAMPLE_TEXT, options);
+            case ENDING_WITH:
+                return criteria.regex(SAMPLE_TEXT + "$", options);
+            case CONTAINING:
+            case LIKE:
+                return criteria.regex(SAMPLE_TEXT, options);
+            case IS_NULL:
+                return criteria.isNull();
+            case IS_NOT_NULL:
+                return criteria.ne(null);
+            case EXISTS:
+                return criteria.exists(true);
+            case IN:
+                return criteria.in(value);
+            case NOT_IN:
+                return criteria.nin(value);
+            default:
+                return criteria.is(value);
+        }
+    }
+
+    private Object sample(Class<?> type) {
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 0;
+        }
+        if (type == Long.class || type == long.class) {
+            return 0L;
+        }
+        if (type == Double.class || type == double.class) {
+            return 0.0;
+        }
+        if (type == LocalDate.class) {
+            return SAMPLE_TIME.toLocalDate();
+        }
+        if (type == LocalDateTime.class) {
+            return SAMPLE_TIME;
+        }
+        if (type == Date.class) {
+            return Date.from(SAMPLE_TIME.toInstant(ZoneOffset.UTC));
+        }
+        return SAMPLE_TEXT;
+    }
+
+    private String jsonSample(Class<?> type) {
+        Object sample = sample(type);
+        if (sample instanceof Enum<?> constant) {
+            return "'" + constant.name() + "'";
+        }
+        if (sample instanceof Number || sample instanceof Boolean) {
+            return sample.toString();
+        }
+        if (sample instanceof LocalDate || sample instanceof LocalDateTime || sample instanceof Date) {
+            return "{ '$date': '" + SAMPLE_TIME.toInstant(ZoneOffset.UTC) + "' }";
+        }
+        return "'" + SAMPLE_TEXT + "'";
+    }
+}
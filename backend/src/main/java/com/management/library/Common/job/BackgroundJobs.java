@@ -0,0 +1,121 @@
+package com.management.library.Common.job;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs background Mongo work (seeding in-memory views, backfills, rebuilds, gauge counts) on its own
+ * daemon threads. Unlike the shared scheduler these are not part of the context lifecycle, so shutdown
+ * never waits for a job stuck selecting a server on an unreachable cluster. A failed run is logged and,
+ * for periodic jobs, tried again at the next interval. With {@code app.background-jobs.enabled=false}
+ * nothing is run at all.
+ */
+@Component
+public class BackgroundJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundJobs.class);
+
+    private final boolean enabled;
+    private final ScheduledExecutorService executor;
+    private volatile boolean stopping;
+
+    public BackgroundJobs(@Value("${app.background-jobs.enabled:true}") boolean enabled,
+                          @Value("${app.background-jobs.threads:4}") int threads,
+                          Environment environment) {
+        this.enabled = enabled;
+        this.executor = Executors.newScheduledThreadPool(threads, Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("background-").getVirtualThreadFactory()
+                : daemonThreads());
+    }
+
+    // Run once, as soon as a thread is free
+    public void submit(String name, Runnable job) {
+        schedule(name, job, Duration.ZERO);
+    }
+
+    public void schedule(String name, Runnable job, Duration delay) {
+        if (accepting()) {
+            try {
+                executor.schedule(() -> run(name, job), delay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shut down between the check and the call
+            }
+        }
+    }
+
+    public void scheduleWithFixedDelay(String name, Runnable job, Duration initialDelay, Duration delay) {
+        if (accepting()) {
+            try {
+                executor.scheduleWithFixedDelay(() -> run(name, job), initialDelay.toMillis(), delay.toMillis(),
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shut down between the check and the call
+            }
+        }
+    }
+
+    /**
+     * Run a job that has to succeed once (a backfill, a rebuild, a recovery), trying again every
+     * {@code retryDelay} until it does. Retries stop once the application is shutting down.
+     */
+    public void runUntilDone(String name, Runnable job, Duration retryDelay) {
+        submit(name, () -> attempt(name, job, retryDelay));
+    }
+
+    private void attempt(String name, Runnable job, Duration retryDelay) {
+        try {
+            job.run();
+        } catch (Exception e) {
+            if (stopping) {
+                return;
+            }
+            log.info("Background job '{}' failed, retrying in {}s: {}", name, retryDelay.toSeconds(), e.getMessage());
+            schedule(name, () -> attempt(name, job, retryDelay), retryDelay);
+        }
+    }
+
+    private boolean accepting() {
+        return enabled && !stopping;
+    }
+
+    // An exception escaping a periodic task would cancel every later run
+    private void run(String name, Runnable job) {
+        try {
+            job.run();
+        } catch (Exception e) {
+            if (!stopping) {
+                log.warn("Background job '{}' failed: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "background-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Does not wait: a running job is interrupted, and one that ignores it ends with the JVM
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+}
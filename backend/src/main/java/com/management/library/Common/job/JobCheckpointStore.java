@@ -0,0 +1,84 @@
+package com.management.library.Common.job;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leases and checkpoints for {@link JobCheckpoint}s. A lease is taken and renewed with conditional
+ * writes on the checkpoint document itself, so an instance that crashed simply lets its lease expire
+ * and the next one picks up the job from the last saved checkpoint.
+ */
+@Component
+public class JobCheckpointStore {
+
+    // Identifies this process as a lease holder
+    private final String owner = UUID.randomUUID().toString();
+    private final MongoTemplate mongoTemplate;
+
+    public JobCheckpointStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Optional<JobCheckpoint> find(String job) {
+        return Optional.ofNullable(mongoTemplate.findById(job, JobCheckpoint.class));
+    }
+
+    // The job's checkpoint with this instance holding the lease, or empty while another instance holds it
+    public Optional<JobCheckpoint> acquire(String job, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Query free = new Query(Criteria.where("_id").is(job).orOperator(
+                Criteria.where("leaseOwner").is(null),
+                Criteria.where("leaseOwner").is(owner),
+                Criteria.where("leaseUntil").lt(now)));
+        try {
+            return Optional.ofNullable(mongoTemplate.findAndModify(free,
+                    new Update().set("leaseOwner", owner).set("leaseUntil", now.plus(lease)),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    JobCheckpoint.class));
+        } catch (DuplicateKeyException e) {
+            // The document exists but is leased to someone else, so the upsert tried to insert a second one
+            return Optional.empty();
+        }
+    }
+
+    // Persist progress and renew the lease; false when the lease was lost and the job must stop
+    public boolean save(JobCheckpoint checkpoint, Duration lease) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(lease);
+        Update update = new Update()
+                .set("runDate", checkpoint.getRunDate())
+                .set("phase", checkpoint.getPhase())
+                .set("lastId", checkpoint.getLastId())
+                .set("processed", checkpoint.getProcessed())
+                .set("updated", checkpoint.getUpdated())
+                .set("batches", checkpoint.getBatches())
+                .set("startedAt", checkpoint.getStartedAt())
+                .set("finishedAt", checkpoint.getFinishedAt())
+                .set("elapsedMillis", checkpoint.getElapsedMillis())
+                .set("itemsPerSecond", checkpoint.getItemsPerSecond())
+                .set("leaseUntil", leaseUntil);
+        boolean held = mongoTemplate.updateFirst(ownedBy(checkpoint.getId()), update, JobCheckpoint.class).getMatchedCount() == 1;
+        if (held) {
+            checkpoint.setLeaseUntil(leaseUntil);
+        }
+        return held;
+    }
+
+    public void release(JobCheckpoint checkpoint) {
+        mongoTemplate.updateFirst(ownedBy(checkpoint.getId()),
+                new Update().set("leaseOwner", null).set("leaseUntil", null), JobCheckpoint.class);
+    }
+
+    private Query ownedBy(String job) {
+        return new Query(Criteria.where("_id").is(job).and("leaseOwner").is(owner));
+    }
+}
@@ -0,0 +1,231 @@
+package com.management.library.Common.mail;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@link MailOutbox} with a small, fixed pool of workers. Each worker claims a batch and
+ * hands the whole batch to the mail sender in one call, which sends it over a single SMTP connection,
+ * so the handshake (TLS, auth) is paid once per batch instead of once per message. Idle workers wait
+ * for a local enqueue or the poll interval, whichever comes first; the poll picks up messages queued
+ * by other instances and retries that have come due.
+ */
+@Component
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final MailOutbox outbox;
+    private final JavaMailSender mailSender;
+    private final String fromAddress;
+    private final boolean enabled;
+    private final boolean virtualThreads;
+    private final int workers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+
+    public MailDispatcher(MailOutbox outbox,
+                          JavaMailSender mailSender,
+                          @Value("${spring.mail.username}") String fromAddress,
+                          @Value("${app.mail.dispatcher.enabled:true}") boolean enabled,
+                          @Value("${app.mail.workers:2}") int workers,
+                          @Value("${app.mail.batch-size:20}") int batchSize,
+                          @Value("${app.mail.poll-interval-ms:5000}") long pollIntervalMs,
+                          Environment environment) {
+        this.outbox = outbox;
+        this.mailSender = mailSender;
+        this.fromAddress = fromAddress;
+        this.enabled = enabled;
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        // Still a fixed number of workers in virtual-thread mode: the count bounds concurrent SMTP connections
+        executor = Executors.newFixedThreadPool(workers, virtualThreads
+                ? new VirtualThreadTaskExecutor("mail-worker-").getVirtualThreadFactory()
+                : daemonThreads());
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    // Daemon threads: a worker stuck waiting on the cluster or the SMTP server must not hold up shutdown
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "mail-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void work() {
+        boolean healthy = true;
+        while (running) {
+            try {
+                List<OutboundMail> batch = outbox.claim(batchSize);
+                healthy = true;
+                if (batch.isEmpty()) {
+                    outbox.awaitArrival(pollInterval);
+                    continue;
+                }
+                Map<OutboundMail, Failure> failures = send(batch);
+                for (OutboundMail mail : batch) {
+                    Failure failure = failures.get(mail);
+                    if (failure == null) {
+                        outbox.markSent(mail);
+                    } else if (failure.isPermanent()) {
+                        outbox.deadLetter(mail, failure.getError());
+                    } else {
+                        outbox.markFailed(mail, failure.getError());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (healthy) {
+                    log.warn("Mail worker cannot reach the outbox, retrying every {}s: {}", pollInterval.toSeconds(), e.getMessage());
+                    healthy = false;
+                }
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Permanent failures (bad address, expired message) are not worth retrying
+    static final class Failure {
+        private final String error;
+        private final boolean permanent;
+
+        Failure(String error, boolean permanent) {
+            this.error = error;
+            this.permanent = permanent;
+        }
+
+        String getError() {
+            return error;
+        }
+
+        boolean isPermanent() {
+            return permanent;
+        }
+    }
+
+    /**
+     * Sends a batch over one connection and returns the error for each message that did not go out;
+     * an empty map means every message was accepted.
+     */
+    Map<OutboundMail, Failure> send(List<OutboundMail> batch) {
+        Map<OutboundMail, Failure> failures = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        Map<MimeMessage, OutboundMail> sources = new IdentityHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboundMail mail : batch) {
+            if (mail.getExpiresAt() != null && mail.getExpiresAt().isBefore(now)) {
+                failures.put(mail, new Failure("expired before it could be sent", true));
+                continue;
+            }
+            try {
+                MimeMessage message = toMimeMessage(mail);
+                messages.add(message);
+                sources.put(message, mail);
+            } catch (MessagingException e) {
+                failures.put(mail, new Failure(e.getMessage(), true));
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Per-message failures; a failed connection reports every message of the batch
+            e.getFailedMessages().forEach((message, cause) -> {
+                OutboundMail mail = sources.get(message);
+                if (mail != null) {
+                    failures.put(mail, new Failure(cause.getMessage(), false));
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                sources.values().forEach(mail -> failures.put(mail, new Failure(e.getMessage(), false)));
+            }
+        } catch (MailException e) {
+            // Authentication and similar failures abort the whole batch
+            sources.values().forEach(mail -> failures.put(mail, new Failure(e.getMessage(), false)));
+        }
+        sent.addAndGet(batch.size() - failures.size());
+        failed.addAndGet(failures.size());
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(OutboundMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, mail.isHtml(), "UTF-8");
+        helper.setFrom(fromAddress);
+        helper.setTo(mail.getTo());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody(), mail.isHtml());
+        return message;
+    }
+}
@@ -0,0 +1,138 @@
+package com.management.library.Common.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable queue of outgoing mail. Callers only pay for one insert; {@link MailDispatcher} workers claim
+ * due messages with conditional writes, so a message is never handed to two workers, and a worker that
+ * dies mid-send simply lets its claim expire. Messages that keep failing, or expire before they could
+ * be sent, are moved to {@value #DEAD_LETTER_COLLECTION} for inspection.
+ */
+@Component
+public class MailOutbox {
+
+    public static final String DEAD_LETTER_COLLECTION = "mail_dead_letters";
+
+    private final MongoTemplate mongoTemplate;
+    // Idle workers park on this condition
+    private final ReentrantLock arrivalLock = new ReentrantLock();
+    private final Condition arrivals = arrivalLock.newCondition();
+    private boolean arrived;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final Duration initialBackoff;
+
+    public MailOutbox(MongoTemplate mongoTemplate,
+                      @Value("${app.mail.max-attempts:6}") int maxAttempts,
+                      @Value("${app.mail.claim-timeout-seconds:120}") long claimTimeoutSeconds,
+                      @Value("${app.mail.initial-backoff-seconds:30}") long initialBackoffSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+    }
+
+    public OutboundMail enqueue(String to, String subject, String body, boolean html) {
+        return enqueue(to, subject, body, html, null);
+    }
+
+    public OutboundMail enqueue(String to, String subject, String body, boolean html, LocalDateTime expiresAt) {
+        OutboundMail mail = mongoTemplate.insert(new OutboundMail(to, subject, body, html, expiresAt));
+        signalArrival();
+        return mail;
+    }
+
+    // Queue a batch of messages with a single insert
+    public void enqueueAll(Collection<OutboundMail> mails) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        mongoTemplate.insertAll(mails);
+        signalArrival();
+    }
+
+    private void signalArrival() {
+        arrivalLock.lock();
+        try {
+            arrived = true;
+            arrivals.signalAll();
+        } finally {
+            arrivalLock.unlock();
+        }
+    }
+
+    // Idle workers park here until a message is enqueued on this instance or the timeout passes
+    void awaitArrival(Duration timeout) throws InterruptedException {
+        arrivalLock.lock();
+        try {
+            if (!arrived) {
+                arrivals.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            arrived = false;
+        } finally {
+            arrivalLock.unlock();
+        }
+    }
+
+    // Claim up to limit due messages, oldest first; each claim hides the message until the timeout
+    List<OutboundMail> claim(int limit) {
+        List<OutboundMail> claimed = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            LocalDateTime now = LocalDateTime.now();
+            Query due = new Query(Criteria.where("availableAt").lte(now)).with(Sort.by("availableAt"));
+            OutboundMail mail = mongoTemplate.findAndModify(due,
+                    new Update().set("availableAt", now.plus(claimTimeout)).inc("attempts", 1),
+                    FindAndModifyOptions.options().returnNew(true), OutboundMail.class);
+            if (mail == null) {
+                break;
+            }
+            claimed.add(mail);
+        }
+        return claimed;
+    }
+
+    void markSent(OutboundMail mail) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(mail.getId())), OutboundMail.class);
+    }
+
+    // Back off exponentially (30s, 1m, 2m, ...) or give up once the attempts or the message's lifetime run out
+    void markFailed(OutboundMail mail, String error) {
+        LocalDateTime retryAt = LocalDateTime.now().plus(initialBackoff.multipliedBy(1L << Math.min(mail.getAttempts() - 1, 16)));
+        if (mail.getAttempts() >= maxAttempts || (mail.getExpiresAt() != null && retryAt.isAfter(mail.getExpiresAt()))) {
+            deadLetter(mail, error);
+            return;
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(mail.getId())),
+                new Update().set("availableAt", retryAt).set("lastError", error), OutboundMail.class);
+    }
+
+    void deadLetter(OutboundMail mail, String error) {
+        mail.setLastError(error);
+        mongoTemplate.save(mail, DEAD_LETTER_COLLECTION);
+        markSent(mail);
+    }
+
+    public long countPending() {
+        return mongoTemplate.count(new Query(), OutboundMail.class);
+    }
+
+    public long countDeadLetters() {
+        return mongoTemplate.getCollection(DEAD_LETTER_COLLECTION).countDocuments();
+    }
+}
@@ -0,0 +1,37 @@
+package com.management.library.Common.mail;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/mail")
+@CrossOrigin(origins = "*")
+public class MailOutboxController {
+
+    private final MailOutbox mailOutbox;
+    private final MailDispatcher mailDispatcher;
+
+    public MailOutboxController(MailOutbox mailOutbox, MailDispatcher mailDispatcher) {
+        this.mailOutbox = mailOutbox;
+        this.mailDispatcher = mailDispatcher;
+    }
+
+    // Queue depth and dead letters across instances; sent/failed attempts since this instance started
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> getStats() {
+        try {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("pending", mailOutbox.countPending());
+            stats.put("deadLetters", mailOutbox.countDeadLetters());
+            stats.put("sent", mailDispatcher.getSentCount());
+            stats.put("failedAttempts", mailDispatcher.getFailedCount());
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.management.library.Common.mail;
+
+import com.management.library.Common.job.BackgroundJobs;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Outbox and dead letter depths as gauges. They are counted in Mongo on a timer rather than at scrape
+ * time, so a slow or unreachable cluster cannot stall the scrape; every instance reports the shared
+ * queue. Before the first count, and while counting fails, the gauges read NaN.
+ */
+@Component
+public class MailOutboxMetrics implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxMetrics.class);
+
+    private final MailOutbox mailOutbox;
+    private final BackgroundJobs backgroundJobs;
+    private final Duration refreshInterval;
+    private volatile double pending = Double.NaN;
+    private volatile double deadLetters = Double.NaN;
+
+    public MailOutboxMetrics(MailOutbox mailOutbox,
+                             BackgroundJobs backgroundJobs,
+                             @Value("${app.mail.metrics-refresh-ms:30000}") long refreshMs) {
+        this.mailOutbox = mailOutbox;
+        this.backgroundJobs = backgroundJobs;
+        this.refreshInterval = Duration.ofMillis(refreshMs);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.mail.outbox.pending", this, metrics -> metrics.pending)
+                .description("Messages waiting in the mail outbox")
+                .register(registry);
+        Gauge.builder("library.mail.outbox.dead.letters", this, metrics -> metrics.deadLetters)
+                .description("Messages moved to the dead letter collection")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        backgroundJobs.scheduleWithFixedDelay("mail outbox gauges", this::refresh, Duration.ZERO, refreshInterval);
+    }
+
+    public void refresh() {
+        try {
+            pending = mailOutbox.countPending();
+            deadLetters = mailOutbox.countDeadLetters();
+        } catch (Exception e) {
+            pending = Double.NaN;
+            deadLetters = Double.NaN;
+            log.warn("Could not count the mail outbox: {}", e.getMessage());
+        }
+    }
+}
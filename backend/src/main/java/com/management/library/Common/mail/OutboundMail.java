@@ -0,0 +1,122 @@
+package com.management.library.Common.mail;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message waiting in the outbox. {@code availableAt} is when a worker may next pick it up: now for a
+ * new message, later while it is claimed or backing off after a failed attempt.
+ */
+@Document("mail_outbox")
+public class OutboundMail {
+
+    @Id
+    private String id;
+    private String to;
+    private String subject;
+    private String body;
+    private boolean html;
+    @Indexed
+    private LocalDateTime availableAt;
+    private LocalDateTime expiresAt; // nullable; not worth sending after this
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    public OutboundMail() {
+    }
+
+    public OutboundMail(String to, String subject, String body, boolean html, LocalDateTime expiresAt) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+        this.html = html;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+        this.availableAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public void setHtml(boolean html) {
+        this.html = html;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.management.library.Common.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many documents each find, aggregate and getMore hands back, per command and collection,
+ * next to the command timings Boot records as {@code mongodb.driver.commands}. A read that returns a
+ * whole collection, such as an unbounded {@code findAll()}, shows up here as a large batch or a long
+ * run of getMores.
+ */
+public class MongoDocumentMetrics implements CommandListener {
+
+    public static final String METRIC = "mongodb.driver.commands.documents";
+
+    private static final Set<String> READS = Set.of("find", "aggregate", "getMore");
+
+    private final MeterRegistry registry;
+    // Collection of each read in flight, by request id; the reply does not name it
+    private final ConcurrentMap<Integer, String> collections = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MongoDocumentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (READS.contains(event.getCommandName())) {
+            collections.put(event.getRequestId(), collectionOf(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        if (collection == null) {
+            return;
+        }
+        BsonValue cursor = event.getResponse().get("cursor");
+        if (cursor == null || !cursor.isDocument()) {
+            return;
+        }
+        BsonDocument batch = cursor.asDocument();
+        BsonValue documents = batch.containsKey("firstBatch") ? batch.get("firstBatch") : batch.get("nextBatch");
+        if (documents instanceof BsonArray array) {
+            summary(event.getCommandName(), collection).record(array.size());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        collections.remove(event.getRequestId());
+    }
+
+    private DistributionSummary summary(String command, String collection) {
+        return summaries.computeIfAbsent(command + "/" + collection, key -> DistributionSummary.builder(METRIC)
+                .description("Documents returned per batch of a Mongo read")
+                .baseUnit("documents")
+                .tag("command", command)
+                .tag("collection", collection)
+                .register(registry));
+    }
+
+    // find and aggregate name the collection as the command's value, getMore in its "collection" field
+    private static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "unknown";
+    }
+}
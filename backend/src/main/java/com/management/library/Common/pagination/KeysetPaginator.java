@@ -0,0 +1,99 @@
+package com.management.library.Common.pagination;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keyset pagination and cursor streaming over the {@code _id} index.
+ * <p>
+ * Generated ObjectIds start with their creation timestamp, so ordering by {@code _id}
+ * is creation order without needing a separate createdAt index. Each page is a
+ * {@code _id > cursor} range scan, so the cost of page N does not depend on N.
+ */
+@Component
+public class KeysetPaginator {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public KeysetPaginator(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public <E, R> CursorPage<R> page(Class<E> entityClass, Criteria filter, String cursor, Integer limit,
+                                     Function<E, String> idOf, Function<E, R> mapper) {
+        return page(entityClass, filter, null, cursor, limit, idOf, mapper);
+    }
+
+    // As above, reading only the given properties (and _id) of each row
+    public <E, R> CursorPage<R> page(Class<E> entityClass, Criteria filter, Collection<String> fields, String cursor,
+                                     Integer limit, Function<E, String> idOf, Function<E, R> mapper) {
+        int pageSize = clampLimit(limit);
+
+        Criteria criteria = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            Criteria after = Criteria.where("_id").gt(parseCursor(cursor));
+            criteria = filter != null ? new Criteria().andOperator(filter, after) : after;
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count()
+        Query query = criteria != null ? new Query(criteria) : new Query();
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize + 1);
+        include(query, fields);
+
+        List<E> rows = mongoTemplate.find(query, entityClass);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? idOf.apply(rows.get(rows.size() - 1)) : null;
+        List<R> items = rows.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor, hasMore, pageSize);
+    }
+
+    // The returned stream holds an open server cursor and must be closed by the caller
+    public <E> Stream<E> stream(Class<E> entityClass, Criteria filter) {
+        return stream(entityClass, filter, null);
+    }
+
+    public <E> Stream<E> stream(Class<E> entityClass, Criteria filter, Collection<String> fields) {
+        Query query = filter != null ? new Query(filter) : new Query();
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(STREAM_BATCH_SIZE);
+        include(query, fields);
+        return mongoTemplate.stream(query, entityClass);
+    }
+
+    private static void include(Query query, Collection<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            query.fields().include(fields.toArray(String[]::new));
+        }
+    }
+
+    private int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private ObjectId parseCursor(String cursor) {
+        if (!ObjectId.isValid(cursor)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new ObjectId(cursor);
+    }
+}
@@ -0,0 +1,48 @@
+package com.management.library.Common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of documents as newline-delimited JSON while the Mongo cursor is being read,
+ * so heap use is bounded by the cursor batch size instead of the collection size.
+ */
+@Component
+public class NdjsonStreamer {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectWriter writer;
+
+    public NdjsonStreamer(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer();
+    }
+
+    // The stream is opened lazily on the response thread and always closed when writing ends
+    public <T> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<T>> source) {
+        StreamingResponseBody body = out -> {
+            try (Stream<T> items = source.get()) {
+                Iterator<T> iterator = items.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    out.write(writer.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
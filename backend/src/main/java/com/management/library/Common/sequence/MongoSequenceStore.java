@@ -0,0 +1,51 @@
+package com.management.library.Common.sequence;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps one document per sequence in the {@code counters} collection: {@code { _id: name, value: n }}.
+ * A block is reserved with a single upserting {@code findAndModify ... $inc}, which the server applies
+ * atomically, so two replicas can never receive overlapping blocks.
+ */
+@Component
+public class MongoSequenceStore implements SequenceStore {
+
+    static final String COLLECTION = "counters";
+    private static final String VALUE = "value";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoSequenceStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long allocate(String sequence, int blockSize) {
+        Document counter = mongoTemplate.findAndModify(byName(sequence),
+                new Update().inc(VALUE, blockSize),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class, COLLECTION);
+        return ((Number) counter.get(VALUE)).longValue();
+    }
+
+    @Override
+    public void initialize(String sequence, LongSupplier floor) {
+        if (mongoTemplate.exists(byName(sequence), COLLECTION)) {
+            return;
+        }
+        // $max keeps this safe when another replica creates (or already advanced) the counter meanwhile
+        mongoTemplate.upsert(byName(sequence), new Update().max(VALUE, floor.getAsLong()), COLLECTION);
+    }
+
+    private Query byName(String sequence) {
+        return new Query(Criteria.where("_id").is(sequence));
+    }
+}
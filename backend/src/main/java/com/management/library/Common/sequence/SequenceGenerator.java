@@ -0,0 +1,156 @@
+package com.management.library.Common.sequence;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Cluster-safe, restart-safe sequence numbers.
+ *
+ * <p>Each sequence reserves a block of values from the {@link SequenceStore} in one round-trip and hands
+ * them out from memory with a single atomic increment; only the thread that finds the block exhausted
+ * goes back to the store. Replicas hold disjoint blocks, so values are unique across the cluster but
+ * only roughly ordered, and the unused rest of a block is skipped after a restart.
+ */
+@Component
+public class SequenceGenerator {
+
+    private final SequenceStore store;
+    private final MongoTemplate mongoTemplate;
+    private final int blockSize;
+    private final ConcurrentMap<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SequenceGenerator(SequenceStore store, MongoTemplate mongoTemplate,
+                             @Value("${app.sequences.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Sequence block size must be at least 1");
+        }
+        this.store = store;
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+    }
+
+    SequenceGenerator(SequenceStore store, int blockSize) {
+        this(store, null, blockSize);
+    }
+
+    public long next(String sequence) {
+        return next(sequence, () -> 0L);
+    }
+
+    // floor seeds a sequence that does not exist in the store yet, e.g. from numbers issued before it did
+    public long next(String sequence, LongSupplier floor) {
+        return sequences.computeIfAbsent(sequence, name -> new Sequence(name, floor)).next();
+    }
+
+    // Reserve count consecutive values in one round-trip and return the first; they bypass the in-memory block
+    public long reserve(String sequence, int count, LongSupplier floor) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Must reserve at least one value");
+        }
+        return sequences.computeIfAbsent(sequence, name -> new Sequence(name, floor)).reserve(count);
+    }
+
+    // Highest numeric suffix among existing values of field that start with prefix (0 when none do)
+    public long highestIssued(Class<?> entityClass, String field, String prefix) {
+        Pattern format = Pattern.compile("^" + Pattern.quote(prefix) + "(\\d{1,18})$");
+        Query query = new Query(Criteria.where(field).regex("^" + Pattern.quote(prefix)));
+        query.fields().include(field).exclude("_id");
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        // Suffix widths vary, so the maximum cannot be read off a sorted index; this runs once per sequence
+        try (Stream<Document> values = mongoTemplate.stream(query, Document.class, collection)) {
+            return values.map(value -> value.get(field))
+                    .filter(Objects::nonNull)
+                    .map(issued -> format.matcher(issued.toString()))
+                    .filter(Matcher::matches)
+                    .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+                    .max()
+                    .orElse(0L);
+        }
+    }
+
+    private final class Sequence {
+        private final String name;
+        private final LongSupplier floor;
+        // A lock rather than synchronized: a virtual thread waiting on Mongo inside a monitor pins its carrier
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private volatile Block block = Block.EXHAUSTED;
+        private boolean initialized;
+
+        private Sequence(String name, LongSupplier floor) {
+            this.name = name;
+            this.floor = floor;
+        }
+
+        private long next() {
+            while (true) {
+                Block current = block;
+                long value = current.cursor.getAndIncrement();
+                if (value <= current.last) {
+                    return value;
+                }
+                refill(current);
+            }
+        }
+
+        private long reserve(int count) {
+            refillLock.lock();
+            try {
+                initialize();
+            } finally {
+                refillLock.unlock();
+            }
+            return store.allocate(name, count) - count + 1;
+        }
+
+        private void refill(Block exhausted) {
+            refillLock.lock();
+            try {
+                if (block != exhausted) {
+                    // Another thread already fetched a new block while this one waited
+                    return;
+                }
+                initialize();
+                long last = store.allocate(name, blockSize);
+                block = new Block(last - blockSize + 1, last);
+            } finally {
+                refillLock.unlock();
+            }
+        }
+
+        // Called with refillLock held
+        private void initialize() {
+            if (!initialized) {
+                store.initialize(name, floor);
+                initialized = true;
+            }
+        }
+    }
+
+    private static final class Block {
+        private static final Block EXHAUSTED = new Block(1, 0);
+
+        private final AtomicLong cursor;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.cursor = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
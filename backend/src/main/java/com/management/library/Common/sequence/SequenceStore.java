@@ -0,0 +1,16 @@
+package com.management.library.Common.sequence;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Durable counters behind {@link SequenceGenerator}. Implementations must make {@link #allocate}
+ * atomic across every process sharing the store.
+ */
+public interface SequenceStore {
+
+    // Advance the counter by blockSize and return its new value; the caller owns (value - blockSize, value]
+    long allocate(String sequence, int blockSize);
+
+    // Raise the counter to at least floor when it does not exist yet; floor is only evaluated in that case
+    void initialize(String sequence, LongSupplier floor);
+}
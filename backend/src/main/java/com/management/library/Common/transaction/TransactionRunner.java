@@ -0,0 +1,59 @@
+package com.management.library.Common.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work in a Mongo multi-document transaction and retries it when the server reports a transient
+ * failure (a write conflict with a concurrent transaction, or a commit with unknown outcome), as the
+ * driver's own {@code withTransaction} does. MongoTemplate and repositories join the transaction
+ * automatically, so the work must not have side effects outside the database; use {@link #afterCommit}.
+ */
+@Component
+public class TransactionRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRunner.class);
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionRunner(MongoTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                // Write conflicts arrive as DataAccessExceptions, commit failures as TransactionExceptions
+                if (attempt == MAX_ATTEMPTS || !MongoExceptionTranslator.DEFAULT_EXCEPTION_TRANSLATOR.isTransientFailure(e)) {
+                    throw e;
+                }
+                log.debug("Retrying transaction after transient failure (attempt {}): {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    // Runs the action once the surrounding transaction commits, or straight away outside of one
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
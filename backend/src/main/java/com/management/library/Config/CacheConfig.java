@@ -0,0 +1,31 @@
+package com.management.library.Config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.library.Common.cache.CacheNames;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Fixed set of caches, each bounded by size and by time since the entry was loaded
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.max-entries:10000}") long maxEntries,
+                                     @Value("${app.cache.ttl-seconds:300}") long ttlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(CacheNames.ALL);
+        return cacheManager;
+    }
+}
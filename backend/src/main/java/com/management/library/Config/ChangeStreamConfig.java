@@ -0,0 +1,21 @@
+package com.management.library.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+
+@Configuration
+public class ChangeStreamConfig {
+
+    // Runs each change-stream cursor on its own daemon thread so a cursor blocked on an unreachable
+    // cluster never holds up shutdown; started and stopped with the application context
+    @Bean
+    public MessageListenerContainer messageListenerContainer(MongoTemplate mongoTemplate) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("change-stream-");
+        executor.setDaemon(true);
+        return new DefaultMessageListenerContainer(mongoTemplate, executor);
+    }
+}
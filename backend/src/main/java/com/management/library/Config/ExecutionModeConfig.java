@@ -0,0 +1,56 @@
+package com.management.library.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request execution mode. With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime, Tomcat
+ * serves each request on its own virtual thread, and so do the scheduler and the mail workers. The
+ * blocking Mongo driver and SMTP calls then park cheaply instead of holding one of the 200 platform
+ * worker threads. In that mode the Mongo connection pool becomes the limit on concurrent queries, so
+ * its size and wait time are set here as well.
+ */
+@Configuration
+public class ExecutionModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    private final Environment environment;
+
+    public ExecutionModeConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolSizing(
+            @Value("${app.mongo.max-pool-size:100}") int maxPoolSize,
+            @Value("${app.mongo.max-wait-ms:120000}") long maxWaitMillis) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMode() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests run on virtual threads");
+        } else if (requested) {
+            log.warn("Virtual threads requested but the runtime is Java {}; they need Java 21+, using platform threads",
+                    JavaVersion.getJavaVersion());
+        } else {
+            log.info("Requests run on platform threads");
+        }
+    }
+}
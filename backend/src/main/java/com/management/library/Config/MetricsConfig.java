@@ -0,0 +1,45 @@
+package com.management.library.Config;
+
+import com.management.library.Common.metrics.MongoDocumentMetrics;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Metrics on top of what the actuator records by itself. The actuator already gives request timers
+ * ({@code http.server.requests}), repository method timers ({@code spring.data.repository.invocations}),
+ * Mongo command timers and pool gauges, cache gauges and executor queue depths. This adds the controller
+ * method to each request timer and the documents returned by each Mongo read; the mail outbox depth
+ * comes from {@link com.management.library.Common.mail.MailOutboxMetrics}. Prometheus scrapes everything from {@code /actuator/prometheus}, and
+ * {@code monitoring/slo-rules.yml} builds the service level indicators from it.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Tags each request with Controller.method next to the URI template
+    @Bean
+    public DefaultServerRequestObservationConvention handlerTaggingObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+                String name = handler instanceof HandlerMethod method
+                        ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                        : "none";
+                return super.getLowCardinalityKeyValues(context).and("handler", name);
+            }
+        };
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDocumentMetrics(MeterRegistry registry) {
+        MongoDocumentMetrics listener = new MongoDocumentMetrics(registry);
+        return settings -> settings.addCommandListener(listener);
+    }
+}
@@ -1,8 +1,16 @@
 package com.management.library.Config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableMongoAuditing
@@ -12,7 +20,23 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
     "com.management.library.BorrowingReservation.repository",
         "com.management.library.BookManagement.repository"
 })
+// Reactive repositories live next to the blocking ones; each annotation only picks up its own kind
+@EnableReactiveMongoRepositories(basePackages = "com.management.library.BookManagement.repository")
 public class MongoConfig {
     // MongoDB's configuration is handled by application.properties
     // This class enables auditing for @CreatedDate and @LastModifiedDate
-}
\ No newline at end of file
+
+    // Multi-document transactions (replica set / Atlas only); MongoTemplate joins the active one automatically
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    // How long an operation waits for a reachable server before it fails (the driver's default is 30s)
+    @Bean
+    public MongoClientSettingsBuilderCustomizer serverSelectionTimeout(
+            @Value("${app.mongo.server-selection-timeout-ms:30000}") long timeoutMillis) {
+        return settings -> settings.applyToClusterSettings(cluster -> cluster
+                .serverSelectionTimeout(timeoutMillis, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,10 @@
+package com.management.library.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled background jobs (dashboard snapshot refresh, etc.)
+}
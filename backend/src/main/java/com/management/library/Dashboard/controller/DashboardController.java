@@ -0,0 +1,43 @@
+package com.management.library.Dashboard.controller;
+
+import com.management.library.Dashboard.dto.DashboardSummaryDTO;
+import com.management.library.Dashboard.service.DashboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // Get dashboard counters from the in-memory snapshot
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDTO> getSummary() {
+        long start = System.nanoTime();
+        try {
+            DashboardSummaryDTO summary = dashboardService.getSummary();
+            double requestMillis = (System.nanoTime() - start) / 1_000_000.0;
+            long snapshotAgeMillis = Duration.between(summary.getGeneratedAt(), LocalDateTime.now()).toMillis();
+
+            // Server-Timing shows up in the browser dev tools next to the request
+            return ResponseEntity.ok()
+                    .header("Server-Timing", String.format(Locale.ROOT,
+                            "request;dur=%.3f, snapshot;dur=%d", requestMillis, summary.getComputeMillis()))
+                    .header("X-Snapshot-Age-Ms", String.valueOf(snapshotAgeMillis))
+                    .body(summary);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.management.library.Dashboard.dto;
+
+import java.time.LocalDateTime;
+
+public class DashboardSummaryDTO {
+
+    // Books
+    private long totalBooks;
+    private long availableBooks;
+    private long unavailableBooks;
+    private long availableCopies;
+
+    // Borrowings and fines
+    private long totalBorrowings;
+    private long activeBorrowings;
+    private long returnedBorrowings;
+    private long overdueBorrowings;
+    private long paidFines;
+    private long pendingFines;
+
+    // Reservations
+    private long totalReservations;
+    private long pendingReservations;
+    private long receivedReservations;
+    private long cancelledReservations;
+
+    // Members
+    private long totalMembers;
+    private long activeMembers;
+    private long suspendedMembers;
+    private long premiumMembers;
+    private long basicMembers;
+    private long studentMembers;
+    private long familyMembers;
+    private long membersWithFines;
+
+    // Snapshot metadata
+    private LocalDateTime generatedAt;
+    private long computeMillis;
+
+    // Constructors
+    public DashboardSummaryDTO() {
+    }
+
+    // Getters and Setters
+    public long getTotalBooks() {
+        return totalBooks;
+    }
+
+    public void setTotalBooks(long totalBooks) {
+        this.totalBooks = totalBooks;
+    }
+
+    public long getAvailableBooks() {
+        return availableBooks;
+    }
+
+    public void setAvailableBooks(long availableBooks) {
+        this.availableBooks = availableBooks;
+    }
+
+    public long getUnavailableBooks() {
+        return unavailableBooks;
+    }
+
+    public void setUnavailableBooks(long unavailableBooks) {
+        this.unavailableBooks = unavailableBooks;
+    }
+
+    public long getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public void setAvailableCopies(long availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
+    public long getTotalBorrowings() {
+        return totalBorrowings;
+    }
+
+    public void setTotalBorrowings(long totalBorrowings) {
+        this.totalBorrowings = totalBorrowings;
+    }
+
+    public long getActiveBorrowings() {
+        return activeBorrowings;
+    }
+
+    public void setActiveBorrowings(long activeBorrowings) {
+        this.activeBorrowings = activeBorrowings;
+    }
+
+    public long getReturnedBorrowings() {
+        return returnedBorrowings;
+    }
+
+    public void setReturnedBorrowings(long returnedBorrowings) {
+        this.returnedBorrowings = returnedBorrowings;
+    }
+
+    public long getOverdueBorrowings() {
+        return overdueBorrowings;
+    }
+
+    public void setOverdueBorrowings(long overdueBorrowings) {
+        this.overdueBorrowings = overdueBorrowings;
+    }
+
+    public long getPaidFines() {
+        return paidFines;
+    }
+
+    public void setPaidFines(long paidFines) {
+        this.paidFines = paidFines;
+    }
+
+    public long getPendingFines() {
+        return pendingFines;
+    }
+
+    public void setPendingFines(long pendingFines) {
+        this.pendingFines = pendingFines;
+    }
+
+    public long getTotalReservations() {
+        return totalReservations;
+    }
+
+    public void setTotalReservations(long totalReservations) {
+        this.totalReservations = totalReservations;
+    }
+
+    public long getPendingReservations() {
+        return pendingReservations;
+    }
+
+    public void setPendingReservations(long pendingReservations) {
+        this.pendingReservations = pendingReservations;
+    }
+
+    public long getReceivedReservations() {
+        return receivedReservations;
+    }
+
+    public void setReceivedReservations(long receivedReservations) {
+        this.receivedReservations = receivedReservations;
+    }
+
+    public long getCancelledReservations() {
+        return cancelledReservations;
+    }
+
+    public void setCancelledReservations(long cancelledReservations) {
+        this.cancelledReservations = cancelledReservations;
+    }
+
+    public long getTotalMembers() {
+        return totalMembers;
+    }
+
+    public void setTotalMembers(long totalMembers) {
+        this.totalMembers = totalMembers;
+    }
+
+    public long getActiveMembers() {
+        return activeMembers;
+    }
+
+    public void setActiveMembers(long activeMembers) {
+        this.activeMembers = activeMembers;
+    }
+
+    public long getSuspendedMembers() {
+        return suspendedMembers;
+    }
+
+    public void setSuspendedMembers(long suspendedMembers) {
+        this.suspendedMembers = suspendedMembers;
+    }
+
+    public long getPremiumMembers() {
+        return premiumMembers;
+    }
+
+    public void setPremiumMembers(long premiumMembers) {
+        this.premiumMembers = premiumMembers;
+    }
+
+    public long getBasicMembers() {
+        return basicMembers;
+    }
+
+    public void setBasicMembers(long basicMembers) {
+        this.basicMembers = basicMembers;
+    }
+
+    public long getStudentMembers() {
+        return studentMembers;
+    }
+
+    public void setStudentMembers(long studentMembers) {
+        this.studentMembers = studentMembers;
+    }
+
+    public long getFamilyMembers() {
+        return familyMembers;
+    }
+
+    public void setFamilyMembers(long familyMembers) {
+        this.familyMembers = familyMembers;
+    }
+
+    public long getMembersWithFines() {
+        return membersWithFines;
+    }
+
+    public void setMembersWithFines(long membersWithFines) {
+        this.membersWithFines = membersWithFines;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public void setComputeMillis(long computeMillis) {
+        this.computeMillis = computeMillis;
+    }
+}
@@ -0,0 +1,72 @@
+package com.management.library.Dashboard.repository;
+
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.MemberManagement.Entity.Member;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Runs the dashboard counters as a single server-side {@code $group} per collection,
+ * so the payload returned from Mongo is one small document regardless of collection size.
+ */
+@Repository
+public class DashboardRepository {
+
+    // A loan is overdue when it is not returned and its due date is already in the past
+    private static final Document BORROWING_SUMMARY = Document.parse("{ $group: { _id: null, " +
+            "totalBorrowings: { $sum: 1 }, " +
+            "activeBorrowings: { $sum: { $cond: [ { $eq: [ '$status', 'ACTIVE' ] }, 1, 0 ] } }, " +
+            "returnedBorrowings: { $sum: { $cond: [ { $eq: [ '$status', 'RETURNED' ] }, 1, 0 ] } }, " +
+            "overdueBorrowings: { $sum: { $cond: [ { $and: [ " +
+            "{ $ne: [ '$status', 'RETURNED' ] }, " +
+            "{ $eq: [ { $type: '$dueDate' }, 'date' ] }, " +
+            "{ $lt: [ '$dueDate', '$$NOW' ] } ] }, 1, 0 ] } }, " +
+            "paidFines: { $sum: { $cond: [ { $eq: [ '$status', 'RETURNED' ] }, '$lateFee', 0 ] } }, " +
+            "pendingFines: { $sum: { $cond: [ { $ne: [ '$status', 'RETURNED' ] }, '$lateFee', 0 ] } } } }");
+
+    private static final Document RESERVATION_SUMMARY = Document.parse("{ $group: { _id: null, " +
+            "totalReservations: { $sum: 1 }, " +
+            "pendingReservations: { $sum: { $cond: [ { $eq: [ '$status', 'PENDING' ] }, 1, 0 ] } }, " +
+            "receivedReservations: { $sum: { $cond: [ { $eq: [ '$status', 'RECEIVED' ] }, 1, 0 ] } }, " +
+            "cancelledReservations: { $sum: { $cond: [ { $eq: [ '$status', 'CANCELLED' ] }, 1, 0 ] } } } }");
+
+    private static final Document MEMBER_SUMMARY = Document.parse("{ $group: { _id: null, " +
+            "totalMembers: { $sum: 1 }, " +
+            "activeMembers: { $sum: { $cond: [ { $eq: [ '$status', 'ACTIVE' ] }, 1, 0 ] } }, " +
+            "suspendedMembers: { $sum: { $cond: [ { $eq: [ '$status', 'SUSPENDED' ] }, 1, 0 ] } }, " +
+            "premiumMembers: { $sum: { $cond: [ { $eq: [ '$membershipType', 'PREMIUM' ] }, 1, 0 ] } }, " +
+            "basicMembers: { $sum: { $cond: [ { $eq: [ '$membershipType', 'BASIC' ] }, 1, 0 ] } }, " +
+            "studentMembers: { $sum: { $cond: [ { $eq: [ '$membershipType', 'STUDENT' ] }, 1, 0 ] } }, " +
+            "familyMembers: { $sum: { $cond: [ { $eq: [ '$membershipType', 'FAMILY' ] }, 1, 0 ] } }, " +
+            "membersWithFines: { $sum: { $cond: [ { $gt: [ '$fineAmount', 0 ] }, 1, 0 ] } } } }");
+
+    private final MongoTemplate mongoTemplate;
+
+    public DashboardRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Document summarizeBorrowings() {
+        return summarize(Borrowing.class, BORROWING_SUMMARY);
+    }
+
+    public Document summarizeReservations() {
+        return summarize(Reservation.class, RESERVATION_SUMMARY);
+    }
+
+    public Document summarizeMembers() {
+        return summarize(Member.class, MEMBER_SUMMARY);
+    }
+
+    // Empty collections produce no group document, so callers always get a (possibly empty) result
+    private Document summarize(Class<?> entityClass, Document groupStage) {
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+                .aggregate(List.of(groupStage))
+                .first();
+        return result != null ? result : new Document();
+    }
+}
@@ -0,0 +1,142 @@
+package com.management.library.Dashboard.service;
+
+import com.management.library.BookManagement.dto.BookStatsDTO;
+import com.management.library.BookManagement.service.BookStatsService;
+import com.management.library.Dashboard.dto.DashboardSummaryDTO;
+import com.management.library.Dashboard.repository.DashboardRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+    private final DashboardRepository dashboardRepository;
+    private final BookStatsService bookStatsService;
+    private final AtomicReference<DashboardSummaryDTO> snapshot = new AtomicReference<>();
+    private final long maxSnapshotAgeMillis;
+    private final long idleAfterMillis;
+    // When getSummary was last called; 0 until the first poll
+    private final AtomicLong lastPolledAt = new AtomicLong();
+    // One recompute at a time
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public DashboardService(DashboardRepository dashboardRepository,
+                            BookStatsService bookStatsService,
+                            @Value("${app.dashboard.refresh-interval-ms:5000}") long refreshIntervalMillis,
+                            @Value("${app.dashboard.idle-after-ms:60000}") long idleAfterMillis) {
+        this.dashboardRepository = dashboardRepository;
+        this.bookStatsService = bookStatsService;
+        // Allow one missed refresh before a request recomputes the snapshot itself
+        this.maxSnapshotAgeMillis = refreshIntervalMillis * 2;
+        this.idleAfterMillis = idleAfterMillis;
+    }
+
+    // Serve the in-memory snapshot; only recompute on the request path when it is missing or stale
+    public DashboardSummaryDTO getSummary() {
+        lastPolledAt.set(System.currentTimeMillis());
+        DashboardSummaryDTO current = snapshot.get();
+        if (current == null || isStale(current)) {
+            return refreshIfStale();
+        }
+        return current;
+    }
+
+    // Only while someone is polling; after that the next poll recomputes a stale snapshot itself
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-interval-ms:5000}")
+    public void refreshSnapshot() {
+        if (System.currentTimeMillis() - lastPolledAt.get() > idleAfterMillis) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Dashboard snapshot refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Locked so a burst of requests against a stale snapshot triggers one recompute, not one each
+    private DashboardSummaryDTO refreshIfStale() {
+        refreshLock.lock();
+        try {
+            DashboardSummaryDTO current = snapshot.get();
+            if (current != null && !isStale(current)) {
+                return current;
+            }
+            return refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public DashboardSummaryDTO refresh() {
+        refreshLock.lock();
+        try {
+            return compute();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private DashboardSummaryDTO compute() {
+        long start = System.nanoTime();
+        DashboardSummaryDTO summary = new DashboardSummaryDTO();
+
+        // Book counters are already maintained in memory
+        BookStatsDTO books = bookStatsService.getStatistics();
+        summary.setTotalBooks(books.getTotalBooks());
+        summary.setAvailableBooks(books.getAvailableBooks());
+        summary.setUnavailableBooks(books.getUnavailableBooks());
+        summary.setAvailableCopies(books.getAvailableCopies());
+
+        Document borrowings = dashboardRepository.summarizeBorrowings();
+        summary.setTotalBorrowings(count(borrowings, "totalBorrowings"));
+        summary.setActiveBorrowings(count(borrowings, "activeBorrowings"));
+        summary.setReturnedBorrowings(count(borrowings, "returnedBorrowings"));
+        summary.setOverdueBorrowings(count(borrowings, "overdueBorrowings"));
+        summary.setPaidFines(count(borrowings, "paidFines"));
+        summary.setPendingFines(count(borrowings, "pendingFines"));
+
+        Document reservations = dashboardRepository.summarizeReservations();
+        summary.setTotalReservations(count(reservations, "totalReservations"));
+        summary.setPendingReservations(count(reservations, "pendingReservations"));
+        summary.setReceivedReservations(count(reservations, "receivedReservations"));
+        summary.setCancelledReservations(count(reservations, "cancelledReservations"));
+
+        Document members = dashboardRepository.summarizeMembers();
+        summary.setTotalMembers(count(members, "totalMembers"));
+        summary.setActiveMembers(count(members, "activeMembers"));
+        summary.setSuspendedMembers(count(members, "suspendedMembers"));
+        summary.setPremiumMembers(count(members, "premiumMembers"));
+        summary.setBasicMembers(count(members, "basicMembers"));
+        summary.setStudentMembers(count(members, "studentMembers"));
+        summary.setFamilyMembers(count(members, "familyMembers"));
+        summary.setMembersWithFines(count(members, "membersWithFines"));
+
+        summary.setGeneratedAt(LocalDateTime.now());
+        summary.setComputeMillis((System.nanoTime() - start) / 1_000_000);
+        snapshot.set(summary);
+
+        log.debug("Dashboard snapshot refreshed in {} ms", summary.getComputeMillis());
+        return summary;
+    }
+
+    private boolean isStale(DashboardSummaryDTO summary) {
+        return summary.getGeneratedAt().plus(Duration.ofMillis(maxSnapshotAgeMillis)).isBefore(LocalDateTime.now());
+    }
+
+    private long count(Document result, String field) {
+        Object value = result.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -1,7 +1,12 @@
 package com.management.library.MemberManagement.Controller;
 
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.NdjsonStreamer;
 import com.management.library.MemberManagement.Dto.*;
 import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Entity.MemberActivity;
+import com.management.library.MemberManagement.Service.MemberActivityService;
+import com.management.library.MemberManagement.Service.MemberOnboardingService;
 import com.management.library.MemberManagement.Service.MemberService;
 import com.management.library.UserManagement.Dto.ApiResponse;
 import jakarta.validation.Valid;
@@ -11,6 +16,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,9 +28,16 @@ public class MemberController {
 
     private static final Logger log = LoggerFactory.getLogger(MemberController.class);
     private final MemberService memberService;
+    private final MemberOnboardingService memberOnboardingService;
+    private final MemberActivityService memberActivityService;
+    private final NdjsonStreamer ndjsonStreamer;
 
-    public MemberController(MemberService memberService) {
+    public MemberController(MemberService memberService, MemberOnboardingService memberOnboardingService,
+                            MemberActivityService memberActivityService, NdjsonStreamer ndjsonStreamer) {
         this.memberService = memberService;
+        this.memberOnboardingService = memberOnboardingService;
+        this.memberActivityService = memberActivityService;
+        this.ndjsonStreamer = ndjsonStreamer;
     }
 
     @PostMapping
@@ -50,6 +63,32 @@ public class MemberController {
         }
     }
 
+    // Onboard many members at once; each row is validated on its own and reported in the response
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkOnboardingResponse>> onboardMembers(
+            @RequestBody List<CreateMemberRequest> requests,
+            @RequestParam(defaultValue = "true") boolean welcomeEmails) {
+        log.info("Bulk onboarding {} members", requests.size());
+
+        try {
+            BulkOnboardingResponse result = memberOnboardingService.onboard(requests, welcomeEmails);
+            ApiResponse<BulkOnboardingResponse> response = new ApiResponse<>(
+                    true,
+                    result.getCreated() + " of " + result.getTotal() + " members created",
+                    result
+            );
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error onboarding members: {}", e.getMessage());
+            ApiResponse<BulkOnboardingResponse> response = new ApiResponse<>(
+                    false,
+                    "Error onboarding members: " + e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @PostMapping("/auto-create")
     public ResponseEntity<ApiResponse<MemberResponse>> createMemberFromUser(
             @RequestParam String userId,
@@ -124,6 +163,17 @@ public class MemberController {
         }
     }
 
+    // Recent loans, reservations, fine and status changes in one read, for the member profile
+    @GetMapping("/member-id/{memberId}/activity")
+    public ResponseEntity<ApiResponse<MemberActivity>> getMemberActivity(@PathVariable String memberId) {
+        log.info("Getting activity for member ID: {}", memberId);
+
+        return memberActivityService.getActivity(memberId.trim().toUpperCase())
+                .map(activity -> ResponseEntity.ok(new ApiResponse<>(true, "Member activity retrieved successfully", activity)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ApiResponse<>(false, "Member not found with member ID: " + memberId, null)));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<ApiResponse<MemberResponse>> getMemberByUserId(@PathVariable String userId) {
         log.info("Getting member by user ID: {}", userId);
@@ -170,6 +220,46 @@ public class MemberController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<MemberResponse>>> getMembersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Getting members page after cursor: {}", cursor);
+
+        try {
+            CursorPage<MemberResponse> page = memberService.getMembersPage(cursor, limit);
+            ApiResponse<CursorPage<MemberResponse>> response = new ApiResponse<>(
+                    true,
+                    "Members retrieved successfully",
+                    page
+            );
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid members page request: {}", e.getMessage());
+            ApiResponse<CursorPage<MemberResponse>> response = new ApiResponse<>(
+                    false,
+                    "Error getting members: " + e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            log.error("Error getting members page: {}", e.getMessage());
+            ApiResponse<CursorPage<MemberResponse>> response = new ApiResponse<>(
+                    false,
+                    "Error getting members: " + e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllMembers() {
+        log.info("Streaming all members");
+
+        return ndjsonStreamer.stream(memberService::streamAllMembers);
+    }
+
     @GetMapping("/membership-type/{membershipType}")
     public ResponseEntity<ApiResponse<List<MemberResponse>>> getMembersByMembershipType(
             @PathVariable Member.MembershipType membershipType) {
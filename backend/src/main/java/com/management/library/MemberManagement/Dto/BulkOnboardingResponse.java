@@ -0,0 +1,167 @@
+package com.management.library.MemberManagement.Dto;
+
+import java.util.List;
+
+public class BulkOnboardingResponse {
+
+    public enum RowStatus {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private int welcomeEmailsQueued;
+    private long elapsedMillis;
+    // One entry per submitted member, in submission order
+    private List<RowResult> rows;
+
+    // Default constructor
+    public BulkOnboardingResponse() {
+    }
+
+    public BulkOnboardingResponse(List<RowResult> rows, int welcomeEmailsQueued, long elapsedMillis) {
+        this.rows = rows;
+        this.total = rows.size();
+        this.welcomeEmailsQueued = welcomeEmailsQueued;
+        this.elapsedMillis = elapsedMillis;
+        for (RowResult row : rows) {
+            switch (row.getStatus()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(int duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(int invalid) {
+        this.invalid = invalid;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public int getWelcomeEmailsQueued() {
+        return welcomeEmailsQueued;
+    }
+
+    public void setWelcomeEmailsQueued(int welcomeEmailsQueued) {
+        this.welcomeEmailsQueued = welcomeEmailsQueued;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowResult> rows) {
+        this.rows = rows;
+    }
+
+    public static class RowResult {
+
+        // 0-based position in the submitted list
+        private int index;
+        private String email;
+        private RowStatus status;
+        private String memberId;
+        private String message;
+
+        // Default constructor
+        public RowResult() {
+        }
+
+        public RowResult(int index, String email, RowStatus status, String memberId, String message) {
+            this.index = index;
+            this.email = email;
+            this.status = status;
+            this.memberId = memberId;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public RowStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(RowStatus status) {
+            this.status = status;
+        }
+
+        public String getMemberId() {
+            return memberId;
+        }
+
+        public void setMemberId(String memberId) {
+            this.memberId = memberId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
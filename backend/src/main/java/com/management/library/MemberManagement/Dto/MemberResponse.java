@@ -20,6 +20,7 @@ public class MemberResponse {
     private LocalDate expiryDate;
     private Member.MemberStatus status;
     private int borrowingLimit;
+    private int activeLoans;
     private double fineAmount;
     private String profilePictureUrl;
     private LocalDateTime createdAt;
@@ -57,7 +58,7 @@ public class MemberResponse {
 
     // Static factory method
     public static MemberResponse fromEntity(Member member) {
-        return new MemberResponse(
+        MemberResponse response = new MemberResponse(
                 member.getId(),
                 member.getMemberId(),
                 member.getUserId(),
@@ -77,6 +78,8 @@ public class MemberResponse {
                 member.getCreatedAt(),
                 member.getUpdatedAt()
         );
+        response.setActiveLoans(member.getActiveLoans());
+        return response;
     }
 
     // Getters
@@ -136,6 +139,10 @@ public class MemberResponse {
         return borrowingLimit;
     }
 
+    public int getActiveLoans() {
+        return activeLoans;
+    }
+
     public double getFineAmount() {
         return fineAmount;
     }
@@ -209,6 +216,10 @@ public class MemberResponse {
         this.borrowingLimit = borrowingLimit;
     }
 
+    public void setActiveLoans(int activeLoans) {
+        this.activeLoans = activeLoans;
+    }
+
     public void setFineAmount(double fineAmount) {
         this.fineAmount = fineAmount;
     }
@@ -18,8 +18,9 @@ public class UpdateMemberRequest {
     private Member.MembershipType membershipType;
     private LocalDate expiryDate;
     private Member.MemberStatus status;
-    private int borrowingLimit;
-    private double fineAmount;
+    // Boxed so that a request leaving it out changes nothing. There is no fine amount: that is the sum of
+    // the member's open overdue fees, recomputed by the nightly fee run
+    private Integer borrowingLimit;
     private String profilePictureUrl;
 
     // Default constructor
@@ -29,8 +30,8 @@ public class UpdateMemberRequest {
     // All args constructor
     public UpdateMemberRequest(String firstName, String lastName, String email, String phoneNumber,
                                String address, String emergencyContact, Member.MembershipType membershipType,
-                               LocalDate expiryDate, Member.MemberStatus status, int borrowingLimit,
-                               double fineAmount, String profilePictureUrl) {
+                               LocalDate expiryDate, Member.MemberStatus status, Integer borrowingLimit,
+                               String profilePictureUrl) {
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
@@ -41,7 +42,6 @@ public class UpdateMemberRequest {
         this.expiryDate = expiryDate;
         this.status = status;
         this.borrowingLimit = borrowingLimit;
-        this.fineAmount = fineAmount;
         this.profilePictureUrl = profilePictureUrl;
     }
 
@@ -82,14 +82,10 @@ public class UpdateMemberRequest {
         return status;
     }
 
-    public int getBorrowingLimit() {
+    public Integer getBorrowingLimit() {
         return borrowingLimit;
     }
 
-    public double getFineAmount() {
-        return fineAmount;
-    }
-
     public String getProfilePictureUrl() {
         return profilePictureUrl;
     }
@@ -131,14 +127,10 @@ public class UpdateMemberRequest {
         this.status = status;
     }
 
-    public void setBorrowingLimit(int borrowingLimit) {
+    public void setBorrowingLimit(Integer borrowingLimit) {
         this.borrowingLimit = borrowingLimit;
     }
 
-    public void setFineAmount(double fineAmount) {
-        this.fineAmount = fineAmount;
-    }
-
     public void setProfilePictureUrl(String profilePictureUrl) {
         this.profilePictureUrl = profilePictureUrl;
     }
@@ -4,12 +4,16 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document(collection = "members")
+// findByStatus and findByMembershipType each need their own prefix; either serves findByMembershipTypeAndStatus
+@CompoundIndex(name = "status_type", def = "{ 'status': 1, 'membershipType': 1 }")
+@CompoundIndex(name = "type_status", def = "{ 'membershipType': 1, 'status': 1 }")
 public class Member {
 
     @Id
@@ -18,12 +22,14 @@ public class Member {
     @Indexed(unique = true)
     private String memberId; // Generated unique member ID (e.g., MEM001)
 
+    @Indexed(partialFilter = "{ 'userId': { $type: 'string' } }")
     private String userId; // Link to User entity
 
     private String firstName;
 
     private String lastName;
 
+    @Indexed
     private String email;
 
     private String phoneNumber;
@@ -36,12 +42,18 @@ public class Member {
 
     private LocalDate joiningDate;
 
+    @Indexed
     private LocalDate expiryDate;
 
     private MemberStatus status = MemberStatus.ACTIVE;
 
     private int borrowingLimit = 3; // Default limit
 
+    // Open loans; only MemberLoanService changes it, with conditional $inc updates
+    private int activeLoans;
+
+    // Only members who owe something are ever looked up by fine
+    @Indexed(partialFilter = "{ 'fineAmount': { $gt: 0 } }")
     private double fineAmount = 0.0;
 
     private String profilePictureUrl;
@@ -130,6 +142,10 @@ public class Member {
         return borrowingLimit;
     }
 
+    public int getActiveLoans() {
+        return activeLoans;
+    }
+
     public double getFineAmount() {
         return fineAmount;
     }
@@ -203,6 +219,10 @@ public class Member {
         this.borrowingLimit = borrowingLimit;
     }
 
+    public void setActiveLoans(int activeLoans) {
+        this.activeLoans = activeLoans;
+    }
+
     public void setFineAmount(double fineAmount) {
         this.fineAmount = fineAmount;
     }
@@ -0,0 +1,82 @@
+package com.management.library.MemberManagement.Entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read model behind the member profile: one document per member, keyed by member ID, with the member's
+ * standing and their most recent loans, reservations, fine changes and status changes, newest first.
+ * Written only by {@code MemberActivityService} and {@code MemberActivityProjector}.
+ */
+@Data
+@Document("member_activity")
+// Deletes carry only the _id of the loan or reservation, so those are found through the entries
+@CompoundIndex(name = "loan_ids", def = "{ 'loans._id': 1 }")
+@CompoundIndex(name = "reservation_ids", def = "{ 'reservations._id': 1 }")
+public class MemberActivity {
+    @Id
+    private String memberId;
+    // Bumped by every projected change, so a rebuild can tell that it raced one
+    private long revision;
+    // _id of the member document, the only key a member delete carries
+    @Indexed
+    private String memberDocumentId;
+    private String status;
+    private double fineAmount;
+    private int activeLoans;
+    private int borrowingLimit;
+    // Cluster time of the last member change applied; older ones are ignored
+    private long memberClusterTime;
+    private List<LoanEntry> loans = new ArrayList<>();
+    private List<ReservationEntry> reservations = new ArrayList<>();
+    private List<FineChange> fineChanges = new ArrayList<>();
+    private List<StatusChange> statusChanges = new ArrayList<>();
+    private LocalDateTime rebuiltAt;
+
+    // The loan or reservation's own _id; Spring Data stores an embedded id property as _id as well
+    @Data
+    public static class LoanEntry {
+        private String id;
+        private String borrowingNumber;
+        private String bookId;
+        private LocalDate borrowDate;
+        private LocalDate dueDate;
+        private LocalDate returnDate;
+        private String status;
+        private int lateFee;
+        // Cluster time of the change this entry reflects; 0 when copied in by a rebuild
+        private long clusterTime;
+    }
+
+    @Data
+    public static class ReservationEntry {
+        private String id;
+        private String reservationNumber;
+        private String bookId;
+        private LocalDate reservationDate;
+        private String status;
+        private long clusterTime;
+    }
+
+    @Data
+    public static class FineChange {
+        private double previous;
+        private double amount;
+        private LocalDateTime at;
+    }
+
+    @Data
+    public static class StatusChange {
+        private String from;
+        private String to;
+        private LocalDateTime at;
+    }
+}
@@ -0,0 +1,214 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Entity.MemberActivity;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Keeps {@code member_activity} documents current from the borrowings, reservations and members change
+ * streams. Only documents that already exist are updated; {@link MemberActivityService} builds the rest
+ * on first read.
+ *
+ * <p>Every write is a single pipeline update that replaces the changed entry, or the member's summary,
+ * only when it carries a newer cluster time than the one already applied. Every instance projects every
+ * change, and a change can be delivered again after a resume, so applying one twice or late changes
+ * nothing. The time from commit to projection is recorded as {@value #LAG_METRIC}, per source collection.
+ */
+@Component
+public class MemberActivityProjector {
+
+    static final String LAG_METRIC = "library.member.activity.lag";
+
+    private final ChangeStreamSubscriber changeStreamSubscriber;
+    private final MemberActivityService activityService;
+    private final MongoTemplate mongoTemplate;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+
+    public MemberActivityProjector(ChangeStreamSubscriber changeStreamSubscriber, MemberActivityService activityService,
+                                   MongoTemplate mongoTemplate, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.changeStreamSubscriber = changeStreamSubscriber;
+        this.activityService = activityService;
+        this.mongoTemplate = mongoTemplate;
+        this.taskScheduler = taskScheduler;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!changeStreamSubscriber.isEnabled()) {
+            return;
+        }
+        taskScheduler.schedule(() -> {
+            watch(mongoTemplate.getCollectionName(Borrowing.class), change -> onEntryChange(change, "loans", MemberActivityService::loanEntry));
+            watch(mongoTemplate.getCollectionName(Reservation.class), change -> onEntryChange(change, "reservations", MemberActivityService::reservationEntry));
+            watch(mongoTemplate.getCollectionName(Member.class), this::onMemberChange);
+            // Changes made before the streams opened were not seen
+            activityService.markStale();
+        }, Instant.now());
+    }
+
+    private void watch(String collection, Consumer<ChangeStreamDocument<Document>> handler) {
+        Timer lag = Timer.builder(LAG_METRIC)
+                .description("Time from a change being committed to its projection into member_activity")
+                .tag("collection", collection)
+                .register(meterRegistry);
+        changeStreamSubscriber.subscribe(collection, false, change -> {
+            handler.accept(change);
+            lag.record(lag(change));
+        }, activityService::markStale);
+    }
+
+    void onEntryChange(ChangeStreamDocument<Document> change, String field, BiFunction<Document, Long, Document> toEntry) {
+        OperationType type = change.getOperationType();
+        if (type == OperationType.DELETE) {
+            Object id = documentId(change.getDocumentKey());
+            if (id != null) {
+                activity().updateMany(new Document(field + "._id", id), pull(field, id));
+            }
+            return;
+        }
+        Document source = change.getFullDocument();
+        if (source == null || !(source.get("memberId") instanceof String memberId)) {
+            // Already deleted again by the time it was looked up; its delete event follows
+            return;
+        }
+        long clusterTime = clusterTime(change);
+        activity().updateOne(new Document("_id", memberId),
+                List.of(upsertEntry(field, toEntry.apply(source, clusterTime), clusterTime, activityService.getMaxEntries())));
+        if (type == OperationType.REPLACE || type == OperationType.UPDATE && memberIdChanged(change)) {
+            // Moved to another member: drop it from the previous member's activity
+            activity().updateMany(new Document(field + "._id", source.get("_id")).append("_id", new Document("$ne", memberId)),
+                    pull(field, source.get("_id")));
+        }
+    }
+
+    void onMemberChange(ChangeStreamDocument<Document> change) {
+        OperationType type = change.getOperationType();
+        if (type == OperationType.DELETE) {
+            Object id = documentId(change.getDocumentKey());
+            if (id != null) {
+                activity().deleteMany(new Document("memberDocumentId", MemberActivityService.idString(id)));
+            }
+            return;
+        }
+        Document member = change.getFullDocument();
+        if (type == OperationType.INSERT || member == null || !(member.get("memberId") instanceof String memberId)) {
+            // A new member has no activity document until one is read
+            return;
+        }
+        long clusterTime = clusterTime(change);
+        activity().updateOne(
+                new Document("_id", memberId).append("memberClusterTime", new Document("$not", new Document("$gte", clusterTime))),
+                memberUpdate(MemberActivityService.summary(member), clusterTime, activityService.getMaxEntries()));
+    }
+
+    /**
+     * Puts the entry first in the list, in place of any older version of it, and trims the list. A list
+     * already holding this or a later version of the entry is left as it is.
+     */
+    static Document upsertEntry(String field, Document entry, long clusterTime, int maxEntries) {
+        String list = "$" + field;
+        Document others = new Document("$filter", new Document("input", new Document("$ifNull", List.of(list, List.of())))
+                .append("cond", new Document("$ne", List.of("$$this._id", entry.get("_id")))));
+        Document current = new Document("$arrayElemAt", List.of(new Document("$filter",
+                new Document("input", new Document("$ifNull", List.of(list, List.of())))
+                        .append("cond", new Document("$eq", List.of("$$this._id", entry.get("_id"))))), 0));
+        Document applied = new Document("$gte", List.of(new Document("$ifNull", List.of("$$current.clusterTime", -1L)), clusterTime));
+        Document updated = new Document("$slice", List.of(
+                new Document("$concatArrays", List.of(List.of(new Document("$literal", entry)), others)), maxEntries));
+        return new Document("$set", new Document(field, new Document("$let", new Document("vars", new Document("current", current))
+                .append("in", new Document("$cond", List.of(applied, list, updated)))))
+                .append("revision", new Document("$add", List.of(new Document("$ifNull", List.of("$revision", 0L)), 1L))));
+    }
+
+    /**
+     * Records a fine or status change against the member's previous values, then refreshes the summary.
+     * The filter has already excluded changes older than the last one applied.
+     */
+    static List<Document> memberUpdate(Document summary, long clusterTime, int maxEntries) {
+        String at = "$$NOW";
+        Document fineChange = new Document("$cond", List.of(
+                new Document("$ne", List.of("$fineAmount", new Document("$literal", summary.get("fineAmount")))),
+                prepend("$fineChanges", new Document("previous", "$fineAmount")
+                        .append("amount", new Document("$literal", summary.get("fineAmount")))
+                        .append("at", at), maxEntries),
+                new Document("$ifNull", List.of("$fineChanges", List.of()))));
+        Document statusChange = new Document("$cond", List.of(
+                new Document("$ne", List.of("$status", new Document("$literal", summary.get("status")))),
+                prepend("$statusChanges", new Document("from", "$status")
+                        .append("to", new Document("$literal", summary.get("status")))
+                        .append("at", at), maxEntries),
+                new Document("$ifNull", List.of("$statusChanges", List.of()))));
+        Document literalSummary = new Document();
+        summary.forEach((key, value) -> literalSummary.append(key, new Document("$literal", value)));
+        return List.of(
+                new Document("$set", new Document("fineChanges", fineChange).append("statusChanges", statusChange)),
+                new Document("$set", literalSummary
+                        .append("memberClusterTime", clusterTime)
+                        .append("revision", new Document("$add", List.of(new Document("$ifNull", List.of("$revision", 0L)), 1L)))));
+    }
+
+    private static Document prepend(String list, Document element, int maxEntries) {
+        return new Document("$slice", List.of(new Document("$concatArrays",
+                List.of(List.of(element), new Document("$ifNull", List.of(list, List.of())))), maxEntries));
+    }
+
+    private static Document pull(String field, Object id) {
+        return new Document("$pull", new Document(field, new Document("_id", id)))
+                .append("$inc", new Document("revision", 1L));
+    }
+
+    private static boolean memberIdChanged(ChangeStreamDocument<Document> change) {
+        return change.getUpdateDescription() == null || change.getUpdateDescription().getUpdatedFields() == null
+                || change.getUpdateDescription().getUpdatedFields().containsKey("memberId");
+    }
+
+    private static Object documentId(BsonDocument key) {
+        BsonValue id = key != null ? key.get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue() : id.isString() ? id.asString().getValue() : null;
+    }
+
+    // Orders changes: seconds in the high word, the increment within the second in the low word
+    private static long clusterTime(ChangeStreamDocument<Document> change) {
+        BsonTimestamp time = change.getClusterTime();
+        return time != null ? time.getValue() : 0L;
+    }
+
+    private static Duration lag(ChangeStreamDocument<Document> change) {
+        Instant committed = change.getWallTime() != null
+                ? Instant.ofEpochMilli(change.getWallTime().getValue())
+                : change.getClusterTime() != null ? Instant.ofEpochSecond(change.getClusterTime().getTime()) : Instant.now();
+        Duration lag = Duration.between(committed, Instant.now());
+        return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    private MongoCollection<Document> activity() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(MemberActivity.class));
+    }
+}
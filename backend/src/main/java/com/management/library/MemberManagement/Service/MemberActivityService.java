@@ -0,0 +1,167 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Entity.MemberActivity;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves the {@code member_activity} read model. A member's document is built from the source collections
+ * the first time it is asked for, and from then on kept current by {@link MemberActivityProjector}. When
+ * the projector may have missed changes (startup, a broken change stream) documents built before that
+ * point are rebuilt on their next read. Fine and status changes cannot be recovered from the sources, so
+ * a rebuild keeps the ones already recorded.
+ */
+@Service
+public class MemberActivityService {
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean projected;
+    private final int maxEntries;
+    private volatile LocalDateTime staleBefore = now();
+
+    public MemberActivityService(MongoTemplate mongoTemplate, ChangeStreamSubscriber changeStreamSubscriber,
+                                 @Value("${app.member-activity.max-entries:50}") int maxEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.projected = changeStreamSubscriber.isEnabled();
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    // Documents built before now may lack changes the projector did not see
+    public void markStale() {
+        staleBefore = now();
+    }
+
+    // Empty when there is no such member
+    public Optional<MemberActivity> getActivity(String memberId) {
+        MemberActivity activity = mongoTemplate.findById(memberId, MemberActivity.class);
+        if (activity != null && projected && activity.getRebuiltAt() != null && activity.getRebuiltAt().isAfter(staleBefore)) {
+            return Optional.of(activity);
+        }
+        return rebuild(memberId, activity);
+    }
+
+    private Optional<MemberActivity> rebuild(String memberId, MemberActivity previous) {
+        Document member = mongoTemplate.findOne(new Query(Criteria.where("memberId").is(memberId)), Document.class,
+                mongoTemplate.getCollectionName(Member.class));
+        if (member == null) {
+            if (previous != null) {
+                mongoTemplate.remove(previous);
+            }
+            return Optional.empty();
+        }
+        Document activity = summary(member)
+                .append("_id", memberId)
+                .append("memberDocumentId", idString(member.get("_id")))
+                .append("memberClusterTime", 0L)
+                .append("loans", recent(Borrowing.class, memberId).stream().map(loan -> loanEntry(loan, 0)).toList())
+                .append("reservations", recent(Reservation.class, memberId).stream().map(hold -> reservationEntry(hold, 0)).toList())
+                .append("fineChanges", previous != null ? history(previous.getFineChanges()) : List.of())
+                .append("statusChanges", previous != null ? history(previous.getStatusChanges()) : List.of())
+                .append("rebuiltAt", toDate(now()));
+        if (!projected) {
+            // Nothing would keep a stored copy current
+            return Optional.of(mongoTemplate.getConverter().read(MemberActivity.class, activity));
+        }
+        String collection = mongoTemplate.getCollectionName(MemberActivity.class);
+        try {
+            if (previous == null) {
+                mongoTemplate.getCollection(collection).insertOne(activity.append("revision", 0L));
+            } else {
+                // Only over the document this rebuild started from; a change projected meanwhile wins
+                mongoTemplate.getCollection(collection).replaceOne(
+                        new Document("_id", memberId).append("revision", previous.getRevision()),
+                        activity.append("revision", previous.getRevision()));
+            }
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            // Another reader built it first
+        }
+        return Optional.ofNullable(mongoTemplate.findById(memberId, MemberActivity.class));
+    }
+
+    private List<Document> recent(Class<?> entity, String memberId) {
+        Query query = new Query(Criteria.where("memberId").is(memberId)).with(Sort.by(Sort.Direction.DESC, "_id")).limit(maxEntries);
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(entity));
+    }
+
+    private List<Object> history(List<?> changes) {
+        List<Object> documents = new ArrayList<>();
+        for (Object change : changes) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(change, document);
+            document.remove("_class");
+            documents.add(document);
+        }
+        return documents;
+    }
+
+    // The member fields the profile shows, from a raw member document
+    static Document summary(Document member) {
+        return new Document("status", member.get("status"))
+                .append("fineAmount", member.get("fineAmount") != null ? member.get("fineAmount") : 0.0)
+                .append("activeLoans", member.get("activeLoans") != null ? member.get("activeLoans") : 0)
+                .append("borrowingLimit", member.get("borrowingLimit"));
+    }
+
+    // Raw borrowing to loan entry, in stored field names
+    static Document loanEntry(Document loan, long clusterTime) {
+        return new Document("_id", loan.get("_id"))
+                .append("borrowingNumber", loan.get("borrowingNumber"))
+                .append("bookId", loan.get("bookId"))
+                .append("borrowDate", loan.get("borrowDate"))
+                .append("dueDate", loan.get("dueDate"))
+                .append("returnDate", loan.get("returnDate"))
+                .append("status", loan.get("status"))
+                .append("lateFee", loan.get("lateFee") != null ? loan.get("lateFee") : 0)
+                .append("clusterTime", clusterTime);
+    }
+
+    static Document reservationEntry(Document reservation, long clusterTime) {
+        return new Document("_id", reservation.get("_id"))
+                .append("reservationNumber", reservation.get("reservationNumber"))
+                .append("bookId", reservation.get("bookId"))
+                .append("reservationDate", reservation.get("reservationDate"))
+                .append("status", reservation.get("status"))
+                .append("clusterTime", clusterTime);
+    }
+
+    static String idString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+
+    // Millisecond precision, as stored
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    // The converter stores LocalDateTime in the system zone; raw values must match
+    static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
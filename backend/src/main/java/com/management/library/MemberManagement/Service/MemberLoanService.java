@@ -0,0 +1,127 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.Common.cache.CacheNames;
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.Common.transaction.TransactionRunner;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.UserManagement.Exception.BorrowingLimitExceededException;
+import com.management.library.UserManagement.Exception.ResourceNotFoundException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The member side of a loan: {@code activeLoans} counts a member's open loans against their
+ * {@code borrowingLimit}.
+ *
+ * <p>Like the book's shelf count, the counter only moves through single conditional updates, so the
+ * server decides whether the member is under the limit and two concurrent checkouts cannot both take
+ * the last slot. Called inside the borrowing's {@link TransactionRunner} transaction, a checkout that
+ * later fails on the book side gives the slot back when the transaction aborts.
+ */
+@Service
+public class MemberLoanService {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberLoanService.class);
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final BackgroundJobs backgroundJobs;
+
+    public MemberLoanService(MongoTemplate mongoTemplate, EntityCacheEvictor entityCacheEvictor, BackgroundJobs backgroundJobs) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.backgroundJobs = backgroundJobs;
+    }
+
+    // Count one more open loan, or fail when the member is unknown or already at their limit
+    public void checkOut(String memberId) {
+        // Members from before the counter existed have no field until the backfill reaches them
+        Document underLimit = new Document("$lt", List.of(new Document("$ifNull", List.of("$activeLoans", 0)), "$borrowingLimit"));
+        Member member = mongoTemplate.findAndModify(
+                byMemberId(memberId).addCriteria(Criteria.where("$expr").is(underLimit)),
+                new Update().inc("activeLoans", 1),
+                Member.class);
+        if (member == null) {
+            Member existing = mongoTemplate.findOne(byMemberId(memberId), Member.class);
+            if (existing == null) {
+                throw new ResourceNotFoundException("Member not found with member ID: " + memberId);
+            }
+            throw new BorrowingLimitExceededException("Member " + memberId + " already has "
+                    + existing.getActiveLoans() + " of " + existing.getBorrowingLimit() + " loans open");
+        }
+        evictAfterCommit(member);
+    }
+
+    // Count one loan fewer; false when the member is gone or has no open loan counted
+    public boolean checkIn(String memberId) {
+        Member member = mongoTemplate.findAndModify(
+                byMemberId(memberId).addCriteria(Criteria.where("activeLoans").gt(0)),
+                new Update().inc("activeLoans", -1),
+                Member.class);
+        if (member == null) {
+            log.warn("Return by member {} not counted: member missing or no loans open", memberId);
+            return false;
+        }
+        evictAfterCommit(member);
+        return true;
+    }
+
+    // Backfill in the background once the cluster is reachable
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        backgroundJobs.runUntilDone("active loan backfill", this::backfillActiveLoans, RETRY_DELAY);
+    }
+
+    /**
+     * Gives members written before the counter an {@code activeLoans} equal to their open loans, in one
+     * server-side pass. Only members still missing the field are touched, and the merge keeps a value a
+     * checkout wrote in the meantime, so this is safe to repeat and to run on several instances.
+     */
+    public void backfillActiveLoans() {
+        String members = mongoTemplate.getCollectionName(Member.class);
+        Document openLoans = new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(Borrowing.class))
+                .append("localField", "memberId")
+                .append("foreignField", "memberId")
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("status", "ACTIVE")),
+                        new Document("$count", "count")))
+                .append("as", "loans"));
+        mongoTemplate.getCollection(members).aggregate(List.of(
+                new Document("$match", new Document("activeLoans", new Document("$exists", false))),
+                openLoans,
+                new Document("$project", new Document("activeLoans",
+                        new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of("$loans.count", 0)), 0)))),
+                new Document("$merge", new Document("into", members)
+                        .append("on", "_id")
+                        .append("whenMatched", List.of(new Document("$set", new Document("activeLoans",
+                                new Document("$ifNull", List.of("$activeLoans", "$$new.activeLoans"))))))
+                        .append("whenNotMatched", "discard"))))
+                .toCollection();
+        // The merge does not say which members changed
+        entityCacheEvictor.clear(CacheNames.MEMBERS_BY_MEMBER_ID, CacheNames.MEMBERS_BY_USER_ID);
+        log.info("Backfilled active loan counts for members without one");
+    }
+
+
+    private void evictAfterCommit(Member member) {
+        TransactionRunner.afterCommit(() -> entityCacheEvictor.evictMember(member.getMemberId(), member.getUserId()));
+    }
+
+    private static Query byMemberId(String memberId) {
+        return new Query(Criteria.where("memberId").is(memberId));
+    }
+}
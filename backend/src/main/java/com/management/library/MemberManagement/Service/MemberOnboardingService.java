@@ -0,0 +1,176 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.MemberManagement.Dto.BulkOnboardingResponse;
+import com.management.library.MemberManagement.Dto.BulkOnboardingResponse.RowResult;
+import com.management.library.MemberManagement.Dto.BulkOnboardingResponse.RowStatus;
+import com.management.library.MemberManagement.Dto.CreateMemberRequest;
+import com.management.library.MemberManagement.Dto.MemberResponse;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.UserManagement.Service.EmailService;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates members in bulk, e.g. a whole student intake, a chunk at a time: one {@code $in} query finds
+ * the emails already registered, one sequence round-trip reserves the member IDs and one unordered
+ * bulk insert writes the chunk, instead of three round-trips per member. Welcome emails for a chunk
+ * are queued in the outbox with one insert and sent by the mail workers afterwards.
+ */
+@Service
+public class MemberOnboardingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberOnboardingService.class);
+
+    private final MemberService memberService;
+    private final MongoTemplate mongoTemplate;
+    private final EmailService emailService;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public MemberOnboardingService(MemberService memberService, MongoTemplate mongoTemplate, EmailService emailService,
+                                   Validator validator, @Value("${app.members.onboarding.chunk-size:1000}") int chunkSize) {
+        this.memberService = memberService;
+        this.mongoTemplate = mongoTemplate;
+        this.emailService = emailService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkOnboardingResponse onboard(List<CreateMemberRequest> requests, boolean sendWelcomeEmails) {
+        log.info("Onboarding {} members", requests.size());
+        long startedAt = System.nanoTime();
+
+        RowResult[] results = new RowResult[requests.size()];
+        Set<String> emailsInBatch = new HashSet<>();
+        int emailsQueued = 0;
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            emailsQueued += onboardChunk(requests, from, to, results, emailsInBatch, sendWelcomeEmails);
+        }
+
+        BulkOnboardingResponse response = new BulkOnboardingResponse(Arrays.asList(results), emailsQueued,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Onboarded {} of {} members ({} duplicates, {} invalid, {} failed) in {} ms",
+                response.getCreated(), response.getTotal(), response.getDuplicates(), response.getInvalid(),
+                response.getFailed(), response.getElapsedMillis());
+        return response;
+    }
+
+    // Returns the number of welcome emails queued for the chunk
+    private int onboardChunk(List<CreateMemberRequest> requests, int from, int to, RowResult[] results,
+                             Set<String> emailsInBatch, boolean sendWelcomeEmails) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            CreateMemberRequest request = requests.get(i);
+            String problems = problems(request);
+            if (problems != null) {
+                results[i] = new RowResult(i, request != null ? request.getEmail() : null, RowStatus.INVALID, null, problems);
+            } else if (!emailsInBatch.add(request.getEmail())) {
+                results[i] = new RowResult(i, request.getEmail(), RowStatus.DUPLICATE, null,
+                        "Email appears earlier in this batch");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> registered = registeredEmails(candidates.stream()
+                .map(i -> requests.get(i).getEmail())
+                .collect(Collectors.toList()));
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            String email = requests.get(i).getEmail();
+            if (registered.contains(email)) {
+                results[i] = new RowResult(i, email, RowStatus.DUPLICATE, null, "Member with email already exists: " + email);
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        long firstNumber = memberService.reserveMemberNumbers(accepted.size());
+        List<Member> members = new ArrayList<>(accepted.size());
+        for (int k = 0; k < accepted.size(); k++) {
+            members.add(memberService.buildMember(requests.get(accepted.get(k)), MemberService.formatMemberId(firstNumber + k)));
+        }
+
+        // Unordered, so one rejected document does not hold back the rest of the chunk
+        Map<Integer, String> writeErrors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Member.class).insert(members).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                writeErrors.put(error.getIndex(), error.getMessage());
+            }
+        }
+
+        List<MemberResponse> created = new ArrayList<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            Member member = members.get(k);
+            String error = writeErrors.get(k);
+            if (error != null) {
+                results[i] = new RowResult(i, member.getEmail(), RowStatus.FAILED, null, error);
+            } else {
+                results[i] = new RowResult(i, member.getEmail(), RowStatus.CREATED, member.getMemberId(), null);
+                created.add(MemberResponse.fromEntity(member));
+            }
+        }
+        return sendWelcomeEmails ? queueWelcomeEmails(created) : 0;
+    }
+
+    private String problems(CreateMemberRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<CreateMemberRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private Set<String> registeredEmails(List<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("email").in(emails));
+        query.fields().include("email");
+        return mongoTemplate.find(query, Member.class).stream()
+                .map(Member::getEmail)
+                .collect(Collectors.toSet());
+    }
+
+    // The members exist either way; a failed enqueue only loses their welcome emails
+    private int queueWelcomeEmails(List<MemberResponse> created) {
+        if (created.isEmpty()) {
+            return 0;
+        }
+        try {
+            return emailService.queueMemberWelcomeEmails(created);
+        } catch (Exception e) {
+            log.warn("Could not queue {} welcome emails: {}", created.size(), e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -3,9 +3,20 @@ package com.management.library.MemberManagement.Service;
 import com.management.library.MemberManagement.Dto.*;
 import com.management.library.MemberManagement.Entity.Member;
 import com.management.library.MemberManagement.Repository.MemberRepository;
+import com.management.library.Common.cache.CacheNames;
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.sequence.SequenceGenerator;
 import com.management.library.UserManagement.Exception.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -13,16 +24,28 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MemberService {
 
     private static final Logger log = LoggerFactory.getLogger(MemberService.class);
+    private static final String MEMBER_ID_PREFIX = "LIB2025";
     private final MemberRepository memberRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final SequenceGenerator sequenceGenerator;
+    private final MongoTemplate mongoTemplate;
 
     // Constructor
-    public MemberService(MemberRepository memberRepository) {
+    public MemberService(MemberRepository memberRepository, KeysetPaginator keysetPaginator,
+                         EntityCacheEvictor entityCacheEvictor, SequenceGenerator sequenceGenerator,
+                         MongoTemplate mongoTemplate) {
         this.memberRepository = memberRepository;
+        this.keysetPaginator = keysetPaginator;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.sequenceGenerator = sequenceGenerator;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public MemberResponse createMember(CreateMemberRequest request) {
@@ -36,24 +59,7 @@ public class MemberService {
         // Generate unique member ID
         String memberId = generateMemberId();
 
-        Member member = new Member();
-        member.setMemberId(memberId);
-        member.setUserId(request.getUserId());
-        member.setFirstName(request.getFirstName());
-        member.setLastName(request.getLastName());
-        member.setEmail(request.getEmail());
-        member.setPhoneNumber(request.getPhoneNumber());
-        member.setAddress(request.getAddress());
-        member.setEmergencyContact(request.getEmergencyContact());
-        member.setMembershipType(request.getMembershipType());
-        member.setJoiningDate(request.getJoiningDate() != null ? request.getJoiningDate() : LocalDate.now());
-        member.setExpiryDate(request.getExpiryDate() != null ? request.getExpiryDate() : calculateExpiryDate(member.getJoiningDate()));
-        member.setStatus(request.getStatus());
-        member.setBorrowingLimit(calculateBorrowingLimit(request.getMembershipType()));
-        member.setFineAmount(0.0);
-        member.setProfilePictureUrl(request.getProfilePictureUrl());
-        member.setCreatedAt(LocalDateTime.now());
-        member.setUpdatedAt(LocalDateTime.now());
+        Member member = buildMember(request, memberId);
 
         Member savedMember = memberRepository.save(member);
         log.info("Member created successfully with ID: {}", savedMember.getMemberId());
@@ -94,6 +100,7 @@ public class MemberService {
         return MemberResponse.fromEntity(member);
     }
 
+    @Cacheable(cacheNames = CacheNames.MEMBERS_BY_MEMBER_ID, key = "#memberId")
     public MemberResponse getMemberByMemberId(String memberId) {
         log.info("Fetching member with member ID: {}", memberId);
 
@@ -113,6 +120,7 @@ public class MemberService {
         return MemberResponse.fromEntity(member);
     }
 
+    @Cacheable(cacheNames = CacheNames.MEMBERS_BY_USER_ID, key = "#userId")
     public MemberResponse getMemberByUserId(String userId) {
         log.info("Fetching member for user ID: {}", userId);
 
@@ -131,6 +139,19 @@ public class MemberService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<MemberResponse> getMembersPage(String cursor, Integer limit) {
+        log.info("Fetching members page after cursor: {}", cursor);
+
+        return keysetPaginator.page(Member.class, null, cursor, limit, Member::getId, MemberResponse::fromEntity);
+    }
+
+    // The returned stream holds an open Mongo cursor and must be closed by the caller
+    public Stream<MemberResponse> streamAllMembers() {
+        log.info("Streaming all members");
+
+        return keysetPaginator.stream(Member.class, null).map(MemberResponse::fromEntity);
+    }
+
     public List<MemberResponse> getMembersByMembershipType(Member.MembershipType membershipType) {
         log.info("Fetching members with membership type: {}", membershipType);
 
@@ -165,50 +186,47 @@ public class MemberService {
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with ID: " + id));
 
         // Update fields if provided
+        Update update = new Update();
         if (request.getFirstName() != null) {
-            member.setFirstName(request.getFirstName());
+            update.set("firstName", request.getFirstName());
         }
         if (request.getLastName() != null) {
-            member.setLastName(request.getLastName());
+            update.set("lastName", request.getLastName());
         }
         if (request.getEmail() != null && !request.getEmail().equals(member.getEmail())) {
             if (memberRepository.existsByEmail(request.getEmail())) {
                 throw new DuplicateResourceException("Email already exists: " + request.getEmail());
             }
-            member.setEmail(request.getEmail());
+            update.set("email", request.getEmail());
         }
         if (request.getPhoneNumber() != null) {
-            member.setPhoneNumber(request.getPhoneNumber());
+            update.set("phoneNumber", request.getPhoneNumber());
         }
         if (request.getAddress() != null) {
-            member.setAddress(request.getAddress());
+            update.set("address", request.getAddress());
         }
         if (request.getEmergencyContact() != null) {
-            member.setEmergencyContact(request.getEmergencyContact());
+            update.set("emergencyContact", request.getEmergencyContact());
         }
         if (request.getMembershipType() != null) {
-            member.setMembershipType(request.getMembershipType());
-            member.setBorrowingLimit(calculateBorrowingLimit(request.getMembershipType()));
+            update.set("membershipType", request.getMembershipType());
+            update.set("borrowingLimit", calculateBorrowingLimit(request.getMembershipType()));
         }
         if (request.getExpiryDate() != null) {
-            member.setExpiryDate(request.getExpiryDate());
+            update.set("expiryDate", request.getExpiryDate());
         }
         if (request.getStatus() != null) {
-            member.setStatus(request.getStatus());
+            update.set("status", request.getStatus());
         }
-        if (request.getBorrowingLimit() > 0) {
-            member.setBorrowingLimit(request.getBorrowingLimit());
-        }
-        if (request.getFineAmount() >= 0) {
-            member.setFineAmount(request.getFineAmount());
+        if (request.getBorrowingLimit() != null && request.getBorrowingLimit() > 0) {
+            update.set("borrowingLimit", request.getBorrowingLimit());
         }
         if (request.getProfilePictureUrl() != null) {
-            member.setProfilePictureUrl(request.getProfilePictureUrl());
+            update.set("profilePictureUrl", request.getProfilePictureUrl());
         }
 
-        member.setUpdatedAt(LocalDateTime.now());
-
-        Member updatedMember = memberRepository.save(member);
+        Member updatedMember = applyUpdate(id, update);
+        entityCacheEvictor.evictMember(updatedMember.getMemberId(), updatedMember.getUserId());
         log.info("Member updated successfully with ID: {}", updatedMember.getMemberId());
 
         return MemberResponse.fromEntity(updatedMember);
@@ -221,39 +239,81 @@ public class MemberService {
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with ID: " + id));
 
         memberRepository.delete(member);
+        entityCacheEvictor.evictMember(member.getMemberId(), member.getUserId());
         log.info("Member deleted successfully with ID: {}", member.getMemberId());
     }
 
     public void suspendMember(String id) {
         log.info("Suspending member with ID: {}", id);
 
-        Member member = memberRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Member not found with ID: " + id));
-
-        member.setStatus(Member.MemberStatus.SUSPENDED);
-        member.setUpdatedAt(LocalDateTime.now());
-
-        memberRepository.save(member);
+        Member member = applyUpdate(id, new Update().set("status", Member.MemberStatus.SUSPENDED));
+        entityCacheEvictor.evictMember(member.getMemberId(), member.getUserId());
         log.info("Member suspended successfully with ID: {}", member.getMemberId());
     }
 
     public void activateMember(String id) {
         log.info("Activating member with ID: {}", id);
 
-        Member member = memberRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Member not found with ID: " + id));
-
-        member.setStatus(Member.MemberStatus.ACTIVE);
-        member.setUpdatedAt(LocalDateTime.now());
-
-        memberRepository.save(member);
+        Member member = applyUpdate(id, new Update().set("status", Member.MemberStatus.ACTIVE));
+        entityCacheEvictor.evictMember(member.getMemberId(), member.getUserId());
         log.info("Member activated successfully with ID: {}", member.getMemberId());
     }
 
     // Utility methods
+
+    /**
+     * Sets only the fields being changed, plus updatedAt, and returns the member as written. Writing back
+     * the whole member read earlier would put back the loan count and fines it held then, losing any
+     * checkout, return or fine rollup made in between.
+     */
+    private Member applyUpdate(String id, Update update) {
+        Member member = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(id)),
+                update.set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), Member.class);
+        if (member == null) {
+            throw new ResourceNotFoundException("Member not found with ID: " + id);
+        }
+        return member;
+    }
+
+    // Drawn from a persistent sequence; the first use continues after the highest ID already issued
     private String generateMemberId() {
-        long count = memberRepository.count();
-        return String.format("LIB2025%03d", count + 1);
+        return formatMemberId(sequenceGenerator.next(MEMBER_ID_PREFIX, this::highestIssuedMemberNumber));
+    }
+
+    // First of count consecutive member numbers, reserved together for a batch
+    long reserveMemberNumbers(int count) {
+        return sequenceGenerator.reserve(MEMBER_ID_PREFIX, count, this::highestIssuedMemberNumber);
+    }
+
+    static String formatMemberId(long number) {
+        return String.format(MEMBER_ID_PREFIX + "%03d", number);
+    }
+
+    private long highestIssuedMemberNumber() {
+        return sequenceGenerator.highestIssued(Member.class, "memberId", MEMBER_ID_PREFIX);
+    }
+
+    Member buildMember(CreateMemberRequest request, String memberId) {
+        Member member = new Member();
+        member.setMemberId(memberId);
+        member.setUserId(request.getUserId());
+        member.setFirstName(request.getFirstName());
+        member.setLastName(request.getLastName());
+        member.setEmail(request.getEmail());
+        member.setPhoneNumber(request.getPhoneNumber());
+        member.setAddress(request.getAddress());
+        member.setEmergencyContact(request.getEmergencyContact());
+        member.setMembershipType(request.getMembershipType());
+        member.setJoiningDate(request.getJoiningDate() != null ? request.getJoiningDate() : LocalDate.now());
+        member.setExpiryDate(request.getExpiryDate() != null ? request.getExpiryDate() : calculateExpiryDate(member.getJoiningDate()));
+        member.setStatus(request.getStatus());
+        member.setBorrowingLimit(calculateBorrowingLimit(request.getMembershipType()));
+        member.setFineAmount(0.0);
+        member.setProfilePictureUrl(request.getProfilePictureUrl());
+        member.setCreatedAt(LocalDateTime.now());
+        member.setUpdatedAt(LocalDateTime.now());
+        return member;
     }
 
     private LocalDate calculateExpiryDate(LocalDate joiningDate) {
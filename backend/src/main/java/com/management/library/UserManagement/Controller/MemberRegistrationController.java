@@ -3,8 +3,11 @@ package com.management.library.UserManagement.Controller;
 import com.management.library.UserManagement.Dto.ApiResponse;
 import com.management.library.MemberManagement.Entity.Member;
 import com.management.library.MemberManagement.Dto.MemberResponse;
+import com.management.library.UserManagement.Dto.UserResponse;
 import com.management.library.UserManagement.Entity.User;
+import com.management.library.UserManagement.Exception.ResourceNotFoundException;
 import com.management.library.UserManagement.Service.EmailService;
+import com.management.library.UserManagement.Service.UserService;
 import com.management.library.MemberManagement.Service.MemberService;
 import com.management.library.UserManagement.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +30,9 @@ public class MemberRegistrationController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserService userService;
+
     @Autowired
     private EmailService emailService;
 
@@ -121,15 +127,15 @@ public class MemberRegistrationController {
                     .body(ApiResponse.error("Invalid member ID"));
             }
 
-            // Get user details using userId from member
-            Optional<User> userOptional = userRepository.findById(memberResponse.getUserId());
-            if (!userOptional.isPresent()) {
+            // Get user details using userId from member (both lookups are served from cache when warm)
+            UserResponse user;
+            try {
+                user = userService.getUserById(memberResponse.getUserId());
+            } catch (ResourceNotFoundException e) {
                 return ResponseEntity.badRequest()
                     .body(ApiResponse.error("User account not found"));
             }
 
-            User user = userOptional.get();
-
             // Check if member is active
             if (memberResponse.getStatus() != Member.MemberStatus.ACTIVE) {
                 return ResponseEntity.badRequest()
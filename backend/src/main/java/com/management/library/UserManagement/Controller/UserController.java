@@ -1,14 +1,19 @@
 package com.management.library.UserManagement.Controller;
 
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.NdjsonStreamer;
 import com.management.library.UserManagement.Dto.*;
 import com.management.library.UserManagement.Entity.User;
+import com.management.library.UserManagement.Service.LoginRateLimiter;
 import com.management.library.UserManagement.Service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
@@ -21,10 +26,14 @@ public class UserController {
 
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final LoginRateLimiter loginRateLimiter;
 
     // Manual constructor (replaces @RequiredArgsConstructor)
-    public UserController(UserService userService) {
+    public UserController(UserService userService, NdjsonStreamer ndjsonStreamer, LoginRateLimiter loginRateLimiter) {
         this.userService = userService;
+        this.ndjsonStreamer = ndjsonStreamer;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @PostMapping
@@ -42,10 +51,11 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<UserResponse>> loginUser(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<UserResponse>> loginUser(@Valid @RequestBody LoginRequest request,
+                                                               HttpServletRequest httpRequest) {
         log.info("POST /api/users/login - Login attempt for username: {}", request.getUsername());
 
-        UserResponse userResponse = userService.loginUser(request);
+        UserResponse userResponse = userService.loginUser(request, loginRateLimiter.clientAddress(httpRequest));
         ApiResponse<UserResponse> response = new ApiResponse<>(
                 true,
                 "Login successful",
@@ -112,6 +122,29 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/users/page?cursor={} - Fetching users page", cursor);
+
+        CursorPage<UserResponse> page = userService.getUsersPage(cursor, limit);
+        ApiResponse<CursorPage<UserResponse>> response = new ApiResponse<>(
+                true,
+                "Users retrieved successfully",
+                page
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.info("GET /api/users/stream - Streaming all users");
+
+        return ndjsonStreamer.stream(userService::streamAllUsers);
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getUsersByStatus(@PathVariable User.UserStatus status) {
         log.info("GET /api/users/status/{} - Fetching users by status", status);
@@ -243,7 +276,7 @@ public class UserController {
         log.info("GET /api/users/stats - Fetching user statistics");
 
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", userService.getAllUsers().size());
+        stats.put("totalUsers", userService.getTotalUsersCount());
         stats.put("activeUsers", userService.getUserCountByStatus(User.UserStatus.ACTIVATED));
         stats.put("deactivatedUsers", userService.getUserCountByStatus(User.UserStatus.DEACTIVATED));
 
@@ -31,9 +31,11 @@ public class User {
 
     private String address;
 
+    @Indexed
     private UserStatus status = UserStatus.ACTIVATED;
 
     // Password reset fields
+    @Indexed(partialFilter = "{ 'resetToken': { $type: 'string' } }")
     private String resetToken;
     private LocalDateTime resetTokenExpiry;
 
@@ -3,6 +3,7 @@ package com.management.library.UserManagement.Exception;
 import com.management.library.UserManagement.Dto.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -38,6 +39,54 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(NoCopiesAvailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleNoCopiesAvailableException(
+            NoCopiesAvailableException ex, WebRequest request) {
+        log.error("No copies available: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BorrowingLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleBorrowingLimitExceededException(
+            BorrowingLimitExceededException ex, WebRequest request) {
+        log.error("Borrowing limit reached: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    // Failed and throttled sign-ins are routine under a credential-stuffing burst: logged briefly, without a trace
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidCredentialsException(
+            InvalidCredentialsException ex, WebRequest request) {
+        log.debug("Invalid credentials: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(AccountDeactivatedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleAccountDeactivatedException(
+            AccountDeactivatedException ex, WebRequest request) {
+        log.warn("Account deactivated: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiResponse<Object>> handleLoginThrottledException(
+            LoginThrottledException ex, WebRequest request) {
+        log.debug("Login throttled: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler(InvalidPasswordException.class)
     public ResponseEntity<ApiResponse<Object>> handleInvalidPasswordException(
             InvalidPasswordException ex, WebRequest request) {
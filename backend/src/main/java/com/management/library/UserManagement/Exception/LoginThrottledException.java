@@ -0,0 +1,15 @@
+package com.management.library.UserManagement.Exception;
+
+// Sign-in refused before the password was checked; the client may retry after the given delay
+public class LoginThrottledException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
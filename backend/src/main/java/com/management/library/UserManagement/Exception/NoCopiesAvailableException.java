@@ -0,0 +1,7 @@
+package com.management.library.UserManagement.Exception;
+
+public class NoCopiesAvailableException extends RuntimeException {
+    public NoCopiesAvailableException(String message) {
+        super(message);
+    }
+}
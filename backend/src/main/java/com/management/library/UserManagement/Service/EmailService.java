@@ -1,60 +1,46 @@
 package com.management.library.UserManagement.Service;
 
+import com.management.library.Common.mail.MailOutbox;
+import com.management.library.Common.mail.OutboundMail;
+import com.management.library.MemberManagement.Dto.MemberResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import java.util.List;
+import java.util.stream.Collectors;
 
+// Messages are queued in the outbox and sent in the background; callers never wait on SMTP
 @Service
 public class EmailService {
 
-    @Autowired
-    private JavaMailSender mailSender;
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+    private static final String WELCOME_SUBJECT = "Welcome to NexaLibrary University Library - Your Membership Details";
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Autowired
+    private MailOutbox mailOutbox;
 
     public void sendMemberWelcomeEmail(String toEmail, String memberName, String memberId, String membershipType) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject("Welcome to NexaLibrary University Library - Your Membership Details");
-
-            String htmlContent = createMemberWelcomeEmailTemplate(memberName, memberId, membershipType);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            System.out.println("Member welcome email sent successfully to: " + toEmail);
+        String htmlContent = createMemberWelcomeEmailTemplate(memberName, memberId, membershipType);
+        mailOutbox.enqueue(toEmail, WELCOME_SUBJECT, htmlContent, true);
+        log.info("Member welcome email queued for: {}", toEmail);
+    }
 
-        } catch (MessagingException e) {
-            System.err.println("Failed to send member welcome email: " + e.getMessage());
-            throw new RuntimeException("Failed to send welcome email", e);
-        }
+    // Queues one welcome message per member with a single outbox insert; the workers send them later
+    public int queueMemberWelcomeEmails(List<MemberResponse> members) {
+        List<OutboundMail> mails = members.stream()
+                .map(member -> new OutboundMail(member.getEmail(), WELCOME_SUBJECT,
+                        createMemberWelcomeEmailTemplate(member.getFirstName(), member.getMemberId(),
+                                member.getMembershipType().toString()), true, null))
+                .collect(Collectors.toList());
+        mailOutbox.enqueueAll(mails);
+        return mails.size();
     }
 
     public void sendSimpleEmail(String toEmail, String subject, String body) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(subject);
-            message.setText(body);
-
-            mailSender.send(message);
-            System.out.println("Simple email sent successfully to: " + toEmail);
-
-        } catch (Exception e) {
-            System.err.println("Failed to send simple email: " + e.getMessage());
-            throw new RuntimeException("Failed to send email", e);
-        }
+        mailOutbox.enqueue(toEmail, subject, body, false);
+        log.info("Simple email queued for: {}", toEmail);
     }
 
     private String createMemberWelcomeEmailTemplate(String memberName, String memberId, String membershipType) {
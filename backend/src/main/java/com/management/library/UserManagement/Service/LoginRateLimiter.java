@@ -0,0 +1,140 @@
+package com.management.library.UserManagement.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.library.UserManagement.Exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets on sign-in attempts, one per username and one per client address. Every attempt takes a
+ * token from both before anything is looked up or hashed; an empty bucket refuses the attempt at once.
+ * Buckets refill continuously and are forgotten once idle, so memory stays bounded however many
+ * usernames or addresses an attacker cycles through (up to {@code app.login.rate-limit.max-tracked}
+ * of each; past that the least recently used are dropped, and start again full).
+ */
+@Component
+public class LoginRateLimiter {
+
+    static final String REJECTED_METRIC = "library.login.rejected";
+
+    private final Cache<String, TokenBucket> byUsername;
+    private final Cache<String, TokenBucket> byAddress;
+    private final int usernameCapacity;
+    private final double usernamePerSecond;
+    private final int addressCapacity;
+    private final double addressPerSecond;
+    private final boolean trustForwardedFor;
+    private final LongSupplier nanoClock;
+    private final Counter usernameRejections;
+    private final Counter addressRejections;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${app.login.rate-limit.username-capacity:5}") int usernameCapacity,
+                            @Value("${app.login.rate-limit.username-per-minute:5}") int usernamePerMinute,
+                            @Value("${app.login.rate-limit.address-capacity:30}") int addressCapacity,
+                            @Value("${app.login.rate-limit.address-per-minute:60}") int addressPerMinute,
+                            @Value("${app.login.rate-limit.max-tracked:100000}") long maxTracked,
+                            @Value("${app.login.trust-forwarded-for:false}") boolean trustForwardedFor,
+                            MeterRegistry meterRegistry) {
+        this(usernameCapacity, usernamePerMinute, addressCapacity, addressPerMinute, maxTracked, trustForwardedFor,
+                meterRegistry, System::nanoTime);
+    }
+
+    LoginRateLimiter(int usernameCapacity, int usernamePerMinute, int addressCapacity, int addressPerMinute,
+                     long maxTracked, boolean trustForwardedFor, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernamePerSecond = usernamePerMinute / 60.0;
+        this.addressCapacity = addressCapacity;
+        this.addressPerSecond = addressPerMinute / 60.0;
+        this.trustForwardedFor = trustForwardedFor;
+        this.nanoClock = nanoClock;
+        this.byUsername = buckets(maxTracked, usernameCapacity, usernamePerSecond);
+        this.byAddress = buckets(maxTracked, addressCapacity, addressPerSecond);
+        this.usernameRejections = rejections(meterRegistry, "username");
+        this.addressRejections = rejections(meterRegistry, "address");
+    }
+
+    /**
+     * Takes a token for the attempt, or throws {@link LoginThrottledException} saying when to retry. A
+     * null address (a caller outside a request) is only limited by username.
+     */
+    public void acquire(String username, String address) {
+        long now = nanoClock.getAsLong();
+        if (address != null) {
+            long wait = byAddress.get(address, key -> new TokenBucket(addressCapacity, addressPerSecond, now)).take(now);
+            if (wait > 0) {
+                addressRejections.increment();
+                throw new LoginThrottledException("Too many sign-in attempts from this address; try again later", seconds(wait));
+            }
+        }
+        long wait = byUsername.get(String.valueOf(username), key -> new TokenBucket(usernameCapacity, usernamePerSecond, now)).take(now);
+        if (wait > 0) {
+            usernameRejections.increment();
+            throw new LoginThrottledException("Too many sign-in attempts for this account; try again later", seconds(wait));
+        }
+    }
+
+    // The first X-Forwarded-For entry when the app sits behind a proxy that sets it, else the peer address
+    public String clientAddress(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static Cache<String, TokenBucket> buckets(long maxTracked, int capacity, double perSecond) {
+        // Idle long enough to have refilled completely: dropping the bucket changes nothing
+        return Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(Duration.ofMillis((long) Math.ceil(capacity / perSecond * 1000)))
+                .build();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(REJECTED_METRIC)
+                .description("Sign-in attempts refused before the password was checked")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    static final class TokenBucket {
+        private final int capacity;
+        private final double perNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, double perSecond, long now) {
+            this.capacity = capacity;
+            this.perNano = perSecond / 1e9;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        // 0 when a token was taken, else the nanoseconds until one is available
+        synchronized long take(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * perNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / perNano);
+        }
+    }
+}
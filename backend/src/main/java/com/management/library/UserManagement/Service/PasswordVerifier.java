@@ -0,0 +1,188 @@
+package com.management.library.UserManagement.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.library.UserManagement.Exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks passwords against their BCrypt hashes on a small dedicated pool with a short queue, so hashing
+ * can never take more than {@code app.login.verify-threads} cores however many sign-ins arrive. When the
+ * pool and its queue are full an attempt is refused straight away ({@link LoginThrottledException})
+ * instead of waiting behind work that would take longer than the caller is willing to wait.
+ *
+ * <p>A successful check is remembered for {@code app.login.verified-cache-seconds} as an HMAC of the
+ * password under a key that lives only in this process, keyed by the stored hash: signing in again
+ * with the same password skips BCrypt, and changing the password (a new hash) forgets it. Failed
+ * checks are never remembered, so guessing still costs a full BCrypt check per guess.
+ *
+ * <p>A hash below the configured cost ({@code app.security.bcrypt-strength}) is rehashed at that cost
+ * on the same pool after a successful check; the caller stores it.
+ */
+@Component
+public class PasswordVerifier {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Cache<String, byte[]> verified;
+    private final SecretKeySpec verifiedKey;
+    private final Timer verifyTimer;
+    private final Counter saturatedRejections;
+
+    public PasswordVerifier(BCryptPasswordEncoder passwordEncoder,
+                            @Value("${app.login.verify-threads:0}") int threads,
+                            @Value("${app.login.verify-queue:32}") int queueCapacity,
+                            @Value("${app.login.verify-timeout-ms:2000}") long timeoutMillis,
+                            @Value("${app.login.verified-cache-seconds:300}") long verifiedSeconds,
+                            @Value("${app.login.verified-cache-size:10000}") long verifiedSize,
+                            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        // 0: half the cores, leaving the rest to serve everything else
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedSeconds))
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.verifiedKey = new SecretKeySpec(key, HMAC);
+        this.verifyTimer = Timer.builder("library.login.verify")
+                .description("Password checks on the verification pool, from submission to result")
+                .register(meterRegistry);
+        this.saturatedRejections = Counter.builder(LoginRateLimiter.REJECTED_METRIC)
+                .description("Sign-in attempts refused before the password was checked")
+                .tag("reason", "saturated")
+                .register(meterRegistry);
+        Gauge.builder("library.login.verify.queued", executor, pool -> pool.getQueue().size())
+                .description("Password checks waiting for a verification thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the password against the stored hash. Throws {@link LoginThrottledException} when the pool
+     * is saturated or the check does not finish within the timeout.
+     */
+    public Verification verify(String rawPassword, String storedHash) {
+        if (rawPassword == null || storedHash == null) {
+            return Verification.FAILED;
+        }
+        byte[] digest = hmac(storedHash, rawPassword);
+        byte[] remembered = verified.getIfPresent(storedHash);
+        if (remembered != null && MessageDigest.isEqual(remembered, digest)) {
+            return Verification.MATCHED;
+        }
+        Future<Verification> check;
+        long submitted = System.nanoTime();
+        try {
+            check = executor.submit(() -> check(rawPassword, storedHash));
+        } catch (RejectedExecutionException e) {
+            saturatedRejections.increment();
+            throw new LoginThrottledException("Too many sign-in attempts in progress; try again shortly", 1);
+        }
+        try {
+            Verification result = check.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (result.matched()) {
+                verified.put(result.upgradedHash() != null ? result.upgradedHash() : storedHash,
+                        result.upgradedHash() != null ? hmac(result.upgradedHash(), rawPassword) : digest);
+            }
+            return result;
+        } catch (TimeoutException e) {
+            check.cancel(true);
+            saturatedRejections.increment();
+            throw new LoginThrottledException("Sign-in is taking too long; try again shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            check.cancel(true);
+            throw new LoginThrottledException("Sign-in was interrupted; try again", 1);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } finally {
+            verifyTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Verification check(String rawPassword, String storedHash) {
+        if (!passwordEncoder.matches(rawPassword, storedHash)) {
+            return Verification.FAILED;
+        }
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            return new Verification(true, passwordEncoder.encode(rawPassword));
+        }
+        return Verification.MATCHED;
+    }
+
+    private byte[] hmac(String storedHash, String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(verifiedKey);
+            mac.update(storedHash.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is unavailable", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // Whether the password matched, and the hash to store instead when the stored one is below the configured cost
+    public static final class Verification {
+        static final Verification MATCHED = new Verification(true, null);
+        static final Verification FAILED = new Verification(false, null);
+
+        private final boolean matched;
+        private final String upgradedHash;
+
+        Verification(boolean matched, String upgradedHash) {
+            this.matched = matched;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matched() {
+            return matched;
+        }
+
+        public String upgradedHash() {
+            return upgradedHash;
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.management.library.UserManagement.Service;
 
+import com.management.library.Common.cache.CacheNames;
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.mail.MailOutbox;
+import com.management.library.Common.pagination.CursorPage;
+import com.management.library.Common.pagination.KeysetPaginator;
 import com.management.library.UserManagement.Dto.*;
 import com.management.library.UserManagement.Entity.User;
 import com.management.library.UserManagement.Exception.*;
 import com.management.library.UserManagement.Repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +24,7 @@ import java.security.SecureRandom;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
@@ -24,16 +32,25 @@ public class UserService {
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String mailFromAddress;
+    private final MailOutbox mailOutbox;
+    private final KeysetPaginator keysetPaginator;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginRateLimiter loginRateLimiter;
+    private final MongoTemplate mongoTemplate;
 
     // Manual constructor
-    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, JavaMailSender mailSender) {
+    public UserService(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, MailOutbox mailOutbox,
+                       KeysetPaginator keysetPaginator, EntityCacheEvictor entityCacheEvictor,
+                       PasswordVerifier passwordVerifier, LoginRateLimiter loginRateLimiter, MongoTemplate mongoTemplate) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.mailSender = mailSender;
+        this.mailOutbox = mailOutbox;
+        this.keysetPaginator = keysetPaginator;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.passwordVerifier = passwordVerifier;
+        this.loginRateLimiter = loginRateLimiter;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public UserResponse createUser(CreateUserRequest request) {
@@ -71,7 +88,16 @@ public class UserService {
     }
 
     public UserResponse loginUser(LoginRequest request) {
+        return loginUser(request, null);
+    }
+
+    /**
+     * Signs in after taking a rate-limit token for the username and the client address. The password is
+     * checked on the bounded verification pool; a hash below the configured cost is replaced on success.
+     */
+    public UserResponse loginUser(LoginRequest request, String clientAddress) {
         log.info("Login attempt for username: {}", request.getUsername());
+        loginRateLimiter.acquire(request.getUsername(), clientAddress);
 
         // Find user by username
         Optional<User> optionalUser = userRepository.findByUsername(request.getUsername());
@@ -90,15 +116,31 @@ public class UserService {
         }
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        PasswordVerifier.Verification verification = passwordVerifier.verify(request.getPassword(), user.getPassword());
+        if (!verification.matched()) {
             log.warn("Login failed - Invalid password for username: {}", request.getUsername());
             throw new InvalidCredentialsException("Invalid username or password");
         }
+        if (verification.upgradedHash() != null) {
+            upgradePasswordHash(user, verification.upgradedHash());
+        }
 
         log.info("User logged in successfully with username: {}", request.getUsername());
         return UserResponse.fromEntity(user);
     }
 
+    // Only replaces the hash that was checked, so a password changed meanwhile is kept
+    private void upgradePasswordHash(User user, String upgradedHash) {
+        long updated = mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(user.getId()).and("password").is(user.getPassword())),
+                new Update().set("password", upgradedHash),
+                User.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Rehashed password at the configured cost for username: {}", user.getUsername());
+        }
+    }
+
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id")
     public UserResponse getUserById(String id) {
         log.info("Fetching user with ID: {}", id);
 
@@ -135,6 +177,19 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<UserResponse> getUsersPage(String cursor, Integer limit) {
+        log.info("Fetching users page after cursor: {}", cursor);
+
+        return keysetPaginator.page(User.class, null, cursor, limit, User::getId, UserResponse::fromEntity);
+    }
+
+    // The returned stream holds an open Mongo cursor and must be closed by the caller
+    public Stream<UserResponse> streamAllUsers() {
+        log.info("Streaming all users");
+
+        return keysetPaginator.stream(User.class, null).map(UserResponse::fromEntity);
+    }
+
     public List<UserResponse> getUsersByStatus(User.UserStatus status) {
         log.info("Fetching users with status: {}", status);
 
@@ -195,6 +250,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User updatedUser = userRepository.save(user);
+        entityCacheEvictor.evictUser(updatedUser.getId());
         log.info("User updated successfully with ID: {}", updatedUser.getId());
 
         return UserResponse.fromEntity(updatedUser);
@@ -207,7 +263,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
 
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordVerifier.verify(request.getCurrentPassword(), user.getPassword()).matched()) {
             throw new InvalidPasswordException("Current password is incorrect");
         }
 
@@ -216,6 +272,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        entityCacheEvictor.evictUser(user.getId());
         log.info("Password changed successfully for user with ID: {}", id);
     }
 
@@ -229,6 +286,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        entityCacheEvictor.evictUser(user.getId());
         log.info("User activated successfully with ID: {}", id);
     }
 
@@ -242,6 +300,7 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        entityCacheEvictor.evictUser(user.getId());
         log.info("User deactivated successfully with ID: {}", id);
     }
 
@@ -252,9 +311,14 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
 
         userRepository.delete(user);
+        entityCacheEvictor.evictUser(user.getId());
         log.info("User deleted successfully with ID: {}", id);
     }
 
+    public long getTotalUsersCount() {
+        return userRepository.count();
+    }
+
     public long getUserCountByStatus(User.UserStatus status) {
         return userRepository.countByStatus(status);
     }
@@ -272,18 +336,16 @@ public class UserService {
         user.setResetTokenExpiry(LocalDateTime.now().plusMinutes(2));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        entityCacheEvictor.evictUser(user.getId());
 
-        // Send token via email
+        // Send token via email; queued so the response does not wait on SMTP, and dropped once the token has expired
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(mailFromAddress);
-            message.setTo(user.getEmail());
-            message.setSubject("Library - Password Reset Token");
-            message.setText("Use this token to reset your password: " + token + " This token expires in 2 minutes.");
-            mailSender.send(message);
-            log.info("Password reset token email sent to: {}", user.getEmail());
+            mailOutbox.enqueue(user.getEmail(), "Library - Password Reset Token",
+                    "Use this token to reset your password: " + token + " This token expires in 2 minutes.",
+                    false, user.getResetTokenExpiry());
+            log.info("Password reset token email queued for: {}", user.getEmail());
         } catch (Exception ex) {
-            log.error("Failed to send reset email: {}", ex.getMessage());
+            log.error("Failed to queue reset email: {}", ex.getMessage());
             // Still expose generic response to caller; admins can inspect logs.
         }
     }
@@ -303,5 +365,6 @@ public class UserService {
         user.setResetTokenExpiry(null);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        entityCacheEvictor.evictUser(user.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.management.library.BookManagement.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.repository.BookRepository;
+import com.management.library.BookManagement.service.BookService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSummaryTest {
+
+	private static final int PAGE_SIZE = 50;
+
+	@Test
+	void repositoryProjectionsReadTheSummaryFields() {
+		for (Method method : BookRepository.class.getMethods()) {
+			Query query = method.getAnnotation(Query.class);
+			if (query != null && method.getName().contains("Summaries")) {
+				assertEquals(BookRepository.SUMMARY_FIELDS, query.fields(), method.getName());
+			}
+		}
+		assertEquals(Set.copyOf(BookSummary.FIELDS), Document.parse(BookRepository.SUMMARY_FIELDS).keySet());
+	}
+
+	@Test
+	void projectionUsesStoredFieldNames() {
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+		QueryMapper queryMapper = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+
+		Document mapped = queryMapper.getMappedFields(Document.parse(BookRepository.SUMMARY_FIELDS),
+				mappingContext.getPersistentEntity(Book.class));
+
+		assertEquals(Set.of("bookno", "title", "image", "author", "genre", "year", "language",
+				"availability", "availablecopies", "totalcopies"), mapped.keySet());
+	}
+
+	@Test
+	void summaryLeavesOutTheDetailsPageFields() throws Exception {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		List<Book> page = new ArrayList<>();
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			page.add(book(i));
+		}
+		BookService bookService = new BookService();
+
+		String full = objectMapper.writeValueAsString(page.stream().map(bookService::convertToResponseDTO).collect(Collectors.toList()));
+		String summary = objectMapper.writeValueAsString(page.stream().map(BookSummary::from).collect(Collectors.toList()));
+
+		assertFalse(summary.contains("description"));
+		assertFalse(summary.contains("createdAt"));
+		assertTrue(summary.contains("\"availableCopies\":3"));
+		assertTrue(summary.length() * 3 < full.length(), summary.length() + " vs " + full.length());
+	}
+
+	@Test
+	void totalFallsBackToShelfCopiesBeforeBackfill() {
+		Book book = book(1);
+		book.setTotalCopies(null);
+
+		assertEquals(3, BookSummary.from(book).getTotalCopies());
+	}
+
+	private static Book book(int i) {
+		Book book = new Book("B" + (10000 + i), "Title " + i, "https://covers.example.org/" + i + ".jpg", "Author " + i,
+				"Fiction", 2001, "2nd", "A long blurb about the plot, the characters and the themes of the book. ".repeat(8),
+				"English", true, 3, "A1-B" + i);
+		book.setId(String.format("%024x", i));
+		book.setTotalCopies(4);
+		book.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+		book.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 9, 0));
+		return book;
+	}
+}
@@ -0,0 +1,148 @@
+package com.management.library.BookManagement.event;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.Common.job.BackgroundJobs;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookChangeFeedTest {
+
+	private static final String BOOK_ID = "book-1";
+
+	private final List<BookChangeEvent> delivered = new ArrayList<>();
+	private BookChangeFeed feed;
+	private Consumer<ChangeStreamDocument<Document>> stream;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+		when(mongoTemplate.getCollectionName(Book.class)).thenReturn("books");
+		ChangeStreamSubscriber subscriber = mock(ChangeStreamSubscriber.class);
+		when(subscriber.isEnabled()).thenReturn(true);
+		BackgroundJobs backgroundJobs = mock(BackgroundJobs.class);
+		doAnswer(call -> {
+			call.<Runnable>getArgument(1).run();
+			return null;
+		}).when(backgroundJobs).submit(anyString(), any(Runnable.class));
+
+		BookChangeListener listener = new BookChangeListener() {
+			@Override
+			public void onBookChange(BookChangeEvent event) {
+				delivered.add(event);
+			}
+
+			@Override
+			public void onChangesMissed() {
+			}
+		};
+		feed = new BookChangeFeed(List.of(listener), mongoTemplate, subscriber, backgroundJobs);
+		feed.start();
+		ArgumentCaptor<Consumer<ChangeStreamDocument<Document>>> handler = ArgumentCaptor.forClass(Consumer.class);
+		verify(subscriber).subscribe(anyString(), eq(true), handler.capture(), any(Runnable.class));
+		stream = handler.getValue();
+	}
+
+	@Test
+	void stampsNeverRepeat() {
+		LocalDateTime previous = feed.nextUpdatedAt();
+		for (int i = 0; i < 1_000; i++) {
+			LocalDateTime next = feed.nextUpdatedAt();
+			assertTrue(next.isAfter(previous));
+			previous = next;
+		}
+	}
+
+	@Test
+	void streamCopiesOfBackToBackLocalUpdatesAreDropped() {
+		LocalDateTime t0 = feed.nextUpdatedAt();
+		LocalDateTime t1 = feed.nextUpdatedAt();
+		LocalDateTime t2 = feed.nextUpdatedAt();
+		feed.publishLocal(BookChangeEvent.updated(book(3, t0), book(2, t1)));
+		feed.publishLocal(BookChangeEvent.updated(book(2, t1), book(1, t2)));
+
+		// A post-image looked up late would carry the second update; the update description still names the first
+		stream.accept(update(document(3, t0), document(1, t2), t1));
+		stream.accept(update(document(2, t1), document(1, t2), t2));
+
+		assertEquals(2, delivered.size());
+		assertTrue(delivered.stream().allMatch(BookChangeEvent::isLocal));
+	}
+
+	@Test
+	void backToBackUpdatesFromElsewhereApplyOnceEach() {
+		LocalDateTime t0 = feed.nextUpdatedAt();
+		LocalDateTime t1 = feed.nextUpdatedAt();
+		LocalDateTime t2 = feed.nextUpdatedAt();
+
+		stream.accept(update(document(3, t0), document(2, t1), t1));
+		stream.accept(update(document(2, t1), document(1, t2), t2));
+
+		assertEquals(2, delivered.size());
+		assertEquals(3, delivered.get(0).getBefore().getAvailableCopies());
+		assertEquals(2, delivered.get(0).getAfter().getAvailableCopies());
+		assertEquals(2, delivered.get(1).getBefore().getAvailableCopies());
+		assertEquals(1, delivered.get(1).getAfter().getAvailableCopies());
+	}
+
+	private static Book book(int availableCopies, LocalDateTime updatedAt) {
+		Book book = new Book();
+		book.setId(BOOK_ID);
+		book.setTotalCopies(3);
+		book.setAvailableCopies(availableCopies);
+		book.setUpdatedAt(updatedAt);
+		return book;
+	}
+
+	private static Document document(int availableCopies, LocalDateTime updatedAt) {
+		return new Document("_id", BOOK_ID)
+				.append("totalcopies", 3)
+				.append("availablecopies", availableCopies)
+				.append("updatedat", Date.from(updatedAt.atZone(ZoneId.systemDefault()).toInstant()));
+	}
+
+	private static ChangeStreamDocument<Document> update(Document before, Document after, LocalDateTime updatedAt) {
+		BsonDocument updatedFields = new BsonDocument("updatedat",
+				new BsonDateTime(updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+		return new ChangeStreamDocument<>("update", new BsonDocument(), null, null, after, before,
+				new BsonDocument("_id", new BsonString(BOOK_ID)), null,
+				new UpdateDescription(List.of(), updatedFields), null, null, null, null, null);
+	}
+}
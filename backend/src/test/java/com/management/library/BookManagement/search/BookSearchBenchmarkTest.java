@@ -0,0 +1,125 @@
+package com.management.library.BookManagement.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Compares search latency of the inverted index with the previous regex path at several catalog sizes,
+ * and reports autocomplete latency for the suggester on the same catalogs.
+ * The regex side evaluates the same case-insensitive, unanchored {@code $or} pattern over every book in
+ * memory, which is a lower bound for the Mongo collection scan (no network, no BSON decoding).
+ *
+ * <p>Run with: {@code mvn test -Dtest=BookSearchBenchmarkTest -Dbenchmark.search=true}
+ * (add {@code -Dbenchmark.search.sizes=10000,100000,1000000} to choose sizes; 1M needs about 2 GB of heap).
+ */
+@EnabledIfSystemProperty(named = "benchmark.search", matches = "true")
+class BookSearchBenchmarkTest {
+
+	private static final String[] WORDS = {
+			"night", "river", "shadow", "garden", "empire", "silent", "winter", "stone", "house", "island",
+			"storm", "secret", "queen", "journey", "forest", "letters", "memory", "ocean", "fire", "glass",
+			"machine", "history", "city", "dream", "wolf", "mountain", "station", "library", "summer", "crown"};
+	private static final String[] NAMES = {
+			"Austen", "Tolstoy", "Morrison", "Achebe", "Murakami", "Atwood", "Borges", "Woolf", "Orwell", "Ishiguro"};
+	private static final String[] GENRES = {"Fiction", "Mystery", "Fantasy", "History", "Science", "Poetry"};
+	private static final String[] QUERIES = {"river", "silent garden", "murakami", "myst", "histroy", "queen of the night"};
+	private static final String[] PREFIXES = {"r", "ri", "silent g", "mura", "queen of"};
+	private static final int WARMUP_RUNS = 10;
+	private static final int RUNS_PER_QUERY = 100;
+
+	@Test
+	void compareIndexWithRegexScan() {
+		int[] sizes = Arrays.stream(System.getProperty("benchmark.search.sizes", "10000,100000,1000000").split(","))
+				.mapToInt(size -> Integer.parseInt(size.trim()))
+				.toArray();
+		System.out.printf("%-9s %-20s %12s %12s %12s %12s%n",
+				"books", "query", "index p50", "index p99", "regex p50", "regex p99");
+		for (int size : sizes) {
+			run(size);
+		}
+	}
+
+	private void run(int size) {
+		Random random = new Random(42);
+		List<String[]> books = new ArrayList<>(size);
+		BookSearchIndex index = new BookSearchIndex();
+		BookSuggester suggester = new BookSuggester();
+		for (int i = 0; i < size; i++) {
+			String[] book = {
+					title(random), NAMES[random.nextInt(NAMES.length)] + " " + (char) ('A' + random.nextInt(26)),
+					GENRES[random.nextInt(GENRES.length)]};
+			books.add(book);
+			index.put(Integer.toString(i), book[0], book[1], book[2]);
+			suggester.put(Integer.toString(i), book[0], book[1]);
+		}
+
+		for (String query : QUERIES) {
+			Pattern pattern = Pattern.compile(query, Pattern.CASE_INSENSITIVE);
+			for (int run = 0; run < WARMUP_RUNS; run++) {
+				index.search(query, BookSearchIndex.ALL_FIELDS, 100);
+			}
+			long[] indexNanos = new long[RUNS_PER_QUERY];
+			long[] regexNanos = new long[RUNS_PER_QUERY];
+			for (int run = 0; run < RUNS_PER_QUERY; run++) {
+				long start = System.nanoTime();
+				index.search(query, BookSearchIndex.ALL_FIELDS, 100);
+				indexNanos[run] = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				int matches = 0;
+				for (String[] book : books) {
+					if (pattern.matcher(book[0]).find() || pattern.matcher(book[1]).find() || pattern.matcher(book[2]).find()) {
+						matches++;
+					}
+				}
+				regexNanos[run] = System.nanoTime() - start + (matches < 0 ? 1 : 0);
+			}
+			System.out.printf("%-9d %-20s %12s %12s %12s %12s%n", size, query,
+					millis(percentile(indexNanos, 50)), millis(percentile(indexNanos, 99)),
+					millis(percentile(regexNanos, 50)), millis(percentile(regexNanos, 99)));
+		}
+
+		for (String prefix : PREFIXES) {
+			long[] suggestNanos = new long[RUNS_PER_QUERY];
+			for (int run = 0; run < WARMUP_RUNS; run++) {
+				suggester.suggest(prefix, BookSuggester.MAX_SUGGESTIONS);
+			}
+			for (int run = 0; run < RUNS_PER_QUERY; run++) {
+				long start = System.nanoTime();
+				suggester.suggest(prefix, BookSuggester.MAX_SUGGESTIONS);
+				suggestNanos[run] = System.nanoTime() - start;
+			}
+			System.out.printf("%-9d %-20s %12s %12s %12s %12s%n", size, "suggest '" + prefix + "'",
+					millis(percentile(suggestNanos, 50)), millis(percentile(suggestNanos, 99)), "-", "-");
+		}
+	}
+
+	private String title(Random random) {
+		int length = 2 + random.nextInt(4);
+		StringBuilder title = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			if (i > 0) {
+				title.append(random.nextInt(4) == 0 ? " of the " : " ");
+			}
+			String word = WORDS[random.nextInt(WORDS.length)];
+			title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+		}
+		return title.toString();
+	}
+
+	private long percentile(long[] values, int percentile) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1)];
+	}
+
+	private String millis(long nanos) {
+		return String.format("%.3f ms", nanos / 1_000_000.0);
+	}
+}
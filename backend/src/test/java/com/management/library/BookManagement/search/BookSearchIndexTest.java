@@ -0,0 +1,60 @@
+package com.management.library.BookManagement.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookSearchIndexTest {
+
+	private BookSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new BookSearchIndex();
+		index.put("1", "The Great Gatsby", "F. Scott Fitzgerald", "Classic");
+		index.put("2", "Great Expectations", "Charles Dickens", "Classic");
+		index.put("3", "Gatsby Revisited", "Ana García", "Literary Criticism");
+		index.put("4", "Dune", "Frank Herbert", "Science Fiction");
+	}
+
+	@Test
+	void tokenizesCaseAndAccentInsensitively() {
+		assertThat(BookSearchIndex.tokenize("  García-Márquez, VOL.2 ")).containsExactly("garcia", "marquez", "vol", "2");
+	}
+
+	@Test
+	void ranksTitleMatchesAboveOtherFields() {
+		index.put("5", "Collected Essays", "Gatsby Smith", "Essay");
+
+		assertThat(index.search("gatsby", BookSearchIndex.ALL_FIELDS, 10)).containsExactly("1", "3", "5");
+	}
+
+	@Test
+	void requiresEveryQueryToken() {
+		assertThat(index.search("great gatsby", BookSearchIndex.ALL_FIELDS, 10)).containsExactly("1");
+	}
+
+	@Test
+	void matchesPrefixesAndTypos() {
+		assertThat(index.search("expect", BookSearchIndex.ALL_FIELDS, 10)).containsExactly("2");
+		assertThat(index.search("dikens", BookSearchIndex.ALL_FIELDS, 10)).containsExactly("2");
+		assertThat(index.search("garcia", BookSearchIndex.ALL_FIELDS, 10)).containsExactly("3");
+	}
+
+	@Test
+	void restrictsToRequestedFields() {
+		assertThat(index.search("classic", BookSearchIndex.TITLE, 10)).isEmpty();
+		assertThat(index.search("classic", BookSearchIndex.GENRE, 10)).containsExactlyInAnyOrder("1", "2");
+	}
+
+	@Test
+	void reindexingAndRemovalReplaceOldTerms() {
+		index.put("4", "Dune Messiah", "Frank Herbert", "Science Fiction");
+		assertThat(index.search("messiah", BookSearchIndex.ALL_FIELDS, 10)).containsExactly("4");
+
+		index.remove("4");
+		assertThat(index.search("dune", BookSearchIndex.ALL_FIELDS, 10)).isEmpty();
+		assertThat(index.size()).isEqualTo(3);
+	}
+}
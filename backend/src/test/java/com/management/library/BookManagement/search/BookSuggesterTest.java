@@ -0,0 +1,56 @@
+package com.management.library.BookManagement.search;
+
+import com.management.library.BookManagement.dto.BookSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookSuggesterTest {
+
+	private BookSuggester suggester;
+
+	@BeforeEach
+	void setUp() {
+		suggester = new BookSuggester();
+		suggester.put("1", "The Great Gatsby", "F. Scott Fitzgerald");
+		suggester.put("2", "Great Expectations", "Charles Dickens");
+		suggester.put("3", "Oliver Twist", "Charles Dickens");
+	}
+
+	@Test
+	void matchesFromAnyWordAndAcrossWords() {
+		assertThat(texts(suggester.suggest("gats", 10))).containsExactly("The Great Gatsby");
+		assertThat(texts(suggester.suggest("great ex", 10))).containsExactly("Great Expectations");
+		assertThat(texts(suggester.suggest("GRÉAT", 10))).containsExactly("The Great Gatsby", "Great Expectations");
+	}
+
+	@Test
+	void ranksByNumberOfBooks() {
+		List<BookSuggestionDTO> suggestions = suggester.suggest("charles", 10);
+
+		assertThat(suggestions).hasSize(1);
+		assertThat(suggestions.get(0).getText()).isEqualTo("Charles Dickens");
+		assertThat(suggestions.get(0).getType()).isEqualTo("AUTHOR");
+		assertThat(suggestions.get(0).getBookCount()).isEqualTo(2);
+	}
+
+	@Test
+	void updatesAndRemovalsRefreshCachedSuggestions() {
+		assertThat(texts(suggester.suggest("oli", 10))).containsExactly("Oliver Twist");
+
+		suggester.put("3", "A Tale of Two Cities", "Charles Dickens");
+		assertThat(texts(suggester.suggest("oli", 10))).isEmpty();
+		assertThat(texts(suggester.suggest("tale", 10))).containsExactly("A Tale of Two Cities");
+
+		suggester.remove("2");
+		assertThat(suggester.suggest("charles", 10).get(0).getBookCount()).isEqualTo(1);
+		assertThat(texts(suggester.suggest("expect", 10))).isEmpty();
+	}
+
+	private List<String> texts(List<BookSuggestionDTO> suggestions) {
+		return suggestions.stream().map(BookSuggestionDTO::getText).toList();
+	}
+}
@@ -0,0 +1,96 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.MongoIntegrationTest;
+import com.management.library.UserManagement.Exception.NoCopiesAvailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checkout storm on one popular title against a live cluster, in a scratch database.
+ *
+ * <p>Run with: {@code mvn test -Dtest=BookInventoryIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryInventoryTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false"})
+class BookInventoryIntegrationTest {
+
+	private static final int BORROWERS = 64;
+	private static final int COPIES = 5;
+
+	@Autowired
+	private BookInventoryService inventoryService;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetBooks() {
+		mongoTemplate.dropCollection(Book.class);
+	}
+
+	@Test
+	void checkoutStormNeverOversells() throws Exception {
+		Book book = new Book("BK-STORM", "Popular Title", null, "Author", "Fiction", 2025, null, null,
+				"English", true, COPIES, "A1");
+		book.setTotalCopies(COPIES);
+		String bookId = mongoTemplate.insert(book).getId();
+
+		AtomicInteger granted = new AtomicInteger();
+		AtomicInteger refused = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(BORROWERS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < BORROWERS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						inventoryService.checkOut(bookId);
+						granted.incrementAndGet();
+					} catch (NoCopiesAvailableException e) {
+						refused.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(COPIES, granted.get());
+		assertEquals(BORROWERS - COPIES, refused.get());
+		Book drained = mongoTemplate.findById(bookId, Book.class);
+		assertEquals(0, drained.getAvailableCopies());
+		assertFalse(drained.getAvailability());
+
+		for (int i = 0; i < COPIES; i++) {
+			inventoryService.checkIn(bookId);
+		}
+		// Every copy is back; one more return must not push the shelf past the total
+		assertFalse(inventoryService.checkIn(bookId));
+		assertEquals(COPIES, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+	}
+}
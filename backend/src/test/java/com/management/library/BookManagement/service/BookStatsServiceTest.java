@@ -0,0 +1,117 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.dto.BookStatsDTO;
+import com.management.library.BookManagement.dto.BookStatsReconciliationDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.repository.BookRepository;
+import com.management.library.Common.job.BackgroundJobs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookStatsServiceTest {
+
+	private final BookRepository bookRepository = mock(BookRepository.class);
+	private BookStatsService service;
+
+	@BeforeEach
+	void setUp() {
+		// 2 titles, 1 on the shelf; 5 copies, 3 on the shelf
+		when(bookRepository.computeBookStatistics()).thenReturn(Optional.of(new BookStatsDTO(2, 1, 1, 5, 3)));
+		service = new BookStatsService(bookRepository, mock(BackgroundJobs.class), 5_000, 300_000);
+	}
+
+	@Test
+	void seedsOnceThenReadsFromMemory() {
+		service.reseedIfDirty();
+		service.getStatistics();
+		service.reseedIfDirty();
+
+		verify(bookRepository, times(1)).computeBookStatistics();
+	}
+
+	@Test
+	void appliesTheDeltaOfEachKnownChange() {
+		service.reseedIfDirty();
+
+		service.onBookChange(BookChangeEvent.inserted(book("b-3", 2, 2)));
+		service.onBookChange(BookChangeEvent.updated(book("b-3", 2, 2), book("b-3", 2, 0)));
+		service.onBookChange(BookChangeEvent.deleted(book("b-1", 1, 1)));
+
+		BookStatsDTO stats = service.getStatistics();
+		assertEquals(2, stats.getTotalBooks());
+		assertEquals(0, stats.getAvailableBooks());
+		assertEquals(2, stats.getUnavailableBooks());
+		assertEquals(6, stats.getTotalCopies());
+		assertEquals(2, stats.getAvailableCopies());
+		verify(bookRepository, times(1)).computeBookStatistics();
+	}
+
+	@Test
+	void changeWithoutItsImagesMarksTheCountersDirty() {
+		service.reseedIfDirty();
+
+		// An update from the stream without a pre-image cannot be turned into a delta
+		service.onBookChange(new BookChangeEvent(BookChangeEvent.Type.UPDATE, "b-1", null, book("b-1", 1, 0), false));
+		assertEquals(3, service.getStatistics().getAvailableCopies());
+
+		service.reseedIfDirty();
+		verify(bookRepository, times(2)).computeBookStatistics();
+	}
+
+	@Test
+	void missedChangesMarkTheCountersDirty() {
+		service.reseedIfDirty();
+
+		service.onChangesMissed();
+		service.reseedIfDirty();
+
+		verify(bookRepository, times(2)).computeBookStatistics();
+	}
+
+	@Test
+	void reconciliationReplacesCountersThatDrifted() {
+		service.reseedIfDirty();
+		BookStatsDTO database = new BookStatsDTO(3, 2, 1, 7, 5);
+		when(bookRepository.computeBookStatistics()).thenReturn(Optional.of(database));
+
+		BookStatsReconciliationDTO report = service.reconcile();
+
+		assertFalse(report.isInSync());
+		assertEquals(3, report.getObserved().getAvailableCopies());
+		assertEquals(1, report.getTotalDriftsDetected());
+		assertSame(database, service.getStatistics());
+	}
+
+	@Test
+	void reconciliationKeepsCountersThatMatch() {
+		service.reseedIfDirty();
+		BookStatsDTO seeded = service.getStatistics();
+
+		BookStatsReconciliationDTO report = service.reconcile();
+
+		assertTrue(report.isInSync());
+		assertEquals(0, report.getTotalDriftsDetected());
+		assertSame(seeded, service.getStatistics());
+	}
+
+	private static Book book(String id, int totalCopies, int availableCopies) {
+		Book book = new Book();
+		book.setId(id);
+		book.setTotalCopies(totalCopies);
+		book.setAvailableCopies(availableCopies);
+		book.setAvailability(availableCopies > 0);
+		return book;
+	}
+}
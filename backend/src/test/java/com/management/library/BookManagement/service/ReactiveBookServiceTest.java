@@ -0,0 +1,62 @@
+package com.management.library.BookManagement.service;
+
+import com.management.library.BookManagement.dto.BookResponseDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.repository.ReactiveBookRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveBookServiceTest {
+
+	private static final int MATCHING_BOOKS = 1_000_000;
+
+	@Test
+	void readsOnlyAsFarAsTheSubscriberAsks() {
+		AtomicLong produced = new AtomicLong();
+		ReactiveBookRepository repository = mock(ReactiveBookRepository.class);
+		when(repository.findByLanguage("English")).thenReturn(Flux.range(0, MATCHING_BOOKS)
+				.map(ReactiveBookServiceTest::book)
+				.doOnNext(book -> produced.incrementAndGet()));
+		ReactiveBookService service = new ReactiveBookService(repository, new BookService());
+
+		StepVerifier.create(service.getBooksByLanguage("English"), 10)
+				.expectNextCount(10)
+				.thenRequest(5)
+				.expectNextCount(5)
+				.thenCancel()
+				.verify();
+
+		assertEquals(15, produced.get());
+	}
+
+	@Test
+	void mapsBooksAsTheyArrive() {
+		ReactiveBookRepository repository = mock(ReactiveBookRepository.class);
+		when(repository.findBooksWithAvailableCopies()).thenReturn(Flux.just(book(1), book(2)));
+		ReactiveBookService service = new ReactiveBookService(repository, new BookService());
+
+		StepVerifier.create(service.getBooksWithAvailableCopies())
+				.assertNext(dto -> assertDto(dto, "B1"))
+				.assertNext(dto -> assertDto(dto, "B2"))
+				.verifyComplete();
+	}
+
+	private static void assertDto(BookResponseDTO dto, String bookNo) {
+		assertEquals(bookNo, dto.getBookNo());
+		// Books saved before total copies existed report their shelf copies as the total
+		assertEquals(dto.getAvailableCopies(), dto.getTotalCopies());
+		assertTrue(dto.getAvailability());
+	}
+
+	private static Book book(int i) {
+		return new Book("B" + i, "Title " + i, null, "Author", "Fiction", 2020, null, null, "English", true, 3, "A1");
+	}
+}
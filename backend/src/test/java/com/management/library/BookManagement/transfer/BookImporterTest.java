@@ -0,0 +1,208 @@
+package com.management.library.BookManagement.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.library.BookManagement.dto.BookImportErrorDTO;
+import com.management.library.BookManagement.dto.BookImportReportDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeFeed;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookImporterTest {
+
+	private static final String CSV_HEADER = "bookNo,title,author,genre,year,edition,language,availability,availableCopies,totalCopies,location\n";
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final BookChangeFeed bookChangeFeed = mock(BookChangeFeed.class);
+	private final List<List<String>> writes = new ArrayList<>();
+	private final List<Document> sets = new ArrayList<>();
+	private MongoCollection<Document> books;
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		books = mock(MongoCollection.class);
+		mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(Book.class)).thenReturn("books");
+		when(mongoTemplate.getCollection("books")).thenReturn(books);
+		when(books.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(call -> {
+			List<WriteModel<Document>> models = call.getArgument(0);
+			return upserted(record(models));
+		});
+	}
+
+	@Test
+	void validRowsAreUpsertedInOrderAndBadRowsReported() throws Exception {
+		String csv = CSV_HEADER
+				+ "B1,First,Ann,Fiction,2001,,English,true,2,3,A1\n"
+				+ "B2,,Ann,Fiction,2001,,English,true,2,3,A1\n"
+				+ "B3,Third,Ann,Fiction,abc,,English,true,2,3,A1\n"
+				+ "B4,Fourth,Ann,Fiction,2001,2nd,English,true,5,3,A1\n"
+				+ "B5,Fifth,Ann,Fiction,2001,,English,true,1,,A1\n"
+				+ "B6,Sixth,Ann,Fiction,2001,,English,true,0,4,A1\n";
+		List<BookImportErrorDTO> rejected = new ArrayList<>();
+		List<BookImportReportDTO> progress = new ArrayList<>();
+
+		BookImportReportDTO report = importer(2).importBooks(stream(csv), BookTransferFormat.CSV, new BookImportListener() {
+			@Override
+			public void onRowRejected(BookImportErrorDTO error) {
+				rejected.add(error);
+			}
+
+			@Override
+			public void onProgress(BookImportReportDTO batch) {
+				progress.add(batch);
+			}
+		});
+
+		assertEquals(List.of(List.of("B1", "B5"), List.of("B6")), writes);
+		assertEquals(6, report.getRows());
+		assertEquals(3, report.getInserted());
+		assertEquals(3, report.getRejected());
+		assertEquals(List.of(2L, 3L, 4L), rejected.stream().map(BookImportErrorDTO::getRow).collect(Collectors.toList()));
+		assertEquals("Title is required", rejected.get(0).getMessage());
+		assertTrue(rejected.get(1).getMessage().startsWith("Malformed row"), rejected.get(1).getMessage());
+		assertEquals("B3", rejected.get(1).getBookNo());
+		assertEquals("Available copies cannot exceed total copies", rejected.get(2).getMessage());
+		assertEquals(3, report.getErrors().size());
+		assertEquals(2, progress.size());
+		// An empty cell leaves the stored value alone rather than blanking it
+		assertFalse(sets.get(0).containsKey("edition"));
+		verify(bookChangeFeed).publishChangesMissed();
+	}
+
+	@Test
+	void malformedNdjsonLineDoesNotStopTheImport() throws Exception {
+		String ndjson = row("B1") + "\n{\"bookNo\": \"B2\", \n\n" + row("B3") + "\n";
+
+		BookImportReportDTO report = importer(100).importBooks(stream(ndjson), BookTransferFormat.NDJSON,
+				BookImportListener.NONE);
+
+		assertEquals(List.of(List.of("B1", "B3")), writes);
+		assertEquals(3, report.getRows());
+		assertEquals(1, report.getRejected());
+		assertEquals(2, report.getErrors().get(0).getRow());
+	}
+
+	@Test
+	void failedWriteRejectsThatRowAndResendsTheRest() throws Exception {
+		when(books.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+				.thenAnswer(call -> {
+					List<String> bookNos = record(call.getArgument(0));
+					throw new MongoBulkWriteException(upserted(bookNos.subList(0, 1)),
+							List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+							null, new ServerAddress(), Set.of());
+				})
+				.thenAnswer(call -> upserted(record(call.getArgument(0))));
+		String ndjson = IntStream.rangeClosed(1, 4).mapToObj(i -> row("B" + i)).collect(Collectors.joining("\n"));
+
+		BookImportReportDTO report = importer(100).importBooks(stream(ndjson), BookTransferFormat.NDJSON,
+				BookImportListener.NONE);
+
+		assertEquals(List.of(List.of("B1", "B2", "B3", "B4"), List.of("B3", "B4")), writes);
+		assertEquals(3, report.getInserted());
+		assertEquals(1, report.getRejected());
+		assertEquals("B2", report.getErrors().get(0).getBookNo());
+		assertEquals(2, report.getErrors().get(0).getRow());
+	}
+
+	@Test
+	void exportedCsvImportsBackUnchanged() throws Exception {
+		KeysetPaginator paginator = mock(KeysetPaginator.class);
+		Book first = new Book("B1", "Quotes, \"and\" commas", null, "Ann", "Fiction", 2001, "2nd",
+				"Two\nlines", "English", true, 2, "A1");
+		first.setTotalCopies(3);
+		Book second = new Book("B2", "Second", "https://covers.example.org/2.jpg", "Bob", "History", 1999, null,
+				null, "French", false, 0, "B7");
+		when(paginator.stream(eq(Book.class), isNull(), eq(BookTransferFormat.COLUMNS))).thenReturn(Stream.of(first, second));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		assertEquals(2, new BookExporter(paginator, objectMapper).export(BookTransferFormat.CSV, out));
+		BookImportReportDTO report = importer(100).importBooks(new ByteArrayInputStream(out.toByteArray()),
+				BookTransferFormat.CSV, BookImportListener.NONE);
+
+		assertEquals(0, report.getRejected());
+		assertEquals(List.of(List.of("B1", "B2")), writes);
+		assertEquals(literal("Quotes, \"and\" commas"), sets.get(0).get("title"));
+		assertEquals(literal("Two\nlines"), sets.get(0).get("description"));
+		assertEquals(literal(2001), sets.get(0).get("year"));
+		assertEquals(literal("https://covers.example.org/2.jpg"), sets.get(1).get("image"));
+		assertFalse(sets.get(1).containsKey("edition"));
+		verify(bookChangeFeed, times(1)).publishChangesMissed();
+	}
+
+	private BookImporter importer(int batchSize) {
+		return new BookImporter(mongoTemplate, objectMapper, Validation.buildDefaultValidatorFactory().getValidator(),
+				bookChangeFeed, batchSize);
+	}
+
+	private List<String> record(List<WriteModel<Document>> models) {
+		List<String> bookNos = new ArrayList<>();
+		for (WriteModel<Document> model : models) {
+			UpdateOneModel<Document> upsert = (UpdateOneModel<Document>) model;
+			bookNos.add(((Document) upsert.getFilter()).getString("bookno"));
+			sets.add((Document) ((Document) upsert.getUpdatePipeline().get(0)).get("$set"));
+		}
+		writes.add(bookNos);
+		return bookNos;
+	}
+
+	private static BulkWriteResult upserted(List<String> bookNos) {
+		List<BulkWriteUpsert> upserts = IntStream.range(0, bookNos.size())
+				.mapToObj(i -> new BulkWriteUpsert(i, new BsonObjectId()))
+				.collect(Collectors.toList());
+		return BulkWriteResult.acknowledged(0, 0, 0, 0, upserts, List.of());
+	}
+
+	private static Document literal(Object value) {
+		return new Document("$literal", value);
+	}
+
+	private static String row(String bookNo) {
+		return "{\"bookNo\": \"" + bookNo + "\", \"title\": \"T\", \"author\": \"A\", \"genre\": \"G\", \"year\": 2000, "
+				+ "\"language\": \"English\", \"availability\": true, \"availableCopies\": 1, \"location\": \"A1\"}";
+	}
+
+	private static ByteArrayInputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,111 @@
+package com.management.library.BookManagement.transfer;
+
+import com.management.library.BookManagement.dto.BookImportReportDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.MongoIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads and dumps a generated catalog against a live cluster, in a scratch database, and prints the
+ * throughput of each step.
+ *
+ * <p>Run with: {@code mvn test -Dtest=BookTransferIntegrationTest [-Dbooks=200000]} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryTransferTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false",
+		"app.overdue-fees.resume-on-startup=false"})
+class BookTransferIntegrationTest {
+
+	private static final int BOOKS = Integer.getInteger("books", 20_000);
+
+	@Autowired
+	private BookImporter bookImporter;
+	@Autowired
+	private BookExporter bookExporter;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetBooks() {
+		mongoTemplate.dropCollection(Book.class);
+		// Upserts match on bookNo, so the index the entity declares has to be there
+		mongoTemplate.indexOps(Book.class).createIndex(new Index("bookNo", Sort.Direction.ASC));
+	}
+
+	@Test
+	void importsAndExportsAGeneratedCatalog() throws Exception {
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		csv.write("bookNo,title,author,genre,year,description,language,availability,availableCopies,totalCopies,location\n"
+				.getBytes(StandardCharsets.UTF_8));
+		for (int i = 0; i < BOOKS; i++) {
+			csv.write(String.format("B%07d,Title %d,Author %d,Fiction,%d,\"A blurb, with a comma\",English,true,3,3,A%d%n",
+					i, i, i % 5000, 1900 + i % 120, i % 40).getBytes(StandardCharsets.UTF_8));
+		}
+
+		BookImportReportDTO loaded = bookImporter.importBooks(new ByteArrayInputStream(csv.toByteArray()),
+				BookTransferFormat.CSV, BookImportListener.NONE);
+		System.out.printf("import: %d rows in %d ms (%.0f rows/s)%n", loaded.getRows(), loaded.getElapsedMillis(),
+				loaded.getRowsPerSecond());
+		assertEquals(BOOKS, loaded.getInserted());
+		assertEquals(0, loaded.getRejected());
+
+		// Two of B0000001's three copies go out on loan, then the catalog says the library owns five
+		mongoTemplate.updateFirst(new Query(Criteria.where("bookNo").is("B0000001")),
+				new Update().set("availableCopies", 1), Book.class);
+		String reimport = "{\"bookNo\":\"B0000001\",\"title\":\"Renamed\",\"author\":\"A\",\"genre\":\"G\",\"year\":2000,"
+				+ "\"language\":\"English\",\"availability\":true,\"availableCopies\":5,\"totalCopies\":5,\"location\":\"A1\"}\n";
+		BookImportReportDTO updated = bookImporter.importBooks(new ByteArrayInputStream(reimport.getBytes(StandardCharsets.UTF_8)),
+				BookTransferFormat.NDJSON, BookImportListener.NONE);
+		assertEquals(1, updated.getUpdated());
+		Book book = mongoTemplate.findOne(new Query(Criteria.where("bookNo").is("B0000001")), Book.class);
+		assertEquals("Renamed", book.getTitle());
+		assertEquals(5, book.getTotalCopies());
+		assertEquals(3, book.getAvailableCopies());
+
+		CountingOutputStream out = new CountingOutputStream();
+		long start = System.nanoTime();
+		long exported = bookExporter.export(BookTransferFormat.NDJSON, out);
+		long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.printf("export: %d books, %d bytes in %d ms (%d books/s)%n", exported, out.bytes, millis,
+				exported * 1000 / millis);
+		assertEquals(BOOKS, exported);
+		assertTrue(out.bytes > 0);
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long bytes;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+		}
+	}
+}
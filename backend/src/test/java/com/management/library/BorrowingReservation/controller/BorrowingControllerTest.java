@@ -0,0 +1,46 @@
+package com.management.library.BorrowingReservation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.repository.BorrowingRepository;
+import com.management.library.BorrowingReservation.service.BorrowingService;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.pagination.NdjsonStreamer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BorrowingControllerTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BorrowingController(mock(BorrowingRepository.class),
+			mock(BorrowingService.class), new KeysetPaginator(mongoTemplate), new NdjsonStreamer(new ObjectMapper()))).build();
+
+	@Test
+	void invalidCursorIsABadRequest() throws Exception {
+		mockMvc.perform(get("/api/borrowings/page").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void pageReportsTheClampedLimit() throws Exception {
+		when(mongoTemplate.find(any(Query.class), eq(Borrowing.class))).thenReturn(List.of());
+
+		mockMvc.perform(get("/api/borrowings/page").param("limit", "10000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.limit").value(KeysetPaginator.MAX_LIMIT))
+				.andExpect(jsonPath("$.hasMore").value(false));
+	}
+}
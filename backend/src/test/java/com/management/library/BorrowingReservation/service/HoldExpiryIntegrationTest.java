@@ -0,0 +1,111 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.index.IndexManager;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MongoIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Hold expiry against a live replica set: an overdue READY hold found by the sweep passes its copy to
+ * the next in line, and a deadline reported to the timing wheel fires on its tick and puts the copy
+ * back on the shelf once nobody is waiting.
+ *
+ * <p>Run with: {@code mvn test -Dtest=HoldExpiryIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryHoldExpiryTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false",
+		"app.reservations.expiry.tick-ms=100"})
+class HoldExpiryIntegrationTest {
+
+	private static final long TIMEOUT_MILLIS = 5_000;
+
+	@Autowired
+	private HoldExpiryService expiryService;
+	@Autowired
+	private HoldDeadlines deadlines;
+	@Autowired
+	private ReservationQueueService queueService;
+	@Autowired
+	private IndexManager indexManager;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetCollections() {
+		for (Class<?> entity : new Class<?>[]{Member.class, Borrowing.class, Reservation.class, Book.class}) {
+			mongoTemplate.dropCollection(entity);
+			// Collections must exist before a transaction writes to them
+			mongoTemplate.createCollection(entity);
+		}
+		indexManager.ensureIndexes();
+		queueService.rebuild();
+	}
+
+	@Test
+	void expiredHoldsPassTheirCopyOn() throws Exception {
+		Book book = new Book("BK-HOLD", "Hold Title", null, "Author", "Fiction", 2025, null, null,
+				"English", true, 1, "A1");
+		book.setTotalCopies(1);
+		String bookId = mongoTemplate.insert(book).getId();
+
+		Reservation first = queueService.enqueue(reservation("H-1", bookId));
+		Reservation second = queueService.enqueue(reservation("H-2", bookId));
+		assertEquals("READY", first.getStatus());
+
+		// Past its deadline without the wheel knowing: the sweep finds it through the index
+		setHoldUntil(first.getId(), LocalDateTime.now().minusMinutes(1));
+		expiryService.sweep();
+		assertEquals("EXPIRED", mongoTemplate.findById(first.getId(), Reservation.class).getStatus());
+		assertNull(mongoTemplate.findById(first.getId(), Reservation.class).getHoldUntil());
+		assertEquals("READY", mongoTemplate.findById(second.getId(), Reservation.class).getStatus());
+
+		// A deadline the wheel knows about fires on its tick
+		setHoldUntil(second.getId(), LocalDateTime.now().plusSeconds(1));
+		deadlines.track(mongoTemplate.findById(second.getId(), Reservation.class));
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (!"EXPIRED".equals(mongoTemplate.findById(second.getId(), Reservation.class).getStatus())) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Hold did not expire within " + TIMEOUT_MILLIS + " ms");
+			}
+			Thread.sleep(50);
+		}
+		assertEquals(1, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+		assertEquals(0, deadlines.size());
+	}
+
+	private void setHoldUntil(String reservationId, LocalDateTime holdUntil) {
+		mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(reservationId)),
+				new Update().set("holdUntil", holdUntil), Reservation.class);
+	}
+
+	private static Reservation reservation(String memberId, String bookId) {
+		Reservation reservation = new Reservation();
+		reservation.setReservationNumber("RS-HOLD-" + memberId);
+		reservation.setMemberId(memberId);
+		reservation.setBookId(bookId);
+		reservation.setReservationDate(LocalDate.now());
+		return reservation;
+	}
+}
@@ -0,0 +1,100 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.Common.job.JobCheckpoint;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MongoIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Interrupted and resumed fee run against a live cluster, in a scratch database.
+ *
+ * <p>Run with: {@code mvn test -Dtest=OverdueFeeEngineIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryOverdueFeeTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false",
+		"app.overdue-fees.batch-size=100",
+		"app.overdue-fees.resume-on-startup=false"})
+class OverdueFeeEngineIntegrationTest {
+
+	private static final int MEMBERS = 10;
+	private static final int LOANS = 1_050;
+
+	@Autowired
+	private OverdueFeeEngine engine;
+	@Autowired
+	private FeeService feeService;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetCollections() {
+		mongoTemplate.dropCollection(Borrowing.class);
+		mongoTemplate.dropCollection(Member.class);
+		mongoTemplate.dropCollection(JobCheckpoint.class);
+	}
+
+	@Test
+	void interruptedRunResumesFromCheckpoint() {
+		LocalDate today = LocalDate.now();
+		for (int m = 0; m < MEMBERS; m++) {
+			Member member = new Member();
+			member.setMemberId("LIBFEE" + m);
+			member.setFineAmount(999);
+			mongoTemplate.insert(member);
+		}
+		List<Borrowing> loans = new ArrayList<>();
+		Map<String, Integer> expectedFines = new HashMap<>();
+		for (int i = 0; i < LOANS; i++) {
+			Borrowing loan = new Borrowing();
+			loan.setMemberId("LIBFEE" + (i % MEMBERS));
+			loan.setBookId("BOOK" + i);
+			loan.setBorrowDate(today.minusDays(60));
+			loan.setDueDate(today.minusDays(1 + i % 40));
+			loan.setStatus("ACTIVE");
+			loans.add(loan);
+			int fee = feeService.calculateLateFee(loan.getDueDate(), today, FeeService.WEEKLY_LATE_FEE);
+			expectedFines.merge(loan.getMemberId(), fee, Integer::sum);
+		}
+		mongoTemplate.insertAll(loans);
+
+		// Stop after three batches, as a crash would
+		JobCheckpoint interrupted = engine.run(3, false).orElseThrow();
+		assertEquals(OverdueFeeEngine.PHASE_FEES, interrupted.getPhase());
+		assertEquals(300, interrupted.getProcessed());
+
+		JobCheckpoint finished = engine.run(Integer.MAX_VALUE, false).orElseThrow();
+		assertEquals(OverdueFeeEngine.PHASE_DONE, finished.getPhase());
+		assertEquals(LOANS, finished.getProcessed());
+		assertEquals(LOANS, finished.getUpdated());
+		assertTrue(finished.getItemsPerSecond() > 0);
+
+		for (Borrowing loan : mongoTemplate.findAll(Borrowing.class)) {
+			assertEquals(feeService.calculateLateFee(loan.getDueDate(), today, FeeService.WEEKLY_LATE_FEE), loan.getLateFee());
+		}
+		for (int m = 0; m < MEMBERS; m++) {
+			Member member = mongoTemplate.findOne(new Query(Criteria.where("memberId").is("LIBFEE" + m)), Member.class);
+			assertEquals(expectedFines.get("LIBFEE" + m), member.getFineAmount(), 0.001);
+		}
+	}
+}
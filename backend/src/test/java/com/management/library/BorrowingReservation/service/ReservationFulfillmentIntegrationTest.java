@@ -0,0 +1,194 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.BorrowingReservation.repository.BorrowingRepository;
+import com.management.library.BorrowingReservation.repository.ReservationRepository;
+import com.management.library.Common.index.IndexManager;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MongoIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs reservation fulfilment against a live replica set (transactions need one) in a scratch database.
+ * Checks that concurrent receives of sibling reservations open exactly one loan, and compares latency
+ * with the previous sequence of repository calls (which did not touch the book's copy counts).
+ *
+ * <p>Run with: {@code mvn test -Dtest=ReservationFulfillmentIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryFulfilmentTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false"})
+class ReservationFulfillmentIntegrationTest {
+
+	private static final int RECEIVERS = 64;
+	private static final int SIBLINGS = 8;
+	private static final int LATENCY_RUNS = 50;
+
+	@Autowired
+	private ReservationFulfillmentService fulfillmentService;
+	@Autowired
+	private ReservationRepository reservationRepository;
+	@Autowired
+	private BorrowingRepository borrowingRepository;
+	@Autowired
+	private IdService idService;
+	@Autowired
+	private IndexManager indexManager;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetCollections() {
+		mongoTemplate.dropCollection(Reservation.class);
+		mongoTemplate.dropCollection(Borrowing.class);
+		mongoTemplate.dropCollection(Book.class);
+		mongoTemplate.dropCollection(Member.class);
+		// Collections must exist before a transaction writes to them
+		mongoTemplate.createCollection(Reservation.class);
+		mongoTemplate.createCollection(Borrowing.class);
+		mongoTemplate.createCollection(Book.class);
+		mongoTemplate.createCollection(Member.class);
+		indexManager.ensureIndexes();
+	}
+
+	@Test
+	void concurrentReceivesOpenOneLoan() throws Exception {
+		String bookId = book(SIBLINGS);
+		List<Reservation> siblings = pending("M-1", bookId, SIBLINGS);
+		AtomicInteger received = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(RECEIVERS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < RECEIVERS; i++) {
+				String id = siblings.get(i % SIBLINGS).getId();
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						fulfillmentService.receive(id);
+						received.incrementAndGet();
+					} catch (IllegalStateException e) {
+						rejected.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1, received.get());
+		assertEquals(RECEIVERS - 1, rejected.get());
+		assertEquals(1, borrowingRepository.findByMemberId("M-1").stream().filter(b -> "ACTIVE".equals(b.getStatus())).count());
+		List<Reservation> after = reservationRepository.findByMemberId("M-1");
+		assertEquals(1, after.stream().filter(r -> "RECEIVED".equals(r.getStatus())).count());
+		assertEquals(SIBLINGS - 1, after.stream().filter(r -> "CANCELLED".equals(r.getStatus())).count());
+		assertEquals(SIBLINGS - 1, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+		assertEquals(1, mongoTemplate.findOne(new Query(Criteria.where("memberId").is("M-1")), Member.class).getActiveLoans());
+	}
+
+	@Test
+	void compareLatencyWithSeparateCalls() {
+		long[] legacy = new long[LATENCY_RUNS];
+		long[] transactional = new long[LATENCY_RUNS];
+		String bookId = book(2 * LATENCY_RUNS);
+		for (int run = 0; run < LATENCY_RUNS; run++) {
+			String target = pending("L-" + run, bookId, 4).get(0).getId();
+			long start = System.nanoTime();
+			receiveWithSeparateCalls(target);
+			legacy[run] = System.nanoTime() - start;
+
+			target = pending("T-" + run, bookId, 4).get(0).getId();
+			start = System.nanoTime();
+			fulfillmentService.receive(target);
+			transactional[run] = System.nanoTime() - start;
+		}
+		Arrays.sort(legacy);
+		Arrays.sort(transactional);
+		System.out.printf("%-16s %10s %10s%n", "path", "p50 ms", "p99 ms");
+		System.out.printf("%-16s %10.2f %10.2f%n", "separate calls", millis(legacy, 0.50), millis(legacy, 0.99));
+		System.out.printf("%-16s %10.2f %10.2f%n", "transaction", millis(transactional, 0.50), millis(transactional, 0.99));
+	}
+
+	// The receive flow as the controller used to run it, one repository call at a time
+	private void receiveWithSeparateCalls(String id) {
+		Reservation existing = reservationRepository.findById(id).orElseThrow();
+		existing.setStatus("RECEIVED");
+		if (borrowingRepository.existsByMemberIdAndBookIdAndStatus(existing.getMemberId(), existing.getBookId(), "ACTIVE")) {
+			reservationRepository.save(existing);
+			return;
+		}
+		Reservation saved = reservationRepository.save(existing);
+		Borrowing borrowing = new Borrowing();
+		borrowing.setBorrowingNumber(idService.nextBorrowNumber());
+		borrowing.setMemberId(saved.getMemberId());
+		borrowing.setBookId(saved.getBookId());
+		borrowing.setBorrowDate(LocalDate.now());
+		borrowing.setDueDate(LocalDate.now().plusDays(14));
+		borrowing.setStatus("ACTIVE");
+		borrowingRepository.save(borrowing);
+		for (Reservation other : reservationRepository.findByMemberIdAndBookIdAndStatus(saved.getMemberId(), saved.getBookId(), "PENDING")) {
+			if (!other.getId().equals(saved.getId())) {
+				other.setStatus("CANCELLED");
+				reservationRepository.save(other);
+			}
+		}
+	}
+
+	private String book(int copies) {
+		Book book = new Book("BK-TEST", "Fulfilment Test", null, "Tester", "Fiction", 2025, null, null,
+				"English", true, copies, "A1");
+		book.setTotalCopies(copies);
+		return mongoTemplate.insert(book).getId();
+	}
+
+	private List<Reservation> pending(String memberId, String bookId, int count) {
+		Member member = new Member();
+		member.setMemberId(memberId);
+		mongoTemplate.insert(member);
+		List<Reservation> reservations = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Reservation reservation = new Reservation();
+			reservation.setReservationNumber("RS-TEST-" + memberId + "-" + i);
+			reservation.setMemberId(memberId);
+			reservation.setBookId(bookId);
+			reservation.setReservationDate(LocalDate.now());
+			reservation.setStatus("PENDING");
+			reservations.add(reservation);
+		}
+		return reservationRepository.saveAll(reservations);
+	}
+
+	private static double millis(long[] sortedNanos, double percentile) {
+		return sortedNanos[Math.min(sortedNanos.length - 1, (int) (sortedNanos.length * percentile))] / 1e6;
+	}
+}
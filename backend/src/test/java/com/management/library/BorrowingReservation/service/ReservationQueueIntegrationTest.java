@@ -0,0 +1,144 @@
+package com.management.library.BorrowingReservation.service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.Common.index.IndexManager;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MongoIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Wait lists against a live replica set: a returned copy goes to the longest-waiting reservation instead
+ * of the shelf, positions move up behind it, and the shelf only gets the copy back once nobody waits.
+ *
+ * <p>Run with: {@code mvn test -Dtest=ReservationQueueIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryQueueTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false"})
+class ReservationQueueIntegrationTest {
+
+	@Autowired
+	private ReservationQueueService queueService;
+	@Autowired
+	private BorrowingService borrowingService;
+	@Autowired
+	private ReservationFulfillmentService fulfillmentService;
+	@Autowired
+	private IndexManager indexManager;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetCollections() {
+		for (Class<?> entity : new Class<?>[]{Member.class, Borrowing.class, Reservation.class, Book.class}) {
+			mongoTemplate.dropCollection(entity);
+			// Collections must exist before a transaction writes to them
+			mongoTemplate.createCollection(entity);
+		}
+		indexManager.ensureIndexes();
+		queueService.rebuild();
+	}
+
+	@Test
+	void returnedCopyGoesToTheHeadOfTheQueue() {
+		String bookId = book();
+		for (String memberId : new String[]{"Q-1", "Q-2", "Q-3", "Q-4"}) {
+			Member member = new Member();
+			member.setMemberId(memberId);
+			mongoTemplate.insert(member);
+		}
+		Borrowing loan = new Borrowing();
+		loan.setMemberId("Q-1");
+		loan.setBookId(bookId);
+		loan.setBorrowDate(LocalDate.now());
+		loan.setDueDate(LocalDate.now().plusDays(14));
+		String loanId = borrowingService.create(loan).getId();
+
+		Reservation second = queueService.enqueue(reservation("Q-2", bookId));
+		Reservation third = queueService.enqueue(reservation("Q-3", bookId));
+		Reservation fourth = queueService.enqueue(reservation("Q-4", bookId));
+		assertEquals("PENDING", second.getStatus());
+		assertEquals(OptionalInt.of(3), queueService.position(fourth.getId()));
+
+		borrowingService.markReturned(loanId);
+		assertEquals("READY", mongoTemplate.findById(second.getId(), Reservation.class).getStatus());
+		assertEquals(0, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+		assertEquals(OptionalInt.of(1), queueService.position(third.getId()));
+
+		// Giving up a held copy passes it on rather than shelving it
+		queueService.delete(second.getId());
+		assertEquals("READY", mongoTemplate.findById(third.getId(), Reservation.class).getStatus());
+		assertEquals(OptionalInt.of(1), queueService.position(fourth.getId()));
+
+		fulfillmentService.receive(third.getId());
+		assertEquals(0, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+		String thirdLoan = mongoTemplate.findOne(Query.query(Criteria.where("memberId").is("Q-3")), Borrowing.class).getId();
+
+		queueService.delete(fourth.getId());
+		borrowingService.markReturned(thirdLoan);
+		assertEquals(1, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+		assertEquals(0, queueService.queueLength(bookId));
+	}
+
+	@Test
+	void receivingReleasesTheMembersOtherHolds() {
+		String bookId = book(2);
+		for (String memberId : new String[]{"R-1", "R-2"}) {
+			Member member = new Member();
+			member.setMemberId(memberId);
+			mongoTemplate.insert(member);
+		}
+		Reservation first = queueService.enqueue(reservation("R-1", bookId));
+		Reservation duplicate = reservation("R-1", bookId);
+		duplicate.setReservationNumber("RS-QUEUE-R-1-B");
+		Reservation second = queueService.enqueue(duplicate);
+		Reservation waiting = queueService.enqueue(reservation("R-2", bookId));
+		assertEquals("READY", second.getStatus());
+		assertEquals("PENDING", waiting.getStatus());
+
+		Reservation received = fulfillmentService.receive(first.getId()).orElseThrow();
+		assertNull(received.getHoldUntil());
+		assertEquals("CANCELLED", mongoTemplate.findById(second.getId(), Reservation.class).getStatus());
+		// The copy held for the cancelled reservation goes to the next member, not back on the shelf
+		assertEquals("READY", mongoTemplate.findById(waiting.getId(), Reservation.class).getStatus());
+		assertEquals(0, mongoTemplate.findById(bookId, Book.class).getAvailableCopies());
+	}
+
+	private String book() {
+		return book(1);
+	}
+
+	private String book(int copies) {
+		Book book = new Book("BK-QUEUE", "Queue Title", null, "Author", "Fiction", 2025, null, null,
+				"English", true, copies, "A1");
+		book.setTotalCopies(copies);
+		return mongoTemplate.insert(book).getId();
+	}
+
+	private static Reservation reservation(String memberId, String bookId) {
+		Reservation reservation = new Reservation();
+		reservation.setReservationNumber("RS-QUEUE-" + memberId);
+		reservation.setMemberId(memberId);
+		reservation.setBookId(bookId);
+		reservation.setReservationDate(LocalDate.now());
+		return reservation;
+	}
+}
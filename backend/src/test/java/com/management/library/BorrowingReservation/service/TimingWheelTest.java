@@ -0,0 +1,95 @@
+package com.management.library.BorrowingReservation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+	@Test
+	void deadlinesFallDueOnTheirTick() {
+		TimingWheel wheel = new TimingWheel(1_000);
+		wheel.schedule("R1", 1_001);
+		wheel.schedule("R2", 1_063);
+		wheel.schedule("R3", 1_064);
+
+		assertEquals(List.of("R1"), wheel.advanceTo(1_001));
+		assertEquals(List.of(), wheel.advanceTo(1_062));
+		assertEquals(List.of("R2"), wheel.advanceTo(1_063));
+		assertEquals(List.of("R3"), wheel.advanceTo(1_064));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledAndRescheduledDeadlinesDoNotFireEarly() {
+		TimingWheel wheel = new TimingWheel(0);
+		wheel.schedule("R1", 10);
+		wheel.schedule("R2", 10);
+		wheel.schedule("R2", 5_000);
+
+		assertTrue(wheel.cancel("R1"));
+		assertFalse(wheel.cancel("R1"));
+		assertEquals(List.of(), wheel.advanceTo(4_999));
+		assertEquals(List.of("R2"), wheel.advanceTo(5_000));
+	}
+
+	@Test
+	void passedDeadlinesAreRefused() {
+		TimingWheel wheel = new TimingWheel(100);
+
+		assertFalse(wheel.schedule("R1", 100));
+		assertFalse(wheel.schedule("R2", 7));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void farDeadlinesCascadeThroughEveryLevelAndTheOverflow() {
+		// Starts mid-turn so that cascades happen at every level boundary on the way
+		long start = (1L << 30) + 12_345;
+		TimingWheel wheel = new TimingWheel(start);
+		Random random = new Random(42);
+		Map<String, Long> deadlines = new HashMap<>();
+		for (int i = 0; i < 20_000; i++) {
+			// Up to 2^26 ticks out: beyond the top level's 2^24, into the overflow
+			long deadline = start + 1 + (long) (random.nextDouble() * (1L << 26));
+			deadlines.put("R" + i, deadline);
+			wheel.schedule("R" + i, deadline);
+		}
+
+		List<String> fired = new ArrayList<>();
+		long tick = start;
+		while (wheel.size() > 0) {
+			tick += 997;
+			for (String id : wheel.advanceTo(tick)) {
+				// Each advance is one call for 997 ticks, so a deadline fires within that window
+				assertTrue(deadlines.get(id) <= tick && deadlines.get(id) > tick - 997, id);
+				fired.add(id);
+			}
+		}
+		assertEquals(deadlines.size(), fired.size());
+	}
+
+	@Test
+	void holdsAMillionDeadlines() {
+		TimingWheel wheel = new TimingWheel(0);
+		int holds = 1_000_000;
+		for (int i = 0; i < holds; i++) {
+			// Spread over a week of one-second ticks
+			wheel.schedule(Integer.toString(i), 1 + (i * 7L * 24 * 3600) / holds);
+		}
+		for (int i = 0; i < holds; i += 2) {
+			wheel.cancel(Integer.toString(i));
+		}
+
+		assertEquals(holds / 2, wheel.size());
+		assertEquals(holds / 2, wheel.advanceTo(7L * 24 * 3600).size());
+	}
+}
@@ -0,0 +1,91 @@
+package com.management.library.BorrowingReservation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitListTest {
+
+	@Test
+	void positionsFollowTicketOrderWhateverTheArrivalOrder() {
+		WaitList queue = new WaitList();
+		queue.add("R3", "M3", 30);
+		queue.add("R1", "M1", 10);
+		queue.add("R2", "M2", 20);
+
+		assertEquals("R1", queue.head());
+		assertEquals(1, queue.position("R1"));
+		assertEquals(2, queue.position("R2"));
+		assertEquals(3, queue.position("R3"));
+		assertEquals(0, queue.position("R4"));
+	}
+
+	@Test
+	void removingTheHeadMovesEveryoneUp() {
+		WaitList queue = new WaitList();
+		for (int ticket = 1; ticket <= 5; ticket++) {
+			queue.add("R" + ticket, "M" + ticket, ticket);
+		}
+
+		assertTrue(queue.remove("R1"));
+		assertTrue(queue.remove("R3"));
+		assertFalse(queue.remove("R3"));
+
+		assertEquals("R2", queue.head());
+		assertEquals(2, queue.position("R4"));
+		assertEquals(3, queue.size());
+		queue.remove("R2");
+		queue.remove("R4");
+		queue.remove("R5");
+		assertNull(queue.head());
+	}
+
+	@Test
+	void aReservationIsQueuedOnce() {
+		WaitList queue = new WaitList();
+
+		assertTrue(queue.add("R1", "M1", 1));
+		assertFalse(queue.add("R1", "M1", 2));
+		assertEquals(1, queue.size());
+	}
+
+	@Test
+	void windowSlidesAsTicketsGrow() {
+		WaitList queue = new WaitList();
+		// Long-lived counters and tickets far apart, well beyond the initial window
+		for (int i = 0; i < 1_000; i++) {
+			long ticket = 5_000_000_000L + i * 97L;
+			queue.add("R" + i, "M" + i, ticket);
+			if (i % 3 == 0 && i > 0) {
+				queue.remove("R" + (i - 1));
+			}
+		}
+		queue.add("LATE", "M-late", 4_999_999_000L);
+
+		assertEquals("LATE", queue.head());
+		assertEquals(queue.size(), queue.position("R999"));
+		assertEquals(2, queue.position("R0"));
+		assertEquals(3, queue.position("R1"));
+		assertEquals(0, queue.position("R2"));
+	}
+
+	@Test
+	void memberLeavesEveryPlaceAtOnce() {
+		WaitList queue = new WaitList();
+		queue.add("R1", "M1", 1);
+		queue.add("R2", "M2", 2);
+		queue.add("R3", "M1", 3);
+
+		List<String> removed = queue.removeMember("M1");
+
+		assertEquals(2, removed.size());
+		assertTrue(removed.containsAll(List.of("R1", "R3")));
+		assertEquals("R2", queue.head());
+		assertEquals(1, queue.position("R2"));
+	}
+}
@@ -0,0 +1,258 @@
+package com.management.library.Common.cache;
+
+import com.management.library.BookManagement.dto.BookUpdateDTO;
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.event.BookChangeEvent;
+import com.management.library.BookManagement.event.BookChangeFeed;
+import com.management.library.BookManagement.repository.BookRepository;
+import com.management.library.BookManagement.service.BookCacheInvalidator;
+import com.management.library.BookManagement.service.BookSearchService;
+import com.management.library.BookManagement.service.BookService;
+import com.management.library.BookManagement.service.BookStatsService;
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.Common.mail.MailOutbox;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.sequence.SequenceGenerator;
+import com.management.library.Config.CacheConfig;
+import com.management.library.MemberManagement.Dto.UpdateMemberRequest;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Repository.MemberRepository;
+import com.management.library.MemberManagement.Service.MemberService;
+import com.management.library.UserManagement.Entity.User;
+import com.management.library.UserManagement.Repository.UserRepository;
+import com.management.library.UserManagement.Service.LoginRateLimiter;
+import com.management.library.UserManagement.Service.PasswordVerifier;
+import com.management.library.UserManagement.Service.UserService;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads go through the real caching proxies and Caffeine caches; every test loads an entry, changes the
+ * entity (through its service or as a change arriving from another instance) and checks that the next
+ * read goes back to the repository.
+ */
+@SpringJUnitConfig(classes = {CacheConfig.class, EntityCacheEvictor.class, BookService.class, BookChangeFeed.class,
+		BookCacheInvalidator.class, MemberService.class, UserService.class, CacheInvalidationSubscriber.class})
+class EntityCacheInvalidationTest {
+
+	@MockitoBean
+	private MongoTemplate mongoTemplate;
+	@MockitoBean
+	private BookRepository bookRepository;
+	@MockitoBean
+	private MemberRepository memberRepository;
+	@MockitoBean
+	private UserRepository userRepository;
+	@MockitoBean
+	private ChangeStreamSubscriber changeStreamSubscriber;
+	@MockitoBean
+	private TaskScheduler taskScheduler;
+	@MockitoBean
+	private BackgroundJobs backgroundJobs;
+	@MockitoBean
+	private KeysetPaginator keysetPaginator;
+	@MockitoBean
+	private BookStatsService bookStatsService;
+	@MockitoBean
+	private BookSearchService bookSearchService;
+	@MockitoBean
+	private SequenceGenerator sequenceGenerator;
+	@MockitoBean
+	private BCryptPasswordEncoder passwordEncoder;
+	@MockitoBean
+	private MailOutbox mailOutbox;
+	@MockitoBean
+	private PasswordVerifier passwordVerifier;
+	@MockitoBean
+	private LoginRateLimiter loginRateLimiter;
+
+	@Autowired
+	private CacheManager cacheManager;
+	@Autowired
+	private BookService bookService;
+	@Autowired
+	private BookCacheInvalidator bookCacheInvalidator;
+	@Autowired
+	private MemberService memberService;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private CacheInvalidationSubscriber cacheInvalidationSubscriber;
+
+	@BeforeEach
+	void setUp() {
+		CacheNames.ALL.forEach(name -> cacheManager.getCache(name).clear());
+		when(changeStreamSubscriber.isEnabled()).thenReturn(true);
+		when(mongoTemplate.getCollectionName(Member.class)).thenReturn("members");
+		when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(call -> {
+			call.<Runnable>getArgument(0).run();
+			return null;
+		});
+	}
+
+	@Test
+	void bookReadMissesAfterALocalUpdate() {
+		Book book = book("Dune");
+		when(bookRepository.findById("b-1")).thenReturn(Optional.of(book));
+		bookService.getBookById("b-1");
+		bookService.getBookById("b-1");
+		verify(bookRepository, times(1)).findById("b-1");
+
+		when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Book.class))).thenReturn(book);
+		BookUpdateDTO update = new BookUpdateDTO();
+		update.setTitle("Dune Messiah");
+		bookService.updateBook("b-1", update);
+
+		bookService.getBookById("b-1");
+		verify(bookRepository, times(2)).findById("b-1");
+	}
+
+	@Test
+	void bookReadsMissAfterAChangeFromElsewhere() {
+		Book book = book("Dune");
+		when(bookRepository.findById("b-1")).thenReturn(Optional.of(book));
+		when(bookRepository.findByBookNo("BK-1")).thenReturn(Optional.of(book));
+		bookService.getBookById("b-1");
+		bookService.getBookByBookNo("BK-1");
+
+		// From the change stream without a pre-image, so the old book number is unknown
+		bookCacheInvalidator.onBookChange(new BookChangeEvent(BookChangeEvent.Type.UPDATE, "b-1", null, book("Dune"), false));
+
+		bookService.getBookById("b-1");
+		bookService.getBookByBookNo("BK-1");
+		verify(bookRepository, times(2)).findById("b-1");
+		verify(bookRepository, times(2)).findByBookNo("BK-1");
+	}
+
+	@Test
+	void memberReadMissesAfterAnUpdate() {
+		Member member = member();
+		when(memberRepository.findAllByMemberId("LIB2025001")).thenReturn(List.of(member));
+		memberService.getMemberByMemberId("LIB2025001");
+		memberService.getMemberByMemberId("LIB2025001");
+		verify(memberRepository, times(1)).findAllByMemberId("LIB2025001");
+
+		when(memberRepository.findById("m-1")).thenReturn(Optional.of(member));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Member.class)))
+				.thenReturn(member);
+		UpdateMemberRequest request = new UpdateMemberRequest();
+		request.setPhoneNumber("555-0100");
+		memberService.updateMember("m-1", request);
+
+		memberService.getMemberByMemberId("LIB2025001");
+		verify(memberRepository, times(2)).findAllByMemberId("LIB2025001");
+	}
+
+	@Test
+	void memberReadsMissAfterAChangeEvent() {
+		Member member = member();
+		when(memberRepository.findAllByMemberId("LIB2025001")).thenReturn(List.of(member));
+		when(memberRepository.findByUserId("u-1")).thenReturn(Optional.of(member));
+		memberService.getMemberByMemberId("LIB2025001");
+		memberService.getMemberByUserId("u-1");
+
+		handlerFor("members").accept(change(new Document("_id", "m-1").append("memberId", "LIB2025001").append("userId", "u-1"), "m-1"));
+
+		memberService.getMemberByMemberId("LIB2025001");
+		memberService.getMemberByUserId("u-1");
+		verify(memberRepository, times(2)).findAllByMemberId("LIB2025001");
+		verify(memberRepository, times(2)).findByUserId("u-1");
+	}
+
+	@Test
+	void userReadMissesAfterAStatusChange() {
+		User user = user();
+		when(userRepository.findById("u-1")).thenReturn(Optional.of(user));
+		userService.getUserById("u-1");
+		userService.getUserById("u-1");
+		verify(userRepository, times(1)).findById("u-1");
+
+		userService.activateUser("u-1");
+
+		userService.getUserById("u-1");
+		// One read for the activation itself, one for the cache miss after it
+		verify(userRepository, times(3)).findById("u-1");
+	}
+
+	@Test
+	void userReadMissesAfterAChangeEvent() {
+		when(userRepository.findById("u-1")).thenReturn(Optional.of(user()));
+		userService.getUserById("u-1");
+
+		// Deletes carry only the document key
+		handlerFor("users").accept(change(null, "u-1"));
+
+		userService.getUserById("u-1");
+		verify(userRepository, times(2)).findById("u-1");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Consumer<ChangeStreamDocument<Document>> handlerFor(String collection) {
+		cacheInvalidationSubscriber.start();
+		ArgumentCaptor<Consumer<ChangeStreamDocument<Document>>> handler = ArgumentCaptor.forClass(Consumer.class);
+		verify(changeStreamSubscriber).subscribe(eq(collection), eq(false), handler.capture(), any(Runnable.class));
+		return handler.getValue();
+	}
+
+	private static ChangeStreamDocument<Document> change(Document fullDocument, String id) {
+		return new ChangeStreamDocument<>(fullDocument != null ? "update" : "delete", new BsonDocument(), null, null,
+				fullDocument, null, new BsonDocument("_id", new BsonString(id)), null, null, null, null, null, null, null);
+	}
+
+	private static Book book(String title) {
+		Book book = new Book();
+		book.setId("b-1");
+		book.setBookNo("BK-1");
+		book.setTitle(title);
+		book.setTotalCopies(2);
+		book.setAvailableCopies(2);
+		return book;
+	}
+
+	private static Member member() {
+		Member member = new Member();
+		member.setId("m-1");
+		member.setMemberId("LIB2025001");
+		member.setUserId("u-1");
+		member.setBorrowingLimit(3);
+		member.setFineAmount(0.0);
+		return member;
+	}
+
+	private static User user() {
+		User user = new User();
+		user.setId("u-1");
+		user.setUsername("reader");
+		user.setStatus(User.UserStatus.DEACTIVATED);
+		return user;
+	}
+}
@@ -0,0 +1,69 @@
+package com.management.library.Common.index;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BookManagement.repository.BookRepository;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.repository.BorrowingRepository;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Repository.MemberRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryShapeResolverTest {
+
+	private final MongoMappingContext mappingContext = new MongoMappingContext();
+	private QueryShapeResolver resolver;
+
+	@BeforeEach
+	void setUp() {
+		// Same simple types (java.time etc.) as the application's mapping context
+		mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+		resolver = new QueryShapeResolver(new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext)));
+	}
+
+	@Test
+	void derivedQueriesUseStoredFieldNames() throws Exception {
+		Optional<Document> filter = resolve(BookRepository.class.getMethod("findByBookNo", String.class), Book.class);
+
+		assertThat(filter).contains(new Document("bookno", "sample"));
+	}
+
+	@Test
+	void derivedQueriesCombineAllParts() throws Exception {
+		Optional<Document> filter = resolve(BorrowingRepository.class.getMethod("existsByMemberIdAndBookIdAndStatus",
+				String.class, String.class, String.class), Borrowing.class);
+
+		assertThat(filter).isPresent();
+		assertThat(filter.get().toJson()).contains("memberId", "bookId", "status");
+	}
+
+	@Test
+	void annotatedQueriesSubstituteSampleArguments() throws Exception {
+		Optional<Document> filter = resolve(MemberRepository.class.getMethod("findByMembershipTypeAndStatus",
+				Member.MembershipType.class, Member.MemberStatus.class), Member.class);
+
+		assertThat(filter).contains(new Document("membershipType", "BASIC").append("status", "ACTIVE"));
+	}
+
+	@Test
+	void aggregationsAreNotResolved() throws Exception {
+		assertThat(resolve(BookRepository.class.getMethod("computeBookStatistics"), Book.class)).isEmpty();
+	}
+
+	private Optional<Document> resolve(java.lang.reflect.Method method, Class<?> entityType) {
+		MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(entityType);
+		return resolver.resolve(method, entity);
+	}
+}
@@ -0,0 +1,82 @@
+package com.management.library.Common.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackgroundJobsTest {
+
+	private final BackgroundJobs jobs = new BackgroundJobs(true, 2, new MockEnvironment());
+
+	@AfterEach
+	void tearDown() {
+		jobs.stop();
+	}
+
+	@Test
+	void retriesUntilTheJobSucceeds() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(1);
+
+		jobs.runUntilDone("flaky", () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new IllegalStateException("not yet");
+			}
+			done.countDown();
+		}, Duration.ofMillis(10));
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertEquals(3, attempts.get());
+	}
+
+	@Test
+	void stopsRetryingOnceStopped() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch failedOnce = new CountDownLatch(1);
+
+		jobs.runUntilDone("failing", () -> {
+			attempts.incrementAndGet();
+			failedOnce.countDown();
+			throw new IllegalStateException("cluster unreachable");
+		}, Duration.ofMillis(50));
+		assertTrue(failedOnce.await(5, TimeUnit.SECONDS));
+		jobs.stop();
+		int attemptsAtStop = attempts.get();
+
+		Thread.sleep(200);
+		assertEquals(attemptsAtStop, attempts.get());
+	}
+
+	@Test
+	void periodicJobKeepsRunningAfterAFailure() throws InterruptedException {
+		CountDownLatch ranAgain = new CountDownLatch(3);
+
+		jobs.scheduleWithFixedDelay("gauge", () -> {
+			ranAgain.countDown();
+			throw new IllegalStateException("count failed");
+		}, Duration.ZERO, Duration.ofMillis(10));
+
+		assertTrue(ranAgain.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void disabledJobsNeverRun() throws InterruptedException {
+		BackgroundJobs disabled = new BackgroundJobs(false, 1, new MockEnvironment());
+		AtomicInteger runs = new AtomicInteger();
+
+		disabled.submit("seed", runs::incrementAndGet);
+		Thread.sleep(50);
+		disabled.stop();
+
+		assertEquals(0, runs.get());
+	}
+}
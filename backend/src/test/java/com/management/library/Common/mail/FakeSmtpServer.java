@@ -0,0 +1,117 @@
+package com.management.library.Common.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Just enough SMTP to accept mail on a local port: counts connections, records recipients of accepted
+ * messages, can delay its greeting (a slow handshake) and reject chosen recipients.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final long greetingDelayMillis;
+	private final List<String> rejected;
+	private final AtomicInteger connections = new AtomicInteger();
+	private final List<String> delivered = new CopyOnWriteArrayList<>();
+
+	FakeSmtpServer(long greetingDelayMillis, String... rejectedRecipients) {
+		this.greetingDelayMillis = greetingDelayMillis;
+		this.rejected = List.of(rejectedRecipients);
+		try {
+			serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		Thread acceptor = new Thread(this::accept, "fake-smtp");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	int getConnections() {
+		return connections.get();
+	}
+
+	List<String> getDelivered() {
+		return delivered;
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				connections.incrementAndGet();
+				Thread session = new Thread(() -> converse(socket), "fake-smtp-session");
+				session.setDaemon(true);
+				session.start();
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void converse(Socket socket) {
+		try (socket) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			OutputStream out = socket.getOutputStream();
+			Thread.sleep(greetingDelayMillis);
+			reply(out, "220 localhost fake SMTP");
+			String recipient = null;
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.toUpperCase();
+				if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+					reply(out, "250 localhost");
+				} else if (command.startsWith("RCPT TO:")) {
+					String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+					if (rejected.contains(address)) {
+						reply(out, "550 No such user");
+					} else {
+						recipient = address;
+						reply(out, "250 OK");
+					}
+				} else if (command.startsWith("DATA")) {
+					reply(out, "354 End data with <CR><LF>.<CR><LF>");
+					while ((line = in.readLine()) != null && !line.equals(".")) {
+						// message content is not inspected
+					}
+					delivered.add(recipient);
+					recipient = null;
+					reply(out, "250 OK");
+				} else if (command.startsWith("QUIT")) {
+					reply(out, "221 Bye");
+					return;
+				} else {
+					// MAIL FROM, RSET, NOOP
+					reply(out, "250 OK");
+				}
+			}
+		} catch (IOException | InterruptedException e) {
+			// connection dropped by the client or the server closed
+		}
+	}
+
+	private static void reply(OutputStream out, String line) throws IOException {
+		out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+}
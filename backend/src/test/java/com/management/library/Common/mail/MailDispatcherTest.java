@@ -0,0 +1,90 @@
+package com.management.library.Common.mail;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailDispatcherTest {
+
+	@Test
+	void batchGoesOutOverOneConnection() throws Exception {
+		try (FakeSmtpServer smtp = new FakeSmtpServer(0)) {
+			MailDispatcher dispatcher = dispatcherFor(smtp.getPort());
+
+			Map<OutboundMail, MailDispatcher.Failure> failures = dispatcher.send(mails(5));
+
+			assertTrue(failures.isEmpty());
+			assertEquals(5, smtp.getDelivered().size());
+			assertEquals(1, smtp.getConnections());
+			assertEquals(5, dispatcher.getSentCount());
+		}
+	}
+
+	@Test
+	void rejectedRecipientFailsOnlyItsOwnMessage() throws Exception {
+		try (FakeSmtpServer smtp = new FakeSmtpServer(0, "member2@example.com")) {
+			MailDispatcher dispatcher = dispatcherFor(smtp.getPort());
+			List<OutboundMail> batch = mails(4);
+
+			Map<OutboundMail, MailDispatcher.Failure> failures = dispatcher.send(batch);
+
+			assertEquals(1, failures.size());
+			assertFalse(failures.get(batch.get(2)).isPermanent());
+			assertEquals(3, smtp.getDelivered().size());
+		}
+	}
+
+	@Test
+	void expiredMessageIsDroppedWithoutSending() throws Exception {
+		try (FakeSmtpServer smtp = new FakeSmtpServer(0)) {
+			MailDispatcher dispatcher = dispatcherFor(smtp.getPort());
+			OutboundMail expired = new OutboundMail("late@example.com", "Token", "123456", false,
+					LocalDateTime.now().minusMinutes(1));
+
+			Map<OutboundMail, MailDispatcher.Failure> failures = dispatcher.send(List.of(expired));
+
+			assertTrue(failures.get(expired).isPermanent());
+			assertEquals(0, smtp.getConnections());
+		}
+	}
+
+	@Test
+	void unreachableServerFailsTheWholeBatchForRetry() throws Exception {
+		int port;
+		try (FakeSmtpServer smtp = new FakeSmtpServer(0)) {
+			port = smtp.getPort();
+		}
+		MailDispatcher dispatcher = dispatcherFor(port);
+
+		Map<OutboundMail, MailDispatcher.Failure> failures = dispatcher.send(mails(3));
+
+		assertEquals(3, failures.size());
+		assertTrue(failures.values().stream().noneMatch(MailDispatcher.Failure::isPermanent));
+	}
+
+	private static MailDispatcher dispatcherFor(int port) {
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost("localhost");
+		sender.setPort(port);
+		// Only send() is exercised, so no outbox is needed
+		return new MailDispatcher(null, sender, "library@example.com", false, 1, 20, 1000,
+				new StandardEnvironment());
+	}
+
+	private static List<OutboundMail> mails(int count) {
+		List<OutboundMail> mails = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			mails.add(new OutboundMail("member" + i + "@example.com", "Subject " + i, "<p>Body " + i + "</p>", i % 2 == 0, null));
+		}
+		return mails;
+	}
+}
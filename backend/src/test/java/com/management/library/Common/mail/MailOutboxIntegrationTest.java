@@ -0,0 +1,85 @@
+package com.management.library.Common.mail;
+
+import com.management.library.MongoIntegrationTest;
+import com.management.library.UserManagement.Service.EmailService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Request-path latency with a slow SMTP server: queueing must not wait for the 3s greeting, and the
+ * message must still arrive. Live cluster, scratch database, local fake SMTP server.
+ *
+ * <p>Run with: {@code mvn test -Dtest=MailOutboxIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryMailTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false",
+		"app.overdue-fees.resume-on-startup=false",
+		"spring.mail.properties.mail.smtp.auth=false",
+		"spring.mail.properties.mail.smtp.starttls.enable=false",
+		"spring.mail.properties.mail.smtp.starttls.required=false",
+		"app.mail.poll-interval-ms=500"})
+class MailOutboxIntegrationTest {
+
+	private static final long GREETING_DELAY_MILLIS = 3_000;
+	private static final FakeSmtpServer SMTP = new FakeSmtpServer(GREETING_DELAY_MILLIS);
+
+	@Autowired
+	private EmailService emailService;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@DynamicPropertySource
+	static void smtpServer(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", SMTP::getPort);
+	}
+
+	@AfterAll
+	static void stopSmtpServer() throws Exception {
+		SMTP.close();
+	}
+
+	@BeforeEach
+	void resetOutbox() {
+		mongoTemplate.dropCollection(OutboundMail.class);
+		mongoTemplate.dropCollection(MailOutbox.DEAD_LETTER_COLLECTION);
+	}
+
+	@Test
+	void queueingDoesNotWaitForSmtp() throws Exception {
+		long start = System.nanoTime();
+		emailService.sendMemberWelcomeEmail("new.member@example.com", "Nimal", "LIB2025001", "BASIC");
+		long queuedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(queuedMillis < GREETING_DELAY_MILLIS / 3, "queueing took " + queuedMillis + " ms");
+
+		long deadline = System.currentTimeMillis() + 20_000;
+		while (!SMTP.getDelivered().contains("new.member@example.com") && System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+		}
+		assertTrue(SMTP.getDelivered().contains("new.member@example.com"));
+		// Deleted once sent
+		long drained = System.currentTimeMillis() + 5_000;
+		while (mongoTemplate.count(new Query(), OutboundMail.class) > 0
+				&& System.currentTimeMillis() < drained) {
+			Thread.sleep(100);
+		}
+		assertEquals(0, mongoTemplate.count(new Query(), OutboundMail.class));
+	}
+}
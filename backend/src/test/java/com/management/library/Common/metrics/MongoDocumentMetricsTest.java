@@ -0,0 +1,74 @@
+package com.management.library.Common.metrics;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+
+class MongoDocumentMetricsTest {
+
+	private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+			new ServerId(new ClusterId(), new ServerAddress()));
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final MongoDocumentMetrics metrics = new MongoDocumentMetrics(registry);
+
+	@Test
+	void recordsBatchSizesPerCommandAndCollection() {
+		run(1, "find", "{find: 'books', filter: {}}", "{ok: 1, cursor: {id: 7, ns: 'db.books', firstBatch: [{}, {}, {}]}}");
+		run(2, "getMore", "{getMore: 7, collection: 'books'}", "{ok: 1, cursor: {id: 0, ns: 'db.books', nextBatch: [{}, {}]}}");
+		run(3, "aggregate", "{aggregate: 'borrowings', pipeline: []}", "{ok: 1, cursor: {id: 0, ns: 'db.borrowings', firstBatch: [{}]}}");
+
+		DistributionSummary find = summary("find", "books");
+		assertEquals(1, find.count());
+		assertEquals(3, find.totalAmount());
+		assertEquals(2, summary("getMore", "books").totalAmount());
+		assertEquals(1, summary("aggregate", "borrowings").totalAmount());
+	}
+
+	@Test
+	void ignoresWritesAndFailedReads() {
+		run(1, "insert", "{insert: 'books', documents: [{}]}", "{ok: 1, n: 1}");
+		metrics.commandStarted(started(2, "find", "{find: 'books'}"));
+		metrics.commandFailed(new CommandFailedEvent(mock(RequestContext.class), 1, 2, CONNECTION, "db", "find", 5,
+				new RuntimeException("timed out")));
+		// A late reply for the failed request id must not be attributed to anything
+		metrics.commandSucceeded(succeeded(2, "find", "{ok: 1, cursor: {id: 0, firstBatch: [{}]}}"));
+
+		assertEquals(0, registry.find(MongoDocumentMetrics.METRIC).meters().size());
+	}
+
+	private void run(int requestId, String command, String request, String response) {
+		metrics.commandStarted(started(requestId, command, request));
+		metrics.commandSucceeded(succeeded(requestId, command, response));
+	}
+
+	private static CommandStartedEvent started(int requestId, String command, String json) {
+		return new CommandStartedEvent(mock(RequestContext.class), 1, requestId, CONNECTION, "db", command,
+				BsonDocument.parse(json));
+	}
+
+	private static CommandSucceededEvent succeeded(int requestId, String command, String json) {
+		return new CommandSucceededEvent(mock(RequestContext.class), 1, requestId, CONNECTION, "db", command,
+				BsonDocument.parse(json), 1_000);
+	}
+
+	private DistributionSummary summary(String command, String collection) {
+		DistributionSummary summary = registry.find(MongoDocumentMetrics.METRIC)
+				.tag("command", command).tag("collection", collection).summary();
+		assertNotNull(summary, "no summary for " + command + " on " + collection);
+		return summary;
+	}
+}
@@ -0,0 +1,129 @@
+package com.management.library.Common.pagination;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class KeysetPaginatorTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final KeysetPaginator paginator = new KeysetPaginator(mongoTemplate);
+
+	@Test
+	void firstPageReadsFromTheStartOfTheIdIndex() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class))).thenReturn(rows(3));
+
+		page(null, 10);
+
+		Query query = executedQuery();
+		assertTrue(query.getQueryObject().isEmpty());
+		assertEquals(new Document("_id", 1), query.getSortObject());
+	}
+
+	@Test
+	void laterPagesStartAfterTheCursor() {
+		ObjectId cursor = new ObjectId();
+		when(mongoTemplate.find(any(Query.class), eq(Document.class))).thenReturn(rows(3));
+
+		paginator.page(Document.class, Criteria.where("memberId").is("LIB2025001"), cursor.toHexString(), 10,
+				KeysetPaginatorTest::idOf, Function.identity());
+
+		Document filter = executedQuery().getQueryObject();
+		@SuppressWarnings("unchecked")
+		List<Document> clauses = (List<Document>) filter.get("$and");
+		assertEquals(new Document("memberId", "LIB2025001"), clauses.get(0));
+		assertEquals(new Document("_id", new Document("$gt", cursor)), clauses.get(1));
+	}
+
+	@Test
+	void extraRowMeansAnotherPage() {
+		List<Document> rows = rows(4);
+		when(mongoTemplate.find(any(Query.class), eq(Document.class))).thenReturn(rows);
+
+		CursorPage<Document> page = page(null, 3);
+
+		assertEquals(4, executedQuery().getLimit());
+		assertEquals(3, page.getItems().size());
+		assertTrue(page.isHasMore());
+		assertEquals(idOf(rows.get(2)), page.getNextCursor());
+	}
+
+	@Test
+	void noExtraRowMeansLastPage() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class))).thenReturn(rows(3));
+
+		CursorPage<Document> page = page(null, 3);
+
+		assertEquals(3, page.getItems().size());
+		assertFalse(page.isHasMore());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void missingLimitDefaultsTo50() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class))).thenReturn(List.of());
+
+		CursorPage<Document> page = page(null, null);
+
+		assertEquals(KeysetPaginator.DEFAULT_LIMIT, page.getLimit());
+		assertEquals(KeysetPaginator.DEFAULT_LIMIT + 1, executedQuery().getLimit());
+	}
+
+	@Test
+	void largeLimitIsCappedAt500() {
+		when(mongoTemplate.find(any(Query.class), eq(Document.class))).thenReturn(List.of());
+
+		CursorPage<Document> page = page(null, 100_000);
+
+		assertEquals(KeysetPaginator.MAX_LIMIT, page.getLimit());
+		assertEquals(KeysetPaginator.MAX_LIMIT + 1, executedQuery().getLimit());
+	}
+
+	@Test
+	void invalidCursorIsRejectedBeforeQuerying() {
+		assertThrows(IllegalArgumentException.class, () -> page("not-a-cursor", 10));
+		verifyNoInteractions(mongoTemplate);
+	}
+
+	private CursorPage<Document> page(String cursor, Integer limit) {
+		return paginator.page(Document.class, null, cursor, limit, KeysetPaginatorTest::idOf, Function.identity());
+	}
+
+	private Query executedQuery() {
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(query.capture(), eq(Document.class));
+		return query.getValue();
+	}
+
+	private static List<Document> rows(int count) {
+		List<Document> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(new Document("_id", new ObjectId()));
+		}
+		return rows;
+	}
+
+	private static String idOf(Document row) {
+		return row.getObjectId("_id").toHexString();
+	}
+}
@@ -0,0 +1,67 @@
+package com.management.library.Common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonStreamerTest {
+
+	private final NdjsonStreamer streamer = new NdjsonStreamer(new ObjectMapper());
+
+	@Test
+	void writesOneJsonDocumentPerLineAndClosesTheCursor() throws IOException {
+		AtomicBoolean closed = new AtomicBoolean();
+		ResponseEntity<StreamingResponseBody> response = streamer.stream(() -> IntStream.range(0, 3)
+				.mapToObj(i -> Map.of("n", i))
+				.onClose(() -> closed.set(true)));
+		assertEquals(NdjsonStreamer.APPLICATION_NDJSON, response.getHeaders().getContentType());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+
+		assertEquals("{\"n\":0}\n{\"n\":1}\n{\"n\":2}\n", out.toString());
+		assertTrue(closed.get());
+	}
+
+	@Test
+	void cursorIsOpenedOnlyWhenTheBodyIsWritten() {
+		AtomicBoolean opened = new AtomicBoolean();
+
+		streamer.stream(() -> {
+			opened.set(true);
+			return Stream.empty();
+		});
+
+		assertFalse(opened.get());
+	}
+
+	@Test
+	void cursorIsClosedWhenTheClientGoesAway() {
+		AtomicBoolean closed = new AtomicBoolean();
+		ResponseEntity<StreamingResponseBody> response = streamer.stream(() -> Stream.of("a", "b")
+				.onClose(() -> closed.set(true)));
+		OutputStream disconnected = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		};
+
+		assertThrows(IOException.class, () -> response.getBody().writeTo(disconnected));
+		assertTrue(closed.get());
+	}
+}
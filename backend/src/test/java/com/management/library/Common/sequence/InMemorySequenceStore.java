@@ -0,0 +1,46 @@
+package com.management.library.Common.sequence;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Stands in for the counters collection: one lock per store serializes updates the way the server
+ * serializes writes to one counter document, and an optional delay models the round-trip.
+ */
+class InMemorySequenceStore implements SequenceStore {
+
+	private final Map<String, Long> counters = new HashMap<>();
+	private final long roundTripMicros;
+	final AtomicInteger roundTrips = new AtomicInteger();
+
+	InMemorySequenceStore(long roundTripMicros) {
+		this.roundTripMicros = roundTripMicros;
+	}
+
+	@Override
+	public synchronized long allocate(String sequence, int blockSize) {
+		pause();
+		return counters.merge(sequence, (long) blockSize, Long::sum);
+	}
+
+	@Override
+	public synchronized void initialize(String sequence, LongSupplier floor) {
+		pause();
+		if (!counters.containsKey(sequence)) {
+			counters.put(sequence, floor.getAsLong());
+		}
+	}
+
+	private void pause() {
+		roundTrips.incrementAndGet();
+		if (roundTripMicros > 0) {
+			long until = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+			while (System.nanoTime() < until) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+}
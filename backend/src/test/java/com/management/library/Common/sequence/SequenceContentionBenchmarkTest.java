@@ -0,0 +1,74 @@
+package com.management.library.Common.sequence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 64 concurrent creators drawing IDs through two replicas, with one store round-trip per ID
+ * (block size 1, equivalent to a plain findAndModify per insert) against larger blocks.
+ * The store serializes updates to a counter and spins for a configurable round-trip time.
+ *
+ * <p>Run with: {@code mvn test -Dtest=SequenceContentionBenchmarkTest -Dbenchmark.sequence=true}
+ * (add {@code -Dbenchmark.sequence.rtt-micros=1000} to change the simulated round-trip).
+ */
+@EnabledIfSystemProperty(named = "benchmark.sequence", matches = "true")
+class SequenceContentionBenchmarkTest {
+
+	private static final int CREATORS = 64;
+	private static final int IDS_PER_CREATOR = 200;
+	private static final int[] BLOCK_SIZES = {1, 10, 50, 500};
+
+	@Test
+	void compareBlockSizesUnderContention() throws Exception {
+		long rttMicros = Long.getLong("benchmark.sequence.rtt-micros", 500);
+		System.out.printf("%-10s %12s %12s %14s%n", "block", "ids", "round trips", "ids/second");
+		for (int blockSize : BLOCK_SIZES) {
+			run(blockSize, rttMicros);
+		}
+	}
+
+	private void run(int blockSize, long rttMicros) throws Exception {
+		InMemorySequenceStore store = new InMemorySequenceStore(rttMicros);
+		SequenceGenerator[] replicas = {new SequenceGenerator(store, blockSize), new SequenceGenerator(store, blockSize)};
+		Set<Long> issued = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(CREATORS);
+		CountDownLatch start = new CountDownLatch(1);
+		long elapsed;
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int c = 0; c < CREATORS; c++) {
+				SequenceGenerator generator = replicas[c % replicas.length];
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < IDS_PER_CREATOR; i++) {
+						issued.add(generator.next("BR2025"));
+					}
+					return null;
+				}));
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			elapsed = System.nanoTime() - begin;
+		} finally {
+			executor.shutdown();
+		}
+
+		int total = CREATORS * IDS_PER_CREATOR;
+		assertEquals(total, issued.size());
+		System.out.printf("%-10d %12d %12d %14.0f%n", blockSize, total, store.roundTrips.get(), total / (elapsed / 1e9));
+	}
+}
@@ -0,0 +1,95 @@
+package com.management.library.Common.sequence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequenceGeneratorTest {
+
+	@Test
+	void handsOutConsecutiveValuesFromOneBlock() {
+		InMemorySequenceStore store = new InMemorySequenceStore(0);
+		SequenceGenerator generator = new SequenceGenerator(store, 10);
+
+		for (long expected = 1; expected <= 25; expected++) {
+			assertEquals(expected, generator.next("BR2025"));
+		}
+		// One initialization plus three blocks of ten
+		assertEquals(4, store.roundTrips.get());
+	}
+
+	@Test
+	void continuesAfterFloorOfNewSequence() {
+		InMemorySequenceStore store = new InMemorySequenceStore(0);
+		SequenceGenerator generator = new SequenceGenerator(store, 5);
+
+		assertEquals(43, generator.next("LIB2025", () -> 42L));
+		// The floor is ignored once the counter exists
+		assertEquals(48, new SequenceGenerator(store, 5).next("LIB2025", () -> 1000L));
+	}
+
+	@Test
+	void reservedRangeIsContiguousAndNeverHandedOutAgain() {
+		InMemorySequenceStore store = new InMemorySequenceStore(0);
+		SequenceGenerator generator = new SequenceGenerator(store, 10);
+
+		assertEquals(1, generator.next("LIB2025", () -> 0L));
+		assertEquals(11, generator.reserve("LIB2025", 500, () -> 0L));
+		// The in-memory block is untouched, and the next block starts past the reserved range
+		for (long expected = 2; expected <= 10; expected++) {
+			assertEquals(expected, generator.next("LIB2025"));
+		}
+		assertEquals(511, generator.next("LIB2025"));
+		// Initialization, two blocks and the reservation
+		assertEquals(4, store.roundTrips.get());
+	}
+
+	@Test
+	void restartSkipsTheRestOfTheBlock() {
+		InMemorySequenceStore store = new InMemorySequenceStore(0);
+		new SequenceGenerator(store, 50).next("RS2025");
+
+		assertEquals(51, new SequenceGenerator(store, 50).next("RS2025", () -> 0L));
+	}
+
+	@Test
+	void replicasNeverIssueTheSameValue() throws Exception {
+		InMemorySequenceStore store = new InMemorySequenceStore(0);
+		SequenceGenerator[] replicas = {new SequenceGenerator(store, 7), new SequenceGenerator(store, 7)};
+		int threads = 64;
+		int perThread = 500;
+		Set<Long> issued = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				SequenceGenerator generator = replicas[t % replicas.length];
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < perThread; i++) {
+						assertTrue(issued.add(generator.next("BR2025")));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(threads * perThread, issued.size());
+	}
+}
@@ -0,0 +1,142 @@
+package com.management.library.Config;
+
+import com.management.library.LibraryApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Throughput and latency of the blocking request path on platform threads and on virtual threads, at
+ * 200, 1,000 and 5,000 concurrent clients. Boots the application once per mode against the configured
+ * cluster (override with {@code -Dspring.data.mongodb.uri=...}) and keeps every client in a closed loop
+ * on one endpoint: each sends its next request as soon as the previous response arrives.
+ *
+ * <p>Run with: {@code mvn test -Dtest=ExecutionModeLoadTest -Dbenchmark.execution-mode=true}
+ * (add {@code -Dbenchmark.path=/api/dashboard/summary} or {@code -Dbenchmark.seconds=60} to change
+ * the endpoint or the measured time per level). Virtual threads need a Java 21+ runtime; on older
+ * runtimes only the platform rows are reported.
+ */
+@EnabledIfSystemProperty(named = "benchmark.execution-mode", matches = "true")
+class ExecutionModeLoadTest {
+
+	private static final int[] CLIENTS = {200, 1_000, 5_000};
+	private static final int MAX_LATENCY_MILLIS = 60_000;
+
+	@Test
+	void compareExecutionModes() throws Exception {
+		String path = System.getProperty("benchmark.path", "/api/books/page?limit=20");
+		Duration measured = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+		boolean virtualAvailable = JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+
+		System.out.printf("%-9s %8s %10s %10s %10s %10s %8s%n", "mode", "clients", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+		run(false, path, measured);
+		if (virtualAvailable) {
+			run(true, path, measured);
+		} else {
+			System.out.printf("virtual   skipped: running on Java %s, virtual threads need 21+%n", JavaVersion.getJavaVersion());
+		}
+	}
+
+	private void run(boolean virtualThreads, String path, Duration measured) throws Exception {
+		// Command-line arguments, so they win over application.properties
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApplication.class).run(
+				"--server.port=0",
+				"--spring.threads.virtual.enabled=" + virtualThreads,
+				"--app.change-streams.enabled=false",
+				"--app.indexes.auto-create=false",
+				"--app.indexes.check-query-plans=false",
+				"--app.overdue-fees.resume-on-startup=false",
+				"--app.mail.dispatcher.enabled=false")) {
+			URI target = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path);
+			String mode = virtualThreads ? "virtual" : "platform";
+			// Warm up the JIT, the connection pool and the caches before measuring
+			load(target, CLIENTS[0], Duration.ofSeconds(5));
+			for (int clients : CLIENTS) {
+				Result result = load(target, clients, measured);
+				System.out.printf("%-9s %8d %10d %10.0f %10d %10d %8d%n", mode, clients, result.requests.get(),
+						result.requests.get() / (double) measured.toSeconds(), result.percentile(0.50), result.percentile(0.99),
+						result.errors.get());
+			}
+		}
+	}
+
+	// Closed loop: each of the clients always has exactly one request in flight
+	private Result load(URI target, int clients, Duration duration) throws Exception {
+		ExecutorService callbacks = Executors.newFixedThreadPool(4);
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(callbacks)
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofMillis(MAX_LATENCY_MILLIS)).GET().build();
+		Result result = new Result();
+		long deadline = System.nanoTime() + duration.toNanos();
+		CompletableFuture<?>[] clientsDone = new CompletableFuture<?>[clients];
+		try {
+			for (int i = 0; i < clients; i++) {
+				CompletableFuture<Void> done = new CompletableFuture<>();
+				send(http, request, result, deadline, done);
+				clientsDone[i] = done;
+			}
+			CompletableFuture.allOf(clientsDone).join();
+		} finally {
+			callbacks.shutdownNow();
+		}
+		return result;
+	}
+
+	// Each response triggers the client's next request from the callback, without chaining futures
+	private void send(HttpClient http, HttpRequest request, Result result, long deadline, CompletableFuture<Void> done) {
+		if (System.nanoTime() >= deadline) {
+			done.complete(null);
+			return;
+		}
+		long start = System.nanoTime();
+		http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.whenComplete((response, failure) -> {
+					if (failure != null || response.statusCode() >= 400) {
+						result.errors.incrementAndGet();
+					} else {
+						result.record(Duration.ofNanos(System.nanoTime() - start).toMillis());
+					}
+					send(http, request, result, deadline, done);
+				});
+	}
+
+	// Millisecond histogram, so recording is allocation-free and the percentiles are exact to the millisecond
+	private static final class Result {
+		private final AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+		private final AtomicLong requests = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+
+		private void record(long millis) {
+			histogram.incrementAndGet((int) Math.min(millis, MAX_LATENCY_MILLIS));
+			requests.incrementAndGet();
+		}
+
+		private long percentile(double quantile) {
+			long rank = (long) Math.ceil(requests.get() * quantile);
+			long seen = 0;
+			for (int millis = 0; millis <= MAX_LATENCY_MILLIS; millis++) {
+				seen += histogram.get(millis);
+				if (seen >= rank && rank > 0) {
+					return millis;
+				}
+			}
+			return MAX_LATENCY_MILLIS;
+		}
+	}
+}
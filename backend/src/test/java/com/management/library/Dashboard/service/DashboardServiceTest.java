@@ -0,0 +1,50 @@
+package com.management.library.Dashboard.service;
+
+import com.management.library.BookManagement.dto.BookStatsDTO;
+import com.management.library.BookManagement.service.BookStatsService;
+import com.management.library.Dashboard.repository.DashboardRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+	private final DashboardRepository dashboardRepository = mock(DashboardRepository.class);
+	private final BookStatsService bookStatsService = mock(BookStatsService.class);
+
+	@BeforeEach
+	void setUp() {
+		when(bookStatsService.getStatistics()).thenReturn(new BookStatsDTO());
+		when(dashboardRepository.summarizeBorrowings()).thenReturn(new Document());
+		when(dashboardRepository.summarizeReservations()).thenReturn(new Document());
+		when(dashboardRepository.summarizeMembers()).thenReturn(new Document());
+	}
+
+	@Test
+	void backgroundRefreshWaitsForAPoll() {
+		DashboardService service = new DashboardService(dashboardRepository, bookStatsService, 5_000, 60_000);
+
+		service.refreshSnapshot();
+		verify(dashboardRepository, never()).summarizeBorrowings();
+
+		service.getSummary();
+		service.refreshSnapshot();
+		verify(dashboardRepository, times(2)).summarizeBorrowings();
+	}
+
+	@Test
+	void backgroundRefreshStopsOnceIdle() throws InterruptedException {
+		DashboardService service = new DashboardService(dashboardRepository, bookStatsService, 5_000, 10);
+		service.getSummary();
+		Thread.sleep(50);
+
+		service.refreshSnapshot();
+		verify(dashboardRepository, times(1)).summarizeBorrowings();
+	}
+}
@@ -0,0 +1,59 @@
+package com.management.library;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * The cluster {@link MongoIntegrationTest}s run against: {@code -Dit.mongo.uri} when given, otherwise a
+ * single-node replica set in a container started on first use and shared by every such test in the run
+ * (add {@code -Dit.mongo.image=mongo:8.0} to change the image). Without either the tests are skipped.
+ * The tests drop and recreate collections, so the configured {@code spring.data.mongodb.uri} is always
+ * overridden and never used by them.
+ */
+public final class IntegrationMongo implements ExecutionCondition, ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+	private static String uri;
+
+	@Override
+	public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+		if (explicitUri() != null) {
+			return ConditionEvaluationResult.enabled("Using -Dit.mongo.uri");
+		}
+		return DockerClientFactory.instance().isDockerAvailable()
+				? ConditionEvaluationResult.enabled("Using a MongoDB container")
+				: ConditionEvaluationResult.disabled("Needs Docker, or a replica set given with -Dit.mongo.uri=...");
+	}
+
+	@Override
+	public void initialize(ConfigurableApplicationContext context) {
+		TestPropertyValues.of("spring.data.mongodb.uri=" + uri()).applyTo(context.getEnvironment());
+	}
+
+	// Stopped with the JVM by the Testcontainers reaper
+	private static synchronized String uri() {
+		if (uri == null) {
+			String explicit = explicitUri();
+			if (explicit != null) {
+				uri = explicit;
+			} else {
+				MongoDBContainer container = new MongoDBContainer(DockerImageName.parse(System.getProperty("it.mongo.image", "mongo:7.0")));
+				container.start();
+				// The replica set advertises the container's own hostname, which is not resolvable from here
+				uri = container.getConnectionString() + "/?directConnection=true";
+			}
+		}
+		return uri;
+	}
+
+	private static String explicitUri() {
+		String explicit = System.getProperty("it.mongo.uri");
+		return explicit != null && !explicit.isBlank() ? explicit : null;
+	}
+}
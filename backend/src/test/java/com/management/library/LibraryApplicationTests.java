@@ -3,7 +3,14 @@ package com.management.library;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Only checks the wiring: no background jobs, watches or mail workers, and a fast failure for anything
+// that does reach for the cluster, so the run neither needs Mongo nor waits on it at shutdown
+@SpringBootTest(properties = {
+		"app.background-jobs.enabled=false",
+		"app.change-streams.enabled=false",
+		"app.mail.dispatcher.enabled=false",
+		"app.mongo.server-selection-timeout-ms=500"
+})
 class LibraryApplicationTests {
 
 	@Test
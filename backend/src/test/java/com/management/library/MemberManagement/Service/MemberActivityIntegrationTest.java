@@ -0,0 +1,114 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.entity.Reservation;
+import com.management.library.BorrowingReservation.service.BorrowingService;
+import com.management.library.Common.index.IndexManager;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Entity.MemberActivity;
+import com.management.library.MongoIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Member activity against a live replica set, with change streams on: the document is built on first
+ * read, then follows borrowings, returns and fine changes through the projector.
+ *
+ * <p>Run with: {@code mvn test -Dtest=MemberActivityIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryActivityTest",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false",
+		"app.overdue-fees.resume-on-startup=false",
+		"app.mail.dispatcher.enabled=false"})
+class MemberActivityIntegrationTest {
+
+	private static final String MEMBER_ID = "LIB2025ACT";
+	private static final long TIMEOUT_MILLIS = 10_000;
+
+	@Autowired
+	private MemberActivityService activityService;
+	@Autowired
+	private BorrowingService borrowingService;
+	@Autowired
+	private IndexManager indexManager;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetCollections() {
+		for (Class<?> entity : new Class<?>[]{Member.class, MemberActivity.class, Borrowing.class, Reservation.class, Book.class}) {
+			mongoTemplate.dropCollection(entity);
+			// Collections must exist before a transaction writes to them
+			mongoTemplate.createCollection(entity);
+		}
+		indexManager.ensureIndexes();
+
+		Member member = new Member();
+		member.setMemberId(MEMBER_ID);
+		mongoTemplate.insert(member);
+	}
+
+	@Test
+	void activityFollowsLoansAndFines() throws Exception {
+		Book book = new Book("BK-ACT", "Activity Title", null, "Author", "Fiction", 2025, null, null,
+				"English", true, 2, "A1");
+		book.setTotalCopies(2);
+		String bookId = mongoTemplate.insert(book).getId();
+
+		// Built from the sources on first read
+		assertTrue(activityService.getActivity(MEMBER_ID).orElseThrow().getLoans().isEmpty());
+
+		Borrowing loan = new Borrowing();
+		loan.setMemberId(MEMBER_ID);
+		loan.setBookId(bookId);
+		loan.setBorrowDate(LocalDate.now());
+		loan.setDueDate(LocalDate.now().plusDays(14));
+		String loanId = borrowingService.create(loan).getId();
+		MemberActivity borrowed = await(activity -> activity.getLoans().size() == 1 && activity.getActiveLoans() == 1);
+		assertEquals(loanId, borrowed.getLoans().get(0).getId());
+		assertEquals("ACTIVE", borrowed.getLoans().get(0).getStatus());
+
+		borrowingService.markReturned(loanId);
+		MemberActivity returned = await(activity -> "RETURNED".equals(activity.getLoans().get(0).getStatus()));
+		assertEquals(1, returned.getLoans().size());
+
+		mongoTemplate.updateFirst(new Query(Criteria.where("memberId").is(MEMBER_ID)), new Update().set("fineAmount", 25.0), Member.class);
+		MemberActivity fined = await(activity -> activity.getFineChanges().size() == 1);
+		assertEquals(0.0, fined.getFineChanges().get(0).getPrevious());
+		assertEquals(25.0, fined.getFineChanges().get(0).getAmount());
+
+		borrowingService.delete(loanId);
+		await(activity -> activity.getLoans().isEmpty());
+	}
+
+	// Reads the stored document, as the projector leaves it, until it matches
+	private MemberActivity await(Predicate<MemberActivity> condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (System.currentTimeMillis() < deadline) {
+			MemberActivity activity = mongoTemplate.findById(MEMBER_ID, MemberActivity.class);
+			if (activity != null && condition.test(activity)) {
+				return activity;
+			}
+			Thread.sleep(50);
+		}
+		return fail("Member activity did not catch up within " + TIMEOUT_MILLIS + " ms");
+	}
+}
@@ -0,0 +1,129 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.Common.changestream.ChangeStreamSubscriber;
+import com.management.library.MemberManagement.Entity.MemberActivity;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MemberActivityProjectorTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	@SuppressWarnings("unchecked")
+	private final MongoCollection<Document> activity = mock(MongoCollection.class);
+	private final MemberActivityService activityService = mock(MemberActivityService.class);
+	private MemberActivityProjector projector;
+
+	@BeforeEach
+	void setUp() {
+		when(mongoTemplate.getCollectionName(MemberActivity.class)).thenReturn("member_activity");
+		when(mongoTemplate.getCollection("member_activity")).thenReturn(activity);
+		when(activityService.getMaxEntries()).thenReturn(50);
+		projector = new MemberActivityProjector(mock(ChangeStreamSubscriber.class), activityService, mongoTemplate,
+				mock(TaskScheduler.class), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void newLoanIsProjectedIntoItsMembersDocumentOnly() {
+		ObjectId loanId = new ObjectId();
+		Document loan = new Document("_id", loanId).append("memberId", "LIB2025001").append("status", "ACTIVE");
+
+		projector.onEntryChange(change(OperationType.INSERT, loan, loanId), "loans", MemberActivityService::loanEntry);
+
+		ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+		verify(activity).updateOne(filter.capture(), anyList());
+		assertEquals(new Document("_id", "LIB2025001"), filter.getValue());
+		verify(activity, never()).updateMany(any(Bson.class), any(Bson.class));
+	}
+
+	@Test
+	void replacedLoanIsRemovedFromOtherMembers() {
+		ObjectId loanId = new ObjectId();
+		Document loan = new Document("_id", loanId).append("memberId", "LIB2025002").append("status", "RETURNED");
+
+		projector.onEntryChange(change(OperationType.REPLACE, loan, loanId), "loans", MemberActivityService::loanEntry);
+
+		ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+		verify(activity).updateMany(filter.capture(), any(Bson.class));
+		assertEquals(new Document("loans._id", loanId).append("_id", new Document("$ne", "LIB2025002")), filter.getValue());
+	}
+
+	@Test
+	void deletedReservationIsPulledByItsId() {
+		ObjectId reservationId = new ObjectId();
+
+		projector.onEntryChange(change(OperationType.DELETE, null, reservationId), "reservations", MemberActivityService::reservationEntry);
+
+		ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+		ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+		verify(activity).updateMany(filter.capture(), update.capture());
+		assertEquals(new Document("reservations._id", reservationId), filter.getValue());
+		assertEquals(new Document("reservations", new Document("_id", reservationId)), ((Document) update.getValue()).get("$pull"));
+	}
+
+	@Test
+	void memberChangesOnlyApplyOverOlderOnes() {
+		ObjectId memberId = new ObjectId();
+		Document member = new Document("_id", memberId).append("memberId", "LIB2025001")
+				.append("status", "SUSPENDED").append("fineAmount", 40.0);
+
+		projector.onMemberChange(change(OperationType.UPDATE, member, memberId));
+
+		ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+		verify(activity).updateOne(filter.capture(), anyList());
+		Document expected = new Document("_id", "LIB2025001")
+				.append("memberClusterTime", new Document("$not", new Document("$gte", new BsonTimestamp(1_700_000_000, 1).getValue())));
+		assertEquals(expected, filter.getValue());
+	}
+
+	@Test
+	void newMembersAreLeftForTheFirstRead() {
+		ObjectId memberId = new ObjectId();
+		projector.onMemberChange(change(OperationType.INSERT, new Document("_id", memberId).append("memberId", "LIB2025003"), memberId));
+
+		verifyNoInteractions(activity);
+	}
+
+	@Test
+	void entryUpdateKeepsNewerVersionsAndTrimsTheList() {
+		Document set = (Document) MemberActivityProjector.upsertEntry("loans", new Document("_id", "L1"), 42L, 50).get("$set");
+		Document cond = (Document) ((Document) ((Document) set.get("loans")).get("$let")).get("in");
+		List<?> branches = (List<?>) cond.get("$cond");
+
+		assertEquals("$loans", branches.get(1));
+		assertEquals(50, ((List<?>) ((Document) branches.get(2)).get("$slice")).get(1));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ChangeStreamDocument<Document> change(OperationType type, Document fullDocument, ObjectId id) {
+		ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+		when(change.getOperationType()).thenReturn(type);
+		when(change.getFullDocument()).thenReturn(fullDocument);
+		when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(id)));
+		when(change.getClusterTime()).thenReturn(new BsonTimestamp(1_700_000_000, 1));
+		return change;
+	}
+}
@@ -0,0 +1,166 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.BookManagement.entity.Book;
+import com.management.library.BorrowingReservation.entity.Borrowing;
+import com.management.library.BorrowingReservation.service.BorrowingService;
+import com.management.library.Common.index.IndexManager;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MongoIntegrationTest;
+import com.management.library.UserManagement.Exception.BorrowingLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * One member borrowing from many threads at once against a live replica set (borrowings run in
+ * transactions), in a scratch database. Each thread asks for a different book, so the member's
+ * borrowing limit is the only thing standing between them.
+ *
+ * <p>Run with: {@code mvn test -Dtest=MemberLoanLimitIntegrationTest} (needs Docker, or
+ * {@code -Dit.mongo.uri=...} for a replica set of your own).
+ */
+@MongoIntegrationTest
+@SpringBootTest(properties = {
+		"spring.data.mongodb.database=LibraryLoanLimitTest",
+		"app.change-streams.enabled=false",
+		"app.indexes.auto-create=false",
+		"app.indexes.check-query-plans=false"})
+class MemberLoanLimitIntegrationTest {
+
+	private static final int BORROWERS = 64;
+	private static final int LIMIT = 5;
+	private static final String MEMBER_ID = "LIB2025LIMIT";
+
+	@Autowired
+	private MemberLoanService memberLoanService;
+	@Autowired
+	private BorrowingService borrowingService;
+	@Autowired
+	private IndexManager indexManager;
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void resetCollections() {
+		mongoTemplate.dropCollection(Member.class);
+		mongoTemplate.dropCollection(Borrowing.class);
+		mongoTemplate.dropCollection(Book.class);
+		// Collections must exist before a transaction writes to them
+		mongoTemplate.createCollection(Member.class);
+		mongoTemplate.createCollection(Borrowing.class);
+		mongoTemplate.createCollection(Book.class);
+		indexManager.ensureIndexes();
+
+		Member member = new Member();
+		member.setMemberId(MEMBER_ID);
+		member.setBorrowingLimit(LIMIT);
+		mongoTemplate.insert(member);
+	}
+
+	@Test
+	void concurrentCheckoutsStopAtTheLimit() throws Exception {
+		AtomicInteger granted = new AtomicInteger();
+		AtomicInteger refused = new AtomicInteger();
+		storm(i -> () -> {
+			try {
+				memberLoanService.checkOut(MEMBER_ID);
+				granted.incrementAndGet();
+			} catch (BorrowingLimitExceededException e) {
+				refused.incrementAndGet();
+			}
+			return null;
+		});
+
+		assertEquals(LIMIT, granted.get());
+		assertEquals(BORROWERS - LIMIT, refused.get());
+		assertEquals(LIMIT, member().getActiveLoans());
+
+		for (int i = 0; i < LIMIT; i++) {
+			assertTrue(memberLoanService.checkIn(MEMBER_ID));
+		}
+		assertFalse(memberLoanService.checkIn(MEMBER_ID));
+		assertEquals(0, member().getActiveLoans());
+	}
+
+	@Test
+	void concurrentBorrowingsNeverExceedTheLimit() throws Exception {
+		List<String> bookIds = new ArrayList<>();
+		for (int i = 0; i < BORROWERS; i++) {
+			Book book = new Book("BK-LIMIT-" + i, "Title " + i, null, "Author", "Fiction", 2025, null, null,
+					"English", true, 1, "A1");
+			book.setTotalCopies(1);
+			bookIds.add(mongoTemplate.insert(book).getId());
+		}
+
+		AtomicInteger granted = new AtomicInteger();
+		AtomicInteger refused = new AtomicInteger();
+		storm(i -> () -> {
+			Borrowing loan = new Borrowing();
+			loan.setMemberId(MEMBER_ID);
+			loan.setBookId(bookIds.get(i));
+			loan.setBorrowDate(LocalDate.now());
+			loan.setDueDate(LocalDate.now().plusDays(14));
+			try {
+				borrowingService.create(loan);
+				granted.incrementAndGet();
+			} catch (RuntimeException e) {
+				// Over the limit, or a write conflict that outlasted the retries
+				refused.incrementAndGet();
+			}
+			return null;
+		});
+
+		long active = mongoTemplate.count(new Query(Criteria.where("status").is("ACTIVE")), Borrowing.class);
+		long copiesOut = mongoTemplate.find(new Query(), Book.class).stream().filter(book -> book.getAvailableCopies() == 0).count();
+		assertTrue(granted.get() <= LIMIT, "Granted " + granted.get() + " loans over a limit of " + LIMIT);
+		assertEquals(BORROWERS, granted.get() + refused.get());
+		assertEquals(granted.get(), active);
+		assertEquals(granted.get(), member().getActiveLoans());
+		// Refused borrowings rolled back the copy they took
+		assertEquals(granted.get(), copiesOut);
+	}
+
+	private void storm(IntFunction<Callable<Void>> borrower) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(BORROWERS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < BORROWERS; i++) {
+				Callable<Void> attempt = borrower.apply(i);
+				futures.add(executor.submit(() -> {
+					start.await();
+					return attempt.call();
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private Member member() {
+		return mongoTemplate.findOne(new Query(Criteria.where("memberId").is(MEMBER_ID)), Member.class);
+	}
+}
@@ -0,0 +1,74 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.job.BackgroundJobs;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.UserManagement.Exception.BorrowingLimitExceededException;
+import com.management.library.UserManagement.Exception.ResourceNotFoundException;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberLoanServiceTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final EntityCacheEvictor cacheEvictor = mock(EntityCacheEvictor.class);
+	private final MemberLoanService service = new MemberLoanService(mongoTemplate, cacheEvictor, mock(BackgroundJobs.class));
+
+	@Test
+	void checkoutIsOneConditionalIncrement() {
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(member(1, 3));
+
+		service.checkOut("LIB2025001");
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(), eq(Member.class));
+		Document filter = query.getValue().getQueryObject();
+		assertEquals("LIB2025001", filter.get("memberId"));
+		assertTrue(filter.containsKey("$expr"));
+		assertEquals(new Document("activeLoans", 1), update.getValue().getUpdateObject().get("$inc"));
+		verify(cacheEvictor).evictMember("LIB2025001", "U-1");
+	}
+
+	@Test
+	void checkoutAtTheLimitIsRefused() {
+		when(mongoTemplate.findOne(any(Query.class), eq(Member.class))).thenReturn(member(3, 3));
+
+		BorrowingLimitExceededException e = assertThrows(BorrowingLimitExceededException.class,
+				() -> service.checkOut("LIB2025001"));
+		assertEquals("Member LIB2025001 already has 3 of 3 loans open", e.getMessage());
+	}
+
+	@Test
+	void checkoutByUnknownMemberIsNotFound() {
+		assertThrows(ResourceNotFoundException.class, () -> service.checkOut("LIB2025999"));
+	}
+
+	@Test
+	void returnWithNoLoanCountedChangesNothing() {
+		assertFalse(service.checkIn("LIB2025001"));
+	}
+
+	private static Member member(int activeLoans, int borrowingLimit) {
+		Member member = new Member();
+		member.setMemberId("LIB2025001");
+		member.setUserId("U-1");
+		member.setActiveLoans(activeLoans);
+		member.setBorrowingLimit(borrowingLimit);
+		return member;
+	}
+}
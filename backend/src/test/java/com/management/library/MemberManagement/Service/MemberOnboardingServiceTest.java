@@ -0,0 +1,153 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.sequence.SequenceGenerator;
+import com.management.library.MemberManagement.Dto.BulkOnboardingResponse;
+import com.management.library.MemberManagement.Dto.BulkOnboardingResponse.RowStatus;
+import com.management.library.MemberManagement.Dto.CreateMemberRequest;
+import com.management.library.MemberManagement.Dto.MemberResponse;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Repository.MemberRepository;
+import com.management.library.UserManagement.Service.EmailService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import jakarta.validation.Validation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberOnboardingServiceTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final SequenceGenerator sequenceGenerator = mock(SequenceGenerator.class);
+	private final EmailService emailService = mock(EmailService.class);
+	private final BulkOperations bulkOperations = mock(BulkOperations.class);
+	private final List<List<Member>> inserts = new ArrayList<>();
+	private long nextNumber = 100;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of());
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Member.class)).thenReturn(bulkOperations);
+		when(bulkOperations.insert(anyList())).thenAnswer(call -> {
+			inserts.add(new ArrayList<>((List<Member>) call.getArgument(0)));
+			return bulkOperations;
+		});
+		when(sequenceGenerator.reserve(eq("LIB2025"), anyInt(), any())).thenAnswer(call -> {
+			long first = nextNumber;
+			nextNumber += call.<Integer>getArgument(1);
+			return first;
+		});
+		when(emailService.queueMemberWelcomeEmails(anyList())).thenAnswer(call -> call.<List<?>>getArgument(0).size());
+	}
+
+	@Test
+	void resolvesDuplicatesAndAllocatesIdsPerChunk() {
+		Member registered = new Member();
+		registered.setEmail("taken@uni.edu");
+		when(mongoTemplate.find(any(Query.class), eq(Member.class)))
+				.thenReturn(List.of(registered))
+				.thenReturn(List.of());
+		List<CreateMemberRequest> requests = List.of(
+				request("a@uni.edu"),
+				request("taken@uni.edu"),
+				request("not-an-email"),
+				request("a@uni.edu"),
+				request("b@uni.edu"),
+				request("c@uni.edu"));
+
+		BulkOnboardingResponse response = service(3).onboard(requests, true);
+
+		assertEquals(List.of(RowStatus.CREATED, RowStatus.DUPLICATE, RowStatus.INVALID, RowStatus.DUPLICATE,
+				RowStatus.CREATED, RowStatus.CREATED), statuses(response));
+		assertEquals(List.of("LIB2025100", "LIB2025101", "LIB2025102"), response.getRows().stream()
+				.filter(row -> row.getStatus() == RowStatus.CREATED)
+				.map(BulkOnboardingResponse.RowResult::getMemberId)
+				.collect(Collectors.toList()));
+		assertEquals("Email should be valid", response.getRows().get(2).getMessage());
+		assertEquals(3, response.getCreated());
+		assertEquals(2, response.getDuplicates());
+		// Two chunks: one email lookup, one ID reservation and one insert each
+		verify(mongoTemplate, times(2)).find(any(Query.class), eq(Member.class));
+		verify(sequenceGenerator).reserve(eq("LIB2025"), eq(1), any());
+		verify(sequenceGenerator).reserve(eq("LIB2025"), eq(2), any());
+		assertEquals(2, inserts.size());
+		assertEquals(3, response.getWelcomeEmailsQueued());
+	}
+
+	@Test
+	void rowsRejectedByTheDatabaseAreReportedAndGetNoEmail() {
+		when(bulkOperations.execute()).thenThrow(new BulkOperationException("E11000", new MongoBulkWriteException(
+				BulkWriteResult.acknowledged(1, 0, 0, 0, List.of(), List.of()),
+				List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 0)),
+				null, new ServerAddress(), Set.of())));
+		ArgumentCaptor<List<MemberResponse>> emailed = memberListCaptor();
+
+		BulkOnboardingResponse response = service(100).onboard(List.of(request("a@uni.edu"), request("b@uni.edu")), true);
+
+		assertEquals(List.of(RowStatus.FAILED, RowStatus.CREATED), statuses(response));
+		assertNull(response.getRows().get(0).getMemberId());
+		verify(emailService).queueMemberWelcomeEmails(emailed.capture());
+		assertEquals(List.of("b@uni.edu"), emailed.getValue().stream().map(MemberResponse::getEmail).collect(Collectors.toList()));
+	}
+
+	@Test
+	void welcomeEmailsAreOptional() {
+		BulkOnboardingResponse response = service(100).onboard(List.of(request("a@uni.edu")), false);
+
+		assertEquals(1, response.getCreated());
+		assertEquals(0, response.getWelcomeEmailsQueued());
+		verify(emailService, never()).queueMemberWelcomeEmails(anyList());
+	}
+
+	private MemberOnboardingService service(int chunkSize) {
+		MemberService memberService = new MemberService(mock(MemberRepository.class), mock(KeysetPaginator.class),
+				mock(EntityCacheEvictor.class), sequenceGenerator, mongoTemplate);
+		return new MemberOnboardingService(memberService, mongoTemplate, emailService,
+				Validation.buildDefaultValidatorFactory().getValidator(), chunkSize);
+	}
+
+	private static List<RowStatus> statuses(BulkOnboardingResponse response) {
+		return response.getRows().stream().map(BulkOnboardingResponse.RowResult::getStatus).collect(Collectors.toList());
+	}
+
+	private static CreateMemberRequest request(String email) {
+		CreateMemberRequest request = new CreateMemberRequest();
+		request.setFirstName("Student");
+		request.setLastName("Intake");
+		request.setEmail(email);
+		request.setMembershipType(Member.MembershipType.STUDENT);
+		return request;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ArgumentCaptor<List<MemberResponse>> memberListCaptor() {
+		return ArgumentCaptor.forClass((Class<List<MemberResponse>>) (Class<?>) List.class);
+	}
+}
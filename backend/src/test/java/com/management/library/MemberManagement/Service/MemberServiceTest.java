@@ -0,0 +1,72 @@
+package com.management.library.MemberManagement.Service;
+
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.Common.sequence.SequenceGenerator;
+import com.management.library.MemberManagement.Dto.UpdateMemberRequest;
+import com.management.library.MemberManagement.Entity.Member;
+import com.management.library.MemberManagement.Repository.MemberRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberServiceTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final MemberRepository memberRepository = mock(MemberRepository.class);
+	private MemberService memberService;
+
+	@BeforeEach
+	void setUp() {
+		Member member = new Member();
+		member.setId("m-1");
+		member.setMemberId("LIB2025001");
+		member.setEmail("reader@uni.edu");
+		when(memberRepository.findById("m-1")).thenReturn(Optional.of(member));
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Member.class)))
+				.thenReturn(member);
+		memberService = new MemberService(memberRepository, mock(KeysetPaginator.class), mock(EntityCacheEvictor.class),
+				mock(SequenceGenerator.class), mongoTemplate);
+	}
+
+	@Test
+	void suspendSetsOnlyTheStatus() {
+		memberService.suspendMember("m-1");
+
+		assertEquals(Set.of("status", "updatedAt"), setFields());
+	}
+
+	@Test
+	void updateSetsOnlyTheFieldsSupplied() {
+		UpdateMemberRequest request = new UpdateMemberRequest();
+		request.setPhoneNumber("555-0100");
+
+		memberService.updateMember("m-1", request);
+
+		// No borrowing limit in the request, so it is not written
+		assertEquals(Set.of("phoneNumber", "updatedAt"), setFields());
+	}
+
+	private Set<String> setFields() {
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Member.class));
+		Document document = update.getValue().getUpdateObject();
+		assertEquals(Set.of("$set"), document.keySet());
+		return document.get("$set", Document.class).keySet();
+	}
+}
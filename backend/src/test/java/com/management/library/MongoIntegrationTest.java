@@ -0,0 +1,23 @@
+package com.management.library;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @SpringBootTest} that needs a real replica set (transactions, change streams). It runs
+ * against {@code -Dit.mongo.uri} when given, otherwise against a throwaway container, and is skipped
+ * when neither is available. See {@link IntegrationMongo}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(IntegrationMongo.class)
+@ContextConfiguration(initializers = IntegrationMongo.class)
+public @interface MongoIntegrationTest {
+}
@@ -0,0 +1,64 @@
+package com.management.library.UserManagement.Service;
+
+import com.management.library.UserManagement.Exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginRateLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void usernameBucketRefillsOverTime() {
+		// 3 attempts at once, then one every 20 seconds
+		LoginRateLimiter limiter = limiter(3, 3, 100, 100, false);
+		for (int i = 0; i < 3; i++) {
+			limiter.acquire("alice", "10.0.0.1");
+		}
+
+		LoginThrottledException refused = assertThrows(LoginThrottledException.class, () -> limiter.acquire("alice", "10.0.0.2"));
+		assertEquals(20, refused.getRetryAfterSeconds());
+		assertDoesNotThrow(() -> limiter.acquire("bob", "10.0.0.1"));
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+		assertDoesNotThrow(() -> limiter.acquire("alice", "10.0.0.1"));
+		assertThrows(LoginThrottledException.class, () -> limiter.acquire("alice", "10.0.0.1"));
+	}
+
+	@Test
+	void addressBucketStopsAttemptsAcrossUsernames() {
+		LoginRateLimiter limiter = limiter(100, 100, 2, 60, false);
+		limiter.acquire("u1", "10.0.0.9");
+		limiter.acquire("u2", "10.0.0.9");
+
+		assertThrows(LoginThrottledException.class, () -> limiter.acquire("u3", "10.0.0.9"));
+		// Refused by address before the username bucket was touched
+		assertDoesNotThrow(() -> limiter.acquire("u3", "10.0.0.10"));
+		assertEquals(1.0, meterRegistry.get(LoginRateLimiter.REJECTED_METRIC).tag("reason", "address").counter().count());
+	}
+
+	@Test
+	void forwardedForIsOnlyUsedWhenTrusted() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr("10.1.1.1");
+		request.addHeader("X-Forwarded-For", "203.0.113.7, 10.1.1.1");
+
+		assertEquals("10.1.1.1", limiter(1, 1, 1, 1, false).clientAddress(request));
+		assertEquals("203.0.113.7", limiter(1, 1, 1, 1, true).clientAddress(request));
+	}
+
+	private LoginRateLimiter limiter(int usernameCapacity, int usernamePerMinute, int addressCapacity, int addressPerMinute,
+			boolean trustForwardedFor) {
+		return new LoginRateLimiter(usernameCapacity, usernamePerMinute, addressCapacity, addressPerMinute, 1_000,
+				trustForwardedFor, meterRegistry, clock::get);
+	}
+}
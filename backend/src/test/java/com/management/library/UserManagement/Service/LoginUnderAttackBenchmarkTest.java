@@ -0,0 +1,187 @@
+package com.management.library.UserManagement.Service;
+
+import com.management.library.Common.cache.EntityCacheEvictor;
+import com.management.library.Common.mail.MailOutbox;
+import com.management.library.Common.pagination.KeysetPaginator;
+import com.management.library.UserManagement.Dto.LoginRequest;
+import com.management.library.UserManagement.Entity.User;
+import com.management.library.UserManagement.Exception.InvalidCredentialsException;
+import com.management.library.UserManagement.Exception.LoginThrottledException;
+import com.management.library.UserManagement.Repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sign-in latency for legitimate members while the same process takes a password-guessing attack at
+ * 10,000 attempts per second. Requests run on a 200-thread pool standing in for the servlet container;
+ * the attack is open-loop (attempts keep arriving whether or not earlier ones finished) and members sign
+ * in from their own addresses in a closed loop. Compared:
+ * <ul>
+ *   <li>baseline: no attack;</li>
+ *   <li>one address: the attack comes from a single address, cycling usernames;</li>
+ *   <li>many addresses: every attempt comes from a new address, so only the bounded pool stands between
+ *       the attack and the CPU;</li>
+ *   <li>unprotected: the previous attack against a plain BCrypt check on the request thread.</li>
+ * </ul>
+ * The verified-password cache is disabled, so every member sign-in pays for a full BCrypt check.
+ *
+ * <p>Run with: {@code mvn test -Dtest=LoginUnderAttackBenchmarkTest -Dbenchmark.login=true}
+ * (add {@code -Dbenchmark.login.rate=20000} or {@code -Dbenchmark.seconds=30} to change the attack rate
+ * or the measured time per scenario).
+ */
+@EnabledIfSystemProperty(named = "benchmark.login", matches = "true")
+class LoginUnderAttackBenchmarkTest {
+
+	private static final int REQUEST_THREADS = 200;
+	private static final int MEMBERS = 8;
+	private static final long MEMBER_PAUSE_MILLIS = 100;
+	private static final long MEMBER_TIMEOUT_MILLIS = 10_000;
+	private static final String PASSWORD = "correct horse";
+
+	@Test
+	void memberLatencyUnderAttack() throws Exception {
+		int rate = Integer.getInteger("benchmark.login.rate", 10_000);
+		int seconds = Integer.getInteger("benchmark.seconds", 10);
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(10);
+		UserRepository userRepository = mock(UserRepository.class);
+		User member = new User();
+		member.setId("member");
+		member.setStatus(User.UserStatus.ACTIVATED);
+		member.setPassword(encoder.encode(PASSWORD));
+		when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(member));
+
+		System.out.printf("%-16s %10s %10s %10s %10s %10s %10s%n",
+				"scenario", "sign-ins", "throttled", "timed out", "p50 ms", "p99 ms", "max ms");
+		run("baseline", protectedLogin(userRepository, encoder), 0, false, seconds);
+		run("one address", protectedLogin(userRepository, encoder), rate, false, seconds);
+		run("many addresses", protectedLogin(userRepository, encoder), rate, true, seconds);
+		run("unprotected", (username, password, address) -> {
+			User user = userRepository.findByUsername(username).orElseThrow();
+			if (!encoder.matches(password, user.getPassword())) {
+				throw new InvalidCredentialsException("Invalid username or password");
+			}
+		}, rate, true, seconds);
+	}
+
+	private static Login protectedLogin(UserRepository userRepository, BCryptPasswordEncoder encoder) {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		UserService userService = new UserService(userRepository, encoder, mock(MailOutbox.class),
+				mock(KeysetPaginator.class), mock(EntityCacheEvictor.class),
+				new PasswordVerifier(encoder, 0, 32, 2_000, 300, 0, meterRegistry),
+				new LoginRateLimiter(5, 5, 30, 60, 100_000, false, meterRegistry),
+				mock(MongoTemplate.class));
+		return (username, password, address) -> {
+			LoginRequest request = new LoginRequest();
+			request.setUsername(username);
+			request.setPassword(password);
+			userService.loginUser(request, address);
+		};
+	}
+
+	private void run(String scenario, Login login, int rate, boolean rotateAddresses, int seconds) throws Exception {
+		ExecutorService requests = Executors.newFixedThreadPool(REQUEST_THREADS);
+		ScheduledExecutorService attacker = Executors.newSingleThreadScheduledExecutor();
+		ExecutorService members = Executors.newFixedThreadPool(MEMBERS);
+		AtomicLong attempts = new AtomicLong();
+		AtomicLong throttled = new AtomicLong();
+		AtomicLong timedOut = new AtomicLong();
+		List<long[]> latencies = new ArrayList<>();
+		long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		try {
+			if (rate > 0) {
+				// One batch per millisecond
+				int batch = Math.max(1, rate / 1_000);
+				attacker.scheduleAtFixedRate(() -> {
+					for (int i = 0; i < batch; i++) {
+						long n = attempts.incrementAndGet();
+						String address = rotateAddresses ? "198.51." + (n >> 8 & 0xff) + "." + (n & 0xff) : "198.51.100.1";
+						requests.execute(() -> attempt(login, "victim-" + n % 1_000, "guess-" + n, address));
+					}
+				}, 0, 1, TimeUnit.MILLISECONDS);
+			}
+			List<Future<long[]>> clients = new ArrayList<>();
+			for (int m = 0; m < MEMBERS; m++) {
+				int memberNumber = m;
+				clients.add(members.submit(() -> signInUntil(end, memberNumber, login, requests, throttled, timedOut)));
+			}
+			for (Future<long[]> client : clients) {
+				latencies.add(client.get());
+			}
+		} finally {
+			attacker.shutdownNow();
+			members.shutdownNow();
+			requests.shutdownNow();
+			requests.awaitTermination(1, TimeUnit.MINUTES);
+		}
+
+		long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+		System.out.printf("%-16s %10d %10d %10d %10.1f %10.1f %10.1f%n", scenario, all.length, throttled.get(),
+				timedOut.get(), millis(all, 0.50), millis(all, 0.99), millis(all, 1.0));
+	}
+
+	// Each sign-in uses a new username, so the per-username bucket never refuses a member
+	private static long[] signInUntil(long end, int memberNumber, Login login, ExecutorService requests,
+			AtomicLong throttled, AtomicLong timedOut) throws InterruptedException {
+		String address = "192.0.2." + (memberNumber + 1);
+		List<Long> latencies = new ArrayList<>();
+		for (int i = 0; System.nanoTime() < end; i++) {
+			String username = "member-" + memberNumber + "-" + i;
+			long begin = System.nanoTime();
+			Future<?> signIn = requests.submit(() -> login.attempt(username, PASSWORD, address));
+			try {
+				signIn.get(MEMBER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				latencies.add(System.nanoTime() - begin);
+			} catch (TimeoutException e) {
+				signIn.cancel(true);
+				timedOut.incrementAndGet();
+			} catch (ExecutionException e) {
+				if (!(e.getCause() instanceof LoginThrottledException)) {
+					throw new IllegalStateException(e.getCause());
+				}
+				throttled.incrementAndGet();
+			}
+			Thread.sleep(MEMBER_PAUSE_MILLIS);
+		}
+		return latencies.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private static void attempt(Login login, String username, String password, String address) {
+		try {
+			login.attempt(username, password, address);
+		} catch (InvalidCredentialsException | LoginThrottledException e) {
+			// Expected for every guess
+		}
+	}
+
+	private static double millis(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return Double.NaN;
+		}
+		int index = Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1);
+		return sorted[Math.max(0, index)] / 1e6;
+	}
+
+	private interface Login {
+		void attempt(String username, String password, String address);
+	}
+}
@@ -0,0 +1,111 @@
+package com.management.library.UserManagement.Service;
+
+import com.management.library.UserManagement.Exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordVerifierTest {
+
+	private final ExecutorService callers = Executors.newCachedThreadPool();
+	private PasswordVerifier verifier;
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+		if (verifier != null) {
+			verifier.stop();
+		}
+	}
+
+	@Test
+	void weakerHashesAreRehashedAtTheConfiguredCost() {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(5);
+		verifier = verifier(encoder, 1, 1);
+		String weak = new BCryptPasswordEncoder(4).encode("secret");
+
+		PasswordVerifier.Verification wrong = verifier.verify("guess", weak);
+		PasswordVerifier.Verification right = verifier.verify("secret", weak);
+
+		assertFalse(wrong.matched());
+		assertTrue(right.matched());
+		assertTrue(right.upgradedHash().startsWith("$2a$05$"));
+		assertTrue(encoder.matches("secret", right.upgradedHash()));
+		assertNull(verifier.verify("secret", encoder.encode("secret")).upgradedHash());
+	}
+
+	@Test
+	void rememberedChecksSkipTheHash() {
+		CountingEncoder encoder = new CountingEncoder();
+		verifier = verifier(encoder, 1, 1);
+		String hash = encoder.encode("secret");
+
+		assertTrue(verifier.verify("secret", hash).matched());
+		assertTrue(verifier.verify("secret", hash).matched());
+		assertFalse(verifier.verify("other", hash).matched());
+		assertFalse(verifier.verify("other", hash).matched());
+
+		// Once for the first success, then only for the failures
+		assertEquals(3, encoder.checks);
+	}
+
+	@Test
+	void saturatedPoolRefusesAtOnce() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return false;
+			}
+		};
+		verifier = verifier(blocking, 1, 1);
+		String hash = new BCryptPasswordEncoder(4).encode("secret");
+		// One check running, one queued
+		callers.submit(() -> verifier.verify("a", hash));
+		started.await(5, TimeUnit.SECONDS);
+		callers.submit(() -> verifier.verify("b", hash));
+		Thread.sleep(100);
+
+		long begin = System.nanoTime();
+		assertThrows(LoginThrottledException.class, () -> verifier.verify("c", hash));
+		assertTrue(System.nanoTime() - begin < TimeUnit.MILLISECONDS.toNanos(100));
+		release.countDown();
+	}
+
+	private static PasswordVerifier verifier(BCryptPasswordEncoder encoder, int threads, int queue) {
+		return new PasswordVerifier(encoder, threads, queue, 5_000, 300, 100, new SimpleMeterRegistry());
+	}
+
+	private static final class CountingEncoder extends BCryptPasswordEncoder {
+		private volatile int checks;
+
+		CountingEncoder() {
+			super(4);
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			checks++;
+			return super.matches(rawPassword, encodedPassword);
+		}
+	}
+}
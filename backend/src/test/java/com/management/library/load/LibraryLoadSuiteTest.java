@@ -0,0 +1,167 @@
+package com.management.library.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.management.library.LibraryApplication;
+import com.management.library.load.LibraryWorkload.Operation;
+import com.management.library.load.LoadInstrumentation.MongoOperationCounter;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load run: seeds a synthetic library of 1M books, 200k members and 5M loans, boots the
+ * application against it, and replays {@link LibraryWorkload}'s mix from closed-loop clients. The
+ * report has throughput, latency percentiles and a histogram per operation, plus the Mongo commands
+ * each operation sent. It is written as JSON to {@code target/load-report.json}. Keep a release's
+ * report under {@code load-reports/}, then pass it as {@code -Dload.baseline} on the next run to see
+ * the change per operation.
+ *
+ * <p>Run with: {@code mvn test -Dtest=LibraryLoadSuiteTest -Dload.suite=true}. Needs Docker for the
+ * throwaway Mongo replica set, or {@code -Dload.mongo.uri=mongodb://...} pointing at a replica set of
+ * your own. The data goes into the {@code LibraryLoadTest} database, which is dropped and reseeded
+ * unless it already holds a library of the requested size. Other switches:
+ * {@code -Dload.books}, {@code -Dload.members}, {@code -Dload.borrowings}, {@code -Dload.clients=64},
+ * {@code -Dload.warmup-seconds=30}, {@code -Dload.seconds=120}, {@code -Dload.reseed=true},
+ * {@code -Dload.report=path} and {@code -Dload.baseline=load-reports/<release>.json}.
+ */
+@EnabledIfSystemProperty(named = "load.suite", matches = "true")
+class LibraryLoadSuiteTest {
+
+	private static final int BOOKS = Integer.getInteger("load.books", 1_000_000);
+	private static final int MEMBERS = Integer.getInteger("load.members", 200_000);
+	private static final int BORROWINGS = Integer.getInteger("load.borrowings", 5_000_000);
+	private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 30));
+	private static final Duration MEASURED = Duration.ofSeconds(Long.getLong("load.seconds", 120));
+
+	private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	@Test
+	void replayLibraryWorkload() throws Exception {
+		try (LoadMongo mongo = LoadMongo.start()) {
+			LibrarySeeder.Sample sample;
+			long seedMillis = 0;
+			try (MongoClient client = MongoClients.create(mongo.uri())) {
+				LibrarySeeder seeder = new LibrarySeeder(client.getDatabase(LoadMongo.DATABASE), BOOKS, MEMBERS, BORROWINGS);
+				if (Boolean.getBoolean("load.reseed") || !seeder.alreadySeeded()) {
+					long start = System.nanoTime();
+					seeder.seed();
+					seedMillis = (System.nanoTime() - start) / 1_000_000;
+				} else {
+					System.out.println("reusing the library already in " + LoadMongo.DATABASE);
+				}
+				sample = seeder.sample();
+			}
+
+			// Command-line arguments, so they win over application.properties. Indexes are built as in
+			// production; the mail workers stay off because there is no SMTP server to talk to.
+			try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApplication.class, LoadInstrumentation.class)
+					.run("--server.port=0",
+							"--spring.data.mongodb.uri=" + mongo.uri(),
+							"--spring.data.mongodb.database=" + LoadMongo.DATABASE,
+							"--app.indexes.check-query-plans=false",
+							"--app.overdue-fees.resume-on-startup=false",
+							"--app.mail.dispatcher.enabled=false")) {
+				String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+				MongoOperationCounter mongoOperations = context.getBean(MongoOperationCounter.class);
+				HttpClient http = HttpClient.newBuilder()
+						.version(HttpClient.Version.HTTP_1_1)
+						.connectTimeout(Duration.ofSeconds(10))
+						.build();
+				LibraryWorkload workload = new LibraryWorkload(baseUrl, http, objectMapper, sample);
+
+				replay(workload, WARMUP);
+				mongoOperations.reset();
+				LoadReport measured = replay(workload, MEASURED);
+
+				Map<String, Object> run = new LinkedHashMap<>();
+				run.put("generatedAt", LocalDateTime.now().toString());
+				run.put("mongo", mongo.describe());
+				run.put("books", BOOKS);
+				run.put("members", MEMBERS);
+				run.put("borrowings", BORROWINGS);
+				run.put("seedMillis", seedMillis);
+				run.put("clients", CLIENTS);
+				run.put("warmupSeconds", WARMUP.toSeconds());
+				run.put("seconds", MEASURED.toSeconds());
+				run.put("javaVersion", System.getProperty("java.version"));
+				run.put("virtualThreads", context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"));
+				JsonNode report = objectMapper.valueToTree(measured.toJson(run, mongoOperations, MEASURED.toSeconds()));
+				writeAndCompare(report);
+				assertTrue(report.path("total").path("requests").asLong() > 0, "No request completed");
+			}
+		}
+	}
+
+	// Closed loop: each client sends its next request as soon as the previous response arrives
+	private LoadReport replay(LibraryWorkload workload, Duration duration) throws Exception {
+		LoadReport report = new LoadReport();
+		long deadline = System.nanoTime() + duration.toNanos();
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			List<Future<?>> running = new ArrayList<>();
+			for (int c = 0; c < CLIENTS; c++) {
+				Random random = new Random(c);
+				running.add(clients.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						Operation operation = workload.next(random);
+						long start = System.nanoTime();
+						try {
+							int status = workload.send(operation, random);
+							if (status != LibraryWorkload.NOT_SENT) {
+								report.record(operation, status, System.nanoTime() - start);
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						} catch (Exception e) {
+							report.recordFailure(operation);
+						}
+					}
+				}));
+			}
+			for (Future<?> client : running) {
+				client.get();
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+		return report;
+	}
+
+	private void writeAndCompare(JsonNode report) throws Exception {
+		Path reportFile = Path.of(System.getProperty("load.report", "target/load-report.json"));
+		if (reportFile.getParent() != null) {
+			Files.createDirectories(reportFile.getParent());
+		}
+		objectMapper.writeValue(reportFile.toFile(), report);
+		LoadReport.printSummary(report);
+		System.out.println("report written to " + reportFile.toAbsolutePath());
+
+		String baseline = System.getProperty("load.baseline");
+		if (baseline != null && !baseline.isBlank()) {
+			LoadReport.printComparison(objectMapper.readTree(Path.of(baseline).toFile()), report);
+		}
+	}
+}
@@ -0,0 +1,282 @@
+package com.management.library.load;
+
+import com.management.library.BorrowingReservation.service.FeeService;
+import com.mongodb.Function;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Writes a synthetic library straight through the driver, in the stored shape of each entity. Titles
+ * come from a small vocabulary so a search word matches many books, as in a real catalog. Two years
+ * of loans are skewed towards a few popular titles. Loans from the last four weeks stay open where
+ * copies and the member's borrowing limit allow. Available copies, members' active loan counts and the
+ * one-open-loan-per-member-and-book index agree with those open loans, so borrowing and returning
+ * behave as they do in production.
+ */
+final class LibrarySeeder {
+
+	static final String[] TITLE_WORDS = {"history", "garden", "river", "night", "empire", "silent", "ocean", "mountain",
+			"city", "secret", "shadow", "island", "winter", "summer", "journey", "kingdom", "lost", "house", "letters",
+			"modern", "ancient", "science", "art", "war", "peace", "love", "memory", "light", "stone", "forest",
+			"music", "children", "road", "storm", "dream", "world", "machine", "language", "tea", "monsoon"};
+	private static final String[] FIRST_NAMES = {"Amal", "Nimal", "Kamala", "Saman", "Dilani", "Ruwan", "Chamari",
+			"Kasun", "Nadeesha", "Tharindu", "Anne", "James", "Mary", "John", "Priya", "Arjun", "Meena", "Ravi",
+			"Sofia", "Lucas", "Emma", "Noah", "Olivia", "Liam", "Aiko", "Kenji", "Fatima", "Omar", "Leila", "Yusuf",
+			"Ingrid", "Lars", "Chen", "Wei", "Ana", "Pedro", "Grace", "Daniel", "Hana", "Samuel"};
+	private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "de Alwis", "Jayasuriya", "Bandara",
+			"Wickramasinghe", "Gunawardena", "Rajapaksa", "Dissanayake", "Smith", "Brown", "Taylor", "Wilson",
+			"Khan", "Patel", "Sharma", "Iyer", "Nair", "Menon", "Garcia", "Martinez", "Rossi", "Bianchi", "Muller",
+			"Schmidt", "Dubois", "Martin", "Sato", "Tanaka", "Kim", "Park", "Nguyen", "Tran", "Haddad", "Nasser",
+			"Olsen", "Hansen", "Wong", "Li", "Costa", "Santos", "Murphy", "Kelly", "Cohen", "Levi", "Novak",
+			"Horvat", "Kowalski", "Nowak", "Ivanov", "Petrov", "Andersson", "Berg", "Okafor", "Mensah", "Abebe",
+			"Mwangi", "Lopez", "Reyes"};
+	private static final String[] GENRES = {"Fiction", "Mystery", "Romance", "Science Fiction", "Fantasy", "History",
+			"Biography", "Science", "Poetry", "Children", "Travel", "Philosophy", "Business", "Art", "Reference"};
+	// Weighted by repetition
+	private static final String[] EDITIONS = {"1st", "1st", "1st", "1st", "2nd", "3rd", "Revised"};
+	private static final String[] LANGUAGES = {"English", "English", "English", "English", "Sinhala", "Sinhala",
+			"Sinhala", "Tamil", "Tamil", "French"};
+	private static final String[] MEMBERSHIP_TYPES = {"STUDENT", "STUDENT", "STUDENT", "STUDENT", "STUDENT",
+			"BASIC", "BASIC", "PREMIUM", "PREMIUM", "FAMILY"};
+	private static final int AUTHORS = 20_000;
+	private static final int LOAN_DAYS = 14;
+	private static final int OPEN_LOAN_DAYS = 28;
+	private static final int BORROWING_LIMIT = 3;
+	private static final int HISTORY_DAYS = 730;
+	private static final int BATCH = 10_000;
+	private static final int SAMPLE = 20_000;
+
+	private final MongoDatabase database;
+	private final int books;
+	private final int members;
+	private final int borrowings;
+	private final Random random = new Random(42);
+	private final LocalDate today = LocalDate.now();
+	private final FeeService feeService = new FeeService();
+
+	LibrarySeeder(MongoDatabase database, int books, int members, int borrowings) {
+		this.database = database;
+		this.books = books;
+		this.members = members;
+		this.borrowings = borrowings;
+	}
+
+	// True when the database already holds a library of this size, e.g. from an earlier run
+	boolean alreadySeeded() {
+		return database.getCollection("books").estimatedDocumentCount() == books
+				&& database.getCollection("members").estimatedDocumentCount() == members
+				&& database.getCollection("borrowings").estimatedDocumentCount() == borrowings;
+	}
+
+	void seed() {
+		database.drop();
+		ObjectId[] bookIds = new ObjectId[books];
+		byte[] totalCopies = new byte[books];
+		for (int i = 0; i < books; i++) {
+			bookIds[i] = new ObjectId();
+			totalCopies[i] = (byte) (1 + random.nextInt(5));
+		}
+		byte[] onLoan = new byte[books];
+		byte[] memberLoans = new byte[members];
+		timed("borrowings", borrowings, () -> seedBorrowings(bookIds, totalCopies, onLoan, memberLoans));
+		timed("books", books, () -> seedBooks(bookIds, totalCopies, onLoan));
+		timed("members", members, () -> seedMembers(memberLoans));
+	}
+
+	// IDs the workload picks from: any book, any member, and loans that are still open
+	Sample sample() {
+		return new Sample(
+				sampleIds("books", new Document(), document -> document.getObjectId("_id").toHexString()),
+				sampleIds("members", new Document(), document -> document.getString("memberId")),
+				sampleIds("borrowings", new Document("status", "ACTIVE"), document -> document.getObjectId("_id").toHexString()));
+	}
+
+	private void seedBorrowings(ObjectId[] bookIds, byte[] totalCopies, byte[] onLoan, byte[] memberLoans) {
+		Set<Long> openLoans = new HashSet<>();
+		Batch batch = new Batch(database.getCollection("borrowings"));
+		for (int i = 0; i < borrowings; i++) {
+			int book = popularBook();
+			int member = random.nextInt(members);
+			LocalDate borrowDate = today.minusDays(random.nextInt(HISTORY_DAYS));
+			LocalDate dueDate = borrowDate.plusDays(LOAN_DAYS);
+			boolean open = borrowDate.isAfter(today.minusDays(OPEN_LOAN_DAYS)) && onLoan[book] < totalCopies[book]
+					&& memberLoans[member] < BORROWING_LIMIT && openLoans.add((long) member * books + book);
+			Document loan = new Document("_id", new ObjectId())
+					.append("borrowingNumber", String.format("BR%d%04d", borrowDate.getYear(), i + 1))
+					.append("memberId", memberId(member))
+					.append("bookId", bookIds[book].toHexString())
+					.append("borrowDate", date(borrowDate))
+					.append("dueDate", date(dueDate));
+			if (open) {
+				onLoan[book]++;
+				memberLoans[member]++;
+				loan.append("status", "ACTIVE")
+						.append("lateFee", feeService.calculateLateFee(dueDate, null, FeeService.WEEKLY_LATE_FEE));
+			} else {
+				LocalDate returnDate = borrowDate.plusDays(1 + random.nextInt(LOAN_DAYS * 2));
+				if (returnDate.isAfter(today)) {
+					returnDate = today;
+				}
+				loan.append("returnDate", date(returnDate))
+						.append("status", "RETURNED")
+						.append("lateFee", feeService.calculateLateFee(dueDate, returnDate, FeeService.WEEKLY_LATE_FEE));
+			}
+			batch.add(loan);
+		}
+		batch.flush();
+	}
+
+	private void seedBooks(ObjectId[] bookIds, byte[] totalCopies, byte[] onLoan) {
+		Batch batch = new Batch(database.getCollection("books"));
+		for (int i = 0; i < books; i++) {
+			String title = title();
+			int available = totalCopies[i] - onLoan[i];
+			LocalDateTime added = LocalDateTime.now().minusDays(random.nextInt(3650));
+			batch.add(new Document("_id", bookIds[i])
+					.append("bookno", String.format("B%07d", i + 1))
+					.append("title", title)
+					.append("author", author(random.nextInt(AUTHORS)))
+					.append("genre", pick(GENRES))
+					.append("year", 1900 + random.nextInt(126))
+					.append("edition", pick(EDITIONS))
+					.append("description", "A " + pick(GENRES).toLowerCase() + " title about " + pick(TITLE_WORDS)
+							+ " and " + pick(TITLE_WORDS) + ", first catalogued as " + title + ".")
+					.append("language", pick(LANGUAGES))
+					.append("availability", available > 0)
+					.append("availablecopies", available)
+					.append("totalcopies", (int) totalCopies[i])
+					.append("location", (char) ('A' + random.nextInt(26)) + String.valueOf(1 + random.nextInt(40)))
+					.append("createdat", dateTime(added))
+					.append("updatedat", dateTime(added)));
+		}
+		batch.flush();
+	}
+
+	private void seedMembers(byte[] memberLoans) {
+		Batch batch = new Batch(database.getCollection("members"));
+		for (int i = 0; i < members; i++) {
+			String firstName = pick(FIRST_NAMES);
+			String lastName = pick(LAST_NAMES);
+			LocalDate joined = today.minusDays(random.nextInt(HISTORY_DAYS));
+			int standing = random.nextInt(100);
+			batch.add(new Document("_id", new ObjectId())
+					.append("memberId", memberId(i))
+					.append("firstName", firstName)
+					.append("lastName", lastName)
+					.append("email", (firstName + "." + lastName).toLowerCase().replace(' ', '-') + "." + i + "@members.example.org")
+					.append("phoneNumber", String.format("+94 7%d %07d", random.nextInt(9), random.nextInt(10_000_000)))
+					.append("address", (1 + random.nextInt(300)) + " " + pick(LAST_NAMES) + " Road, Colombo")
+					.append("membershipType", pick(MEMBERSHIP_TYPES))
+					.append("joiningDate", date(joined))
+					.append("expiryDate", date(joined.plusYears(1)))
+					.append("status", standing < 90 ? "ACTIVE" : standing < 97 ? "EXPIRED" : "SUSPENDED")
+					.append("borrowingLimit", BORROWING_LIMIT)
+					.append("activeLoans", (int) memberLoans[i])
+					.append("fineAmount", standing % 20 == 0 ? 100.0 * (1 + random.nextInt(10)) : 0.0)
+					.append("createdAt", dateTime(joined.atStartOfDay()))
+					.append("updatedAt", dateTime(joined.atStartOfDay())));
+		}
+		batch.flush();
+	}
+
+	private List<String> sampleIds(String collection, Document filter, Function<Document, String> id) {
+		List<Document> pipeline = List.of(new Document("$match", filter),
+				new Document("$sample", new Document("size", SAMPLE)));
+		return database.getCollection(collection).aggregate(pipeline).allowDiskUse(true).map(id).into(new ArrayList<>());
+	}
+
+	static String memberId(int member) {
+		return String.format("LIB2025%03d", member + 1);
+	}
+
+	// A few titles get most of the loans
+	private int popularBook() {
+		return (int) (books * Math.pow(random.nextDouble(), 3));
+	}
+
+	private String title() {
+		StringBuilder title = new StringBuilder();
+		int words = 2 + random.nextInt(3);
+		for (int w = 0; w < words; w++) {
+			String word = pick(TITLE_WORDS);
+			title.append(w == 0 ? "" : " ").append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+		}
+		return title.toString();
+	}
+
+	private static String author(int author) {
+		return FIRST_NAMES[author % FIRST_NAMES.length] + " "
+				+ (char) ('A' + author / (FIRST_NAMES.length * LAST_NAMES.length) % 26) + ". "
+				+ LAST_NAMES[author / FIRST_NAMES.length % LAST_NAMES.length];
+	}
+
+	private String pick(String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	// The same conversion Spring Data applies to LocalDate and LocalDateTime fields
+	private static Date date(LocalDate date) {
+		return dateTime(date.atStartOfDay());
+	}
+
+	private static Date dateTime(LocalDateTime dateTime) {
+		return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+	}
+
+	private static void timed(String collection, int rows, Runnable seed) {
+		long start = System.nanoTime();
+		seed.run();
+		long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.printf("seeded %,d %s in %,d ms (%,d rows/s)%n", rows, collection, millis, rows * 1000L / millis);
+	}
+
+	private static final class Batch {
+
+		private final MongoCollection<Document> collection;
+		private final List<Document> documents = new ArrayList<>(BATCH);
+
+		private Batch(MongoCollection<Document> collection) {
+			this.collection = collection;
+		}
+
+		private void add(Document document) {
+			documents.add(document);
+			if (documents.size() == BATCH) {
+				flush();
+			}
+		}
+
+		private void flush() {
+			if (!documents.isEmpty()) {
+				collection.insertMany(documents, new InsertManyOptions().ordered(false));
+				documents.clear();
+			}
+		}
+	}
+
+	static final class Sample {
+
+		final List<String> bookIds;
+		final List<String> memberIds;
+		final List<String> openLoanIds;
+
+		private Sample(List<String> bookIds, List<String> memberIds, List<String> openLoanIds) {
+			this.bookIds = bookIds;
+			this.memberIds = memberIds;
+			this.openLoanIds = openLoanIds;
+		}
+	}
+}
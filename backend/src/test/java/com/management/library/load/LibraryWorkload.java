@@ -0,0 +1,144 @@
+package com.management.library.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The request mix the load suite replays. It is weighted like a busy day: mostly catalog searches and
+ * browsing from the public site, plus borrow/return pairs at the desk and the staff dashboards polling.
+ * Returns close loans that were seeded open or borrowed earlier in the run. When none are left, a
+ * borrow is sent instead.
+ */
+final class LibraryWorkload {
+
+	enum Operation {
+		SEARCH("search", 25),
+		SUGGEST("suggest", 15),
+		CATALOG_PAGE("catalog-page", 15),
+		BOOK_DETAIL("book-detail", 12),
+		MEMBER_LOANS("member-loans", 8),
+		MEMBER_LOOKUP("member-lookup", 5),
+		BORROW("borrow", 7),
+		RETURN("return", 7),
+		DASHBOARD("dashboard", 6);
+
+		final String label;
+		final int weight;
+
+		Operation(String label, int weight) {
+			this.label = label;
+			this.weight = weight;
+		}
+	}
+
+	static final int NOT_SENT = 0;
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private final String baseUrl;
+	private final HttpClient http;
+	private final ObjectMapper objectMapper;
+	private final LibrarySeeder.Sample sample;
+	private final ConcurrentLinkedQueue<String> openLoans;
+	private final List<Operation> wheel = new ArrayList<>();
+
+	LibraryWorkload(String baseUrl, HttpClient http, ObjectMapper objectMapper, LibrarySeeder.Sample sample) {
+		this.baseUrl = baseUrl;
+		this.http = http;
+		this.objectMapper = objectMapper;
+		this.sample = sample;
+		List<String> loans = new ArrayList<>(sample.openLoanIds);
+		Collections.shuffle(loans, new Random(7));
+		this.openLoans = new ConcurrentLinkedQueue<>(loans);
+		for (Operation operation : Operation.values()) {
+			wheel.addAll(Collections.nCopies(operation.weight, operation));
+		}
+	}
+
+	Operation next(Random random) {
+		Operation operation = wheel.get(random.nextInt(wheel.size()));
+		return operation == Operation.RETURN && openLoans.isEmpty() ? Operation.BORROW : operation;
+	}
+
+	// Sends one request and returns its status code, or NOT_SENT when there was nothing to send
+	int send(Operation operation, Random random) throws IOException, InterruptedException {
+		return switch (operation) {
+			case SEARCH -> get(operation, "/api/books/search?limit=20&query=" + encode(word(random)));
+			case SUGGEST -> get(operation, "/api/books/suggest?limit=8&query=" + encode(word(random).substring(0, 3)));
+			case CATALOG_PAGE -> get(operation, "/api/books/page?fields=summary&limit=20");
+			case BOOK_DETAIL -> get(operation, "/api/books/" + pick(sample.bookIds, random));
+			case MEMBER_LOANS -> get(operation, "/api/borrowings/page?limit=20&memberId=" + encode(pick(sample.memberIds, random)));
+			case MEMBER_LOOKUP -> get(operation, "/api/members/member-id/" + encode(pick(sample.memberIds, random)));
+			case BORROW -> borrow(random);
+			case RETURN -> giveBack();
+			case DASHBOARD -> get(operation, "/api/dashboard/summary");
+		};
+	}
+
+	private int get(Operation operation, String path) throws IOException, InterruptedException {
+		return http.send(request(operation, path).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int borrow(Random random) throws IOException, InterruptedException {
+		LocalDate today = LocalDate.now();
+		String body = objectMapper.writeValueAsString(Map.of(
+				"memberId", pick(sample.memberIds, random),
+				"bookId", pick(sample.bookIds, random),
+				"borrowDate", today.toString(),
+				"dueDate", today.plusDays(14).toString()));
+		HttpResponse<String> response = http.send(request(Operation.BORROW, "/api/borrowings")
+						.header("Content-Type", "application/json")
+						.POST(HttpRequest.BodyPublishers.ofString(body))
+						.build(),
+				HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() == 200) {
+			openLoans.add(objectMapper.readTree(response.body()).path("id").asText());
+		}
+		return response.statusCode();
+	}
+
+	private int giveBack() throws IOException, InterruptedException {
+		String loanId = openLoans.poll();
+		if (loanId == null) {
+			// Another client took the last one after next() looked
+			return NOT_SENT;
+		}
+		return http.send(request(Operation.RETURN, "/api/borrowings/" + loanId + "/return")
+						.POST(HttpRequest.BodyPublishers.noBody())
+						.build(),
+				HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private HttpRequest.Builder request(Operation operation, String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(TIMEOUT)
+				.header(LoadInstrumentation.OPERATION_HEADER, operation.label);
+	}
+
+	private static String word(Random random) {
+		return LibrarySeeder.TITLE_WORDS[random.nextInt(LibrarySeeder.TITLE_WORDS.length)];
+	}
+
+	private static String pick(List<String> values, Random random) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
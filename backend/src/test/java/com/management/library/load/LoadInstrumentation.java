@@ -0,0 +1,88 @@
+package com.management.library.load;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Beans the load suite adds to the application it boots. Not a {@code @Configuration}, so component
+ * scanning leaves it out of every other test context. A servlet filter tags each request thread with
+ * the operation named in the {@value #OPERATION_HEADER} header, and a driver command listener counts
+ * each Mongo command against the tag of the thread that sent it. Commands from schedulers, change
+ * stream listeners and other threads outside a request are counted under {@value #BACKGROUND}.
+ */
+class LoadInstrumentation {
+
+	static final String OPERATION_HEADER = "X-Load-Operation";
+	static final String BACKGROUND = "(background)";
+
+	private static final ThreadLocal<String> CURRENT_OPERATION = new ThreadLocal<>();
+
+	@Bean
+	MongoOperationCounter mongoOperationCounter() {
+		return new MongoOperationCounter();
+	}
+
+	@Bean
+	MongoClientSettingsBuilderCustomizer loadCommandListener(MongoOperationCounter counter) {
+		return settings -> settings.addCommandListener(counter);
+	}
+
+	@Bean
+	FilterRegistrationBean<OncePerRequestFilter> loadOperationFilter() {
+		FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+			@Override
+			protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+					throws ServletException, IOException {
+				CURRENT_OPERATION.set(request.getHeader(OPERATION_HEADER));
+				try {
+					chain.doFilter(request, response);
+				} finally {
+					CURRENT_OPERATION.remove();
+				}
+			}
+		});
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+	static final class MongoOperationCounter implements CommandListener {
+
+		private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> counts = new ConcurrentHashMap<>();
+
+		@Override
+		public void commandStarted(CommandStartedEvent event) {
+			String operation = CURRENT_OPERATION.get();
+			counts.computeIfAbsent(operation != null ? operation : BACKGROUND, name -> new ConcurrentHashMap<>())
+					.computeIfAbsent(event.getCommandName(), name -> new LongAdder())
+					.increment();
+		}
+
+		void reset() {
+			counts.clear();
+		}
+
+		// Command name to count, for one operation
+		Map<String, Long> snapshot(String operation) {
+			Map<String, Long> snapshot = new TreeMap<>();
+			counts.getOrDefault(operation, new ConcurrentHashMap<>())
+					.forEach((command, count) -> snapshot.put(command, count.sum()));
+			return snapshot;
+		}
+	}
+}
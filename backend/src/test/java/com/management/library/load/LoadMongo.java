@@ -0,0 +1,49 @@
+package com.management.library.load;
+
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * The cluster the load suite runs against: {@code -Dload.mongo.uri} when given, otherwise a throwaway
+ * single-node replica set in a container. It has to be a replica set, because borrowing and returning
+ * run in transactions and the caches follow the change streams.
+ */
+final class LoadMongo implements AutoCloseable {
+
+	static final String DATABASE = System.getProperty("load.mongo.database", "LibraryLoadTest");
+
+	private final MongoDBContainer container;
+	private final String uri;
+
+	private LoadMongo(MongoDBContainer container, String uri) {
+		this.container = container;
+		this.uri = uri;
+	}
+
+	static LoadMongo start() {
+		String uri = System.getProperty("load.mongo.uri");
+		if (uri != null && !uri.isBlank()) {
+			return new LoadMongo(null, uri);
+		}
+		MongoDBContainer container = new MongoDBContainer(DockerImageName.parse(
+				System.getProperty("load.mongo.image", "mongo:7.0")));
+		container.start();
+		// The replica set advertises the container's own hostname, which is not resolvable from here
+		return new LoadMongo(container, container.getConnectionString() + "/?directConnection=true");
+	}
+
+	String uri() {
+		return uri;
+	}
+
+	String describe() {
+		return container != null ? container.getDockerImageName() + " container" : uri.replaceAll("//[^@/]*@", "//***@");
+	}
+
+	@Override
+	public void close() {
+		if (container != null) {
+			container.stop();
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.management.library.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.management.library.load.LibraryWorkload.Operation;
+import com.management.library.load.LoadInstrumentation.MongoOperationCounter;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation results of a load run: response counts by class, a latency histogram and the Mongo
+ * commands each operation sent. Reports are plain JSON, so the one kept for a release can be diffed
+ * against the next release's, either by eye or through {@link #printComparison}.
+ */
+final class LoadReport {
+
+	// 100 µs buckets up to 30 s; anything slower lands in the last one
+	private static final int BUCKET_MICROS = 100;
+	private static final int BUCKETS = 300_000;
+	// Upper bounds, in milliseconds, of the coarse histogram written to the report
+	private static final int[] REPORT_BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000};
+
+	private final Map<Operation, EndpointStats> endpoints = new EnumMap<>(Operation.class);
+
+	LoadReport() {
+		for (Operation operation : Operation.values()) {
+			endpoints.put(operation, new EndpointStats());
+		}
+	}
+
+	void record(Operation operation, int status, long nanos) {
+		endpoints.get(operation).record(status, nanos);
+	}
+
+	// A request that never got a response: connection refused, timeout, unreadable body
+	void recordFailure(Operation operation) {
+		endpoints.get(operation).failures.increment();
+	}
+
+	Map<String, Object> toJson(Map<String, Object> run, MongoOperationCounter mongoOperations, double seconds) {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("run", run);
+		long total = 0;
+		Map<String, Object> byEndpoint = new LinkedHashMap<>();
+		for (Map.Entry<Operation, EndpointStats> entry : endpoints.entrySet()) {
+			EndpointStats stats = entry.getValue();
+			Map<String, Long> commands = mongoOperations.snapshot(entry.getKey().label);
+			long requests = stats.requests.sum();
+			total += requests;
+			Map<String, Object> endpoint = new LinkedHashMap<>();
+			endpoint.put("requests", requests);
+			endpoint.put("throughputPerSecond", round(requests / seconds));
+			endpoint.put("clientErrors", stats.clientErrors.sum());
+			endpoint.put("serverErrors", stats.serverErrors.sum());
+			endpoint.put("failures", stats.failures.sum());
+			endpoint.put("latencyMillis", stats.latency());
+			endpoint.put("histogramMillis", stats.histogram());
+			endpoint.put("mongoOps", commands);
+			endpoint.put("mongoOpsPerRequest", requests == 0 ? 0
+					: round(commands.values().stream().mapToLong(Long::longValue).sum() / (double) requests));
+			byEndpoint.put(entry.getKey().label, endpoint);
+		}
+		report.put("total", Map.of("requests", total, "throughputPerSecond", round(total / seconds)));
+		report.put("endpoints", byEndpoint);
+		report.put("background", Map.of("mongoOps", mongoOperations.snapshot(LoadInstrumentation.BACKGROUND)));
+		return report;
+	}
+
+	static void printSummary(JsonNode report) {
+		System.out.printf("%-14s %9s %9s %9s %9s %9s %7s %8s%n", "operation", "requests", "req/s", "p50 ms",
+				"p99 ms", "max ms", "errors", "ops/req");
+		report.path("endpoints").properties().forEach(entry -> {
+			JsonNode endpoint = entry.getValue();
+			JsonNode latency = endpoint.path("latencyMillis");
+			System.out.printf(Locale.ROOT, "%-14s %9d %9.1f %9.1f %9.1f %9.1f %7d %8.2f%n", entry.getKey(),
+					endpoint.path("requests").asLong(), endpoint.path("throughputPerSecond").asDouble(),
+					latency.path("p50").asDouble(), latency.path("p99").asDouble(), latency.path("max").asDouble(),
+					endpoint.path("serverErrors").asLong() + endpoint.path("failures").asLong(),
+					endpoint.path("mongoOpsPerRequest").asDouble());
+		});
+		System.out.printf(Locale.ROOT, "%-14s %9d %9.1f%n", "total", report.path("total").path("requests").asLong(),
+				report.path("total").path("throughputPerSecond").asDouble());
+	}
+
+	// Throughput, p99 and Mongo commands per request against an earlier report, endpoint by endpoint
+	static void printComparison(JsonNode baseline, JsonNode current) {
+		System.out.printf("%-14s %22s %22s %18s%n", "vs baseline", "req/s", "p99 ms", "ops/req");
+		current.path("endpoints").properties().forEach(entry -> {
+			JsonNode before = baseline.path("endpoints").path(entry.getKey());
+			JsonNode now = entry.getValue();
+			if (before.isMissingNode()) {
+				System.out.printf("%-14s %s%n", entry.getKey(), "(not in baseline)");
+				return;
+			}
+			System.out.printf(Locale.ROOT, "%-14s %22s %22s %18s%n", entry.getKey(),
+					change(before.path("throughputPerSecond").asDouble(), now.path("throughputPerSecond").asDouble()),
+					change(before.path("latencyMillis").path("p99").asDouble(), now.path("latencyMillis").path("p99").asDouble()),
+					change(before.path("mongoOpsPerRequest").asDouble(), now.path("mongoOpsPerRequest").asDouble()));
+		});
+	}
+
+	private static String change(double before, double now) {
+		String percent = before == 0 ? "" : String.format(Locale.ROOT, " (%+.0f%%)", (now - before) * 100 / before);
+		return String.format(Locale.ROOT, "%.1f -> %.1f%s", before, now, percent);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+	private static final class EndpointStats {
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder clientErrors = new LongAdder();
+		private final LongAdder serverErrors = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder totalMicros = new LongAdder();
+		private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0);
+
+		private void record(int status, long nanos) {
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			buckets.incrementAndGet((int) Math.min(micros / BUCKET_MICROS, BUCKETS - 1));
+			requests.increment();
+			totalMicros.add(micros);
+			maxMicros.accumulate(micros);
+			if (status >= 500) {
+				serverErrors.increment();
+			} else if (status >= 400) {
+				clientErrors.increment();
+			}
+		}
+
+		private Map<String, Object> latency() {
+			long count = requests.sum();
+			Map<String, Object> latency = new LinkedHashMap<>();
+			latency.put("mean", count == 0 ? 0 : round(totalMicros.sum() / 1000.0 / count));
+			latency.put("p50", percentileMillis(0.50));
+			latency.put("p90", percentileMillis(0.90));
+			latency.put("p99", percentileMillis(0.99));
+			latency.put("p999", percentileMillis(0.999));
+			latency.put("max", round(maxMicros.get() / 1000.0));
+			return latency;
+		}
+
+		// Upper edge of the bucket holding the rank, in milliseconds
+		private double percentile(double quantile) {
+			long rank = (long) Math.ceil(requests.sum() * quantile);
+			if (rank == 0) {
+				return 0;
+			}
+			long seen = 0;
+			for (int bucket = 0; bucket < BUCKETS; bucket++) {
+				seen += buckets.get(bucket);
+				if (seen >= rank) {
+					return round((bucket + 1) * BUCKET_MICROS / 1000.0);
+				}
+			}
+			return round(BUCKETS * BUCKET_MICROS / 1000.0);
+		}
+
+		// The bucket edge can lie past the slowest request actually seen
+		private double percentileMillis(double quantile) {
+			return Math.min(percentile(quantile), round(maxMicros.get() / 1000.0));
+		}
+
+		private Map<String, Long> histogram() {
+			Map<String, Long> histogram = new LinkedHashMap<>();
+			int bucket = 0;
+			for (int bound : REPORT_BOUNDS) {
+				long count = 0;
+				for (; bucket < BUCKETS && (long) bucket * BUCKET_MICROS < bound * 1000L; bucket++) {
+					count += buckets.get(bucket);
+				}
+				histogram.put("<" + bound, count);
+			}
+			long rest = 0;
+			for (; bucket < BUCKETS; bucket++) {
+				rest += buckets.get(bucket);
+			}
+			histogram.put(">=" + REPORT_BOUNDS[REPORT_BOUNDS.length - 1], rest);
+			return histogram;
+		}
+	}
+}
@@ -32,6 +32,16 @@ export const api = {
   listReservations: (params) => request(`/reservations${params?.memberId ? `?memberId=${encodeURIComponent(params.memberId)}` : ''}`),
   createReservation: (data) => request('/reservations', { method: 'POST', body: JSON.stringify(data) }),
   updateReservation: (id, data) => request(`/reservations/${id}`, { method: 'PUT', body: JSON.stringify(data) }),
+  getReservationPosition: (id) => request(`/reservations/${id}/position`),
   receiveReservation: (id) => request(`/reservations/${id}/receive`, { method: 'POST' }),
   deleteReservation: (id) => request(`/reservations/${id}`, { method: 'DELETE' }),
+
+  // Members
+  getMemberActivity: (memberId) => request(`/members/member-id/${encodeURIComponent(memberId)}/activity`),
+
+  // Books
+  suggestBooks: (query, limit) => request(`/books/suggest?query=${encodeURIComponent(query)}${limit ? `&limit=${limit}` : ''}`),
+
+  // Dashboard
+  getDashboardSummary: () => request('/dashboard/summary'),
 }
\ No newline at end of file
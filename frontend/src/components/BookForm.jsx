@@ -12,8 +12,7 @@ const BookForm = ({ book, onSubmit, onCancel, loading }) => {
     edition: '',
     description: '',
     language: '',
-    availability: true,
-    availableCopies: 1,
+    totalCopies: 1,
     location: ''
   });
 
@@ -31,8 +30,7 @@ const BookForm = ({ book, onSubmit, onCancel, loading }) => {
         edition: book.edition || '',
         description: book.description || '',
         language: book.language || '',
-        availability: book.availability !== undefined ? book.availability : true,
-        availableCopies: book.availableCopies || 1,
+        totalCopies: book.totalCopies ?? book.availableCopies ?? 1,
         location: book.location || ''
       });
     }
@@ -81,8 +79,8 @@ const BookForm = ({ book, onSubmit, onCancel, loading }) => {
       newErrors.language = 'Language is required';
     }
     
-    if (!formData.availableCopies || formData.availableCopies < 0) {
-      newErrors.availableCopies = 'Available copies must be 0 or greater';
+    if (formData.totalCopies === '' || formData.totalCopies < 0) {
+      newErrors.totalCopies = 'Total copies must be 0 or greater';
     }
     
     if (!formData.location.trim()) {
@@ -96,11 +94,11 @@ const BookForm = ({ book, onSubmit, onCancel, loading }) => {
   const handleSubmit = (e) => {
     e.preventDefault();
     if (validateForm()) {
-      onSubmit({
-        ...formData,
-        year: parseInt(formData.year),
-        availableCopies: parseInt(formData.availableCopies)
-      });
+      const totalCopies = parseInt(formData.totalCopies);
+      // Copies on the shelf and availability are maintained by borrowing and returns; a new book starts with every copy in
+      onSubmit(book
+        ? { ...formData, year: parseInt(formData.year), totalCopies }
+        : { ...formData, year: parseInt(formData.year), totalCopies, availableCopies: totalCopies, availability: totalCopies > 0 });
     }
   };
 
@@ -248,21 +246,24 @@ const BookForm = ({ book, onSubmit, onCancel, loading }) => {
             {errors.language && <span className="error-text">{errors.language}</span>}
           </div>
 
-          {/* Available Copies */}
+          {/* Total Copies */}
           <div className="form-group">
-            <label htmlFor="availableCopies" className="form-label">
-              Available Copies <span className="required">*</span>
+            <label htmlFor="totalCopies" className="form-label">
+              Total Copies <span className="required">*</span>
             </label>
             <input
               type="number"
-              id="availableCopies"
-              name="availableCopies"
-              value={formData.availableCopies}
+              id="totalCopies"
+              name="totalCopies"
+              value={formData.totalCopies}
               onChange={handleChange}
-              className={`form-input ${errors.availableCopies ? 'error' : ''}`}
+              className={`form-input ${errors.totalCopies ? 'error' : ''}`}
               min="0"
             />
-            {errors.availableCopies && <span className="error-text">{errors.availableCopies}</span>}
+            {book && book.availableCopies !== undefined && (
+              <span className="form-hint">{book.availableCopies} currently on the shelf</span>
+            )}
+            {errors.totalCopies && <span className="error-text">{errors.totalCopies}</span>}
           </div>
 
           {/* Location */}
@@ -311,23 +312,6 @@ const BookForm = ({ book, onSubmit, onCancel, loading }) => {
           />
         </div>
 
-        {/* Availability */}
-        <div className="form-group full-width">
-          <div className="checkbox-group">
-            <input
-              type="checkbox"
-              id="availability"
-              name="availability"
-              checked={formData.availability}
-              onChange={handleChange}
-              className="form-checkbox"
-            />
-            <label htmlFor="availability" className="checkbox-label">
-              Book is currently available for borrowing
-            </label>
-          </div>
-        </div>
-
         {/* Form Actions */}
         <div className="form-actions">
           <button
@@ -1,5 +1,4 @@
 import React, { useState, useEffect } from 'react';
-import axios from 'axios';
 import { api } from '../api';
 
 // Recharts with fallback
@@ -82,48 +81,26 @@ const DashboardStats = () => {
 
     async function fetchAndCompute() {
       try {
-        const [books, borrowings, reservations] = await Promise.all([
-          // Books are fetched directly elsewhere, reuse same endpoint here
-          fetch('http://localhost:8081/api/books').then((r) => (r.ok ? r.json() : [])),
-          api.listBorrowings().catch(() => []),
-          api.listReservations().catch(() => []),
-        ]);
+        // Counters are aggregated server-side; the poll no longer downloads whole collections
+        const summary = await api.getDashboardSummary();
 
         if (cancelled) return;
 
-        // Books-related stats
-        const totalBooks = Array.isArray(books) ? books.length : 0;
-        const availableBooks = Array.isArray(books) ? books.filter((b) => b.availability === true).length : 0;
-        // If borrowings API is available, use it; otherwise derive from availability
-        const activeBorrowings = Array.isArray(borrowings) ? borrowings.filter((b) => b.status === 'ACTIVE') : [];
-        const borrowedBooks = activeBorrowings.length || Math.max(totalBooks - availableBooks, 0);
-
-        // Reservations-related stats
-        const totalReservations = Array.isArray(reservations) ? reservations.length : 0;
-        const activeReservations = Array.isArray(reservations) ? reservations.filter((r) => r.status === 'PENDING').length : 0;
-        const reservedBooks = activeReservations;
-
-        // Overdue and fines from borrowings
-        const today = new Date();
-        const overdueBooks = Array.isArray(borrowings)
-          ? borrowings.filter((b) => b.status !== 'RETURNED' && new Date(b.dueDate) < today).length
-          : 0;
-        const paidFines = Array.isArray(borrowings)
-          ? borrowings.filter((b) => b.status === 'RETURNED').reduce((sum, b) => sum + (Number(b.lateFee) || 0), 0)
-          : 0;
-        const pendingFines = Array.isArray(borrowings)
-          ? borrowings.filter((b) => b.status !== 'RETURNED').reduce((sum, b) => sum + (Number(b.lateFee) || 0), 0)
-          : 0;
+        const totalBooks = summary.totalBooks || 0;
+        const availableBooks = summary.availableBooks || 0;
+        const borrowedBooks = summary.activeBorrowings || Math.max(totalBooks - availableBooks, 0);
+        const paidFines = Number(summary.paidFines) || 0;
+        const pendingFines = Number(summary.pendingFines) || 0;
         const totalFines = paidFines + pendingFines;
 
         setMockStats({
           totalBooks,
           availableBooks,
           borrowedBooks,
-          reservedBooks,
-          totalReservations,
-          activeReservations,
-          overdueBooks,
+          reservedBooks: summary.pendingReservations || 0,
+          totalReservations: summary.totalReservations || 0,
+          activeReservations: summary.pendingReservations || 0,
+          overdueBooks: summary.overdueBorrowings || 0,
           totalFines: Number(totalFines.toFixed(2)),
           paidFines: Number(paidFines.toFixed(2)),
           pendingFines: Number(pendingFines.toFixed(2)),
@@ -158,36 +135,18 @@ const DashboardStats = () => {
     try {
       setLoading(true);
       
-      // Fetch all member statistics in parallel
-      const [
-        totalResponse,
-        activeResponse,
-        suspendedResponse,
-        premiumResponse,
-        basicResponse,
-        studentResponse,
-        familyResponse,
-        finesResponse
-      ] = await Promise.all([
-        axios.get('http://localhost:8081/api/members/stats/total'),
-        axios.get('http://localhost:8081/api/members/stats/status/ACTIVE'),
-        axios.get('http://localhost:8081/api/members/stats/status/SUSPENDED'),
-        axios.get('http://localhost:8081/api/members/stats/membership-type/PREMIUM'),
-        axios.get('http://localhost:8081/api/members/stats/membership-type/BASIC'),
-        axios.get('http://localhost:8081/api/members/stats/membership-type/STUDENT'),
-        axios.get('http://localhost:8081/api/members/stats/membership-type/FAMILY'),
-        axios.get('http://localhost:8081/api/members/with-fines')
-      ]);
+      // Member counters come from the same server-side summary as the book stats
+      const summary = await api.getDashboardSummary();
 
       setMemberStats({
-        totalMembers: totalResponse.data?.data || 0,
-        activeMembers: activeResponse.data?.data || 0,
-        suspendedMembers: suspendedResponse.data?.data || 0,
-        premiumMembers: premiumResponse.data?.data || 0,
-        basicMembers: basicResponse.data?.data || 0,
-        studentMembers: studentResponse.data?.data || 0,
-        familyMembers: familyResponse.data?.data || 0,
-        membersWithFines: finesResponse.data?.data?.length || 0
+        totalMembers: summary.totalMembers || 0,
+        activeMembers: summary.activeMembers || 0,
+        suspendedMembers: summary.suspendedMembers || 0,
+        premiumMembers: summary.premiumMembers || 0,
+        basicMembers: summary.basicMembers || 0,
+        studentMembers: summary.studentMembers || 0,
+        familyMembers: summary.familyMembers || 0,
+        membersWithFines: summary.membersWithFines || 0
       });
     } catch (error) {
       console.error('Error fetching member statistics:', error);
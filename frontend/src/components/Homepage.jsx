@@ -79,9 +79,9 @@ const Homepage = () => {
     if (searchQuery.trim()) {
       const query = searchQuery.toLowerCase();
       filtered = filtered.filter(book =>
-        book.title.toLowerCase().includes(query) ||
-        book.author.toLowerCase().includes(query) ||
-        book.description.toLowerCase().includes(query)
+        (book.title || '').toLowerCase().includes(query) ||
+        (book.author || '').toLowerCase().includes(query) ||
+        (book.genre || '').toLowerCase().includes(query)
       );
     }
 
@@ -98,7 +98,8 @@ const Homepage = () => {
     try {
       setBooksLoading(true);
       setBooksError('');
-      const response = await axios.get('http://localhost:8081/api/books');
+      // Summaries only; the full book is loaded when one is opened
+      const response = await axios.get('http://localhost:8081/api/books', { params: { fields: 'summary' } });
       if (response.data && Array.isArray(response.data)) {
         setBooks(response.data);
         setFilteredBooks(response.data);
@@ -257,8 +258,14 @@ const Homepage = () => {
     setSelectedGenre(genre);
   };
 
-  const handleBookSelect = (book) => {
+  const handleBookSelect = async (book) => {
     setSelectedBook(book);
+    try {
+      const response = await axios.get(`http://localhost:8081/api/books/${book.id}`);
+      setSelectedBook(current => (current && current.id === book.id ? response.data : current));
+    } catch (err) {
+      console.error('Error fetching book details:', err);
+    }
   };
 
   const handleCloseDetail = () => {
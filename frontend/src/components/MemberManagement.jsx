@@ -31,7 +31,6 @@ const MemberManagement = () => {
     joiningDate: '',
     expiryDate: '',
     borrowingLimit: 0,
-    fineAmount: 0,
     profilePictureUrl: ''
   });
 
@@ -174,7 +173,6 @@ const MemberManagement = () => {
       joiningDate: '',
       expiryDate: '',
       borrowingLimit: 0,
-      fineAmount: 0,
       profilePictureUrl: ''
     });
   };
@@ -195,7 +193,6 @@ const MemberManagement = () => {
       joiningDate: member.joiningDate || '',
       expiryDate: member.expiryDate || '',
       borrowingLimit: member.borrowingLimit || 0,
-      fineAmount: member.fineAmount || 0,
       profilePictureUrl: member.profilePictureUrl || ''
     });
     setShowEditModal(true);
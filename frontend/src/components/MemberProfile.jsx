@@ -181,14 +181,15 @@ const MemberProfile = () => {
   }, [books, selectedGenre, searchQuery, availabilityFilter]);
 
   useEffect(() => {
-    if (member?.id || member?.memberId) {
-      const memberKey = member.memberId || member.id;
+    if (member?.memberId) {
+      const memberKey = member.memberId;
       (async () => {
         try {
-          const borrowings = await api.listBorrowings({ memberId: memberKey });
-          const reservations = await api.listReservations({ memberId: memberKey });
-          setMyBorrowings(Array.isArray(borrowings) ? borrowings.filter(b => b.memberId === memberKey) : []);
-          setMyReservations(Array.isArray(reservations) ? reservations.filter(r => r.memberId === memberKey) : []);
+          // One read of the member's activity document instead of separate loan and reservation lists
+          const response = await api.getMemberActivity(memberKey);
+          const activity = response?.data;
+          setMyBorrowings(Array.isArray(activity?.loans) ? activity.loans.map(loan => ({ ...loan, memberId: memberKey })) : []);
+          setMyReservations(Array.isArray(activity?.reservations) ? activity.reservations.map(reservation => ({ ...reservation, memberId: memberKey })) : []);
         } catch (err) {
           // ignore
         }
@@ -333,10 +334,17 @@ const MemberProfile = () => {
 
       // Calculate reservation details
       const reservationDate = new Date(reservation.reservationDate);
-      const expectedPickup = new Date(reservationDate.getTime() + (7 * 24 * 60 * 60 * 1000)); // 7 days from reservation
+      // The hold deadline set by the server; older reservations fall back to 7 days from reservation
+      const expectedPickup = reservation.holdUntil
+        ? new Date(reservation.holdUntil)
+        : new Date(reservationDate.getTime() + (7 * 24 * 60 * 60 * 1000));
       const today = new Date();
       const daysUntilPickup = Math.ceil((expectedPickup - today) / (1000 * 60 * 60 * 24));
       const isExpired = daysUntilPickup < 0;
+      // Place in the book's wait list while still waiting
+      const queue = reservation.status === 'PENDING'
+        ? await api.getReservationPosition(reservation.id).catch(() => null)
+        : null;
 
       // Set the selected reservation details for professional modal
       setSelectedReservationDetails({
@@ -345,7 +353,8 @@ const MemberProfile = () => {
         reservationDate,
         expectedPickup,
         daysUntilPickup,
-        isExpired
+        isExpired,
+        queue
       });
 
       setShowReservationModal(true);
@@ -612,6 +621,15 @@ const MemberProfile = () => {
                   </span>
                 </div>
 
+                {selectedReservationDetails.queue?.position && (
+                  <div className="detail-row">
+                    <span className="detail-label">Queue Position:</span>
+                    <span className="detail-value">
+                      {selectedReservationDetails.queue.position} of {selectedReservationDetails.queue.queueLength}
+                    </span>
+                  </div>
+                )}
+
                 <div className="detail-row">
                   <span className="detail-label">Reservation Status:</span>
                   <span className={`detail-value status-badge ${selectedReservationDetails.status.toLowerCase()}`}>
@@ -643,6 +661,13 @@ const MemberProfile = () => {
                 </div>
               )}
 
+              {selectedReservationDetails.status === 'READY' && (
+                <div className="status-alert success-alert">
+                  <span className="alert-icon">📚</span>
+                  <span className="alert-text">A copy is being held for you at the desk.</span>
+                </div>
+              )}
+
               {selectedReservationDetails.status === 'RECEIVED' && (
                 <div className="status-alert success-alert">
                   <span className="alert-icon">✅</span>
@@ -652,7 +677,7 @@ const MemberProfile = () => {
 
               {/* Action Buttons */}
               <div className="modal-actions">
-                {selectedReservationDetails.status === 'PENDING' && (
+                {(selectedReservationDetails.status === 'PENDING' || selectedReservationDetails.status === 'READY') && (
                   <button
                     className="cancel-reservation-btn"
                     onClick={() => {
@@ -924,7 +949,10 @@ const MemberProfile = () => {
                     <tbody>
                       {myReservations.map((reservation) => {
                         const reservationDate = new Date(reservation.reservationDate);
-                        const expectedPickup = new Date(reservationDate.getTime() + (7 * 24 * 60 * 60 * 1000)); // 7 days from reservation
+                        // The hold deadline set by the server; older reservations fall back to 7 days from reservation
+      const expectedPickup = reservation.holdUntil
+        ? new Date(reservation.holdUntil)
+        : new Date(reservationDate.getTime() + (7 * 24 * 60 * 60 * 1000));
 
                         return (
                           <tr key={reservation.id}>
@@ -97,8 +97,10 @@ export default function Reservations() {
             <select value={filter} onChange={(e) => setFilter(e.target.value)} className="admin-filter-select">
               <option value="ALL">All</option>
               <option value="PENDING">Pending</option>
+              <option value="READY">Ready</option>
               <option value="RECEIVED">Received</option>
               <option value="CANCELLED">Cancelled</option>
+              <option value="EXPIRED">Expired</option>
             </select>
           </div>
         </div>
@@ -121,8 +123,10 @@ export default function Reservations() {
               <label>Status</label>
               <select name="status" value={form.status} onChange={handleChange} className="admin-form-select">
                 <option value="PENDING">PENDING</option>
+                <option value="READY">READY</option>
                 <option value="RECEIVED">RECEIVED</option>
                 <option value="CANCELLED">CANCELLED</option>
+                <option value="EXPIRED">EXPIRED</option>
               </select>
             </div>
           </div>
@@ -162,7 +166,7 @@ export default function Reservations() {
                 <td>{it.bookId}</td>
                 <td>{toISODateInput(it.reservationDate)}</td>
                 <td>
-                  <span className={`admin-badge ${it.status === 'PENDING' ? 'admin-badge-warning' : it.status === 'RECEIVED' ? 'admin-badge-success' : 'admin-badge-secondary'}`}>
+                  <span className={`admin-badge ${it.status === 'PENDING' ? 'admin-badge-warning' : it.status === 'READY' ? 'admin-badge-info' : it.status === 'RECEIVED' ? 'admin-badge-success' : 'admin-badge-secondary'}`}>
                     {it.status}
                   </span>
                 </td>
@@ -170,7 +174,7 @@ export default function Reservations() {
                   <div className="admin-flex admin-gap-sm">
                     <button className="admin-btn admin-btn-sm admin-btn-info" onClick={() => startEdit(it.id)}>Edit</button>
                     <button className="admin-btn admin-btn-sm admin-btn-secondary" onClick={() => remove(it.id)}>Delete</button>
-                    {it.status !== 'RECEIVED' && (
+                    {(it.status === 'PENDING' || it.status === 'READY') && (
                       <button className="admin-btn admin-btn-sm admin-btn-success" onClick={() => markReceived(it.id)}>Mark Received</button>
                     )}
                   </div>
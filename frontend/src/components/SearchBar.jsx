@@ -1,14 +1,41 @@
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
+import { api } from '../api';
 import './SearchBar.css';
 
 const SearchBar = ({ onSearch }) => {
   const [query, setQuery] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
+
+  // Fetch autocomplete suggestions shortly after the user stops typing
+  useEffect(() => {
+    if (!query.trim()) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(() => {
+      api.suggestBooks(query, 8)
+        .then((items) => { if (!cancelled) setSuggestions(items || []); })
+        .catch(() => { if (!cancelled) setSuggestions([]); });
+    }, 120);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [query]);
 
   const handleSubmit = (e) => {
     e.preventDefault();
+    setSuggestions([]);
     onSearch(query);
   };
 
+  const handleSelect = (text) => {
+    setQuery(text);
+    setSuggestions([]);
+    onSearch(text);
+  };
+
   const handleChange = (e) => {
     const newQuery = e.target.value;
     setQuery(newQuery);
@@ -17,6 +44,7 @@ const SearchBar = ({ onSearch }) => {
 
   const handleClear = () => {
     setQuery('');
+    setSuggestions([]);
     onSearch('');
   };
 
@@ -49,6 +77,18 @@ const SearchBar = ({ onSearch }) => {
             🔍
           </button>
         </div>
+        {suggestions.length > 0 && (
+          <ul className="search-suggestions">
+            {suggestions.map((s) => (
+              <li key={`${s.type}:${s.text}`}>
+                <button type="button" onMouseDown={() => handleSelect(s.text)}>
+                  <span className="suggestion-text">{s.text}</span>
+                  <span className="suggestion-type">{s.type === 'AUTHOR' ? 'Author' : 'Title'}</span>
+                </button>
+              </li>
+            ))}
+          </ul>
+        )}
       </form>
     </div>
   );